@@ -0,0 +1,61 @@
+package com.example.sistema_gestion_empleados.benchmarks;
+
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.indices.IndiceTrigramas;
+import com.example.sistema_gestion_empleados.services.EmpleadoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// Búsqueda por texto con el índice de trigramas contra LIKE '%x%' sobre la misma base.
+// A escala: mvn -Pjmh test-compile exec:exec -Djmh.args="BusquedaEmpleadosBenchmark -p filas=1000000"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BusquedaEmpleadosBenchmark {
+
+    @Param({"1000"})
+    public int filas;
+
+    @Param({"false", "true"})
+    public boolean indice;
+
+    private ConfigurableApplicationContext contexto;
+    private EmpleadoService empleadoService;
+    private IndiceTrigramas indiceTrigramas;
+    private String consulta;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar("jmh_busqueda_" + indice + "_" + filas,
+                "indices.busqueda.habilitado=" + indice);
+        ContextoBenchmark.poblar(contexto, filas);
+        empleadoService = contexto.getBean(EmpleadoService.class);
+        indiceTrigramas = contexto.getBean(IndiceTrigramas.class);
+        // Prefijo del email de un empleado a mitad de la tabla, sin su último dígito
+        String email = GeneradorDatosSinteticos.email(filas / 2);
+        consulta = email.substring(0, email.indexOf('@') - 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    // Página completa: ranking, lectura por ids y proyectos
+    @Benchmark
+    public Pagina<EmpleadoVista> buscarPorTexto() {
+        return empleadoService.buscarPorTexto(consulta, null, 20);
+    }
+
+    // Solo el ranking del índice, sin ir a la base
+    @Benchmark
+    public long[] rankingIndice() {
+        return indice ? indiceTrigramas.buscar(consulta, 0, 20) : null;
+    }
+}
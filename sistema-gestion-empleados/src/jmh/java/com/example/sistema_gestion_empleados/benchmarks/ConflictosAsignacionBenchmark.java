@@ -0,0 +1,49 @@
+package com.example.sistema_gestion_empleados.benchmarks;
+
+import com.example.sistema_gestion_empleados.dto.ConflictoAsignacion;
+import com.example.sistema_gestion_empleados.services.ConflictoAsignacionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Detección de conflictos sobre toda la empresa, con un solo hilo de barrido y con uno por procesador. Cada
+// empleado sintético tiene dos proyectos, así que 500.000 filas son el millón de asignaciones del objetivo:
+// mvn -Pjmh test-compile exec:exec -Djmh.args="ConflictosAsignacionBenchmark -p filas=500000"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ConflictosAsignacionBenchmark {
+
+    @Param({"10000"})
+    public int filas;
+
+    @Param({"1", "0"})
+    public int paralelismo;
+
+    private ConfigurableApplicationContext contexto;
+    private ConflictoAsignacionService conflictoAsignacionService;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar("jmh_conflictos_" + paralelismo + "_" + filas,
+                "conflictos.paralelismo=" + paralelismo);
+        ContextoBenchmark.poblar(contexto, filas);
+        conflictoAsignacionService = contexto.getBean(ConflictoAsignacionService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    // Con máximo 1 figura todo empleado con al menos dos proyectos que se superponen
+    @Benchmark
+    public List<ConflictoAsignacion> detectarConflictos() {
+        return conflictoAsignacionService.detectarConflictos(1);
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.sistema_gestion_empleados.benchmarks;
+
+import com.example.sistema_gestion_empleados.SistemaGestionEmpleadosApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Levanta la aplicación sin servidor web contra una H2 en memoria y la llena con los datos de GeneradorDatosSinteticos
+final class ContextoBenchmark {
+    private static final int DEPARTAMENTOS = 20;
+    private static final int PROYECTOS = 200;
+    private static final double PROYECTOS_POR_EMPLEADO = 2;
+    private static final long SEMILLA = 42;
+
+    private ContextoBenchmark() {
+    }
+
+    static ConfigurableApplicationContext iniciar(String baseDeDatos, String... propiedades) {
+        // Como argumentos de línea de comandos para que tengan prioridad sobre application.yml y el perfil dev.
+        // Sin vigilancia de sentencias: la carga importa lotes que superan el presupuesto con el que el perfil de
+        // test hace fallar las unidades
+        List<String> argumentos = new ArrayList<>(List.of("--spring.profiles.active=test",
+                "--spring.datasource.url=jdbc:h2:mem:" + baseDeDatos + ";DB_CLOSE_DELAY=-1",
+                "--spring.docker.compose.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--sql.vigilancia.habilitada=false",
+                "--logging.level.root=WARN"));
+        for (String propiedad : propiedades) {
+            argumentos.add("--" + propiedad);
+        }
+        return new SpringApplicationBuilder(SistemaGestionEmpleadosApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(argumentos.toArray(String[]::new));
+    }
+
+    // Departamentos y participación en proyectos con tamaños de Zipf, dos proyectos por empleado en promedio
+    static GeneradorDatosSinteticos.Datos poblar(ConfigurableApplicationContext contexto, int empleados) {
+        return generador().poblar(contexto, dimensiones(empleados));
+    }
+
+    // Los mismos datos sin base para los benchmarks en memoria, con ids en orden como los entregaría la secuencia
+    static GeneradorDatosSinteticos.Datos generar(int empleados) {
+        GeneradorDatosSinteticos.Datos datos = generador().generar(dimensiones(empleados));
+        for (int i = 0; i < datos.departamentos().size(); i++) {
+            datos.departamentos().get(i).setId(i + 1L);
+        }
+        for (int i = 0; i < datos.proyectos().size(); i++) {
+            datos.proyectos().get(i).setId(i + 1L);
+        }
+        for (int i = 0; i < datos.empleados().size(); i++) {
+            datos.empleados().get(i).setId(i + 1L);
+        }
+        return datos;
+    }
+
+    private static GeneradorDatosSinteticos.Dimensiones dimensiones(int empleados) {
+        return new GeneradorDatosSinteticos.Dimensiones(DEPARTAMENTOS, empleados, PROYECTOS, PROYECTOS_POR_EMPLEADO);
+    }
+
+    // Fecha de hoy y no una fija: los proyectos activos se consultan contra la fecha actual
+    private static GeneradorDatosSinteticos generador() {
+        return new GeneradorDatosSinteticos(SEMILLA, LocalDate.now());
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.sistema_gestion_empleados.benchmarks;
+
+import com.example.sistema_gestion_empleados.exceptions.EmailDuplicadoException;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.models.Proyecto;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoRepository;
+import com.example.sistema_gestion_empleados.services.EmpleadoService;
+import com.example.sistema_gestion_empleados.services.ProyectoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmpleadoServiceBenchmark {
+
+    @Param({"1000"})
+    public int filas;
+
+    private ConfigurableApplicationContext contexto;
+    private EmpleadoService empleadoService;
+    private ProyectoService proyectoService;
+    private Long departamentoId;
+    private final AtomicLong siguienteEmail = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar("jmh_servicios_" + filas);
+        ContextoBenchmark.poblar(contexto, filas);
+        empleadoService = contexto.getBean(EmpleadoService.class);
+        proyectoService = contexto.getBean(ProyectoService.class);
+        departamentoId = contexto.getBean(DepartamentoRepository.class)
+                .findIdByNombre(GeneradorDatosSinteticos.nombreDepartamento(0)).orElseThrow();
+        siguienteEmail.set(filas);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    // Cada invocación inserta una fila nueva: el tamaño de la tabla crece durante la medición
+    @Benchmark
+    public Empleado guardar() {
+        return empleadoService.guardar(nuevoEmpleado(GeneradorDatosSinteticos.email((int) siguienteEmail.getAndIncrement())));
+    }
+
+    // Altas concurrentes con emails distintos: mide el costo de la verificación de duplicados bajo contención
+    @Benchmark
+    @Threads(4)
+    public Empleado guardarConcurrente() {
+        return guardar();
+    }
+
+    @Benchmark
+    public Object guardarEmailDuplicado() {
+        try {
+            return empleadoService.guardar(nuevoEmpleado(GeneradorDatosSinteticos.email(0)));
+        } catch (EmailDuplicadoException ex) {
+            return ex;
+        }
+    }
+
+    // Rango de alrededor del 2% de la distribución de salarios
+    @Benchmark
+    public List<Empleado> buscarPorRangoSalario() {
+        return empleadoService.buscarPorRangoSalario(new BigDecimal("50000"), new BigDecimal("50999"));
+    }
+
+    @Benchmark
+    public BigDecimal obtenerSalarioPromedioPorDepartamento() {
+        return empleadoService.obtenerSalarioPromedioPorDepartamento(departamentoId);
+    }
+
+    @Benchmark
+    public List<Empleado> buscarPorDepartamento() {
+        return empleadoService.buscarPorDepartamento(GeneradorDatosSinteticos.nombreDepartamento(0));
+    }
+
+    @Benchmark
+    public List<Proyecto> buscarPorProyectosActivos() {
+        return proyectoService.buscarPorProyectosActivos();
+    }
+
+    private static Empleado nuevoEmpleado(String email) {
+        Empleado empleado = new Empleado();
+        empleado.setNombre("Nuevo");
+        empleado.setApellido("Empleado");
+        empleado.setEmail(email);
+        empleado.setFechaContratacion(LocalDate.now());
+        empleado.setSalario(new BigDecimal("55000"));
+        return empleado;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.sistema_gestion_empleados.benchmarks;
+
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// Tamaño y costo de serializar/deserializar una página de vistas de empleados en cada formato negociable.
+// Los tamaños (crudo y con gzip) se imprimen al iniciar cada combinación de parámetros:
+//   mvn -Pjmh test-compile exec:exec -Djmh.args="FormatosRespuestaBenchmark"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatosRespuestaBenchmark {
+
+    public enum Formato {
+        JSON(new JsonFactory()),
+        CBOR(new CBORFactory()),
+        SMILE(new SmileFactory());
+
+        private final JsonFactory factory;
+
+        Formato(JsonFactory factory) {
+            this.factory = factory;
+        }
+    }
+
+    @Param({"10000"})
+    public int filas;
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    public Formato formato;
+
+    private ObjectMapper objectMapper;
+    private JavaType tipoPagina;
+    private Pagina<EmpleadoVista> pagina;
+    private byte[] serializada;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .factory(formato.factory)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        tipoPagina = objectMapper.getTypeFactory().constructParametricType(Pagina.class, EmpleadoVista.class);
+
+        List<EmpleadoVista> vistas = ContextoBenchmark.generar(filas).empleados().stream()
+                .map(EmpleadoVista::desde)
+                .toList();
+        pagina = new Pagina<>(vistas, "cursor");
+        serializada = serializar();
+        System.out.printf("%n%-6s filas=%d bytes=%d gzip=%d%n", formato, filas, serializada.length,
+                serializarComprimido().length);
+    }
+
+    @Benchmark
+    public byte[] serializar() throws IOException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public Pagina<EmpleadoVista> deserializar() throws IOException {
+        return objectMapper.readValue(serializada, tipoPagina);
+    }
+
+    // Lo que paga el servidor cuando el cliente acepta gzip
+    @Benchmark
+    public byte[] serializarComprimido() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(salida)) {
+            objectMapper.writeValue(gzip, pagina);
+        }
+        return salida.toByteArray();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.sistema_gestion_empleados.benchmarks;
+
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.services.EmpleadoService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Índice de salarios en memoria contra las consultas JPQL sobre la misma base.
+// A escala: mvn -Pjmh test-compile exec:exec -Djmh.args="IndiceSalariosBenchmark -p filas=1000000 -jvmArgs -Xmx3g"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndiceSalariosBenchmark {
+
+    @Param({"1000"})
+    public int filas;
+
+    @Param({"false", "true"})
+    public boolean indice;
+
+    private ConfigurableApplicationContext contexto;
+    private EmpleadoService empleadoService;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar("jmh_indice_" + indice + "_" + filas,
+                "indices.salarios.habilitado=" + indice);
+        // La carga pasa por el servicio, así el índice se construye con los mismos eventos que en producción
+        ContextoBenchmark.poblar(contexto, filas);
+        empleadoService = contexto.getBean(EmpleadoService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        contexto.close();
+    }
+
+    // Rango de alrededor del 2% de la distribución de salarios
+    @Benchmark
+    public Pagina<EmpleadoVista> buscarPorRangoSalario() {
+        return empleadoService.buscarPorRangoSalario(new BigDecimal("50000"), new BigDecimal("50999"), null, 50);
+    }
+
+    // Rango de poco más de la mitad: el conteo JPQL recorre la tabla, el índice resuelve con dos búsquedas binarias
+    @Benchmark
+    public long contarPorRangoSalario() {
+        return empleadoService.contarPorRangoSalario(new BigDecimal("50000"), new BigDecimal("99999"));
+    }
+
+    @Benchmark
+    public List<EmpleadoVista> buscarMayoresSalarios() {
+        return empleadoService.buscarMayoresSalarios(10);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.sistema_gestion_empleados.benchmarks;
+
+import com.example.sistema_gestion_empleados.indices.IndiceSalarios;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Costo de aplicar al índice de salarios el cambio de salario de una transacción confirmada, sin base de datos.
+// A escala: mvn -Pjmh test-compile exec:exec -Djmh.args="IndiceSalariosEscrituraBenchmark -p filas=1000000"
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndiceSalariosEscrituraBenchmark {
+
+    @Param({"1000"})
+    public int filas;
+
+    private IndiceSalarios indiceSalarios;
+    private long[] salarioPorId;
+    private int siguiente;
+
+    // Los mismos salarios que siembra ContextoBenchmark, con ids de 1 a filas
+    @Setup(Level.Trial)
+    public void iniciar() {
+        indiceSalarios = new IndiceSalarios(true);
+        salarioPorId = new long[filas + 1];
+        long[][] pares = new long[filas][];
+        List<Empleado> empleados = ContextoBenchmark.generar(filas).empleados();
+        for (int i = 0; i < filas; i++) {
+            salarioPorId[i + 1] = IndiceSalarios.aCentavos(empleados.get(i).getSalario());
+            pares[i] = new long[]{salarioPorId[i + 1], i + 1};
+        }
+        Arrays.sort(pares, (a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        long[] centavos = new long[filas];
+        long[] ids = new long[filas];
+        for (int i = 0; i < filas; i++) {
+            centavos[i] = pares[i][0];
+            ids[i] = pares[i][1];
+        }
+        indiceSalarios.reemplazar(centavos, ids);
+    }
+
+    // Un aumento del 1% a un empleado distinto en cada invocación
+    @Benchmark
+    public int cambiarSalario() {
+        int id = siguiente++ % filas + 1;
+        long anterior = salarioPorId[id];
+        long nuevo = anterior + anterior / 100 + 1;
+        salarioPorId[id] = nuevo;
+        indiceSalarios.aplicar(List.of(IndiceSalarios.Cambio.baja(id, anterior), IndiceSalarios.Cambio.alta(id, nuevo)));
+        return indiceSalarios.tamanio();
+    }
+}
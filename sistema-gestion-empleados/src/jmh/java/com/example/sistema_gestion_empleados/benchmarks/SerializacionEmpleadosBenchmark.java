@@ -0,0 +1,49 @@
+package com.example.sistema_gestion_empleados.benchmarks;
+
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Serialización en memoria, sin base de datos: mide solo el costo de Jackson
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacionEmpleadosBenchmark {
+
+    @Param({"1000"})
+    public int filas;
+
+    private ObjectMapper objectMapper;
+    private List<Empleado> empleados;
+    private List<EmpleadoVista> vistas;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        empleados = ContextoBenchmark.generar(filas).empleados();
+        vistas = empleados.stream().map(EmpleadoVista::desde).toList();
+    }
+
+    @Benchmark
+    public byte[] serializarEntidades() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(empleados);
+    }
+
+    @Benchmark
+    public byte[] serializarVistas() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(vistas);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.sistema_gestion_empleados.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Las entidades pasaron de IDENTITY a secuencias. Con ddl-auto: update sobre un esquema existente, Hibernate crea
+// las secuencias empezando en 1 (en MySQL, tablas que las emulan) y el primer INSERT chocaría con los ids ya
+// usados. Al arrancar, antes de atender solicitudes, cada secuencia que quedó por debajo del MAX(id) de su tabla
+// se adelanta; sobre una base nueva o ya alineada no cambia nada
+@Component
+public class AlineacionSecuencias implements SmartInitializingSingleton {
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public AlineacionSecuencias(EntityManagerFactory entityManagerFactory,
+                                EntityManager entityManager,
+                                PlatformTransactionManager transactionManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        alinear();
+    }
+
+    void alinear() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Dialect dialect = sessionFactory.getJdbcServices().getDialect();
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.getGenerator() instanceof SequenceStyleGenerator generador
+                    && persister instanceof AbstractEntityPersister entidad) {
+                transactionTemplate.executeWithoutResult(estado -> alinear(dialect, generador.getDatabaseStructure(),
+                        entidad.getTableName(), entidad.getIdentifierColumnNames()[0]));
+            }
+        });
+    }
+
+    // Con el optimizador pooled, un valor v de la secuencia reserva los ids de v - incremento + 1 a v: la
+    // secuencia queda alineada cuando el próximo bloque empieza por encima del máximo
+    private void alinear(Dialect dialect, DatabaseStructure estructura, String tabla, String columnaId) {
+        Number maximo = (Number) entityManager.createNativeQuery("SELECT MAX(" + columnaId + ") FROM " + tabla)
+                .getSingleResult();
+        if (maximo == null) {
+            return;
+        }
+        String secuencia = estructura.getPhysicalName().render();
+        int incremento = estructura.getIncrementSize();
+        long objetivo = maximo.longValue() + incremento + 1;
+        if (estructura.isPhysicalSequence()) {
+            Number siguiente = (Number) entityManager.createNativeQuery(
+                    dialect.getSequenceSupport().getSequenceNextValString(secuencia)).getSingleResult();
+            if (siguiente.longValue() - incremento < maximo.longValue()) {
+                entityManager.createNativeQuery("ALTER SEQUENCE " + secuencia + " RESTART WITH " + objetivo)
+                        .executeUpdate();
+            }
+        } else {
+            entityManager.createNativeQuery("UPDATE " + secuencia + " SET next_val = :objetivo WHERE next_val < :objetivo")
+                    .setParameter("objetivo", objetivo)
+                    .executeUpdate();
+        }
+    }
+}
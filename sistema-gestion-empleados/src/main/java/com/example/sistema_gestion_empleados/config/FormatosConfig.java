@@ -0,0 +1,26 @@
+package com.example.sistema_gestion_empleados.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+// Formatos binarios negociados por Accept (application/cbor, application/x-jackson-smile) además del JSON.
+// Reemplazan a los convertidores por defecto de Spring MVC para que usen los mismos módulos y propiedades
+// spring.jackson que el JSON
+@Configuration
+public class FormatosConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter convertidorCbor(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter convertidorSmile(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.sistema_gestion_empleados.config;
+
+import com.example.sistema_gestion_empleados.metricas.ContadoresHibernate;
+import com.example.sistema_gestion_empleados.metricas.DataSourceInstrumentado;
+import com.example.sistema_gestion_empleados.metricas.VigilanciaSentencias;
+import com.example.sistema_gestion_empleados.metricas.VigilanciaSentenciasFilter;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(VigilanciaSentenciasProperties.class)
+public class MetricasConfig {
+
+    // Solo se envuelve el DataSource principal: con réplica, los pools de primaria y réplica quedan detrás de él.
+    // Siempre se envuelve porque es la fuente del conteo de sentencias de las métricas por servicio, además de la
+    // vigilancia. Es estático porque los post-procesadores se crean antes que el resto de los beans
+    @Bean
+    public static BeanPostProcessor dataSourceInstrumentado() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nombre) {
+                if ("dataSource".equals(nombre) && bean instanceof DataSource dataSource) {
+                    return new DataSourceInstrumentado(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public VigilanciaSentenciasFilter vigilanciaSentenciasFilter(VigilanciaSentencias vigilanciaSentencias) {
+        return new VigilanciaSentenciasFilter(vigilanciaSentencias);
+    }
+
+    @Bean
+    public SmartInitializingSingleton eventosHibernate(EntityManagerFactory entityManagerFactory) {
+        return () -> {
+            EventListenerRegistry registro = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                    .getServiceRegistry()
+                    .requireService(EventListenerRegistry.class);
+            registro.appendListeners(EventType.POST_LOAD,
+                    (PostLoadEventListener) evento -> ContadoresHibernate.registrarEntidadCargada());
+            registro.appendListeners(EventType.INIT_COLLECTION,
+                    (InitializeCollectionEventListener) evento -> ContadoresHibernate.registrarColeccionInicializada());
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.sistema_gestion_empleados.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+@Configuration
+@Profile("reactivo")
+@EnableConfigurationProperties(R2dbcProperties.class)
+public class ReactivoConfig implements DisposableBean {
+    private ConnectionPool pool;
+
+    // Netty en lugar del Tomcat que trae spring-boot-starter-web: unos pocos hilos de event loop atienden
+    // todas las conexiones
+    @Bean
+    public NettyReactiveWebServerFactory servidorReactivo() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    // El pool no se publica como bean ConnectionFactory: con uno, Spring Boot deja de configurar el DataSource
+    // que usa JPA para el esquema y el resto de los servicios
+    @Bean
+    public DatabaseClient databaseClient(R2dbcProperties propiedades) {
+        ConnectionFactoryOptions.Builder opciones = ConnectionFactoryOptions.parse(propiedades.getUrl()).mutate();
+        if (propiedades.getUsername() != null) {
+            opciones.option(ConnectionFactoryOptions.USER, propiedades.getUsername());
+        }
+        if (propiedades.getPassword() != null) {
+            opciones.option(ConnectionFactoryOptions.PASSWORD, propiedades.getPassword());
+        }
+        R2dbcProperties.Pool configuracion = propiedades.getPool();
+        pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opciones.build()))
+                .initialSize(configuracion.getInitialSize())
+                .maxSize(configuracion.getMaxSize())
+                .maxIdleTime(configuracion.getMaxIdleTime())
+                .build());
+        return DatabaseClient.create(pool);
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.sistema_gestion_empleados.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+// Tamaño máximo y expiración de cada región de la caché de segundo nivel de Hibernate
+@ConfigurationProperties(prefix = "hibernate-cache")
+public record RegionesCacheProperties(Map<String, Region> regiones) {
+
+    public RegionesCacheProperties {
+        regiones = regiones == null ? Map.of() : regiones;
+    }
+
+    public record Region(long maximo, Duration expiracion) {
+    }
+}
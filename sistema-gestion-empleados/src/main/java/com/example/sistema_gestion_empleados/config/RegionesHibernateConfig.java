@@ -0,0 +1,53 @@
+package com.example.sistema_gestion_empleados.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+
+// Separada de CacheConfig para que los tests @DataJpaTest la importen y arranquen con las mismas regiones
+@Configuration
+@EnableConfigurationProperties(RegionesCacheProperties.class)
+public class RegionesHibernateConfig {
+
+    // Regiones de la caché de segundo nivel de Hibernate. Un proveedor por contexto, así cada contexto de Spring
+    // (tests, benchmarks) tiene su propio CacheManager de JCache
+    @Bean(destroyMethod = "close")
+    public javax.cache.CacheManager regionesHibernate(RegionesCacheProperties propiedades) {
+        CachingProvider proveedor = new CaffeineCachingProvider();
+        javax.cache.CacheManager regiones = proveedor.getCacheManager(proveedor.getDefaultURI(), getClass().getClassLoader());
+        propiedades.regiones().forEach((nombre, region) -> regiones.createCache(nombre, configuracionRegion()
+                .setMaximumSize(OptionalLong.of(region.maximo()))
+                .setExpireAfterWrite(OptionalLong.of(region.expiracion().toNanos()))));
+        // Sin límite ni expiración: una marca de tiempo desalojada dejaría pasar resultados de consultas ya invalidados
+        regiones.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, configuracionRegion());
+        return regiones;
+    }
+
+    // Las entradas de Hibernate son inmutables: se guardan por referencia, sin la copia por serialización de JCache
+    private static CaffeineConfiguration<Object, Object> configuracionRegion() {
+        return new CaffeineConfiguration<>()
+                .setStoreByValue(false)
+                .setNativeStatisticsEnabled(true);
+    }
+
+    // Una región que falte en la configuración hace fallar el arranque en lugar de crearse sin límites
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivel(javax.cache.CacheManager regionesHibernate) {
+        return propiedades -> {
+            propiedades.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            propiedades.put(AvailableSettings.USE_QUERY_CACHE, true);
+            propiedades.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            propiedades.put(ConfigSettings.CACHE_MANAGER, regionesHibernate);
+            propiedades.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
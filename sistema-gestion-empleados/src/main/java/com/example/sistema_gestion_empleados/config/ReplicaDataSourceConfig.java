@@ -0,0 +1,46 @@
+package com.example.sistema_gestion_empleados.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+// Solo con replica.datasource.jdbc-url definido; sin réplica queda el DataSource autoconfigurado de Spring Boot
+@Configuration
+@ConditionalOnProperty(prefix = "replica.datasource", name = "jdbc-url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaria(DataSourceProperties propiedades) {
+        HikariDataSource primaria = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primaria.setPoolName("primaria");
+        return primaria;
+    }
+
+    @Bean
+    @ConfigurationProperties("replica.datasource")
+    public HikariDataSource replica() {
+        HikariDataSource replica = DataSourceBuilder.create().type(HikariDataSource.class).build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    // La conexión física se pide recién en la primera sentencia, cuando ya se sabe si la transacción es readOnly:
+    // las de solo lectura van al pool de la réplica y el resto al de la primaria
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaria, HikariDataSource replica) {
+        LazyConnectionDataSourceProxy enrutador = new LazyConnectionDataSourceProxy(primaria);
+        enrutador.setReadOnlyDataSource(replica);
+        return enrutador;
+    }
+}
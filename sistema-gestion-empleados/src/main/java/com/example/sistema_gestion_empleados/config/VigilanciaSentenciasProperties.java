@@ -0,0 +1,26 @@
+package com.example.sistema_gestion_empleados.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+// Límites de sentencias SQL por solicitud HTTP o llamada de servicio. presupuestos se indexa por "MÉTODO /patrón"
+// o por "Clase.metodo" del servicio; el resto usa presupuestoPorDefecto
+@ConfigurationProperties(prefix = "sql.vigilancia")
+public record VigilanciaSentenciasProperties(boolean habilitada, Modo modo, int repeticionesNMasUno,
+                                             int presupuestoPorDefecto, Map<String, Integer> presupuestos) {
+
+    public VigilanciaSentenciasProperties {
+        modo = modo == null ? Modo.ADVERTIR : modo;
+        presupuestos = presupuestos == null ? Map.of() : presupuestos;
+    }
+
+    public int presupuesto(String unidad) {
+        return presupuestos.getOrDefault(unidad, presupuestoPorDefecto);
+    }
+
+    public enum Modo {
+        ADVERTIR,
+        FALLAR
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.sistema_gestion_empleados.controllers;
+
+import com.example.sistema_gestion_empleados.dto.EstadisticasCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+    private final CacheManager cacheManager;
+    private final javax.cache.CacheManager regionesHibernate;
+
+    public CacheController(CacheManager cacheManager, javax.cache.CacheManager regionesHibernate) {
+        this.cacheManager = cacheManager;
+        this.regionesHibernate = regionesHibernate;
+    }
+
+    @GetMapping("/estadisticas")
+    public List<EstadisticasCache> obtenerEstadisticas() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(nombre -> {
+                    Cache<?, ?> cache = (Cache<?, ?>) cacheManager.getCache(nombre).getNativeCache();
+                    return EstadisticasCache.desde(nombre, cache.estimatedSize(), cache.stats());
+                })
+                .toList();
+    }
+
+    // Regiones de la caché de segundo nivel y de consultas de Hibernate
+    @GetMapping("/regiones")
+    public List<EstadisticasCache> obtenerEstadisticasRegiones() {
+        return StreamSupport.stream(regionesHibernate.getCacheNames().spliterator(), false)
+                .sorted()
+                .map(nombre -> {
+                    Cache<?, ?> cache = regionesHibernate.getCache(nombre).unwrap(Cache.class);
+                    return EstadisticasCache.desde(nombre, cache.estimatedSize(), cache.stats());
+                })
+                .toList();
+    }
+}
@@ -1,42 +1,77 @@
 package com.example.sistema_gestion_empleados.controllers;
 
+import com.example.sistema_gestion_empleados.dto.Cursor;
+import com.example.sistema_gestion_empleados.dto.DepartamentoVista;
+import com.example.sistema_gestion_empleados.dto.EstadisticasSalarioDepartamento;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.dto.VerificacionEstadisticas;
 import com.example.sistema_gestion_empleados.models.Departamento;
 import com.example.sistema_gestion_empleados.services.DepartamentoService;
+import com.example.sistema_gestion_empleados.services.EstadisticasSalarioService;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/departamentos")
 @Validated
+@Profile("!reactivo")
 public class DepartamentoController {
     private final DepartamentoService departamentoService;
+    private final EstadisticasSalarioService estadisticasSalarioService;
 
-    public DepartamentoController(DepartamentoService departamentoService) {
+    public DepartamentoController(DepartamentoService departamentoService,
+                                  EstadisticasSalarioService estadisticasSalarioService) {
         this.departamentoService = departamentoService;
+        this.estadisticasSalarioService = estadisticasSalarioService;
     }
 
     @GetMapping
-    public List<Departamento> obtenerTodos() {
-        return departamentoService.obtenerTodos();
+    public Pagina<DepartamentoVista> obtenerTodos(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(defaultValue = Cursor.LIMITE_POR_DEFECTO) int limite) {
+        return departamentoService.obtenerPagina(cursor, limite);
+    }
+
+    @GetMapping("/estadisticas-salario")
+    public List<EstadisticasSalarioDepartamento> obtenerEstadisticasSalario() {
+        return estadisticasSalarioService.obtenerTodas();
+    }
+
+    @GetMapping("/estadisticas-salario/verificacion")
+    public VerificacionEstadisticas verificarEstadisticasSalario() {
+        return estadisticasSalarioService.verificar();
+    }
+
+    @PostMapping("/estadisticas-salario/reconstruccion")
+    public VerificacionEstadisticas reconstruirEstadisticasSalario() {
+        return estadisticasSalarioService.reconstruir();
     }
 
     @GetMapping("/{id}")
-    public Departamento obtenerPorId(@PathVariable Long id) {
-        return departamentoService.buscarPorId(id);
+    public DepartamentoVista obtenerPorId(@PathVariable Long id) {
+        return DepartamentoVista.desde(departamentoService.buscarPorId(id));
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Departamento crear( @RequestBody Departamento departamento) {
-        return departamentoService.guardar(departamento);
+    public DepartamentoVista crear( @RequestBody Departamento departamento) {
+        return DepartamentoVista.desde(departamentoService.guardar(departamento));
     }
 
     @PutMapping("/{id}")
-    public Departamento actualizar(@PathVariable Long id, @RequestBody Departamento departamento) {
-        return departamentoService.actualizar(id, departamento);
+    public DepartamentoVista actualizar(@PathVariable Long id, @RequestBody Departamento departamento) {
+        return DepartamentoVista.desde(departamentoService.actualizar(id, departamento));
+    }
+
+    // Solo se modifican los campos presentes en el cuerpo
+    @PatchMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void actualizarParcial(@PathVariable Long id, @RequestBody Map<String, Object> cambios) {
+        departamentoService.actualizarParcial(id, cambios);
     }
 
     @DeleteMapping("/{id}")
@@ -0,0 +1,39 @@
+package com.example.sistema_gestion_empleados.controllers;
+
+import com.example.sistema_gestion_empleados.dto.Cursor;
+import com.example.sistema_gestion_empleados.dto.DepartamentoVista;
+import com.example.sistema_gestion_empleados.dto.EstadisticasSalarioDepartamento;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.services.LecturaReactivaService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Endpoints de lectura de DepartamentoController en el perfil reactivo
+@RestController
+@RequestMapping("/api/departamentos")
+@Profile("reactivo")
+public class DepartamentoReactivoController {
+    private final LecturaReactivaService lecturaReactivaService;
+
+    public DepartamentoReactivoController(LecturaReactivaService lecturaReactivaService) {
+        this.lecturaReactivaService = lecturaReactivaService;
+    }
+
+    @GetMapping
+    public Mono<Pagina<DepartamentoVista>> obtenerTodos(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = Cursor.LIMITE_POR_DEFECTO) int limite) {
+        return lecturaReactivaService.obtenerPaginaDepartamentos(cursor, limite);
+    }
+
+    @GetMapping("/estadisticas-salario")
+    public Flux<EstadisticasSalarioDepartamento> obtenerEstadisticasSalario() {
+        return lecturaReactivaService.obtenerEstadisticasSalario();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<DepartamentoVista> obtenerPorId(@PathVariable Long id) {
+        return lecturaReactivaService.buscarDepartamentoPorId(id);
+    }
+}
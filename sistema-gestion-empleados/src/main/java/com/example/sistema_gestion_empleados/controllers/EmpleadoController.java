@@ -1,43 +1,125 @@
 package com.example.sistema_gestion_empleados.controllers;
 
+import com.example.sistema_gestion_empleados.dto.ConflictoAsignacion;
+import com.example.sistema_gestion_empleados.dto.Cursor;
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.dto.FormatoExportacion;
+import com.example.sistema_gestion_empleados.dto.FiltroEmpleados;
+import com.example.sistema_gestion_empleados.dto.Granularidad;
+import com.example.sistema_gestion_empleados.dto.HistogramaContrataciones;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.dto.ResultadoEliminacion;
+import com.example.sistema_gestion_empleados.dto.ResultadoImportacion;
 import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.services.ConflictoAsignacionService;
 import com.example.sistema_gestion_empleados.services.EmpleadoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/empleados")
 @Validated
+@Profile("!reactivo")
 public class EmpleadoController {
     private final EmpleadoService empleadoService;
+    private final ConflictoAsignacionService conflictoAsignacionService;
+    private final ObjectMapper objectMapper;
 
-    public EmpleadoController(EmpleadoService empleadoService) {
+    public EmpleadoController(EmpleadoService empleadoService,
+                              ConflictoAsignacionService conflictoAsignacionService,
+                              ObjectMapper objectMapper) {
         this.empleadoService = empleadoService;
+        this.conflictoAsignacionService = conflictoAsignacionService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping
-    public List<Empleado> obtenerTodos() {
-        return empleadoService.obtenerTodos();
+    public Pagina<EmpleadoVista> obtenerTodos(@RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = Cursor.LIMITE_POR_DEFECTO) int limite) {
+        return empleadoService.obtenerPagina(cursor, limite);
+    }
+
+    // Coincidencias por prefijo y aproximadas en nombre, apellido y email, de la más parecida a la menos. Las
+    // aproximadas necesitan indices.busqueda.habilitado; sin el índice, o mientras se carga, es una búsqueda de
+    // subcadena por id
+    @GetMapping("/search")
+    public Pagina<EmpleadoVista> buscar(@RequestParam String q,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(defaultValue = Cursor.LIMITE_POR_DEFECTO) int limite) {
+        return empleadoService.buscarPorTexto(q, cursor, limite);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(defaultValue = "NDJSON") FormatoExportacion formato) {
+        StreamingResponseBody cuerpo = salida -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8));
+            formato.escribirEncabezado(writer);
+            try {
+                empleadoService.exportarTodos(fila -> {
+                    try {
+                        formato.escribirFila(fila, writer, objectMapper);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"empleados." + formato.name().toLowerCase() + "\"")
+                .body(cuerpo);
     }
 
     @GetMapping("/{id}")
-    public Empleado obtenerPorId(@PathVariable Long id) {
-        return empleadoService.buscarPorId(id);
+    public EmpleadoVista obtenerPorId(@PathVariable Long id) {
+        return empleadoService.buscarVistaPorId(id);
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Empleado crear( @RequestBody Empleado empleado) {
-        return empleadoService.guardar(empleado);
+    public EmpleadoVista crear( @RequestBody Empleado empleado) {
+        return EmpleadoVista.desde(empleadoService.guardar(empleado));
+    }
+
+    @PostMapping("/bulk")
+    public ResultadoImportacion importar(@RequestBody List<Empleado> empleados) {
+        return empleadoService.importar(empleados);
     }
 
     @PutMapping("/{id}")
-    public Empleado actualizar(@PathVariable Long id, @RequestBody Empleado empleado) {
-        return empleadoService.actualizar(id, empleado);
+    public EmpleadoVista actualizar(@PathVariable Long id, @RequestBody Empleado empleado) {
+        return EmpleadoVista.desde(empleadoService.actualizar(id, empleado));
+    }
+
+    // Solo se modifican los campos presentes en el cuerpo
+    @PatchMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void actualizarParcial(@PathVariable Long id, @RequestBody Map<String, Object> cambios) {
+        empleadoService.actualizarParcial(id, cambios);
     }
 
     @DeleteMapping("/{id}")
@@ -46,15 +128,60 @@ public class EmpleadoController {
         empleadoService.eliminar(id);
     }
 
+    // Con ids borra esos empleados; sin ids, los que cumplen todos los criterios recibidos
+    @DeleteMapping
+    public ResultadoEliminacion eliminarEnBloque(
+            @RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) Long departamentoId,
+            @RequestParam(required = false) BigDecimal salarioMin,
+            @RequestParam(required = false) BigDecimal salarioMax,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate contratadoDesde,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate contratadoHasta) {
+        if (ids != null) {
+            return empleadoService.eliminarPorIds(ids);
+        }
+        return empleadoService.eliminarPorFiltro(new FiltroEmpleados(departamentoId, salarioMin, salarioMax,
+                contratadoDesde, contratadoHasta));
+    }
+
     @GetMapping("/departamento/{nombre}")
-    public List<Empleado> obtenerPorDepartamento(@PathVariable String nombre) {
-        return empleadoService.buscarPorDepartamento(nombre);
+    public Pagina<EmpleadoVista> obtenerPorDepartamento(@PathVariable String nombre,
+                                                        @RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = Cursor.LIMITE_POR_DEFECTO) int limite) {
+        return empleadoService.buscarPorDepartamento(nombre, cursor, limite);
     }
 
     @GetMapping("/salario")
-    public List<Empleado> obtenerPorRangoSalario(
+    public Pagina<EmpleadoVista> obtenerPorRangoSalario(
             @RequestParam BigDecimal min,
-            @RequestParam BigDecimal max) {
-        return empleadoService.buscarPorRangoSalario(min, max);
+            @RequestParam BigDecimal max,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = Cursor.LIMITE_POR_DEFECTO) int limite) {
+        return empleadoService.buscarPorRangoSalario(min, max, cursor, limite);
+    }
+
+    @GetMapping("/salario/cantidad")
+    public long contarPorRangoSalario(@RequestParam BigDecimal min, @RequestParam BigDecimal max) {
+        return empleadoService.contarPorRangoSalario(min, max);
+    }
+
+    @GetMapping("/salario/mayores")
+    public List<EmpleadoVista> obtenerMayoresSalarios(@RequestParam(defaultValue = "10") int cantidad) {
+        return empleadoService.buscarMayoresSalarios(cantidad);
+    }
+
+    // Contrataciones y plantilla acumulada por período, del período que contiene desde al que contiene hasta
+    @GetMapping("/contrataciones")
+    public HistogramaContrataciones obtenerContrataciones(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(defaultValue = "MES") Granularidad granularidad) {
+        return empleadoService.obtenerContrataciones(desde, hasta, granularidad);
+    }
+
+    // Sin maximo se usa conflictos.maximo-simultaneos
+    @GetMapping("/conflictos-asignacion")
+    public List<ConflictoAsignacion> obtenerConflictosAsignacion(@RequestParam(required = false) Integer maximo) {
+        return conflictoAsignacionService.detectarConflictos(maximo);
     }
 }
\ No newline at end of file
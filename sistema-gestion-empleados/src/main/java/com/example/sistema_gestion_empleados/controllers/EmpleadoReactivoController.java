@@ -0,0 +1,111 @@
+package com.example.sistema_gestion_empleados.controllers;
+
+import com.example.sistema_gestion_empleados.dto.Cursor;
+import com.example.sistema_gestion_empleados.dto.EmpleadoExportado;
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.dto.FormatoExportacion;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.services.LecturaReactivaService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+// Endpoints de lectura de EmpleadoController en el perfil reactivo
+@RestController
+@RequestMapping("/api/empleados")
+@Profile("reactivo")
+public class EmpleadoReactivoController {
+    private final LecturaReactivaService lecturaReactivaService;
+    private final ObjectMapper objectMapper;
+
+    public EmpleadoReactivoController(LecturaReactivaService lecturaReactivaService, ObjectMapper objectMapper) {
+        this.lecturaReactivaService = lecturaReactivaService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping
+    public Mono<Pagina<EmpleadoVista>> obtenerTodos(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = Cursor.LIMITE_POR_DEFECTO) int limite) {
+        return lecturaReactivaService.obtenerPaginaEmpleados(cursor, limite);
+    }
+
+    @GetMapping("/search")
+    public Mono<Pagina<EmpleadoVista>> buscar(@RequestParam String q,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = Cursor.LIMITE_POR_DEFECTO) int limite) {
+        return lecturaReactivaService.buscarEmpleadosPorTexto(q, cursor, limite);
+    }
+
+    // Cada fila se escribe cuando el cliente la pide: un consumidor lento frena la lectura en la base
+    // en lugar de acumular filas en memoria
+    @GetMapping("/export")
+    public ResponseEntity<Flux<DataBuffer>> exportar(@RequestParam(defaultValue = "NDJSON") FormatoExportacion formato) {
+        Flux<DataBuffer> cuerpo = Flux.concat(
+                Mono.fromCallable(() -> {
+                    StringWriter encabezado = new StringWriter();
+                    formato.escribirEncabezado(encabezado);
+                    return encabezado.toString();
+                }).filter(texto -> !texto.isEmpty()),
+                lecturaReactivaService.exportarEmpleados().map(fila -> fila(formato, fila)))
+                .map(texto -> DefaultDataBufferFactory.sharedInstance.wrap(texto.getBytes(StandardCharsets.UTF_8)));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(formato.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"empleados." + formato.name().toLowerCase() + "\"")
+                .body(cuerpo);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<EmpleadoVista> obtenerPorId(@PathVariable Long id) {
+        return lecturaReactivaService.buscarEmpleadoPorId(id);
+    }
+
+    @GetMapping("/departamento/{nombre}")
+    public Mono<Pagina<EmpleadoVista>> obtenerPorDepartamento(@PathVariable String nombre,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = Cursor.LIMITE_POR_DEFECTO) int limite) {
+        return lecturaReactivaService.buscarEmpleadosPorDepartamento(nombre, cursor, limite);
+    }
+
+    @GetMapping("/salario")
+    public Mono<Pagina<EmpleadoVista>> obtenerPorRangoSalario(
+            @RequestParam BigDecimal min,
+            @RequestParam BigDecimal max,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = Cursor.LIMITE_POR_DEFECTO) int limite) {
+        return lecturaReactivaService.buscarEmpleadosPorRangoSalario(min, max, cursor, limite);
+    }
+
+    @GetMapping("/salario/cantidad")
+    public Mono<Long> contarPorRangoSalario(@RequestParam BigDecimal min, @RequestParam BigDecimal max) {
+        return lecturaReactivaService.contarEmpleadosPorRangoSalario(min, max);
+    }
+
+    @GetMapping("/salario/mayores")
+    public Flux<EmpleadoVista> obtenerMayoresSalarios(@RequestParam(defaultValue = "10") int cantidad) {
+        return lecturaReactivaService.buscarMayoresSalarios(cantidad);
+    }
+
+    private String fila(FormatoExportacion formato, EmpleadoExportado fila) {
+        StringWriter salida = new StringWriter();
+        try {
+            formato.escribirFila(fila, salida, objectMapper);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return salida.toString();
+    }
+}
@@ -1,42 +1,64 @@
 package com.example.sistema_gestion_empleados.controllers;
 
+import com.example.sistema_gestion_empleados.dto.Cursor;
+import com.example.sistema_gestion_empleados.dto.DotacionProyecto;
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.dto.ProyectoVista;
+import com.example.sistema_gestion_empleados.dto.VigenciaMensual;
 import com.example.sistema_gestion_empleados.models.Proyecto;
+import com.example.sistema_gestion_empleados.services.EmpleadoService;
 import com.example.sistema_gestion_empleados.services.ProyectoService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/proyectos")
 @Validated
+@Profile("!reactivo")
 public class ProyectoController {
     private final ProyectoService proyectoService;
+    private final EmpleadoService empleadoService;
 
-    public ProyectoController(ProyectoService proyectoService) {
+    public ProyectoController(ProyectoService proyectoService, EmpleadoService empleadoService) {
         this.proyectoService = proyectoService;
+        this.empleadoService = empleadoService;
     }
 
     @GetMapping
-    public List<Proyecto> obtenerTodos() {
-        return proyectoService.obtenerTodos();
+    public Pagina<ProyectoVista> obtenerTodos(@RequestParam(required = false) String cursor,
+                                              @RequestParam(defaultValue = Cursor.LIMITE_POR_DEFECTO) int limite) {
+        return proyectoService.obtenerPagina(cursor, limite);
     }
 
     @GetMapping("/{id}")
-    public Proyecto obtenerPorId(@PathVariable Long id) {
-        return proyectoService.buscarPorId(id);
+    public ProyectoVista obtenerPorId(@PathVariable Long id) {
+        return ProyectoVista.desde(proyectoService.buscarPorId(id));
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Proyecto crear( @RequestBody Proyecto proyecto) {
-        return proyectoService.guardar(proyecto);
+    public ProyectoVista crear( @RequestBody Proyecto proyecto) {
+        return ProyectoVista.desde(proyectoService.guardar(proyecto));
     }
 
     @PutMapping("/{id}")
-    public Proyecto actualizar(@PathVariable Long id, @RequestBody Proyecto proyecto) {
-        return proyectoService.actualizar(id, proyecto);
+    public ProyectoVista actualizar(@PathVariable Long id, @RequestBody Proyecto proyecto) {
+        return ProyectoVista.desde(proyectoService.actualizar(id, proyecto));
+    }
+
+    // Solo se modifican los campos presentes en el cuerpo
+    @PatchMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void actualizarParcial(@PathVariable Long id, @RequestBody Map<String, Object> cambios) {
+        proyectoService.actualizarParcial(id, cambios);
     }
 
     @DeleteMapping("/{id}")
@@ -46,8 +68,62 @@ public class ProyectoController {
     }
 
     @GetMapping("/activos")
-    public List<Proyecto> obtenerPorDepartamento() {
-        return proyectoService.buscarPorProyectosActivos();
+    public Pagina<ProyectoVista> obtenerPorDepartamento(@RequestParam(required = false) String cursor,
+                                                        @RequestParam(defaultValue = Cursor.LIMITE_POR_DEFECTO) int limite) {
+        return proyectoService.buscarPorProyectosActivos(cursor, limite);
+    }
+
+    // Proyectos vigentes en la fecha indicada, por defecto hoy; a diferencia de /activos considera la fecha de inicio
+    @GetMapping("/vigentes")
+    public Pagina<ProyectoVista> obtenerVigentes(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fecha,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = Cursor.LIMITE_POR_DEFECTO) int limite) {
+        LocalDate dia = fecha == null ? LocalDate.now() : fecha;
+        return proyectoService.buscarVigentes(dia, dia, cursor, limite);
+    }
+
+    // Proyectos vigentes en algún día del rango, ambos extremos incluidos
+    @GetMapping("/vigentes/rango")
+    public Pagina<ProyectoVista> obtenerVigentesEnRango(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate hasta,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = Cursor.LIMITE_POR_DEFECTO) int limite) {
+        return proyectoService.buscarVigentes(desde, hasta, cursor, limite);
+    }
+
+    @GetMapping("/vigentes/mensual")
+    public List<VigenciaMensual> contarVigentesPorMes(@RequestParam int anio) {
+        return proyectoService.contarVigentesPorMes(anio);
+    }
+
+    // Empleados asignados a todos los proyectos indicados
+    @GetMapping("/empleados/todos")
+    public Pagina<EmpleadoVista> obtenerEmpleadosEnTodos(@RequestParam List<Long> ids,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = Cursor.LIMITE_POR_DEFECTO) int limite) {
+        return empleadoService.buscarEnTodosLosProyectos(ids, cursor, limite);
+    }
+
+    @GetMapping("/empleados/alguno")
+    public Pagina<EmpleadoVista> obtenerEmpleadosEnAlguno(@RequestParam List<Long> ids,
+                                                          @RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = Cursor.LIMITE_POR_DEFECTO) int limite) {
+        return empleadoService.buscarEnAlgunProyecto(ids, cursor, limite);
+    }
+
+    // Sin ids, los empleados que no tienen ningún proyecto
+    @GetMapping("/empleados/ninguno")
+    public Pagina<EmpleadoVista> obtenerEmpleadosEnNinguno(@RequestParam(required = false) List<Long> ids,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = Cursor.LIMITE_POR_DEFECTO) int limite) {
+        return empleadoService.buscarEnNingunProyecto(ids, cursor, limite);
+    }
+
+    @GetMapping("/dotacion")
+    public List<DotacionProyecto> obtenerDotaciones() {
+        return proyectoService.obtenerDotaciones();
     }
 
 }
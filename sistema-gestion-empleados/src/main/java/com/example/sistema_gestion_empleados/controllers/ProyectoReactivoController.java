@@ -0,0 +1,38 @@
+package com.example.sistema_gestion_empleados.controllers;
+
+import com.example.sistema_gestion_empleados.dto.Cursor;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.dto.ProyectoVista;
+import com.example.sistema_gestion_empleados.services.LecturaReactivaService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+// Endpoints de lectura de ProyectoController en el perfil reactivo
+@RestController
+@RequestMapping("/api/proyectos")
+@Profile("reactivo")
+public class ProyectoReactivoController {
+    private final LecturaReactivaService lecturaReactivaService;
+
+    public ProyectoReactivoController(LecturaReactivaService lecturaReactivaService) {
+        this.lecturaReactivaService = lecturaReactivaService;
+    }
+
+    @GetMapping
+    public Mono<Pagina<ProyectoVista>> obtenerTodos(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = Cursor.LIMITE_POR_DEFECTO) int limite) {
+        return lecturaReactivaService.obtenerPaginaProyectos(cursor, limite);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ProyectoVista> obtenerPorId(@PathVariable Long id) {
+        return lecturaReactivaService.buscarProyectoPorId(id);
+    }
+
+    @GetMapping("/activos")
+    public Mono<Pagina<ProyectoVista>> obtenerActivos(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(defaultValue = Cursor.LIMITE_POR_DEFECTO) int limite) {
+        return lecturaReactivaService.buscarProyectosActivos(cursor, limite);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Comparator;
+import java.util.Objects;
+
+public record AcumuladoSalario(Long departamentoId, Long cantidad, BigDecimal suma, BigDecimal sumaCuadrados,
+                               BigDecimal minimo, BigDecimal maximo) {
+
+    public static AcumuladoSalario vacio(Long departamentoId) {
+        return new AcumuladoSalario(departamentoId, 0L, BigDecimal.ZERO, BigDecimal.ZERO, null, null);
+    }
+
+    public BigDecimal promedio() {
+        if (cantidad == 0) {
+            return BigDecimal.ZERO;
+        }
+        return suma.divide(BigDecimal.valueOf(cantidad), 2, RoundingMode.HALF_UP);
+    }
+
+    // Compara por valor numérico: la escala de los agregados calculados no siempre coincide con la de la tabla
+    public boolean coincideCon(AcumuladoSalario otro) {
+        return Objects.equals(cantidad, otro.cantidad)
+                && Objects.compare(suma, otro.suma, Comparator.nullsFirst(Comparator.naturalOrder())) == 0
+                && Objects.compare(sumaCuadrados, otro.sumaCuadrados, Comparator.nullsFirst(Comparator.naturalOrder())) == 0
+                && Objects.compare(minimo, otro.minimo, Comparator.nullsFirst(Comparator.naturalOrder())) == 0
+                && Objects.compare(maximo, otro.maximo, Comparator.nullsFirst(Comparator.naturalOrder())) == 0;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import java.time.LocalDate;
+
+// Una fila de empleado_proyecto con las fechas del proyecto, para la detección de conflictos
+public record AsignacionFechas(Long empleadoId, Long proyectoId, LocalDate fechaInicio, LocalDate fechaFin) {
+}
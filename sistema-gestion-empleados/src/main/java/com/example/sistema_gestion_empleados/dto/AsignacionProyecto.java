@@ -0,0 +1,5 @@
+package com.example.sistema_gestion_empleados.dto;
+
+// Una fila de empleado_proyecto con el nombre del proyecto ya resuelto
+public record AsignacionProyecto(Long empleadoId, Long proyectoId, String proyectoNombre) {
+}
@@ -0,0 +1,10 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Primer tramo en que el empleado alcanza su máximo de proyectos simultáneos; desde o hasta nulos si el tramo
+// no tiene comienzo o fin
+public record ConflictoAsignacion(Long empleadoId, int proyectosSimultaneos, LocalDate desde, LocalDate hasta,
+                                  List<Long> proyectoIds) {
+}
@@ -0,0 +1,5 @@
+package com.example.sistema_gestion_empleados.dto;
+
+// Empleados de un departamento contratados en un mes; departamentoId nulo para los que no tienen departamento
+public record ContratacionesMes(Long departamentoId, int anio, int mes, long cantidad) {
+}
@@ -0,0 +1,101 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import com.example.sistema_gestion_empleados.exceptions.PaginacionInvalidaException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public final class Cursor {
+    public static final String LIMITE_POR_DEFECTO = "50";
+    public static final int LIMITE_MAXIMO = 1000;
+
+    private static final String PREFIJO = "id:";
+    // Posición en un ranking, como el de la búsqueda por trigramas. El prefijo distinto hace que un cursor de
+    // un modo se rechace en el otro en lugar de interpretarse con otro significado
+    private static final String PREFIJO_POSICION = "pos:";
+    // Último par (clave, id) de un recorrido ordenado por clave y luego por id, como el del índice de salarios
+    private static final String PREFIJO_CLAVE = "clave:";
+
+    private Cursor() {
+    }
+
+    public static String codificar(Long ultimoId) {
+        return codificar(PREFIJO, ultimoId);
+    }
+
+    // Sin cursor se empieza desde el principio: los IDs generados arrancan en 1
+    public static long decodificar(String cursor) {
+        return decodificar(PREFIJO, cursor);
+    }
+
+    public static String codificarPosicion(long posicion) {
+        return codificar(PREFIJO_POSICION, posicion);
+    }
+
+    // Sin cursor se empieza por el primer puesto del ranking
+    public static int decodificarPosicion(String cursor) {
+        long posicion = decodificar(PREFIJO_POSICION, cursor);
+        if (posicion < 0 || posicion > Integer.MAX_VALUE) {
+            throw new PaginacionInvalidaException("Cursor inválido: " + cursor);
+        }
+        return (int) posicion;
+    }
+
+    public static String codificarClave(long clave, long id) {
+        return codificar(PREFIJO_CLAVE, clave + ":" + id);
+    }
+
+    // Sin cursor se empieza antes de la primera clave
+    public static ClaveYId decodificarClave(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ClaveYId.INICIO;
+        }
+        String valor = decodificarValor(PREFIJO_CLAVE, cursor);
+        int separador = valor.indexOf(':');
+        try {
+            return new ClaveYId(Long.parseLong(valor.substring(0, separador)), Long.parseLong(valor.substring(separador + 1)));
+        } catch (IndexOutOfBoundsException | NumberFormatException ex) {
+            throw new PaginacionInvalidaException("Cursor inválido: " + cursor);
+        }
+    }
+
+    public static int normalizarLimite(int limite) {
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new PaginacionInvalidaException("El límite debe estar entre 1 y " + LIMITE_MAXIMO + ": " + limite);
+        }
+        return limite;
+    }
+
+    private static String codificar(String prefijo, Object valor) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((prefijo + valor).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodificar(String prefijo, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(decodificarValor(prefijo, cursor));
+        } catch (NumberFormatException ex) {
+            throw new PaginacionInvalidaException("Cursor inválido: " + cursor);
+        }
+    }
+
+    private static String decodificarValor(String prefijo, String cursor) {
+        String valor;
+        try {
+            valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new PaginacionInvalidaException("Cursor inválido: " + cursor);
+        }
+        if (!valor.startsWith(prefijo)) {
+            throw new PaginacionInvalidaException("Cursor inválido: " + cursor);
+        }
+        return valor.substring(prefijo.length());
+    }
+
+    public record ClaveYId(long clave, long id) {
+        public static final ClaveYId INICIO = new ClaveYId(Long.MIN_VALUE, Long.MIN_VALUE);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import com.example.sistema_gestion_empleados.models.Departamento;
+
+public record DepartamentoVista(Long id, String nombre, String descripcion) {
+
+    public static DepartamentoVista desde(Departamento departamento) {
+        return new DepartamentoVista(departamento.getId(), departamento.getNombre(), departamento.getDescripcion());
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.sistema_gestion_empleados.dto;
+
+// Cantidad de empleados asignados a un proyecto
+public record DotacionProyecto(Long proyectoId, long empleados) {
+}
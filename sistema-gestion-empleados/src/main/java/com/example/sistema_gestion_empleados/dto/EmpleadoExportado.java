@@ -0,0 +1,31 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import com.example.sistema_gestion_empleados.models.Departamento;
+import com.example.sistema_gestion_empleados.models.Empleado;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Fila plana de la exportación: no incluye proyectos para no disparar cargas perezosas por empleado
+public record EmpleadoExportado(Long id,
+                                String nombre,
+                                String apellido,
+                                String email,
+                                LocalDate fechaContratacion,
+                                BigDecimal salario,
+                                Long departamentoId,
+                                String departamentoNombre) {
+
+    public static EmpleadoExportado desde(Empleado empleado) {
+        Departamento departamento = empleado.getDepartamento();
+        return new EmpleadoExportado(
+                empleado.getId(),
+                empleado.getNombre(),
+                empleado.getApellido(),
+                empleado.getEmail(),
+                empleado.getFechaContratacion(),
+                empleado.getSalario(),
+                departamento != null ? departamento.getId() : null,
+                departamento != null ? departamento.getNombre() : null);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import com.example.sistema_gestion_empleados.models.Departamento;
+import com.example.sistema_gestion_empleados.models.Empleado;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+public record EmpleadoVista(Long id,
+                            String nombre,
+                            String apellido,
+                            String email,
+                            LocalDate fechaContratacion,
+                            BigDecimal salario,
+                            ReferenciaDepartamento departamento,
+                            List<ReferenciaProyecto> proyectos) {
+
+    // Usado por las consultas "SELECT new" de EmpleadoRepository; los proyectos se cargan aparte
+    public EmpleadoVista(Long id, String nombre, String apellido, String email, LocalDate fechaContratacion,
+                         BigDecimal salario, Long departamentoId, String departamentoNombre) {
+        this(id, nombre, apellido, email, fechaContratacion, salario,
+                departamentoId != null ? new ReferenciaDepartamento(departamentoId, departamentoNombre) : null,
+                List.of());
+    }
+
+    public EmpleadoVista conProyectos(List<ReferenciaProyecto> proyectos) {
+        return new EmpleadoVista(id, nombre, apellido, email, fechaContratacion, salario, departamento, proyectos);
+    }
+
+    public static EmpleadoVista desde(Empleado empleado) {
+        Departamento departamento = empleado.getDepartamento();
+        List<ReferenciaProyecto> proyectos = empleado.getProyectos() == null ? List.of() : empleado.getProyectos().stream()
+                .map(p -> new ReferenciaProyecto(p.getId(), p.getNombre()))
+                .sorted(Comparator.comparing(ReferenciaProyecto::id, Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+        return new EmpleadoVista(
+                empleado.getId(),
+                empleado.getNombre(),
+                empleado.getApellido(),
+                empleado.getEmail(),
+                empleado.getFechaContratacion(),
+                empleado.getSalario(),
+                departamento != null ? new ReferenciaDepartamento(departamento.getId(), departamento.getNombre()) : null,
+                proyectos);
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.sistema_gestion_empleados.dto;
+
+// indice es la posición del empleado en la lista recibida
+public record ErrorImportacion(int indice, String email, String motivo) {
+}
@@ -0,0 +1,16 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+public record EstadisticasCache(String nombre,
+                                long tamanio,
+                                long aciertos,
+                                long fallos,
+                                double tasaAciertos,
+                                long desalojos) {
+
+    public static EstadisticasCache desde(String nombre, long tamanio, CacheStats stats) {
+        return new EstadisticasCache(nombre, tamanio, stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+public record EstadisticasSalarioDepartamento(Long departamentoId, String departamentoNombre, long cantidad,
+                                              BigDecimal promedio, BigDecimal minimo, BigDecimal maximo,
+                                              BigDecimal desviacionEstandar) {
+
+    public static EstadisticasSalarioDepartamento desde(ReferenciaDepartamento departamento, AcumuladoSalario acumulado) {
+        if (acumulado.cantidad() == 0) {
+            return new EstadisticasSalarioDepartamento(departamento.id(), departamento.nombre(), 0,
+                    null, null, null, null);
+        }
+        BigDecimal cantidad = BigDecimal.valueOf(acumulado.cantidad());
+        BigDecimal media = acumulado.suma().divide(cantidad, MathContext.DECIMAL64);
+        // Varianza poblacional: E[x²] - E[x]²
+        BigDecimal varianza = acumulado.sumaCuadrados().divide(cantidad, MathContext.DECIMAL64)
+                .subtract(media.multiply(media, MathContext.DECIMAL64))
+                .max(BigDecimal.ZERO);
+        return new EstadisticasSalarioDepartamento(departamento.id(), departamento.nombre(), acumulado.cantidad(),
+                acumulado.promedio(),
+                acumulado.minimo(),
+                acumulado.maximo(),
+                varianza.sqrt(MathContext.DECIMAL64).setScale(2, RoundingMode.HALF_UP));
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record FiltroEmpleados(Long departamentoId, BigDecimal salarioMin, BigDecimal salarioMax,
+                              LocalDate contratadoDesde, LocalDate contratadoHasta) {
+
+    public boolean vacio() {
+        return departamentoId == null && salarioMin == null && salarioMax == null
+                && contratadoDesde == null && contratadoHasta == null;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public enum FormatoExportacion {
+    NDJSON("application/x-ndjson") {
+        @Override
+        public void escribirEncabezado(Writer salida) {
+        }
+
+        @Override
+        public void escribirFila(EmpleadoExportado fila, Writer salida, ObjectMapper objectMapper) throws IOException {
+            salida.write(objectMapper.writeValueAsString(fila));
+            salida.write('\n');
+        }
+    },
+    CSV("text/csv") {
+        @Override
+        public void escribirEncabezado(Writer salida) throws IOException {
+            salida.write("id,nombre,apellido,email,fechaContratacion,salario,departamentoId,departamentoNombre\n");
+        }
+
+        @Override
+        public void escribirFila(EmpleadoExportado fila, Writer salida, ObjectMapper objectMapper) throws IOException {
+            salida.write(String.valueOf(fila.id()));
+            salida.write(',');
+            salida.write(campoCsv(fila.nombre()));
+            salida.write(',');
+            salida.write(campoCsv(fila.apellido()));
+            salida.write(',');
+            salida.write(campoCsv(fila.email()));
+            salida.write(',');
+            salida.write(campoCsv(fila.fechaContratacion()));
+            salida.write(',');
+            salida.write(fila.salario() != null ? fila.salario().toPlainString() : "");
+            salida.write(',');
+            salida.write(campoCsv(fila.departamentoId()));
+            salida.write(',');
+            salida.write(campoCsv(fila.departamentoNombre()));
+            salida.write('\n');
+        }
+    };
+
+    private final String contentType;
+
+    FormatoExportacion(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public abstract void escribirEncabezado(Writer salida) throws IOException;
+
+    public abstract void escribirFila(EmpleadoExportado fila, Writer salida, ObjectMapper objectMapper) throws IOException;
+
+    private static String campoCsv(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        String texto = valor.toString();
+        if (texto.indexOf(',') < 0 && texto.indexOf('"') < 0 && texto.indexOf('\n') < 0 && texto.indexOf('\r') < 0) {
+            return texto;
+        }
+        return '"' + texto.replace("\"", "\"\"") + '"';
+    }
+}
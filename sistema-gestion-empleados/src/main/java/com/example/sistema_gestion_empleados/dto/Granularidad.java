@@ -0,0 +1,18 @@
+package com.example.sistema_gestion_empleados.dto;
+
+// Ancho de los períodos del histograma de contrataciones; el mes es el más fino que se guarda
+public enum Granularidad {
+    MES(1),
+    TRIMESTRE(3),
+    ANIO(12);
+
+    private final int meses;
+
+    Granularidad(int meses) {
+        this.meses = meses;
+    }
+
+    public int getMeses() {
+        return meses;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// periodos tiene el primer día de cada período; cada serie tiene una posición por período
+public record HistogramaContrataciones(Granularidad granularidad, List<LocalDate> periodos,
+                                       SerieContrataciones total, List<SerieContrataciones> departamentos) {
+}
@@ -0,0 +1,19 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import java.util.List;
+
+public record LoteImportacion(int numero,
+                              int recibidos,
+                              int insertados,
+                              List<ErrorImportacion> errores,
+                              String errorLote) {
+
+    public static LoteImportacion exitoso(int numero, int recibidos, int insertados, List<ErrorImportacion> errores) {
+        return new LoteImportacion(numero, recibidos, insertados, errores, null);
+    }
+
+    // El lote entero se revirtió, por ejemplo por una violación de restricción al hacer flush
+    public static LoteImportacion fallido(int numero, int recibidos, List<ErrorImportacion> errores, String errorLote) {
+        return new LoteImportacion(numero, recibidos, 0, errores, errorLote);
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.sistema_gestion_empleados.dto;
+
+// Una fila de empleado_proyecto, para la carga del índice de membresías
+public record MembresiaProyecto(Long empleadoId, Long proyectoId) {
+}
@@ -0,0 +1,20 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record Pagina<T>(List<T> contenido, String siguienteCursor) {
+
+    // Las consultas piden limite + 1 filas: la fila extra solo indica que hay otra página
+    public static <T> Pagina<T> desde(List<T> filas, int limite, Function<T, Long> id) {
+        if (filas.size() <= limite) {
+            return new Pagina<>(filas, null);
+        }
+        List<T> contenido = filas.subList(0, limite);
+        return new Pagina<>(contenido, Cursor.codificar(id.apply(contenido.get(limite - 1))));
+    }
+
+    public <U> Pagina<U> conContenido(List<U> contenido) {
+        return new Pagina<>(contenido, siguienteCursor);
+    }
+}
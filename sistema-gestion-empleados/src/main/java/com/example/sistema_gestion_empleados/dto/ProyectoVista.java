@@ -0,0 +1,13 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import com.example.sistema_gestion_empleados.models.Proyecto;
+
+import java.time.LocalDate;
+
+public record ProyectoVista(Long id, String nombre, String descripcion, LocalDate fechaInicio, LocalDate fechaFin) {
+
+    public static ProyectoVista desde(Proyecto proyecto) {
+        return new ProyectoVista(proyecto.getId(), proyecto.getNombre(), proyecto.getDescripcion(),
+                proyecto.getFechaInicio(), proyecto.getFechaFin());
+    }
+}
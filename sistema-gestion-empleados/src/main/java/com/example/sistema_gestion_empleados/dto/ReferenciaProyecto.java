@@ -0,0 +1,4 @@
+package com.example.sistema_gestion_empleados.dto;
+
+public record ReferenciaProyecto(Long id, String nombre) {
+}
@@ -0,0 +1,8 @@
+package com.example.sistema_gestion_empleados.dto;
+
+public record ResultadoEliminacion(int empleados, int asignacionesProyectos) {
+
+    public ResultadoEliminacion sumar(ResultadoEliminacion otro) {
+        return new ResultadoEliminacion(empleados + otro.empleados, asignacionesProyectos + otro.asignacionesProyectos);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import java.util.List;
+
+public record ResultadoImportacion(int recibidos, int insertados, int rechazados, List<LoteImportacion> lotes) {
+
+    public static ResultadoImportacion desde(int recibidos, List<LoteImportacion> lotes) {
+        int insertados = lotes.stream().mapToInt(LoteImportacion::insertados).sum();
+        return new ResultadoImportacion(recibidos, insertados, recibidos - insertados, lotes);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Valores de los que dependen las estadísticas, los índices de salarios y contrataciones y el filtro de emails
+public record ResumenEmpleado(Long id, String email, BigDecimal salario, Long departamentoId,
+                              LocalDate fechaContratacion) {
+}
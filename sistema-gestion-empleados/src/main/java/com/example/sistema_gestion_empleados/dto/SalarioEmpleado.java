@@ -0,0 +1,6 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import java.math.BigDecimal;
+
+public record SalarioEmpleado(Long id, BigDecimal salario) {
+}
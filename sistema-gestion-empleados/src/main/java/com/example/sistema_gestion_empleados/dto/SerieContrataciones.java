@@ -0,0 +1,6 @@
+package com.example.sistema_gestion_empleados.dto;
+
+// Contrataciones de cada período y plantilla acumulada a su cierre: los empleados actuales contratados hasta
+// ese período, sin contar bajas anteriores que ya no están en la base
+public record SerieContrataciones(Long departamentoId, long[] contrataciones, long[] plantilla) {
+}
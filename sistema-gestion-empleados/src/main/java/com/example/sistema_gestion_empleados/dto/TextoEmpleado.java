@@ -0,0 +1,5 @@
+package com.example.sistema_gestion_empleados.dto;
+
+// Campos que indexa la búsqueda por texto
+public record TextoEmpleado(Long id, String nombre, String apellido, String email) {
+}
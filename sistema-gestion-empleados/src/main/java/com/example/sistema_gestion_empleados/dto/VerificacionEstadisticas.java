@@ -0,0 +1,7 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import java.util.List;
+
+public record VerificacionEstadisticas(int departamentosRevisados, List<Long> departamentosInconsistentes,
+                                       boolean reconstruido) {
+}
@@ -0,0 +1,7 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import java.time.YearMonth;
+
+// Proyectos vigentes en algún día del mes
+public record VigenciaMensual(YearMonth mes, long proyectos) {
+}
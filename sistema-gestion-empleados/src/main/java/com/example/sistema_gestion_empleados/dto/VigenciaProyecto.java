@@ -0,0 +1,7 @@
+package com.example.sistema_gestion_empleados.dto;
+
+import java.time.LocalDate;
+
+// Fechas que indexa la consulta de proyectos vigentes
+public record VigenciaProyecto(Long id, LocalDate fechaInicio, LocalDate fechaFin) {
+}
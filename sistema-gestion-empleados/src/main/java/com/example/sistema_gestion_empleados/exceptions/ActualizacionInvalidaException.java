@@ -0,0 +1,7 @@
+package com.example.sistema_gestion_empleados.exceptions;
+
+public class ActualizacionInvalidaException extends RuntimeException {
+    public ActualizacionInvalidaException(String mensaje) {
+        super(mensaje);
+    }
+}
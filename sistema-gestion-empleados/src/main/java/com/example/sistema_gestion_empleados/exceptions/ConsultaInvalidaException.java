@@ -0,0 +1,7 @@
+package com.example.sistema_gestion_empleados.exceptions;
+
+public class ConsultaInvalidaException extends RuntimeException {
+    public ConsultaInvalidaException(String mensaje) {
+        super(mensaje);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.sistema_gestion_empleados.exceptions;
+
+public class EliminacionInvalidaException extends RuntimeException {
+    public EliminacionInvalidaException(String mensaje) {
+        super(mensaje);
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.sistema_gestion_empleados.exceptions;
 
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.context.request.WebRequest;
@@ -12,6 +14,7 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestControllerAdvice
+@Profile("!reactivo")
 public class GlobalExceptionHandler {
 
     // Manejador para entidades no encontradas
@@ -42,6 +45,33 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(body, HttpStatus.CONFLICT);
     }
 
+    // Manejador para parámetros de paginación, consulta, actualización o eliminación masiva inválidos
+    @ExceptionHandler({PaginacionInvalidaException.class, ConsultaInvalidaException.class,
+            ActualizacionInvalidaException.class, EliminacionInvalidaException.class})
+    public ResponseEntity<Object> handleSolicitudInvalidaException(RuntimeException ex, WebRequest request) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Solicitud inválida");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    // Manejador para el pool de conexiones agotado: la solicitud se rechaza en lugar de seguir esperando
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<Object> handleCannotCreateTransactionException(CannotCreateTransactionException ex, WebRequest request) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Servicio no disponible");
+        body.put("message", "No hay conexiones disponibles con la base de datos. Reintente más tarde.");
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+
+        return new ResponseEntity<>(body, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     // Manejador para cualquier otra excepción
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleGeneralException(Exception ex, WebRequest request) {
@@ -0,0 +1,7 @@
+package com.example.sistema_gestion_empleados.exceptions;
+
+public class PaginacionInvalidaException extends RuntimeException {
+    public PaginacionInvalidaException(String mensaje) {
+        super(mensaje);
+    }
+}
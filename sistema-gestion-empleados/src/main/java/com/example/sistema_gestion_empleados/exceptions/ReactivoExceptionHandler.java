@@ -0,0 +1,52 @@
+package com.example.sistema_gestion_empleados.exceptions;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Mismo cuerpo de error que GlobalExceptionHandler para el perfil reactivo, que no tiene WebRequest
+@RestControllerAdvice
+@Profile("reactivo")
+public class ReactivoExceptionHandler {
+
+    // Manejador para entidades no encontradas
+    @ExceptionHandler({EmpleadoNoEncontradoException.class,
+            DepartamentoNoEncontradoException.class,
+            ProyectoNoEncontradoException.class})
+    public ResponseEntity<Object> handleNotFoundException(RuntimeException ex, ServerWebExchange exchange) {
+        return respuesta(HttpStatus.NOT_FOUND, "Recurso no encontrado", ex.getMessage(), exchange);
+    }
+
+    // Manejador para parámetros de paginación inválidos
+    @ExceptionHandler(PaginacionInvalidaException.class)
+    public ResponseEntity<Object> handlePaginacionInvalidaException(PaginacionInvalidaException ex,
+                                                                    ServerWebExchange exchange) {
+        return respuesta(HttpStatus.BAD_REQUEST, "Solicitud inválida", ex.getMessage(), exchange);
+    }
+
+    // Manejador para cualquier otra excepción
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Object> handleGeneralException(Exception ex, ServerWebExchange exchange) {
+        return respuesta(HttpStatus.INTERNAL_SERVER_ERROR, "Error Interno del Servidor",
+                "Ocurrió un error inesperado. Contacte al administrador.", exchange);
+    }
+
+    private static ResponseEntity<Object> respuesta(HttpStatus status, String error, String mensaje,
+                                                    ServerWebExchange exchange) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", status.value());
+        body.put("error", error);
+        body.put("message", mensaje);
+        body.put("path", exchange.getRequest().getPath().value());
+
+        return new ResponseEntity<>(body, status);
+    }
+}
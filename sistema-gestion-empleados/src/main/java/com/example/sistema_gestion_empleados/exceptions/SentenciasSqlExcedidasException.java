@@ -0,0 +1,7 @@
+package com.example.sistema_gestion_empleados.exceptions;
+
+public class SentenciasSqlExcedidasException extends RuntimeException {
+    public SentenciasSqlExcedidasException(String mensaje) {
+        super(mensaje);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+// Junta los cambios de un índice registrados en una transacción y los aplica de una vez si confirma; fuera de una
+// transacción se aplican en el momento. Cada transacción tiene su propio lote: las sincronizaciones de una
+// transacción suspendida no son visibles
+final class CambiosPorTransaccion<T> {
+    private final Consumer<List<T>> alConfirmar;
+    // Recibe los cambios ya agregados al lote y el nuevo; devuelve el que se guarda
+    private final BiFunction<List<T>, T, T> alAgregar;
+    // También al revertir, con los cambios del lote
+    private final Consumer<List<T>> alTerminar;
+
+    CambiosPorTransaccion(Consumer<List<T>> alConfirmar) {
+        this(alConfirmar, (previos, cambio) -> cambio, cambios -> {
+        });
+    }
+
+    CambiosPorTransaccion(Consumer<List<T>> alConfirmar, BiFunction<List<T>, T, T> alAgregar,
+                          Consumer<List<T>> alTerminar) {
+        this.alConfirmar = alConfirmar;
+        this.alAgregar = alAgregar;
+        this.alTerminar = alTerminar;
+    }
+
+    void registrar(T cambio) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            alConfirmar.accept(List.of(cambio));
+            return;
+        }
+        Lote lote = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(Lote.class::isInstance)
+                .map(Lote.class::cast)
+                .filter(existente -> existente.duenio() == this)
+                .findFirst()
+                .orElse(null);
+        // El lote se registra con su primer cambio: alTerminar nunca recibe una lista vacía
+        T agregado = alAgregar.apply(lote == null ? List.of() : lote.cambios, cambio);
+        if (lote == null) {
+            lote = new Lote();
+            TransactionSynchronizationManager.registerSynchronization(lote);
+        }
+        lote.cambios.add(agregado);
+    }
+
+    private final class Lote implements TransactionSynchronization {
+        private final List<T> cambios = new ArrayList<>();
+
+        CambiosPorTransaccion<T> duenio() {
+            return CambiosPorTransaccion.this;
+        }
+
+        @Override
+        public void afterCommit() {
+            alConfirmar.accept(cambios);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            alTerminar.accept(cambios);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+
+// Registro de listeners de la SessionFactory detrás del EntityManagerFactory de Spring
+final class EventosHibernate {
+
+    private EventosHibernate() {
+    }
+
+    static EventListenerRegistry registro(EntityManagerFactory entityManagerFactory) {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .requireService(EventListenerRegistry.class);
+    }
+}
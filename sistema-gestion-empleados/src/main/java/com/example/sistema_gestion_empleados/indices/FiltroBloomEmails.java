@@ -0,0 +1,140 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Filtro de Bloom con contadores de 4 bits (16 por long) para admitir bajas. Un "no" es definitivo;
+// un "quizás" solo indica que hay que preguntarle a la base. Lecturas y escrituras son sin bloqueo
+@Component
+public class FiltroBloomEmails {
+    private static final double TASA_FALSOS_POSITIVOS = 0.01;
+    private static final int CAPACIDAD_MINIMA = 100_000;
+    // Unos 100 MB de contadores; más allá la tasa de falsos positivos crece pero el filtro sigue siendo correcto
+    private static final int CAPACIDAD_MAXIMA = 20_000_000;
+    private static final long CONTADOR = 0xFL;
+
+    private final boolean habilitado;
+    private volatile boolean disponible;
+    private volatile Contadores contadores = new Contadores(CAPACIDAD_MINIMA);
+
+    public FiltroBloomEmails(@Value("${indices.emails.habilitado:true}") boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    public boolean isDisponible() {
+        return disponible;
+    }
+
+    // Sin filtro disponible todo email puede existir y se consulta la base como antes
+    public boolean puedeExistir(String email) {
+        return !disponible || email == null || contadores.contiene(hash(email));
+    }
+
+    // Holgura del doble de filas para que la tasa de falsos positivos no suba con las altas posteriores
+    public void reemplazar(long filas, Iterator<String> emails) {
+        Contadores nuevos = new Contadores((int) Math.min(CAPACIDAD_MAXIMA, Math.max(CAPACIDAD_MINIMA, filas * 2)));
+        while (emails.hasNext()) {
+            nuevos.incrementar(hash(emails.next()));
+        }
+        contadores = nuevos;
+        disponible = true;
+    }
+
+    public void agregar(String email) {
+        contadores.incrementar(hash(email));
+    }
+
+    public void quitar(String email) {
+        contadores.decrementar(hash(email));
+    }
+
+    // El email se normaliza para no dar falsos negativos con colaciones que ignoran mayúsculas (MySQL)
+    static long hash(String email) {
+        String normalizado = email.toLowerCase(Locale.ROOT);
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalizado.length(); i++) {
+            h ^= normalizado.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mezclar(h);
+    }
+
+    private static long mezclar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // Posiciones por doble hash (Kirsch-Mitzenmacher): h1 + i * h2 sobre un único hash de 64 bits
+    private static final class Contadores {
+        private final AtomicLongArray palabras;
+        private final long posiciones;
+        private final int funciones;
+
+        Contadores(int capacidad) {
+            long optimas = (long) Math.ceil(-capacidad * Math.log(TASA_FALSOS_POSITIVOS) / (Math.log(2) * Math.log(2)));
+            palabras = new AtomicLongArray((int) ((optimas + 15) / 16));
+            posiciones = palabras.length() * 16L;
+            funciones = Math.max(1, (int) Math.round((double) posiciones / capacidad * Math.log(2)));
+        }
+
+        boolean contiene(long hash) {
+            for (int i = 0; i < funciones; i++) {
+                long posicion = posicion(hash, i);
+                if (((palabras.get((int) (posicion >>> 4)) >>> desplazamiento(posicion)) & CONTADOR) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void incrementar(long hash) {
+            for (int i = 0; i < funciones; i++) {
+                actualizar(posicion(hash, i), 1);
+            }
+        }
+
+        void decrementar(long hash) {
+            for (int i = 0; i < funciones; i++) {
+                actualizar(posicion(hash, i), -1);
+            }
+        }
+
+        // Un contador saturado queda fijo: decrementarlo podría producir falsos negativos
+        private void actualizar(long posicion, int delta) {
+            int indice = (int) (posicion >>> 4);
+            int desplazamiento = desplazamiento(posicion);
+            while (true) {
+                long palabra = palabras.get(indice);
+                long contador = (palabra >>> desplazamiento) & CONTADOR;
+                if (contador == CONTADOR || (delta < 0 && contador == 0)) {
+                    return;
+                }
+                long nueva = palabra + ((long) delta << desplazamiento);
+                if (palabras.compareAndSet(indice, palabra, nueva)) {
+                    return;
+                }
+            }
+        }
+
+        private long posicion(long hash, int i) {
+            long h2 = mezclar(hash ^ 0x9e3779b97f4a7c15L) | 1;
+            return Math.floorMod(hash + i * h2, posiciones);
+        }
+
+        private static int desplazamiento(long posicion) {
+            return (int) (posicion & 15) * 4;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import com.example.sistema_gestion_empleados.dto.ContratacionesMes;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Histograma de fechas de contratación por departamento: un contador por mes en un arreglo que arranca en el
+// primer mes con contrataciones y crece hacia cualquiera de los dos lados. Los empleados sin departamento van
+// bajo la clave nula. Las consultas agrupan meses en períodos sin leer la tabla
+@Component
+public class IndiceContrataciones {
+    // Margen con que crece un arreglo hacia meses anteriores, para no copiarlo con cada mes nuevo
+    private static final int MARGEN_MESES = 12;
+
+    private final boolean habilitado;
+    private volatile boolean disponible;
+    private final ReentrantReadWriteLock bloqueo = new ReentrantReadWriteLock();
+    private Map<Long, Histograma> departamentos = new HashMap<>();
+
+    public IndiceContrataciones(@Value("${indices.contrataciones.habilitado:false}") boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    // Mientras no termina la carga inicial las consultas agrupan sobre la tabla
+    public boolean isDisponible() {
+        return disponible;
+    }
+
+    // Meses desde el año 0, así un período de varios meses se alinea con una división
+    public static int aMes(LocalDate fecha) {
+        return fecha.getYear() * 12 + fecha.getMonthValue() - 1;
+    }
+
+    public static LocalDate aFecha(int mes) {
+        return LocalDate.of(Math.floorDiv(mes, 12), Math.floorMod(mes, 12) + 1, 1);
+    }
+
+    public void reemplazar(Iterator<ContratacionesMes> meses) {
+        Map<Long, Histograma> nuevos = new HashMap<>();
+        while (meses.hasNext()) {
+            ContratacionesMes fila = meses.next();
+            nuevos.computeIfAbsent(fila.departamentoId(), id -> new Histograma())
+                    .sumar(fila.anio() * 12 + fila.mes() - 1, fila.cantidad());
+        }
+        bloqueo.writeLock().lock();
+        try {
+            departamentos = nuevos;
+            disponible = true;
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    // Aplica los cambios de una transacción confirmada bajo un solo bloqueo; un departamento sin empleados sale
+    public void aplicar(List<Cambio> cambios) {
+        bloqueo.writeLock().lock();
+        try {
+            for (Cambio cambio : cambios) {
+                Histograma histograma = departamentos.computeIfAbsent(cambio.departamentoId(), id -> new Histograma());
+                histograma.sumar(cambio.mes(), cambio.cantidad());
+                if (histograma.total <= 0) {
+                    departamentos.remove(cambio.departamentoId());
+                }
+            }
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    // Por departamento, las contrataciones anteriores a primerMes y las de cada uno de los períodos de
+    // pasoMeses que siguen, ordenados por id con los empleados sin departamento al final
+    public List<Conteo> contar(int primerMes, int periodos, int pasoMeses) {
+        List<Conteo> conteos = new ArrayList<>();
+        bloqueo.readLock().lock();
+        try {
+            departamentos.forEach((departamentoId, histograma) -> {
+                long anteriores = 0;
+                long[] contrataciones = new long[periodos];
+                for (int i = 0; i < histograma.cantidades.length; i++) {
+                    int mes = histograma.primerMes + i;
+                    if (mes < primerMes) {
+                        anteriores += histograma.cantidades[i];
+                    } else if ((mes - primerMes) / pasoMeses < periodos) {
+                        contrataciones[(mes - primerMes) / pasoMeses] += histograma.cantidades[i];
+                    }
+                }
+                conteos.add(new Conteo(departamentoId, anteriores, contrataciones));
+            });
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+        conteos.sort(Comparator.comparing(Conteo::departamentoId, Comparator.nullsLast(Comparator.naturalOrder())));
+        return conteos;
+    }
+
+    public record Conteo(Long departamentoId, long anteriores, long[] contrataciones) {
+    }
+
+    public record Cambio(Long departamentoId, int mes, int cantidad) {
+
+        public static Cambio alta(Long departamentoId, LocalDate fechaContratacion) {
+            return new Cambio(departamentoId, aMes(fechaContratacion), 1);
+        }
+
+        public static Cambio baja(Long departamentoId, LocalDate fechaContratacion) {
+            return new Cambio(departamentoId, aMes(fechaContratacion), -1);
+        }
+    }
+
+    // cantidades[i] son las contrataciones del mes primerMes + i
+    private static final class Histograma {
+        private int primerMes;
+        private int[] cantidades = new int[0];
+        private long total;
+
+        void sumar(int mes, long cantidad) {
+            if (cantidades.length == 0) {
+                primerMes = mes;
+                cantidades = new int[MARGEN_MESES];
+            } else if (mes < primerMes) {
+                int nuevoPrimero = mes - MARGEN_MESES;
+                int[] nuevas = new int[cantidades.length + primerMes - nuevoPrimero];
+                System.arraycopy(cantidades, 0, nuevas, primerMes - nuevoPrimero, cantidades.length);
+                primerMes = nuevoPrimero;
+                cantidades = nuevas;
+            } else if (mes - primerMes >= cantidades.length) {
+                int[] nuevas = new int[Math.max(cantidades.length * 2, mes - primerMes + MARGEN_MESES)];
+                System.arraycopy(cantidades, 0, nuevas, 0, cantidades.length);
+                cantidades = nuevas;
+            }
+            cantidades[mes - primerMes] += (int) cantidad;
+            total += cantidad;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import com.example.sistema_gestion_empleados.dto.DotacionProyecto;
+import com.example.sistema_gestion_empleados.dto.MembresiaProyecto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Un mapa de bits comprimido por proyecto con los ids de sus empleados, más el conjunto de todos los empleados
+// para las consultas por complemento. Las consultas por conjunto se resuelven con AND/OR/ANDNOT sobre los mapas,
+// sin leer la tabla intermedia
+@Component
+public class IndiceMembresias {
+    private static final long[] VACIO = new long[0];
+
+    private final boolean habilitado;
+    private volatile boolean disponible;
+    // Las consultas comparten el bloqueo de lectura; las escrituras modifican los mapas en el lugar
+    private final ReentrantReadWriteLock bloqueo = new ReentrantReadWriteLock();
+    private Map<Long, MapaBits> proyectos = new TreeMap<>();
+    private MapaBits empleados = new MapaBits();
+
+    public IndiceMembresias(@Value("${indices.membresias.habilitado:false}") boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    // Mientras no termina la carga inicial las consultas siguen por JPQL
+    public boolean isDisponible() {
+        return disponible;
+    }
+
+    public void reemplazar(Iterator<Long> proyectoIds, Iterator<Long> empleadoIds, Iterator<MembresiaProyecto> membresias) {
+        Map<Long, MapaBits> nuevosProyectos = new TreeMap<>();
+        proyectoIds.forEachRemaining(id -> nuevosProyectos.put(id, new MapaBits()));
+        MapaBits nuevosEmpleados = new MapaBits();
+        empleadoIds.forEachRemaining(nuevosEmpleados::agregar);
+        while (membresias.hasNext()) {
+            MembresiaProyecto membresia = membresias.next();
+            MapaBits miembros = nuevosProyectos.get(membresia.proyectoId());
+            if (miembros != null) {
+                miembros.agregar(membresia.empleadoId());
+            }
+        }
+        bloqueo.writeLock().lock();
+        try {
+            proyectos = nuevosProyectos;
+            empleados = nuevosEmpleados;
+            disponible = true;
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    public long cantidadEmpleados() {
+        bloqueo.readLock().lock();
+        try {
+            return empleados.cardinalidad();
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    // Aplica los cambios de una transacción confirmada, en orden y bajo un solo bloqueo
+    public void aplicar(List<Cambio> cambios) {
+        bloqueo.writeLock().lock();
+        try {
+            for (Cambio cambio : cambios) {
+                switch (cambio.tipo()) {
+                    case ASIGNACIONES -> {
+                        quitarDeProyectos(cambio.id());
+                        empleados.agregar(cambio.id());
+                        for (long proyectoId : cambio.proyectoIds()) {
+                            MapaBits miembros = proyectos.get(proyectoId);
+                            // Igual que en la tabla intermedia, los proyectos inexistentes se ignoran
+                            if (miembros != null) {
+                                miembros.agregar(cambio.id());
+                            }
+                        }
+                    }
+                    case BAJA_EMPLEADO -> {
+                        quitarDeProyectos(cambio.id());
+                        empleados.quitar(cambio.id());
+                    }
+                    case ALTA_PROYECTO -> proyectos.putIfAbsent(cambio.id(), new MapaBits());
+                    case BAJA_PROYECTO -> proyectos.remove(cambio.id());
+                }
+            }
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    // Sin mapa inverso por empleado: recorrer los proyectos cuesta una búsqueda binaria por proyecto, y un
+    // mapa inverso duplicaría la memoria del índice
+    private void quitarDeProyectos(long empleadoId) {
+        for (MapaBits miembros : proyectos.values()) {
+            miembros.quitar(empleadoId);
+        }
+    }
+
+    // Empleados asignados a todos los proyectos indicados; la intersección empieza por el mapa más chico
+    public long[] idsEnTodos(long[] proyectoIds, long despuesDe, int limite) {
+        bloqueo.readLock().lock();
+        try {
+            List<MapaBits> mapas = new ArrayList<>(proyectoIds.length);
+            for (long proyectoId : proyectoIds) {
+                MapaBits miembros = proyectos.get(proyectoId);
+                if (miembros == null) {
+                    return VACIO;
+                }
+                mapas.add(miembros);
+            }
+            if (mapas.isEmpty()) {
+                return VACIO;
+            }
+            mapas.sort((a, b) -> Long.compare(a.cardinalidad(), b.cardinalidad()));
+            MapaBits resultado = mapas.get(0);
+            for (int i = 1; i < mapas.size(); i++) {
+                resultado = MapaBits.interseccion(resultado, mapas.get(i));
+            }
+            return resultado.siguientes(despuesDe, limite);
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    // Empleados asignados a alguno de los proyectos indicados
+    public long[] idsEnAlguno(long[] proyectoIds, long despuesDe, int limite) {
+        bloqueo.readLock().lock();
+        try {
+            return union(proyectoIds).siguientes(despuesDe, limite);
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    // Empleados sin ninguno de los proyectos indicados; sin proyectos, los que no tienen ninguna asignación
+    public long[] idsEnNinguno(long[] proyectoIds, long despuesDe, int limite) {
+        bloqueo.readLock().lock();
+        try {
+            long[] excluidos = proyectoIds.length == 0
+                    ? proyectos.keySet().stream().mapToLong(Long::longValue).toArray()
+                    : proyectoIds;
+            return MapaBits.diferencia(empleados, union(excluidos)).siguientes(despuesDe, limite);
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    // Cantidad de empleados por proyecto, en orden de id
+    public List<DotacionProyecto> dotaciones() {
+        bloqueo.readLock().lock();
+        try {
+            List<DotacionProyecto> dotaciones = new ArrayList<>(proyectos.size());
+            proyectos.forEach((id, miembros) -> dotaciones.add(new DotacionProyecto(id, miembros.cardinalidad())));
+            return dotaciones;
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    private MapaBits union(long[] proyectoIds) {
+        MapaBits resultado = new MapaBits();
+        for (long proyectoId : Arrays.stream(proyectoIds).distinct().toArray()) {
+            MapaBits miembros = proyectos.get(proyectoId);
+            if (miembros != null) {
+                resultado = MapaBits.union(resultado, miembros);
+            }
+        }
+        return resultado;
+    }
+
+    public record Cambio(Tipo tipo, long id, long[] proyectoIds) {
+
+        public enum Tipo { ASIGNACIONES, BAJA_EMPLEADO, ALTA_PROYECTO, BAJA_PROYECTO }
+
+        // Reemplaza todas las asignaciones del empleado; también lo da de alta si es nuevo
+        public static Cambio asignaciones(long empleadoId, long[] proyectoIds) {
+            return new Cambio(Tipo.ASIGNACIONES, empleadoId, proyectoIds);
+        }
+
+        public static Cambio bajaEmpleado(long empleadoId) {
+            return new Cambio(Tipo.BAJA_EMPLEADO, empleadoId, VACIO);
+        }
+
+        public static Cambio altaProyecto(long proyectoId) {
+            return new Cambio(Tipo.ALTA_PROYECTO, proyectoId, VACIO);
+        }
+
+        public static Cambio bajaProyecto(long proyectoId) {
+            return new Cambio(Tipo.BAJA_PROYECTO, proyectoId, VACIO);
+        }
+    }
+}
@@ -0,0 +1,421 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Salarios en centavos ordenados junto al id del empleado, en arreglos primitivos paralelos, más un delta con los
+// empleados que cambiaron desde la última consolidación: las entradas que agrega y las de la base que oculta.
+// Las lecturas usan la instantánea vigente sin bloqueo; cada escritura publica una instantánea nueva que copia solo
+// el delta, y el delta se pliega en la base cuando pasa de umbral(n) empleados. Con IndiceSalariosEscrituraBenchmark
+// a 1M empleados, copiar la base en cada escritura costaba ~43 ms bajo el monitor; con el delta, ~50 µs de
+// promedio con las consolidaciones incluidas
+@Component
+public class IndiceSalarios {
+    private static final long[] VACIO = new long[0];
+    private static final long SIN_SALARIO = Long.MIN_VALUE;
+    static final int UMBRAL_MINIMO = 64;
+
+    private final boolean habilitado;
+    private volatile boolean disponible;
+    private volatile Instantanea instantanea = new Instantanea(Entradas.VACIAS, Entradas.VACIAS, Entradas.VACIAS);
+
+    // Estado del escritor, protegido por el monitor
+    private final Map<Long, Modificacion> modificados = new HashMap<>();
+    // Primeros turnos de las transacciones sin aplicar ni cerrar, con su propio monitor para que registrar un
+    // cambio no espere a una consolidación
+    private final TreeSet<Long> turnosAbiertos = new TreeSet<>();
+    private long ultimoTurno;
+    // Lo que no se pudo plegar por un turno abierto queda en el delta; se vuelve a consolidar recién cuando el
+    // delta crece otro umbral, no en cada escritura mientras dura esa transacción
+    private int proximaConsolidacion;
+
+    public IndiceSalarios(@Value("${indices.salarios.habilitado:false}") boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    // Mientras no termina la carga inicial las consultas siguen por JPQL
+    public boolean isDisponible() {
+        return disponible;
+    }
+
+    public static long aCentavos(BigDecimal salario) {
+        return salario.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    // Los límites de una consulta se ajustan hacia adentro para conservar la semántica de BETWEEN
+    public static long minimoEnCentavos(BigDecimal minimo) {
+        return minimo.movePointRight(2).setScale(0, RoundingMode.CEILING).longValueExact();
+    }
+
+    public static long maximoEnCentavos(BigDecimal maximo) {
+        return maximo.movePointRight(2).setScale(0, RoundingMode.FLOOR).longValueExact();
+    }
+
+    // Cada escritura copia el delta y cada consolidación la base: con ~raíz de n entradas en el delta las dos
+    // copias cuestan lo mismo por escritura
+    static int umbral(int tamanioBase) {
+        return Math.max(UMBRAL_MINIMO, (int) Math.sqrt(tamanioBase));
+    }
+
+    // Los arreglos deben venir ordenados por (centavos, id)
+    public synchronized void reemplazar(long[] centavos, long[] ids) {
+        modificados.clear();
+        proximaConsolidacion = umbral(ids.length);
+        instantanea = new Instantanea(new Entradas(centavos, ids), Entradas.VACIAS, Entradas.VACIAS);
+        disponible = true;
+    }
+
+    public int tamanio() {
+        Instantanea actual = instantanea;
+        return actual.base.tamanio() - actual.ocultas.tamanio() + actual.agregadas.tamanio();
+    }
+
+    public int contar(long minimo, long maximo) {
+        Instantanea actual = instantanea;
+        if (minimo > maximo) {
+            return 0;
+        }
+        return actual.base.contar(minimo, maximo) - actual.ocultas.contar(minimo, maximo)
+                + actual.agregadas.contar(minimo, maximo);
+    }
+
+    // Hasta limite pares del rango posteriores a (despuesDeCentavos, despuesDeId), en orden de (centavos, id): la
+    // base y el delta se recorren a la par desde el cursor y el recorrido termina con la última entrada pedida
+    public Tramo enRango(long minimo, long maximo, long despuesDeCentavos, long despuesDeId, int limite) {
+        Instantanea actual = instantanea;
+        if (minimo > maximo) {
+            return Tramo.VACIO;
+        }
+        Entradas base = actual.base;
+        Entradas ocultas = actual.ocultas;
+        Entradas agregadas = actual.agregadas;
+        long desdeCentavos = despuesDeCentavos < minimo ? minimo : despuesDeCentavos;
+        long desdeId = despuesDeCentavos < minimo ? Long.MIN_VALUE : despuesDeId;
+        int i = base.posteriorA(desdeCentavos, desdeId);
+        int hasta = base.posterior(maximo);
+        int agregada = agregadas.posteriorA(desdeCentavos, desdeId);
+        int agregadasHasta = agregadas.posterior(maximo);
+        int oculta = ocultas.posteriorA(desdeCentavos, desdeId);
+        long[] centavos = new long[Math.min(limite, hasta - i + agregadasHasta - agregada)];
+        long[] ids = new long[centavos.length];
+        int cantidad = 0;
+        while (cantidad < centavos.length) {
+            // Las ocultas están en el mismo orden que la base: se descartan avanzando a la par
+            while (i < hasta && oculta < ocultas.tamanio() && ocultas.comparar(oculta, base, i) <= 0) {
+                if (ocultas.comparar(oculta++, base, i) == 0) {
+                    i++;
+                }
+            }
+            Entradas origen;
+            int posicion;
+            if (i < hasta && (agregada >= agregadasHasta || agregadas.comparar(agregada, base, i) > 0)) {
+                origen = base;
+                posicion = i++;
+            } else if (agregada < agregadasHasta) {
+                origen = agregadas;
+                posicion = agregada++;
+            } else {
+                break;
+            }
+            centavos[cantidad] = origen.centavos[posicion];
+            ids[cantidad++] = origen.ids[posicion];
+        }
+        return new Tramo(Arrays.copyOf(centavos, cantidad), Arrays.copyOf(ids, cantidad));
+    }
+
+    // Ids de los salarios más altos, de mayor a menor
+    public long[] mayores(int cantidad) {
+        Instantanea actual = instantanea;
+        Entradas base = actual.base;
+        Entradas ocultas = actual.ocultas;
+        Entradas agregadas = actual.agregadas;
+        int total = Math.min(cantidad, base.tamanio() - ocultas.tamanio() + agregadas.tamanio());
+        long[] ids = new long[Math.max(0, total)];
+        int i = base.tamanio() - 1;
+        int oculta = ocultas.tamanio() - 1;
+        int agregada = agregadas.tamanio() - 1;
+        for (int destino = 0; destino < ids.length; destino++) {
+            while (i >= 0 && oculta >= 0 && ocultas.comparar(oculta, base, i) >= 0) {
+                if (ocultas.comparar(oculta--, base, i) == 0) {
+                    i--;
+                }
+            }
+            if (i < 0 || (agregada >= 0 && agregadas.comparar(agregada, base, i) > 0)) {
+                ids[destino] = agregadas.ids[agregada--];
+            } else {
+                ids[destino] = base.ids[i--];
+            }
+        }
+        return ids;
+    }
+
+    // Cada cambio toma su turno al registrarse, con la fila ya bloqueada por la sentencia que la escribió: dos
+    // transacciones que escriben el mismo empleado reciben turnos en el orden en que las serializó la base aunque
+    // sus afterCommit corran en otro orden. El primer turno de una transacción queda abierto hasta cerrarTurno
+    public long abrirTurno() {
+        synchronized (turnosAbiertos) {
+            turnosAbiertos.add(++ultimoTurno);
+            return ultimoTurno;
+        }
+    }
+
+    public long siguienteTurno() {
+        synchronized (turnosAbiertos) {
+            return ++ultimoTurno;
+        }
+    }
+
+    // Después de aplicar o revertir la transacción
+    public void cerrarTurno(long turno) {
+        synchronized (turnosAbiertos) {
+            turnosAbiertos.remove(turno);
+        }
+    }
+
+    // Aplica de una vez los cambios de una transacción confirmada; los que no traen turno toman uno al aplicarse.
+    // Cada empleado queda con su último estado en el lote, salvo que ya se haya aplicado un turno posterior sobre él
+    public synchronized void aplicar(List<Cambio> cambios) {
+        Instantanea actual = instantanea;
+        Map<Long, Cambio> ultimos = new LinkedHashMap<>();
+        Map<Long, Long> anteriores = new HashMap<>();
+        for (Cambio cambio : cambios) {
+            ultimos.put(cambio.id(), cambio.turno() != 0 ? cambio : cambio.enTurno(siguienteTurno()));
+            if (!cambio.alta()) {
+                anteriores.putIfAbsent(cambio.id(), cambio.centavos());
+            }
+        }
+        List<Entrada> sinAgregar = new ArrayList<>();
+        List<Entrada> agregar = new ArrayList<>();
+        List<Entrada> ocultar = new ArrayList<>();
+        for (Cambio ultimo : ultimos.values()) {
+            long id = ultimo.id();
+            Modificacion previa = modificados.get(id);
+            if (previa != null && previa.turno() > ultimo.turno()) {
+                continue;
+            }
+            // La primera baja del lote dice qué entrada de la base reemplaza el empleado; un alta y una baja del
+            // mismo par en el mismo lote se anulan porque el par no está en la base
+            long base = SIN_SALARIO;
+            Long anterior = anteriores.get(id);
+            if (previa != null) {
+                base = previa.centavosBase();
+                if (previa.centavos() != SIN_SALARIO) {
+                    sinAgregar.add(new Entrada(previa.centavos(), id));
+                }
+            } else if (anterior != null && actual.base.contiene(anterior, id)) {
+                base = anterior;
+                ocultar.add(new Entrada(base, id));
+            }
+            long centavos = ultimo.alta() ? ultimo.centavos() : SIN_SALARIO;
+            if (centavos != SIN_SALARIO) {
+                agregar.add(new Entrada(centavos, id));
+            }
+            modificados.put(id, new Modificacion(centavos, base, ultimo.turno()));
+        }
+        if (sinAgregar.isEmpty() && agregar.isEmpty() && ocultar.isEmpty()) {
+            return;
+        }
+        Instantanea nueva = new Instantanea(actual.base, actual.agregadas.fusionar(sinAgregar, agregar),
+                actual.ocultas.fusionar(List.of(), ocultar));
+        if (modificados.size() > proximaConsolidacion) {
+            nueva = consolidar(nueva);
+            proximaConsolidacion = modificados.size() + umbral(nueva.base.tamanio());
+        }
+        instantanea = nueva;
+    }
+
+    // Pliega en la base las modificaciones anteriores al turno abierto más viejo; las demás siguen en el delta
+    // para descartar un afterCommit que llegue fuera de orden
+    private Instantanea consolidar(Instantanea actual) {
+        long abierto;
+        synchronized (turnosAbiertos) {
+            abierto = turnosAbiertos.isEmpty() ? Long.MAX_VALUE : turnosAbiertos.first();
+        }
+        List<Entrada> agregadas = new ArrayList<>();
+        List<Entrada> ocultas = new ArrayList<>();
+        Iterator<Map.Entry<Long, Modificacion>> iterador = modificados.entrySet().iterator();
+        while (iterador.hasNext()) {
+            Map.Entry<Long, Modificacion> modificado = iterador.next();
+            Modificacion modificacion = modificado.getValue();
+            if (modificacion.turno() >= abierto) {
+                continue;
+            }
+            if (modificacion.centavosBase() != SIN_SALARIO) {
+                ocultas.add(new Entrada(modificacion.centavosBase(), modificado.getKey()));
+            }
+            if (modificacion.centavos() != SIN_SALARIO) {
+                agregadas.add(new Entrada(modificacion.centavos(), modificado.getKey()));
+            }
+            iterador.remove();
+        }
+        return new Instantanea(actual.base.fusionar(ocultas, agregadas),
+                actual.agregadas.fusionar(agregadas, List.of()), actual.ocultas.fusionar(ocultas, List.of()));
+    }
+
+    // Pares (centavos, id) de una consulta por rango, en arreglos paralelos
+    public record Tramo(long[] centavos, long[] ids) {
+        static final Tramo VACIO = new Tramo(IndiceSalarios.VACIO, IndiceSalarios.VACIO);
+
+        public int tamanio() {
+            return ids.length;
+        }
+    }
+
+    // turno 0: sin turno asignado
+    public record Cambio(long id, long centavos, boolean alta, long turno) {
+
+        public static Cambio alta(long id, long centavos) {
+            return new Cambio(id, centavos, true, 0);
+        }
+
+        public static Cambio baja(long id, long centavos) {
+            return new Cambio(id, centavos, false, 0);
+        }
+
+        public Cambio enTurno(long turno) {
+            return new Cambio(id, centavos, alta, turno);
+        }
+    }
+
+    private record Entrada(long centavos, long id) {
+        static final Comparator<Entrada> ORDEN = Comparator.comparingLong(Entrada::centavos).thenComparingLong(Entrada::id);
+    }
+
+    // Último estado de un empleado modificado y la entrada de la base que reemplaza; SIN_SALARIO si no tiene
+    private record Modificacion(long centavos, long centavosBase, long turno) {
+    }
+
+    // La base y las dos partes del delta
+    private record Instantanea(Entradas base, Entradas agregadas, Entradas ocultas) {
+    }
+
+    // Pares (centavos, id) ordenados, en arreglos paralelos
+    private record Entradas(long[] centavos, long[] ids) {
+        static final Entradas VACIAS = new Entradas(VACIO, VACIO);
+
+        int tamanio() {
+            return ids.length;
+        }
+
+        int contar(long minimo, long maximo) {
+            return posterior(maximo) - primeroDesde(minimo);
+        }
+
+        // Primera posición con centavos >= valor
+        int primeroDesde(long valor) {
+            int bajo = 0;
+            int alto = centavos.length;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (centavos[medio] < valor) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+
+        // Primera posición con centavos > valor
+        int posterior(long valor) {
+            return valor == Long.MAX_VALUE ? centavos.length : primeroDesde(valor + 1);
+        }
+
+        // Primera posición con un par mayor a (valor, id)
+        int posteriorA(long valor, long id) {
+            int bajo = 0;
+            int alto = ids.length;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (comparar(medio, valor, id) <= 0) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+
+        // Búsqueda binaria del par
+        boolean contiene(long valor, long id) {
+            int bajo = 0;
+            int alto = ids.length - 1;
+            while (bajo <= alto) {
+                int medio = (bajo + alto) >>> 1;
+                int comparacion = comparar(medio, valor, id);
+                if (comparacion < 0) {
+                    bajo = medio + 1;
+                } else if (comparacion > 0) {
+                    alto = medio - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int comparar(int posicion, Entradas otras, int otraPosicion) {
+            return comparar(posicion, otras.centavos[otraPosicion], otras.ids[otraPosicion]);
+        }
+
+        int comparar(int posicion, long otrosCentavos, long otroId) {
+            int porCentavos = Long.compare(centavos[posicion], otrosCentavos);
+            return porCentavos != 0 ? porCentavos : Long.compare(ids[posicion], otroId);
+        }
+
+        // Copia sin los pares de quitar y con los de agregar, en una sola pasada; ordena las dos listas
+        Entradas fusionar(List<Entrada> quitar, List<Entrada> agregar) {
+            if (quitar.isEmpty() && agregar.isEmpty()) {
+                return this;
+            }
+            if (quitar.size() > 1) {
+                quitar.sort(Entrada.ORDEN);
+            }
+            if (agregar.size() > 1) {
+                agregar.sort(Entrada.ORDEN);
+            }
+            int largo = ids.length;
+            long[] nuevosCentavos = new long[largo + agregar.size()];
+            long[] nuevosIds = new long[largo + agregar.size()];
+            int destino = 0;
+            int alta = 0;
+            int baja = 0;
+            for (int i = 0; i < largo; i++) {
+                while (baja < quitar.size() && comparar(i, quitar.get(baja).centavos(), quitar.get(baja).id()) > 0) {
+                    baja++;
+                }
+                if (baja < quitar.size() && comparar(i, quitar.get(baja).centavos(), quitar.get(baja).id()) == 0) {
+                    baja++;
+                    continue;
+                }
+                while (alta < agregar.size() && comparar(i, agregar.get(alta).centavos(), agregar.get(alta).id()) > 0) {
+                    nuevosCentavos[destino] = agregar.get(alta).centavos();
+                    nuevosIds[destino++] = agregar.get(alta++).id();
+                }
+                nuevosCentavos[destino] = centavos[i];
+                nuevosIds[destino++] = ids[i];
+            }
+            while (alta < agregar.size()) {
+                nuevosCentavos[destino] = agregar.get(alta).centavos();
+                nuevosIds[destino++] = agregar.get(alta++).id();
+            }
+            return new Entradas(Arrays.copyOf(nuevosCentavos, destino), Arrays.copyOf(nuevosIds, destino));
+        }
+    }
+}
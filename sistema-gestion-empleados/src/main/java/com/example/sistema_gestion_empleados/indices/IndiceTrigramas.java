@@ -0,0 +1,494 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import com.example.sistema_gestion_empleados.dto.TextoEmpleado;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Índice invertido de trigramas sobre nombre, apellido y email. Cada trigrama tiene una lista de números de
+// documento (int, en orden de alta) y un arreglo paralelo traduce el documento al id del empleado.
+// Las palabras se rellenan con separadores como en pg_trgm, así los trigramas del comienzo premian los prefijos
+@Component
+public class IndiceTrigramas {
+    // Separador, a-z y 0-9: un trigrama se codifica como un número de tres cifras en base 37
+    private static final int SIMBOLOS = 37;
+    private static final int TRIGRAMAS = SIMBOLOS * SIMBOLOS * SIMBOLOS;
+    // Acota el costo de una consulta larga; el puntaje va en los bits altos de la clave de orden
+    private static final int MAXIMO_TRIGRAMAS_CONSULTA = 64;
+    // Los documentos borrados se descartan al compactar, cuando superan la cuarta parte de los vigentes
+    private static final int BORRADOS_MINIMOS_COMPACTACION = 1024;
+    private static final long[] VACIO = new long[0];
+
+    private final boolean habilitado;
+    private volatile boolean disponible;
+    // Las búsquedas comparten el bloqueo de lectura; las escrituras modifican las listas en el lugar
+    private final ReentrantReadWriteLock bloqueo = new ReentrantReadWriteLock();
+    private Documentos documentos = new Documentos(16);
+
+    public IndiceTrigramas(@Value("${indices.busqueda.habilitado:false}") boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    // Mientras no termina la carga inicial las búsquedas siguen por JPQL
+    public boolean isDisponible() {
+        return disponible;
+    }
+
+    public void reemplazar(Iterator<TextoEmpleado> textos) {
+        Documentos nuevos = new Documentos(1024);
+        while (textos.hasNext()) {
+            TextoEmpleado texto = textos.next();
+            nuevos.agregar(texto.id(), trigramasDocumento(texto));
+        }
+        bloqueo.writeLock().lock();
+        try {
+            documentos = nuevos;
+            disponible = true;
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    public int tamanio() {
+        bloqueo.readLock().lock();
+        try {
+            return documentos.vigentes();
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    // Aplica los cambios de una transacción confirmada; los trigramas se calculan antes de tomar el bloqueo
+    public void aplicar(List<Cambio> cambios) {
+        int[][] trigramas = new int[cambios.size()][];
+        for (int i = 0; i < cambios.size(); i++) {
+            TextoEmpleado texto = cambios.get(i).texto();
+            trigramas[i] = texto == null ? null : trigramasDocumento(texto);
+        }
+        bloqueo.writeLock().lock();
+        try {
+            for (int i = 0; i < cambios.size(); i++) {
+                documentos.quitar(cambios.get(i).id());
+                if (trigramas[i] != null) {
+                    documentos.agregar(cambios.get(i).id(), trigramas[i]);
+                }
+            }
+            if (documentos.borrados > Math.max(BORRADOS_MINIMOS_COMPACTACION, documentos.vigentes() / 4)) {
+                documentos = documentos.compactar();
+            }
+        } finally {
+            bloqueo.writeLock().unlock();
+        }
+    }
+
+    // Ids ordenados por cantidad de trigramas en común con la consulta; a igual puntaje van primero los
+    // documentos más cortos, que se parecen más a la consulta, y después los más antiguos
+    public long[] buscar(String consulta, int desde, int limite) {
+        int[] trigramas = trigramasConsulta(consulta);
+        if (trigramas.length == 0) {
+            return VACIO;
+        }
+        // Con la mitad de los trigramas alcanza para tolerar un error de tipeo
+        int minimo = (trigramas.length + 1) / 2;
+        bloqueo.readLock().lock();
+        try {
+            return documentos.buscar(trigramas, minimo, desde, limite);
+        } finally {
+            bloqueo.readLock().unlock();
+        }
+    }
+
+    static int[] trigramasDocumento(TextoEmpleado texto) {
+        Trigramas trigramas = new Trigramas();
+        trigramas.agregar(texto.nombre(), true);
+        trigramas.agregar(texto.apellido(), true);
+        trigramas.agregar(texto.email(), true);
+        return trigramas.distintos(Integer.MAX_VALUE);
+    }
+
+    // La última palabra de la consulta no se cierra: puede ser el comienzo de una palabra más larga
+    static int[] trigramasConsulta(String consulta) {
+        Trigramas trigramas = new Trigramas();
+        trigramas.agregar(consulta, false);
+        return trigramas.distintos(MAXIMO_TRIGRAMAS_CONSULTA);
+    }
+
+    // Un alta reemplaza el documento anterior del mismo id; sin texto es una baja
+    public record Cambio(long id, TextoEmpleado texto) {
+
+        public static Cambio alta(TextoEmpleado texto) {
+            return new Cambio(texto.id(), texto);
+        }
+
+        public static Cambio baja(long id) {
+            return new Cambio(id, null);
+        }
+    }
+
+    private static final class Trigramas {
+        private int[] valores = new int[32];
+        private int cantidad;
+
+        // Minúsculas sin tildes; cualquier otro carácter separa palabras, también el punto y la arroba del email
+        void agregar(String texto, boolean cerrarUltima) {
+            if (texto == null) {
+                return;
+            }
+            String normalizado = Normalizer.normalize(texto, Normalizer.Form.NFD).toLowerCase(Locale.ROOT);
+            int primero = 0;
+            int segundo = 0;
+            for (int i = 0; i < normalizado.length(); i++) {
+                char c = normalizado.charAt(i);
+                if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                    continue;
+                }
+                int simbolo = simbolo(c);
+                if (simbolo == 0) {
+                    if (segundo != 0) {
+                        emitir(primero, segundo, 0);
+                    }
+                    primero = 0;
+                    segundo = 0;
+                } else {
+                    emitir(primero, segundo, simbolo);
+                    primero = segundo;
+                    segundo = simbolo;
+                }
+            }
+            if (cerrarUltima && segundo != 0) {
+                emitir(primero, segundo, 0);
+            }
+        }
+
+        int[] distintos(int maximo) {
+            int[] ordenados = Arrays.copyOf(valores, cantidad);
+            Arrays.sort(ordenados);
+            int unicos = 0;
+            for (int i = 0; i < ordenados.length && unicos < maximo; i++) {
+                if (unicos == 0 || ordenados[unicos - 1] != ordenados[i]) {
+                    ordenados[unicos++] = ordenados[i];
+                }
+            }
+            return Arrays.copyOf(ordenados, unicos);
+        }
+
+        private void emitir(int primero, int segundo, int tercero) {
+            if (cantidad == valores.length) {
+                valores = Arrays.copyOf(valores, cantidad * 2);
+            }
+            valores[cantidad++] = (primero * SIMBOLOS + segundo) * SIMBOLOS + tercero;
+        }
+
+        private static int simbolo(char c) {
+            if (c >= 'a' && c <= 'z') {
+                return c - 'a' + 1;
+            }
+            if (c >= '0' && c <= '9') {
+                return c - '0' + 27;
+            }
+            return 0;
+        }
+    }
+
+    private static final class Documentos {
+        private final int[][] listas = new int[TRIGRAMAS][];
+        private final int[] largos = new int[TRIGRAMAS];
+        private final BitSet eliminados = new BitSet();
+        private final MapaIds porId = new MapaIds();
+        private long[] ids;
+        // Trigramas distintos de cada documento, para desempatar
+        private short[] tamanios;
+        private int cantidad;
+        private int borrados;
+
+        Documentos(int capacidad) {
+            ids = new long[capacidad];
+            tamanios = new short[capacidad];
+        }
+
+        int vigentes() {
+            return cantidad - borrados;
+        }
+
+        void agregar(long id, int[] trigramas) {
+            if (cantidad == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(16, cantidad * 2));
+                tamanios = Arrays.copyOf(tamanios, ids.length);
+            }
+            int documento = cantidad++;
+            ids[documento] = id;
+            tamanios[documento] = (short) Math.min(Short.MAX_VALUE, trigramas.length);
+            for (int trigrama : trigramas) {
+                int[] lista = listas[trigrama];
+                int largo = largos[trigrama];
+                if (lista == null) {
+                    lista = listas[trigrama] = new int[4];
+                } else if (largo == lista.length) {
+                    lista = listas[trigrama] = Arrays.copyOf(lista, largo + (largo >> 1));
+                }
+                lista[largo] = documento;
+                largos[trigrama] = largo + 1;
+            }
+            porId.poner(id, documento);
+        }
+
+        // El documento queda en las listas hasta la próxima compactación
+        void quitar(long id) {
+            int documento = porId.quitar(id);
+            if (documento >= 0) {
+                eliminados.set(documento);
+                borrados++;
+            }
+        }
+
+        // Renumera los documentos vigentes conservando su orden, así las listas siguen ordenadas
+        Documentos compactar() {
+            Documentos nuevos = new Documentos(Math.max(16, vigentes()));
+            int[] renumeracion = new int[cantidad];
+            for (int documento = 0; documento < cantidad; documento++) {
+                if (eliminados.get(documento)) {
+                    renumeracion[documento] = -1;
+                    continue;
+                }
+                int nuevo = nuevos.cantidad++;
+                renumeracion[documento] = nuevo;
+                nuevos.ids[nuevo] = ids[documento];
+                nuevos.tamanios[nuevo] = tamanios[documento];
+                nuevos.porId.poner(ids[documento], nuevo);
+            }
+            for (int trigrama = 0; trigrama < TRIGRAMAS; trigrama++) {
+                int[] lista = listas[trigrama];
+                int largo = 0;
+                for (int i = 0; i < largos[trigrama]; i++) {
+                    int nuevo = renumeracion[lista[i]];
+                    if (nuevo >= 0) {
+                        lista[largo++] = nuevo;
+                    }
+                }
+                if (largo > 0) {
+                    nuevos.listas[trigrama] = Arrays.copyOf(lista, largo);
+                    nuevos.largos[trigrama] = largo;
+                }
+            }
+            return nuevos;
+        }
+
+        // Recorre las listas de la más corta a la más larga. El puntaje de cada documento sale de buscarlo en
+        // las demás listas, que están ordenadas; un documento que está en una lista anterior ya se evaluó.
+        // Un documento que aparece por primera vez en la lista j suma a lo sumo (trigramas - j): cuando eso no
+        // alcanza el mínimo ni supera al peor de los mejores, las listas más largas ya no se recorren
+        long[] buscar(int[] trigramas, int minimo, int desde, int limite) {
+            int cantidadListas = trigramas.length;
+            long[] porLargo = new long[cantidadListas];
+            for (int i = 0; i < cantidadListas; i++) {
+                porLargo[i] = (long) largos[trigramas[i]] << 32 | trigramas[i];
+            }
+            Arrays.sort(porLargo);
+            int[][] ordenadas = new int[cantidadListas][];
+            int[] largosOrdenados = new int[cantidadListas];
+            for (int i = 0; i < cantidadListas; i++) {
+                ordenadas[i] = listas[(int) porLargo[i]];
+                largosOrdenados[i] = largos[(int) porLargo[i]];
+            }
+
+            long[] mejores = new long[(int) Math.min((long) desde + limite, vigentes())];
+            int enMonticulo = 0;
+            int[] posiciones = new int[cantidadListas];
+            for (int j = 0; j < cantidadListas; j++) {
+                int maximoPosible = cantidadListas - j;
+                if (maximoPosible < minimo || mejores.length == 0 || (enMonticulo == mejores.length
+                        && maximoPosible < MAXIMO_TRIGRAMAS_CONSULTA - (int) (mejores[0] >>> 48))) {
+                    break;
+                }
+                // Los documentos de la lista vienen en orden: la búsqueda en las demás avanza sin retroceder
+                Arrays.fill(posiciones, 0);
+                int[] lista = ordenadas[j];
+                siguiente:
+                for (int i = 0; i < largosOrdenados[j]; i++) {
+                    int documento = lista[i];
+                    if (eliminados.get(documento)) {
+                        continue;
+                    }
+                    int puntaje = 1;
+                    for (int k = 0; k < cantidadListas; k++) {
+                        if (k == j) {
+                            continue;
+                        }
+                        int posicion = galopar(ordenadas[k], largosOrdenados[k], posiciones[k], documento);
+                        posiciones[k] = posicion;
+                        if (posicion < largosOrdenados[k] && ordenadas[k][posicion] == documento) {
+                            if (k < j) {
+                                continue siguiente;
+                            }
+                            puntaje++;
+                        }
+                    }
+                    if (puntaje < minimo) {
+                        continue;
+                    }
+                    long clave = (long) (MAXIMO_TRIGRAMAS_CONSULTA - puntaje) << 48
+                            | (long) tamanios[documento] << 32
+                            | documento;
+                    if (enMonticulo < mejores.length) {
+                        mejores[enMonticulo] = clave;
+                        subir(mejores, enMonticulo++);
+                    } else if (clave < mejores[0]) {
+                        mejores[0] = clave;
+                        bajar(mejores, enMonticulo);
+                    }
+                }
+            }
+            if (desde >= enMonticulo) {
+                return VACIO;
+            }
+            Arrays.sort(mejores, 0, enMonticulo);
+            long[] resultado = new long[enMonticulo - desde];
+            for (int i = desde; i < enMonticulo; i++) {
+                resultado[i - desde] = ids[(int) mejores[i]];
+            }
+            return resultado;
+        }
+
+        // Primera posición desde "inicio" con un documento mayor o igual al buscado: saltos que se duplican y
+        // después búsqueda binaria, así el costo depende de la distancia y no del largo de la lista
+        private static int galopar(int[] lista, int largo, int inicio, int documento) {
+            int bajo = inicio;
+            int alto = inicio;
+            int salto = 1;
+            while (alto < largo && lista[alto] < documento) {
+                bajo = alto + 1;
+                alto += salto;
+                salto <<= 1;
+            }
+            alto = Math.min(alto, largo);
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (lista[medio] < documento) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+
+        // Montículo de máximos: la raíz es la peor clave entre las mejores encontradas
+        private static void subir(long[] monticulo, int posicion) {
+            long clave = monticulo[posicion];
+            while (posicion > 0) {
+                int padre = (posicion - 1) >>> 1;
+                if (monticulo[padre] >= clave) {
+                    break;
+                }
+                monticulo[posicion] = monticulo[padre];
+                posicion = padre;
+            }
+            monticulo[posicion] = clave;
+        }
+
+        private static void bajar(long[] monticulo, int cantidad) {
+            long clave = monticulo[0];
+            int posicion = 0;
+            while (true) {
+                int hijo = 2 * posicion + 1;
+                if (hijo >= cantidad) {
+                    break;
+                }
+                if (hijo + 1 < cantidad && monticulo[hijo + 1] > monticulo[hijo]) {
+                    hijo++;
+                }
+                if (monticulo[hijo] <= clave) {
+                    break;
+                }
+                monticulo[posicion] = monticulo[hijo];
+                posicion = hijo;
+            }
+            monticulo[posicion] = clave;
+        }
+    }
+
+    // Tabla de id a documento con direccionamiento abierto, sin objetos por entrada. El 0 marca una posición
+    // libre: los ids generados arrancan en 1
+    private static final class MapaIds {
+        private long[] claves = new long[1024];
+        private int[] valores = new int[1024];
+        private int cantidad;
+
+        void poner(long id, int documento) {
+            if ((cantidad + 1) * 3L > claves.length * 2L) {
+                agrandar();
+            }
+            int posicion = buscarPosicion(id);
+            if (claves[posicion] == 0) {
+                claves[posicion] = id;
+                cantidad++;
+            }
+            valores[posicion] = documento;
+        }
+
+        // Devuelve -1 si el id no estaba. Corre hacia atrás las claves siguientes para no dejar huecos en sus secuencias
+        int quitar(long id) {
+            int hueco = buscarPosicion(id);
+            if (claves[hueco] == 0) {
+                return -1;
+            }
+            int documento = valores[hueco];
+            int mascara = claves.length - 1;
+            int siguiente = hueco;
+            while (true) {
+                siguiente = (siguiente + 1) & mascara;
+                if (claves[siguiente] == 0) {
+                    break;
+                }
+                int ideal = posicionIdeal(claves[siguiente]);
+                if (((siguiente - ideal) & mascara) >= ((siguiente - hueco) & mascara)) {
+                    claves[hueco] = claves[siguiente];
+                    valores[hueco] = valores[siguiente];
+                    hueco = siguiente;
+                }
+            }
+            claves[hueco] = 0;
+            cantidad--;
+            return documento;
+        }
+
+        private int buscarPosicion(long id) {
+            int mascara = claves.length - 1;
+            int posicion = posicionIdeal(id);
+            while (claves[posicion] != 0 && claves[posicion] != id) {
+                posicion = (posicion + 1) & mascara;
+            }
+            return posicion;
+        }
+
+        // Hash de Fibonacci: los ids consecutivos de la secuencia quedan repartidos en toda la tabla
+        private int posicionIdeal(long id) {
+            return (int) ((id * 0x9e3779b97f4a7c15L) >>> (64 - Integer.numberOfTrailingZeros(claves.length)));
+        }
+
+        private void agrandar() {
+            long[] clavesAnteriores = claves;
+            int[] valoresAnteriores = valores;
+            claves = new long[clavesAnteriores.length * 2];
+            valores = new int[claves.length];
+            for (int i = 0; i < clavesAnteriores.length; i++) {
+                if (clavesAnteriores[i] != 0) {
+                    int posicion = buscarPosicion(clavesAnteriores[i]);
+                    claves[posicion] = clavesAnteriores[i];
+                    valores[posicion] = valoresAnteriores[i];
+                }
+            }
+        }
+    }
+}
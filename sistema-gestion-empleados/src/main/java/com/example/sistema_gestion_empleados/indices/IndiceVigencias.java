@@ -0,0 +1,210 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import com.example.sistema_gestion_empleados.dto.VigenciaProyecto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Intervalos [fechaInicio, fechaFin] de los proyectos como días desde la época, en arreglos primitivos ordenados
+// por inicio. Un árbol de segmentos con el fin máximo de cada tramo lista los que se superponen con un rango sin
+// recorrer los que ya terminaron, y los conteos salen de dos búsquedas binarias.
+// Como el índice de salarios, las lecturas usan la instantánea vigente sin bloqueo y cada escritura publica otra;
+// reconstruirla entera es aceptable porque los proyectos son pocos y cambian poco
+@Component
+public class IndiceVigencias {
+    private static final long[] VACIO = new long[0];
+
+    private final boolean habilitado;
+    private volatile boolean disponible;
+    private volatile Instantanea instantanea = Instantanea.de(List.of());
+
+    public IndiceVigencias(@Value("${indices.vigencias.habilitado:false}") boolean habilitado) {
+        this.habilitado = habilitado;
+    }
+
+    public boolean isHabilitado() {
+        return habilitado;
+    }
+
+    // Mientras no termina la carga inicial las consultas siguen por JPQL
+    public boolean isDisponible() {
+        return disponible;
+    }
+
+    // Sin fecha de inicio el proyecto vale desde siempre y sin fecha de fin, para siempre. Las fechas extremas
+    // que no entran en un int se recortan
+    public static int aDia(LocalDate fecha, int siNula) {
+        if (fecha == null) {
+            return siNula;
+        }
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, fecha.toEpochDay()));
+    }
+
+    public synchronized void reemplazar(Iterator<VigenciaProyecto> vigencias) {
+        Map<Long, VigenciaProyecto> porId = new HashMap<>();
+        vigencias.forEachRemaining(vigencia -> porId.put(vigencia.id(), vigencia));
+        instantanea = Instantanea.de(porId.values());
+        disponible = true;
+    }
+
+    public int tamanio() {
+        return instantanea.ids.length;
+    }
+
+    // Proyectos vigentes en algún día de [desde, hasta], ambos inclusive
+    public int contar(LocalDate desde, LocalDate hasta) {
+        Instantanea actual = instantanea;
+        int inicio = aDia(desde, Integer.MIN_VALUE);
+        int fin = aDia(hasta, Integer.MAX_VALUE);
+        if (inicio > fin) {
+            return 0;
+        }
+        // Los que empiezan hasta el final del rango, menos los que terminaron antes de su comienzo
+        return primeroMayor(actual.inicios, fin) - primeroDesde(actual.finesOrdenados, inicio);
+    }
+
+    // Un conteo por mes del año, con la misma semántica de superposición que contar
+    public int[] contarPorMes(int anio) {
+        int[] cantidades = new int[12];
+        for (int mes = 1; mes <= 12; mes++) {
+            YearMonth actual = YearMonth.of(anio, mes);
+            cantidades[mes - 1] = contar(actual.atDay(1), actual.atEndOfMonth());
+        }
+        return cantidades;
+    }
+
+    // Ids vigentes en [desde, hasta] mayores a despuesDeId, ordenados por id como espera la paginación por cursor
+    public long[] idsVigentes(LocalDate desde, LocalDate hasta, long despuesDeId, int limite) {
+        Instantanea actual = instantanea;
+        int inicio = aDia(desde, Integer.MIN_VALUE);
+        int fin = aDia(hasta, Integer.MAX_VALUE);
+        if (inicio > fin || actual.ids.length == 0) {
+            return VACIO;
+        }
+        int candidatos = primeroMayor(actual.inicios, fin);
+        long[] ids = new long[Math.min(candidatos, 16)];
+        int[] cantidad = new int[1];
+        ids = actual.reportar(1, 0, actual.hojas, candidatos, inicio, despuesDeId, ids, cantidad);
+        Arrays.sort(ids, 0, cantidad[0]);
+        return Arrays.copyOf(ids, Math.min(cantidad[0], limite));
+    }
+
+    // Aplica de una vez los cambios de una transacción confirmada
+    public synchronized void aplicar(List<Cambio> cambios) {
+        Instantanea actual = instantanea;
+        Map<Long, VigenciaProyecto> porId = new HashMap<>();
+        for (int i = 0; i < actual.ids.length; i++) {
+            porId.put(actual.ids[i], actual.vigencia(i));
+        }
+        for (Cambio cambio : cambios) {
+            if (cambio.vigencia() == null) {
+                porId.remove(cambio.id());
+            } else {
+                porId.put(cambio.id(), cambio.vigencia());
+            }
+        }
+        instantanea = Instantanea.de(porId.values());
+    }
+
+    // Primera posición con valor >= buscado
+    private static int primeroDesde(int[] valores, int buscado) {
+        int bajo = 0;
+        int alto = valores.length;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (valores[medio] < buscado) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    // Primera posición con valor > buscado
+    private static int primeroMayor(int[] valores, int buscado) {
+        return buscado == Integer.MAX_VALUE ? valores.length : primeroDesde(valores, buscado + 1);
+    }
+
+    public record Cambio(long id, VigenciaProyecto vigencia) {
+
+        public static Cambio alta(VigenciaProyecto vigencia) {
+            return new Cambio(vigencia.id(), vigencia);
+        }
+
+        public static Cambio baja(long id) {
+            return new Cambio(id, null);
+        }
+    }
+
+    // ids, inicios y fines son paralelos y están ordenados por inicio; maximos es el árbol de segmentos sobre esas
+    // posiciones, con las hojas a partir de la posición hojas
+    private record Instantanea(long[] ids, int[] inicios, int[] fines, int[] finesOrdenados, int[] maximos, int hojas) {
+        private static final Comparator<VigenciaProyecto> ORDEN = Comparator
+                .comparingInt((VigenciaProyecto v) -> aDia(v.fechaInicio(), Integer.MIN_VALUE))
+                .thenComparingLong(VigenciaProyecto::id);
+
+        // Un proyecto que termina antes de empezar no está vigente nunca y queda fuera del índice
+        static Instantanea de(Collection<VigenciaProyecto> vigencias) {
+            VigenciaProyecto[] ordenadas = vigencias.stream()
+                    .filter(v -> aDia(v.fechaInicio(), Integer.MIN_VALUE) <= aDia(v.fechaFin(), Integer.MAX_VALUE))
+                    .sorted(ORDEN)
+                    .toArray(VigenciaProyecto[]::new);
+            int n = ordenadas.length;
+            long[] ids = new long[n];
+            int[] inicios = new int[n];
+            int[] fines = new int[n];
+            for (int i = 0; i < n; i++) {
+                ids[i] = ordenadas[i].id();
+                inicios[i] = aDia(ordenadas[i].fechaInicio(), Integer.MIN_VALUE);
+                fines[i] = aDia(ordenadas[i].fechaFin(), Integer.MAX_VALUE);
+            }
+            int[] finesOrdenados = fines.clone();
+            Arrays.sort(finesOrdenados);
+            int hojas = Integer.highestOneBit(Math.max(1, n - 1)) << 1;
+            int[] maximos = new int[2 * hojas];
+            Arrays.fill(maximos, Integer.MIN_VALUE);
+            System.arraycopy(fines, 0, maximos, hojas, n);
+            for (int nodo = hojas - 1; nodo >= 1; nodo--) {
+                maximos[nodo] = Math.max(maximos[2 * nodo], maximos[2 * nodo + 1]);
+            }
+            return new Instantanea(ids, inicios, fines, finesOrdenados, maximos, hojas);
+        }
+
+        VigenciaProyecto vigencia(int posicion) {
+            return new VigenciaProyecto(ids[posicion],
+                    inicios[posicion] == Integer.MIN_VALUE ? null : LocalDate.ofEpochDay(inicios[posicion]),
+                    fines[posicion] == Integer.MAX_VALUE ? null : LocalDate.ofEpochDay(fines[posicion]));
+        }
+
+        // Recorre las posiciones [0, candidatos) con fin >= inicio; descarta los tramos cuyo fin máximo no llega
+        long[] reportar(int nodo, int izquierda, int ancho, int candidatos, int inicio, long despuesDeId,
+                        long[] ids, int[] cantidad) {
+            if (izquierda >= candidatos || maximos[nodo] < inicio) {
+                return ids;
+            }
+            if (ancho == 1) {
+                long id = this.ids[izquierda];
+                if (id > despuesDeId) {
+                    if (cantidad[0] == ids.length) {
+                        ids = Arrays.copyOf(ids, Math.max(16, ids.length * 2));
+                    }
+                    ids[cantidad[0]++] = id;
+                }
+                return ids;
+            }
+            int mitad = ancho / 2;
+            ids = reportar(2 * nodo, izquierda, mitad, candidatos, inicio, despuesDeId, ids, cantidad);
+            return reportar(2 * nodo + 1, izquierda + mitad, mitad, candidatos, inicio, despuesDeId, ids, cantidad);
+        }
+    }
+}
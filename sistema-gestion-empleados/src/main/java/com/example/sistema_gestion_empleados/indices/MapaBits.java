@@ -0,0 +1,473 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import java.util.Arrays;
+
+// Conjunto de ids comprimido al estilo Roaring: los 16 bits altos eligen un contenedor y los 16 bajos se guardan
+// en él, como arreglo ordenado de char mientras tiene hasta 4096 valores y como mapa de 65536 bits (8 KB) después.
+// No es seguro para hilos; IndiceMembresias lo protege con su bloqueo
+final class MapaBits {
+    static final long MAXIMO_ID = 0xFFFFFFFFL;
+    // Por encima de este tamaño el arreglo ocuparía más que el mapa de bits
+    private static final int MAXIMO_ARREGLO = 4096;
+    private static final long[] VACIO = new long[0];
+
+    private char[] claves;
+    private Contenedor[] contenedores;
+    private int tamanio;
+
+    MapaBits() {
+        this(4);
+    }
+
+    private MapaBits(int capacidad) {
+        claves = new char[capacidad];
+        contenedores = new Contenedor[capacidad];
+    }
+
+    boolean agregar(long id) {
+        validar(id);
+        char clave = (char) (id >>> 16);
+        int posicion = buscarClave(clave);
+        if (posicion < 0) {
+            posicion = -posicion - 1;
+            insertar(posicion, clave, new Arreglo(new char[4], 0));
+        }
+        Contenedor contenedor = contenedores[posicion];
+        int antes = contenedor.cardinalidad();
+        contenedores[posicion] = contenedor.agregar((char) id);
+        return contenedores[posicion].cardinalidad() > antes;
+    }
+
+    boolean quitar(long id) {
+        if (id < 0 || id > MAXIMO_ID) {
+            return false;
+        }
+        int posicion = buscarClave((char) (id >>> 16));
+        if (posicion < 0) {
+            return false;
+        }
+        Contenedor contenedor = contenedores[posicion];
+        int antes = contenedor.cardinalidad();
+        Contenedor resultado = contenedor.quitar((char) id);
+        if (resultado.cardinalidad() == 0) {
+            eliminar(posicion);
+        } else {
+            contenedores[posicion] = resultado;
+        }
+        return resultado.cardinalidad() < antes;
+    }
+
+    boolean contiene(long id) {
+        if (id < 0 || id > MAXIMO_ID) {
+            return false;
+        }
+        int posicion = buscarClave((char) (id >>> 16));
+        return posicion >= 0 && contenedores[posicion].contiene((char) id);
+    }
+
+    long cardinalidad() {
+        long total = 0;
+        for (int i = 0; i < tamanio; i++) {
+            total += contenedores[i].cardinalidad();
+        }
+        return total;
+    }
+
+    // Los ids mayores que despuesDe, en orden ascendente y a lo sumo limite
+    long[] siguientes(long despuesDe, int limite) {
+        if (limite <= 0 || despuesDe >= MAXIMO_ID) {
+            return VACIO;
+        }
+        long desde = Math.max(despuesDe + 1, 0);
+        char claveDesde = (char) (desde >>> 16);
+        int posicion = buscarClave(claveDesde);
+        if (posicion < 0) {
+            posicion = -posicion - 1;
+        }
+        long[] ids = new long[Math.min(limite, 1024)];
+        int cantidad = 0;
+        for (; posicion < tamanio && cantidad < limite; posicion++) {
+            long alto = (long) claves[posicion] << 16;
+            int valor = contenedores[posicion].siguiente(claves[posicion] == claveDesde ? (int) (desde & 0xFFFF) : 0);
+            while (valor >= 0 && cantidad < limite) {
+                if (cantidad == ids.length) {
+                    ids = Arrays.copyOf(ids, Math.min(limite, ids.length * 2));
+                }
+                ids[cantidad++] = alto | valor;
+                valor = valor == 0xFFFF ? -1 : contenedores[posicion].siguiente(valor + 1);
+            }
+        }
+        return Arrays.copyOf(ids, cantidad);
+    }
+
+    static MapaBits interseccion(MapaBits a, MapaBits b) {
+        MapaBits resultado = new MapaBits(Math.max(1, Math.min(a.tamanio, b.tamanio)));
+        int i = 0;
+        int j = 0;
+        while (i < a.tamanio && j < b.tamanio) {
+            if (a.claves[i] < b.claves[j]) {
+                i++;
+            } else if (a.claves[i] > b.claves[j]) {
+                j++;
+            } else {
+                resultado.agregarContenedor(a.claves[i], a.contenedores[i].interseccion(b.contenedores[j]));
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    static MapaBits union(MapaBits a, MapaBits b) {
+        MapaBits resultado = new MapaBits(Math.max(1, a.tamanio + b.tamanio));
+        int i = 0;
+        int j = 0;
+        while (i < a.tamanio || j < b.tamanio) {
+            if (j == b.tamanio || (i < a.tamanio && a.claves[i] < b.claves[j])) {
+                resultado.agregarContenedor(a.claves[i], a.contenedores[i].copia());
+                i++;
+            } else if (i == a.tamanio || a.claves[i] > b.claves[j]) {
+                resultado.agregarContenedor(b.claves[j], b.contenedores[j].copia());
+                j++;
+            } else {
+                resultado.agregarContenedor(a.claves[i], a.contenedores[i].union(b.contenedores[j]));
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    static MapaBits diferencia(MapaBits a, MapaBits b) {
+        MapaBits resultado = new MapaBits(Math.max(1, a.tamanio));
+        int j = 0;
+        for (int i = 0; i < a.tamanio; i++) {
+            while (j < b.tamanio && b.claves[j] < a.claves[i]) {
+                j++;
+            }
+            boolean comun = j < b.tamanio && b.claves[j] == a.claves[i];
+            resultado.agregarContenedor(a.claves[i],
+                    comun ? a.contenedores[i].diferencia(b.contenedores[j]) : a.contenedores[i].copia());
+        }
+        return resultado;
+    }
+
+    private static void validar(long id) {
+        if (id < 0 || id > MAXIMO_ID) {
+            throw new IllegalArgumentException("Id fuera del rango del índice: " + id);
+        }
+    }
+
+    private int buscarClave(char clave) {
+        return Arrays.binarySearch(claves, 0, tamanio, clave);
+    }
+
+    // Solo para construir resultados, con claves en orden creciente
+    private void agregarContenedor(char clave, Contenedor contenedor) {
+        if (contenedor.cardinalidad() > 0) {
+            insertar(tamanio, clave, contenedor);
+        }
+    }
+
+    private void insertar(int posicion, char clave, Contenedor contenedor) {
+        if (tamanio == claves.length) {
+            claves = Arrays.copyOf(claves, tamanio * 2);
+            contenedores = Arrays.copyOf(contenedores, tamanio * 2);
+        }
+        System.arraycopy(claves, posicion, claves, posicion + 1, tamanio - posicion);
+        System.arraycopy(contenedores, posicion, contenedores, posicion + 1, tamanio - posicion);
+        claves[posicion] = clave;
+        contenedores[posicion] = contenedor;
+        tamanio++;
+    }
+
+    private void eliminar(int posicion) {
+        System.arraycopy(claves, posicion + 1, claves, posicion, tamanio - posicion - 1);
+        System.arraycopy(contenedores, posicion + 1, contenedores, posicion, tamanio - posicion - 1);
+        contenedores[--tamanio] = null;
+    }
+
+    // Las operaciones devuelven el contenedor resultante, que puede ser de la otra representación
+    private sealed interface Contenedor permits Arreglo, Bits {
+
+        int cardinalidad();
+
+        boolean contiene(char valor);
+
+        Contenedor agregar(char valor);
+
+        Contenedor quitar(char valor);
+
+        // El menor valor mayor o igual que desde, o -1
+        int siguiente(int desde);
+
+        Contenedor copia();
+
+        Contenedor interseccion(Contenedor otro);
+
+        Contenedor union(Contenedor otro);
+
+        Contenedor diferencia(Contenedor otro);
+    }
+
+    private static final class Arreglo implements Contenedor {
+        private char[] valores;
+        private int cantidad;
+
+        private Arreglo(char[] valores, int cantidad) {
+            this.valores = valores;
+            this.cantidad = cantidad;
+        }
+
+        @Override
+        public int cardinalidad() {
+            return cantidad;
+        }
+
+        @Override
+        public boolean contiene(char valor) {
+            return Arrays.binarySearch(valores, 0, cantidad, valor) >= 0;
+        }
+
+        @Override
+        public Contenedor agregar(char valor) {
+            int posicion = Arrays.binarySearch(valores, 0, cantidad, valor);
+            if (posicion >= 0) {
+                return this;
+            }
+            if (cantidad == MAXIMO_ARREGLO) {
+                return aBits().agregar(valor);
+            }
+            posicion = -posicion - 1;
+            if (cantidad == valores.length) {
+                valores = Arrays.copyOf(valores, Math.min(MAXIMO_ARREGLO, Math.max(4, cantidad * 2)));
+            }
+            System.arraycopy(valores, posicion, valores, posicion + 1, cantidad - posicion);
+            valores[posicion] = valor;
+            cantidad++;
+            return this;
+        }
+
+        @Override
+        public Contenedor quitar(char valor) {
+            int posicion = Arrays.binarySearch(valores, 0, cantidad, valor);
+            if (posicion >= 0) {
+                System.arraycopy(valores, posicion + 1, valores, posicion, cantidad - posicion - 1);
+                cantidad--;
+            }
+            return this;
+        }
+
+        @Override
+        public int siguiente(int desde) {
+            int posicion = Arrays.binarySearch(valores, 0, cantidad, (char) desde);
+            if (posicion < 0) {
+                posicion = -posicion - 1;
+            }
+            return posicion < cantidad ? valores[posicion] : -1;
+        }
+
+        @Override
+        public Contenedor copia() {
+            return new Arreglo(Arrays.copyOf(valores, cantidad), cantidad);
+        }
+
+        @Override
+        public Contenedor interseccion(Contenedor otro) {
+            char[] resultado = new char[Math.min(cantidad, otro.cardinalidad())];
+            int n = 0;
+            if (otro instanceof Arreglo arreglo) {
+                int i = 0;
+                int j = 0;
+                while (i < cantidad && j < arreglo.cantidad) {
+                    if (valores[i] < arreglo.valores[j]) {
+                        i++;
+                    } else if (valores[i] > arreglo.valores[j]) {
+                        j++;
+                    } else {
+                        resultado[n++] = valores[i];
+                        i++;
+                        j++;
+                    }
+                }
+            } else {
+                for (int i = 0; i < cantidad; i++) {
+                    if (otro.contiene(valores[i])) {
+                        resultado[n++] = valores[i];
+                    }
+                }
+            }
+            return new Arreglo(resultado, n);
+        }
+
+        @Override
+        public Contenedor union(Contenedor otro) {
+            if (otro instanceof Bits bits) {
+                return bits.union(this);
+            }
+            Arreglo arreglo = (Arreglo) otro;
+            char[] resultado = new char[cantidad + arreglo.cantidad];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cantidad || j < arreglo.cantidad) {
+                if (j == arreglo.cantidad || (i < cantidad && valores[i] < arreglo.valores[j])) {
+                    resultado[n++] = valores[i++];
+                } else if (i == cantidad || valores[i] > arreglo.valores[j]) {
+                    resultado[n++] = arreglo.valores[j++];
+                } else {
+                    resultado[n++] = valores[i++];
+                    j++;
+                }
+            }
+            Arreglo union = new Arreglo(resultado, n);
+            return n > MAXIMO_ARREGLO ? union.aBits() : union;
+        }
+
+        @Override
+        public Contenedor diferencia(Contenedor otro) {
+            char[] resultado = new char[cantidad];
+            int n = 0;
+            for (int i = 0; i < cantidad; i++) {
+                if (!otro.contiene(valores[i])) {
+                    resultado[n++] = valores[i];
+                }
+            }
+            return new Arreglo(resultado, n);
+        }
+
+        private Bits aBits() {
+            Bits bits = new Bits(new long[1024], 0);
+            for (int i = 0; i < cantidad; i++) {
+                bits.agregar(valores[i]);
+            }
+            return bits;
+        }
+    }
+
+    private static final class Bits implements Contenedor {
+        private final long[] palabras;
+        private int cantidad;
+
+        private Bits(long[] palabras, int cantidad) {
+            this.palabras = palabras;
+            this.cantidad = cantidad;
+        }
+
+        // Recuenta los bits y vuelve a arreglo si el resultado quedó chico
+        private static Contenedor normalizado(long[] palabras) {
+            int cantidad = 0;
+            for (long palabra : palabras) {
+                cantidad += Long.bitCount(palabra);
+            }
+            Bits bits = new Bits(palabras, cantidad);
+            return cantidad <= MAXIMO_ARREGLO ? bits.aArreglo() : bits;
+        }
+
+        @Override
+        public int cardinalidad() {
+            return cantidad;
+        }
+
+        @Override
+        public boolean contiene(char valor) {
+            return (palabras[valor >>> 6] & (1L << valor)) != 0;
+        }
+
+        @Override
+        public Contenedor agregar(char valor) {
+            long antes = palabras[valor >>> 6];
+            palabras[valor >>> 6] = antes | (1L << valor);
+            if (palabras[valor >>> 6] != antes) {
+                cantidad++;
+            }
+            return this;
+        }
+
+        @Override
+        public Contenedor quitar(char valor) {
+            long antes = palabras[valor >>> 6];
+            palabras[valor >>> 6] = antes & ~(1L << valor);
+            if (palabras[valor >>> 6] != antes) {
+                cantidad--;
+            }
+            return cantidad <= MAXIMO_ARREGLO ? aArreglo() : this;
+        }
+
+        @Override
+        public int siguiente(int desde) {
+            int palabra = desde >>> 6;
+            long bits = palabras[palabra] & (-1L << desde);
+            while (bits == 0) {
+                if (++palabra == palabras.length) {
+                    return -1;
+                }
+                bits = palabras[palabra];
+            }
+            return palabra * 64 + Long.numberOfTrailingZeros(bits);
+        }
+
+        @Override
+        public Contenedor copia() {
+            return new Bits(palabras.clone(), cantidad);
+        }
+
+        @Override
+        public Contenedor interseccion(Contenedor otro) {
+            if (otro instanceof Arreglo arreglo) {
+                return arreglo.interseccion(this);
+            }
+            long[] otras = ((Bits) otro).palabras;
+            long[] resultado = new long[palabras.length];
+            for (int i = 0; i < resultado.length; i++) {
+                resultado[i] = palabras[i] & otras[i];
+            }
+            return normalizado(resultado);
+        }
+
+        @Override
+        public Contenedor union(Contenedor otro) {
+            Bits resultado = (Bits) copia();
+            if (otro instanceof Arreglo arreglo) {
+                for (int i = 0; i < arreglo.cantidad; i++) {
+                    resultado.agregar(arreglo.valores[i]);
+                }
+                return resultado;
+            }
+            long[] otras = ((Bits) otro).palabras;
+            for (int i = 0; i < resultado.palabras.length; i++) {
+                resultado.palabras[i] |= otras[i];
+            }
+            return normalizado(resultado.palabras);
+        }
+
+        @Override
+        public Contenedor diferencia(Contenedor otro) {
+            long[] resultado = palabras.clone();
+            if (otro instanceof Arreglo arreglo) {
+                for (int i = 0; i < arreglo.cantidad; i++) {
+                    resultado[arreglo.valores[i] >>> 6] &= ~(1L << arreglo.valores[i]);
+                }
+            } else {
+                long[] otras = ((Bits) otro).palabras;
+                for (int i = 0; i < resultado.length; i++) {
+                    resultado[i] &= ~otras[i];
+                }
+            }
+            return normalizado(resultado);
+        }
+
+        private Arreglo aArreglo() {
+            char[] valores = new char[cantidad];
+            int n = 0;
+            for (int i = 0; i < palabras.length; i++) {
+                long bits = palabras[i];
+                while (bits != 0) {
+                    valores[n++] = (char) (i * 64 + Long.numberOfTrailingZeros(bits));
+                    bits &= bits - 1;
+                }
+            }
+            return new Arreglo(valores, n);
+        }
+    }
+}
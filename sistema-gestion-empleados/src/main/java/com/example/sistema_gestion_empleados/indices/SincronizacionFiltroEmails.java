@@ -0,0 +1,131 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import com.example.sistema_gestion_empleados.dto.ResumenEmpleado;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+// Mantiene el filtro de emails con los mismos eventos de Hibernate que el índice de salarios.
+// Las altas y bajas se aplican al confirmar: una baja anticipada daría falsos negativos si la transacción revierte
+@Component
+public class SincronizacionFiltroEmails implements SmartInitializingSingleton,
+        PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final FiltroBloomEmails filtroEmails;
+    private final EntityManagerFactory entityManagerFactory;
+    private final EmpleadoRepository empleadoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CambiosPorTransaccion<Cambio> pendientes;
+
+    public SincronizacionFiltroEmails(FiltroBloomEmails filtroEmails,
+                                      EntityManagerFactory entityManagerFactory,
+                                      EmpleadoRepository empleadoRepository,
+                                      PlatformTransactionManager transactionManager) {
+        this.filtroEmails = filtroEmails;
+        this.entityManagerFactory = entityManagerFactory;
+        this.empleadoRepository = empleadoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.pendientes = new CambiosPorTransaccion<>(cambios -> cambios.forEach(cambio -> cambio.aplicar(filtroEmails)));
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!filtroEmails.isHabilitado()) {
+            return;
+        }
+        EventListenerRegistry registro = EventosHibernate.registro(entityManagerFactory);
+        registro.appendListeners(EventType.POST_INSERT, this);
+        registro.appendListeners(EventType.POST_UPDATE, this);
+        registro.appendListeners(EventType.POST_DELETE, this);
+        cargar();
+    }
+
+    void cargar() {
+        transactionTemplate.executeWithoutResult(estado -> {
+            long filas = empleadoRepository.count();
+            try (Stream<String> emails = empleadoRepository.streamEmails()) {
+                filtroEmails.reemplazar(filas, emails.iterator());
+            }
+        });
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent evento) {
+        if (evento.getEntity() instanceof Empleado empleado && empleado.getEmail() != null) {
+            pendientes.registrar(new Cambio(empleado.getEmail(), true));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent evento) {
+        if (!(evento.getEntity() instanceof Empleado empleado) || evento.getOldState() == null) {
+            return;
+        }
+        registrarCambio((String) evento.getOldState()[indiceEmail(evento.getPersister())], empleado.getEmail());
+    }
+
+    // Para las escrituras por UPDATE/DELETE masivo, que no disparan eventos de Hibernate
+    public void registrarCambio(String anterior, String nuevo) {
+        if (!filtroEmails.isHabilitado() || Objects.equals(anterior, nuevo)) {
+            return;
+        }
+        if (anterior != null) {
+            pendientes.registrar(new Cambio(anterior, false));
+        }
+        if (nuevo != null) {
+            pendientes.registrar(new Cambio(nuevo, true));
+        }
+    }
+
+    public void registrarBajas(Collection<ResumenEmpleado> empleados) {
+        empleados.forEach(empleado -> registrarCambio(empleado.email(), null));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent evento) {
+        if (!(evento.getEntity() instanceof Empleado)) {
+            return;
+        }
+        String email = (String) evento.getDeletedState()[indiceEmail(evento.getPersister())];
+        if (email != null) {
+            pendientes.registrar(new Cambio(email, false));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private static int indiceEmail(EntityPersister persister) {
+        return persister.getEntityMetamodel().getPropertyIndex("email");
+    }
+
+    private record Cambio(String email, boolean alta) {
+        void aplicar(FiltroBloomEmails filtro) {
+            if (alta) {
+                filtro.agregar(email);
+            } else {
+                filtro.quitar(email);
+            }
+        }
+    }
+}
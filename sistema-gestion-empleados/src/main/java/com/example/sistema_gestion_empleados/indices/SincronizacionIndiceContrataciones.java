@@ -0,0 +1,134 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import com.example.sistema_gestion_empleados.dto.ResumenEmpleado;
+import com.example.sistema_gestion_empleados.models.Departamento;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Objects;
+
+// Mantiene el histograma de contrataciones con los eventos de Hibernate sobre empleados; el PATCH y las bajas
+// masivas registran lo que cambiaron. Los cambios se aplican juntos solo si la transacción confirma
+@Component
+public class SincronizacionIndiceContrataciones implements SmartInitializingSingleton,
+        PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final IndiceContrataciones indiceContrataciones;
+    private final EntityManagerFactory entityManagerFactory;
+    private final EmpleadoRepository empleadoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CambiosPorTransaccion<IndiceContrataciones.Cambio> pendientes;
+
+    public SincronizacionIndiceContrataciones(IndiceContrataciones indiceContrataciones,
+                                              EntityManagerFactory entityManagerFactory,
+                                              EmpleadoRepository empleadoRepository,
+                                              PlatformTransactionManager transactionManager) {
+        this.indiceContrataciones = indiceContrataciones;
+        this.entityManagerFactory = entityManagerFactory;
+        this.empleadoRepository = empleadoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.pendientes = new CambiosPorTransaccion<>(indiceContrataciones::aplicar);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!indiceContrataciones.isHabilitado()) {
+            return;
+        }
+        EventListenerRegistry registro = EventosHibernate.registro(entityManagerFactory);
+        registro.appendListeners(EventType.POST_INSERT, this);
+        registro.appendListeners(EventType.POST_UPDATE, this);
+        registro.appendListeners(EventType.POST_DELETE, this);
+        cargar();
+    }
+
+    // La carga lee una fila por departamento y mes, no una por empleado
+    void cargar() {
+        transactionTemplate.executeWithoutResult(estado ->
+                indiceContrataciones.reemplazar(empleadoRepository.findContratacionesPorMes().iterator()));
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent evento) {
+        if (evento.getEntity() instanceof Empleado empleado && empleado.getFechaContratacion() != null) {
+            pendientes.registrar(IndiceContrataciones.Cambio.alta(departamentoId(empleado.getDepartamento()),
+                    empleado.getFechaContratacion()));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent evento) {
+        if (!(evento.getEntity() instanceof Empleado empleado) || evento.getOldState() == null) {
+            return;
+        }
+        int fecha = indice(evento.getPersister(), "fechaContratacion");
+        int departamento = indice(evento.getPersister(), "departamento");
+        registrarCambio(departamentoId((Departamento) evento.getOldState()[departamento]),
+                (LocalDate) evento.getOldState()[fecha],
+                departamentoId(empleado.getDepartamento()), empleado.getFechaContratacion());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent evento) {
+        if (!(evento.getEntity() instanceof Empleado)) {
+            return;
+        }
+        Object[] estado = evento.getDeletedState();
+        LocalDate fecha = (LocalDate) estado[indice(evento.getPersister(), "fechaContratacion")];
+        if (fecha != null) {
+            pendientes.registrar(IndiceContrataciones.Cambio.baja(
+                    departamentoId((Departamento) estado[indice(evento.getPersister(), "departamento")]), fecha));
+        }
+    }
+
+    // Para las escrituras por UPDATE/DELETE masivo, que no disparan eventos de Hibernate
+    public void registrarCambio(Long departamentoAnterior, LocalDate fechaAnterior,
+                                Long departamentoNuevo, LocalDate fechaNueva) {
+        if (!indiceContrataciones.isHabilitado()
+                || (Objects.equals(departamentoAnterior, departamentoNuevo) && Objects.equals(fechaAnterior, fechaNueva))) {
+            return;
+        }
+        if (fechaAnterior != null) {
+            pendientes.registrar(IndiceContrataciones.Cambio.baja(departamentoAnterior, fechaAnterior));
+        }
+        if (fechaNueva != null) {
+            pendientes.registrar(IndiceContrataciones.Cambio.alta(departamentoNuevo, fechaNueva));
+        }
+    }
+
+    public void registrarBajas(Collection<ResumenEmpleado> empleados) {
+        empleados.forEach(empleado ->
+                registrarCambio(empleado.departamentoId(), empleado.fechaContratacion(), null, null));
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private static int indice(EntityPersister persister, String campo) {
+        return persister.getEntityMetamodel().getPropertyIndex(campo);
+    }
+
+    // El id de un proxy se lee sin inicializarlo
+    private static Long departamentoId(Departamento departamento) {
+        return departamento != null ? departamento.getId() : null;
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import com.example.sistema_gestion_empleados.dto.MembresiaProyecto;
+import com.example.sistema_gestion_empleados.dto.ResumenEmpleado;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.models.Proyecto;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import com.example.sistema_gestion_empleados.repositories.ProyectoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+// Mantiene el índice de membresías con los eventos de Hibernate sobre empleados, proyectos y la colección
+// Empleado.proyectos. Como en los demás índices, los cambios se aplican juntos solo si la transacción confirma
+@Component
+public class SincronizacionIndiceMembresias implements SmartInitializingSingleton,
+        PostInsertEventListener, PostDeleteEventListener, PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+    private static final String ROL_PROYECTOS = Empleado.class.getName() + ".proyectos";
+
+    private final IndiceMembresias indiceMembresias;
+    private final EntityManagerFactory entityManagerFactory;
+    private final EmpleadoRepository empleadoRepository;
+    private final ProyectoRepository proyectoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CambiosPorTransaccion<IndiceMembresias.Cambio> pendientes;
+
+    public SincronizacionIndiceMembresias(IndiceMembresias indiceMembresias,
+                                          EntityManagerFactory entityManagerFactory,
+                                          EmpleadoRepository empleadoRepository,
+                                          ProyectoRepository proyectoRepository,
+                                          PlatformTransactionManager transactionManager) {
+        this.indiceMembresias = indiceMembresias;
+        this.entityManagerFactory = entityManagerFactory;
+        this.empleadoRepository = empleadoRepository;
+        this.proyectoRepository = proyectoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.pendientes = new CambiosPorTransaccion<>(indiceMembresias::aplicar);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!indiceMembresias.isHabilitado()) {
+            return;
+        }
+        EventListenerRegistry registro = EventosHibernate.registro(entityManagerFactory);
+        registro.appendListeners(EventType.POST_INSERT, this);
+        registro.appendListeners(EventType.POST_DELETE, this);
+        registro.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registro.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registro.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+        cargar();
+    }
+
+    void cargar() {
+        transactionTemplate.executeWithoutResult(estado -> {
+            try (Stream<Long> empleados = empleadoRepository.streamIds();
+                 Stream<MembresiaProyecto> membresias = empleadoRepository.streamMembresiasProyectos()) {
+                indiceMembresias.reemplazar(proyectoRepository.findIds().iterator(), empleados.iterator(),
+                        membresias.iterator());
+            }
+        });
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent evento) {
+        if (evento.getEntity() instanceof Empleado empleado) {
+            pendientes.registrar(IndiceMembresias.Cambio.asignaciones(empleado.getId(), proyectoIds(empleado.getProyectos())));
+        } else if (evento.getEntity() instanceof Proyecto proyecto) {
+            pendientes.registrar(IndiceMembresias.Cambio.altaProyecto(proyecto.getId()));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent evento) {
+        if (evento.getEntity() instanceof Empleado) {
+            pendientes.registrar(IndiceMembresias.Cambio.bajaEmpleado((Long) evento.getId()));
+        } else if (evento.getEntity() instanceof Proyecto) {
+            pendientes.registrar(IndiceMembresias.Cambio.bajaProyecto((Long) evento.getId()));
+        }
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent evento) {
+        registrarColeccion(evento, false);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent evento) {
+        registrarColeccion(evento, false);
+    }
+
+    // La colección se quita al borrar el empleado o al desreferenciarla; en el primer caso sigue la baja
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent evento) {
+        registrarColeccion(evento, true);
+    }
+
+    // Para el reemplazo de asignaciones por SQL nativo del PATCH, que no dispara eventos de colección
+    public void registrarAsignaciones(Long empleadoId, Collection<Long> proyectoIds) {
+        if (indiceMembresias.isHabilitado()) {
+            pendientes.registrar(IndiceMembresias.Cambio.asignaciones(empleadoId,
+                    proyectoIds.stream().mapToLong(Long::longValue).toArray()));
+        }
+    }
+
+    public void registrarBajas(Collection<ResumenEmpleado> empleados) {
+        if (indiceMembresias.isHabilitado()) {
+            empleados.forEach(empleado -> pendientes.registrar(IndiceMembresias.Cambio.bajaEmpleado(empleado.id())));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    // Se registra el contenido completo de la colección: reemplaza las asignaciones anteriores del empleado
+    private void registrarColeccion(AbstractCollectionEvent evento, boolean quitada) {
+        if (!(evento.getAffectedOwnerOrNull() instanceof Empleado empleado)
+                || !ROL_PROYECTOS.equals(evento.getCollection().getRole())) {
+            return;
+        }
+        long[] proyectoIds = quitada ? new long[0] : proyectoIds((Collection<?>) evento.getCollection());
+        pendientes.registrar(IndiceMembresias.Cambio.asignaciones(empleado.getId(), proyectoIds));
+    }
+
+    private static long[] proyectoIds(Collection<?> proyectos) {
+        if (proyectos == null) {
+            return new long[0];
+        }
+        return proyectos.stream()
+                .map(proyecto -> ((Proyecto) proyecto).getId())
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import com.example.sistema_gestion_empleados.dto.ResumenEmpleado;
+import com.example.sistema_gestion_empleados.dto.SalarioEmpleado;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Mantiene el índice de salarios a partir de los eventos de Hibernate, así cubre también las escrituras en cascada
+// y las de la importación. Los cambios se acumulan por transacción y se aplican solo si confirma
+@Component
+public class SincronizacionIndiceSalarios implements SmartInitializingSingleton,
+        PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final IndiceSalarios indiceSalarios;
+    private final EntityManagerFactory entityManagerFactory;
+    private final EmpleadoRepository empleadoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CambiosPorTransaccion<IndiceSalarios.Cambio> pendientes;
+
+    public SincronizacionIndiceSalarios(IndiceSalarios indiceSalarios,
+                                        EntityManagerFactory entityManagerFactory,
+                                        EmpleadoRepository empleadoRepository,
+                                        PlatformTransactionManager transactionManager) {
+        this.indiceSalarios = indiceSalarios;
+        this.entityManagerFactory = entityManagerFactory;
+        this.empleadoRepository = empleadoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // El primer cambio de cada transacción abre su turno y la transacción lo cierra al terminar, también al
+        // revertir: un turno abierto retiene la consolidación de los cambios posteriores
+        this.pendientes = new CambiosPorTransaccion<>(indiceSalarios::aplicar,
+                (previos, cambio) -> cambio.enTurno(previos.isEmpty()
+                        ? indiceSalarios.abrirTurno() : indiceSalarios.siguienteTurno()),
+                cambios -> indiceSalarios.cerrarTurno(cambios.get(0).turno()));
+    }
+
+    // Se ejecuta antes de que el servidor web acepte solicitudes
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!indiceSalarios.isHabilitado()) {
+            return;
+        }
+        EventListenerRegistry registro = EventosHibernate.registro(entityManagerFactory);
+        registro.appendListeners(EventType.POST_INSERT, this);
+        registro.appendListeners(EventType.POST_UPDATE, this);
+        registro.appendListeners(EventType.POST_DELETE, this);
+        cargar();
+    }
+
+    void cargar() {
+        transactionTemplate.executeWithoutResult(estado -> {
+            int capacidad = (int) empleadoRepository.count();
+            long[] centavos = new long[capacidad];
+            long[] ids = new long[capacidad];
+            int cantidad = 0;
+            try (Stream<SalarioEmpleado> salarios = empleadoRepository.streamSalarios()) {
+                Iterator<SalarioEmpleado> iterador = salarios.iterator();
+                while (iterador.hasNext()) {
+                    SalarioEmpleado fila = iterador.next();
+                    if (cantidad == ids.length) {
+                        centavos = Arrays.copyOf(centavos, Math.max(16, cantidad * 2));
+                        ids = Arrays.copyOf(ids, centavos.length);
+                    }
+                    centavos[cantidad] = IndiceSalarios.aCentavos(fila.salario());
+                    ids[cantidad++] = fila.id();
+                }
+            }
+            indiceSalarios.reemplazar(Arrays.copyOf(centavos, cantidad), Arrays.copyOf(ids, cantidad));
+        });
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent evento) {
+        if (evento.getEntity() instanceof Empleado empleado && empleado.getSalario() != null) {
+            pendientes.registrar(IndiceSalarios.Cambio.alta(empleado.getId(), IndiceSalarios.aCentavos(empleado.getSalario())));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent evento) {
+        if (!(evento.getEntity() instanceof Empleado empleado) || evento.getOldState() == null) {
+            return;
+        }
+        registrarCambio(empleado.getId(),
+                (BigDecimal) evento.getOldState()[indiceSalario(evento.getPersister())], empleado.getSalario());
+    }
+
+    // Para las escrituras por UPDATE/DELETE masivo, que no disparan eventos de Hibernate
+    public void registrarCambio(Long id, BigDecimal anterior, BigDecimal nuevo) {
+        if (!indiceSalarios.isHabilitado()
+                || (anterior != null && nuevo != null && anterior.compareTo(nuevo) == 0)) {
+            return;
+        }
+        if (anterior != null) {
+            pendientes.registrar(IndiceSalarios.Cambio.baja(id, IndiceSalarios.aCentavos(anterior)));
+        }
+        if (nuevo != null) {
+            pendientes.registrar(IndiceSalarios.Cambio.alta(id, IndiceSalarios.aCentavos(nuevo)));
+        }
+    }
+
+    public void registrarBajas(Collection<ResumenEmpleado> empleados) {
+        empleados.forEach(empleado -> registrarCambio(empleado.id(), empleado.salario(), null));
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent evento) {
+        if (!(evento.getEntity() instanceof Empleado)) {
+            return;
+        }
+        BigDecimal salario = (BigDecimal) evento.getDeletedState()[indiceSalario(evento.getPersister())];
+        if (salario != null) {
+            pendientes.registrar(IndiceSalarios.Cambio.baja((Long) evento.getId(), IndiceSalarios.aCentavos(salario)));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private static int indiceSalario(EntityPersister persister) {
+        return persister.getEntityMetamodel().getPropertyIndex("salario");
+    }
+}
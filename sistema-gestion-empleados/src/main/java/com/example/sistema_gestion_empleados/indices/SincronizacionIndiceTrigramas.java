@@ -0,0 +1,122 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import com.example.sistema_gestion_empleados.dto.ResumenEmpleado;
+import com.example.sistema_gestion_empleados.dto.TextoEmpleado;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+// Mantiene el índice de búsqueda con los mismos eventos de Hibernate que el índice de salarios.
+// Los cambios se acumulan por transacción y se aplican juntos, bajo un solo bloqueo, solo si confirma
+@Component
+public class SincronizacionIndiceTrigramas implements SmartInitializingSingleton,
+        PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+    private static final List<String> CAMPOS = List.of("nombre", "apellido", "email");
+
+    private final IndiceTrigramas indiceTrigramas;
+    private final EntityManagerFactory entityManagerFactory;
+    private final EmpleadoRepository empleadoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CambiosPorTransaccion<IndiceTrigramas.Cambio> pendientes;
+
+    public SincronizacionIndiceTrigramas(IndiceTrigramas indiceTrigramas,
+                                         EntityManagerFactory entityManagerFactory,
+                                         EmpleadoRepository empleadoRepository,
+                                         PlatformTransactionManager transactionManager) {
+        this.indiceTrigramas = indiceTrigramas;
+        this.entityManagerFactory = entityManagerFactory;
+        this.empleadoRepository = empleadoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.pendientes = new CambiosPorTransaccion<>(indiceTrigramas::aplicar);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!indiceTrigramas.isHabilitado()) {
+            return;
+        }
+        EventListenerRegistry registro = EventosHibernate.registro(entityManagerFactory);
+        registro.appendListeners(EventType.POST_INSERT, this);
+        registro.appendListeners(EventType.POST_UPDATE, this);
+        registro.appendListeners(EventType.POST_DELETE, this);
+        cargar();
+    }
+
+    void cargar() {
+        transactionTemplate.executeWithoutResult(estado -> {
+            try (Stream<TextoEmpleado> textos = empleadoRepository.streamTextos()) {
+                indiceTrigramas.reemplazar(textos.iterator());
+            }
+        });
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent evento) {
+        if (evento.getEntity() instanceof Empleado empleado) {
+            pendientes.registrar(IndiceTrigramas.Cambio.alta(texto(empleado)));
+        }
+    }
+
+    // Solo se reindexa si cambió alguno de los campos de texto
+    @Override
+    public void onPostUpdate(PostUpdateEvent evento) {
+        if (!(evento.getEntity() instanceof Empleado empleado) || evento.getOldState() == null) {
+            return;
+        }
+        for (String campo : CAMPOS) {
+            int indice = evento.getPersister().getEntityMetamodel().getPropertyIndex(campo);
+            if (!Objects.equals(evento.getOldState()[indice], evento.getState()[indice])) {
+                pendientes.registrar(IndiceTrigramas.Cambio.alta(texto(empleado)));
+                return;
+            }
+        }
+    }
+
+    // Para las escrituras por UPDATE/DELETE masivo, que no disparan eventos de Hibernate
+    public void registrarTexto(TextoEmpleado texto) {
+        if (indiceTrigramas.isHabilitado()) {
+            pendientes.registrar(IndiceTrigramas.Cambio.alta(texto));
+        }
+    }
+
+    public void registrarBajas(Collection<ResumenEmpleado> empleados) {
+        if (indiceTrigramas.isHabilitado()) {
+            empleados.forEach(empleado -> pendientes.registrar(IndiceTrigramas.Cambio.baja(empleado.id())));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent evento) {
+        if (evento.getEntity() instanceof Empleado) {
+            pendientes.registrar(IndiceTrigramas.Cambio.baja((Long) evento.getId()));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private static TextoEmpleado texto(Empleado empleado) {
+        return new TextoEmpleado(empleado.getId(), empleado.getNombre(), empleado.getApellido(), empleado.getEmail());
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import com.example.sistema_gestion_empleados.dto.VigenciaProyecto;
+import com.example.sistema_gestion_empleados.models.Proyecto;
+import com.example.sistema_gestion_empleados.repositories.ProyectoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+// Mantiene el índice de vigencias con los eventos de Hibernate sobre proyectos; el PATCH, que es un UPDATE
+// masivo, registra la vigencia releída. Los cambios se aplican juntos solo si la transacción confirma
+@Component
+public class SincronizacionIndiceVigencias implements SmartInitializingSingleton,
+        PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+    private static final List<String> CAMPOS = List.of("fechaInicio", "fechaFin");
+
+    private final IndiceVigencias indiceVigencias;
+    private final EntityManagerFactory entityManagerFactory;
+    private final ProyectoRepository proyectoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CambiosPorTransaccion<IndiceVigencias.Cambio> pendientes;
+
+    public SincronizacionIndiceVigencias(IndiceVigencias indiceVigencias,
+                                         EntityManagerFactory entityManagerFactory,
+                                         ProyectoRepository proyectoRepository,
+                                         PlatformTransactionManager transactionManager) {
+        this.indiceVigencias = indiceVigencias;
+        this.entityManagerFactory = entityManagerFactory;
+        this.proyectoRepository = proyectoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.pendientes = new CambiosPorTransaccion<>(indiceVigencias::aplicar);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!indiceVigencias.isHabilitado()) {
+            return;
+        }
+        EventListenerRegistry registro = EventosHibernate.registro(entityManagerFactory);
+        registro.appendListeners(EventType.POST_INSERT, this);
+        registro.appendListeners(EventType.POST_UPDATE, this);
+        registro.appendListeners(EventType.POST_DELETE, this);
+        cargar();
+    }
+
+    void cargar() {
+        transactionTemplate.executeWithoutResult(estado -> {
+            try (Stream<VigenciaProyecto> vigencias = proyectoRepository.streamVigencias()) {
+                indiceVigencias.reemplazar(vigencias.iterator());
+            }
+        });
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent evento) {
+        if (evento.getEntity() instanceof Proyecto proyecto) {
+            pendientes.registrar(IndiceVigencias.Cambio.alta(vigencia(proyecto)));
+        }
+    }
+
+    // Solo se reindexa si cambió alguna de las fechas
+    @Override
+    public void onPostUpdate(PostUpdateEvent evento) {
+        if (!(evento.getEntity() instanceof Proyecto proyecto) || evento.getOldState() == null) {
+            return;
+        }
+        for (String campo : CAMPOS) {
+            int indice = evento.getPersister().getEntityMetamodel().getPropertyIndex(campo);
+            if (!Objects.equals(evento.getOldState()[indice], evento.getState()[indice])) {
+                pendientes.registrar(IndiceVigencias.Cambio.alta(vigencia(proyecto)));
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent evento) {
+        if (evento.getEntity() instanceof Proyecto) {
+            pendientes.registrar(IndiceVigencias.Cambio.baja((Long) evento.getId()));
+        }
+    }
+
+    // Para las escrituras por UPDATE masivo, que no disparan eventos de Hibernate
+    public void registrarVigencia(VigenciaProyecto vigencia) {
+        if (indiceVigencias.isHabilitado()) {
+            pendientes.registrar(IndiceVigencias.Cambio.alta(vigencia));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private static VigenciaProyecto vigencia(Proyecto proyecto) {
+        return new VigenciaProyecto(proyecto.getId(), proyecto.getFechaInicio(), proyecto.getFechaFin());
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.sistema_gestion_empleados.metricas;
+
+// Contadores por hilo de la actividad de Hibernate; las Statistics de Hibernate son globales
+// y no permiten atribuir la carga a la llamada de servicio que la originó. Las sentencias se leen de SentenciasSql
+public final class ContadoresHibernate {
+    private static final ThreadLocal<Contadores> ACTUALES = ThreadLocal.withInitial(Contadores::new);
+
+    private ContadoresHibernate() {
+    }
+
+    public static void registrarEntidadCargada() {
+        ACTUALES.get().entidadesCargadas++;
+    }
+
+    public static void registrarColeccionInicializada() {
+        ACTUALES.get().coleccionesInicializadas++;
+    }
+
+    static Contadores actuales() {
+        return ACTUALES.get();
+    }
+
+    static long sentencias() {
+        return SentenciasSql.ejecutadas();
+    }
+
+    static final class Contadores {
+        long entidadesCargadas;
+        long coleccionesInicializadas;
+        int profundidad;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.sistema_gestion_empleados.metricas;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Envuelve conexiones y sentencias con proxies dinámicos de JDK que miden cada execute* y lo registran en
+// SentenciasSql. Las sentencias preparadas recuerdan su SQL; en las simples es el argumento de execute
+public class DataSourceInstrumentado extends DelegatingDataSource {
+    private static final String LOTE_SIMPLE = "<lote de sentencias simples>";
+
+    public DataSourceInstrumentado(DataSource destino) {
+        super(destino);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return conexion(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String clave) throws SQLException {
+        return conexion(super.getConnection(usuario, clave));
+    }
+
+    private static Connection conexion(Connection conexion) {
+        return (Connection) Proxy.newProxyInstance(DataSourceInstrumentado.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, metodo, argumentos) -> {
+                    Object identidad = identidad(proxy, metodo, argumentos);
+                    if (identidad != null) {
+                        return identidad;
+                    }
+                    Object resultado = invocar(conexion, metodo, argumentos);
+                    if (resultado instanceof Statement sentencia && Statement.class.isAssignableFrom(metodo.getReturnType())) {
+                        String sql = argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String texto
+                                ? texto : null;
+                        return sentencia(sentencia, metodo.getReturnType(), sql);
+                    }
+                    return resultado;
+                });
+    }
+
+    private static Object sentencia(Statement sentencia, Class<?> tipo, String sqlPreparado) {
+        return Proxy.newProxyInstance(DataSourceInstrumentado.class.getClassLoader(), new Class<?>[]{tipo},
+                (proxy, metodo, argumentos) -> {
+                    Object identidad = identidad(proxy, metodo, argumentos);
+                    if (identidad != null) {
+                        return identidad;
+                    }
+                    if (!metodo.getName().startsWith("execute")) {
+                        return invocar(sentencia, metodo, argumentos);
+                    }
+                    String sql = argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String texto
+                            ? texto : sqlPreparado != null ? sqlPreparado : LOTE_SIMPLE;
+                    long inicio = System.nanoTime();
+                    try {
+                        return invocar(sentencia, metodo, argumentos);
+                    } finally {
+                        SentenciasSql.registrar(sql, System.nanoTime() - inicio);
+                    }
+                });
+    }
+
+    // equals y hashCode por identidad del proxy: el pool y Hibernate comparan las conexiones que reciben
+    private static Object identidad(Object proxy, Method metodo, Object[] argumentos) {
+        return switch (metodo.getName()) {
+            case "equals" -> argumentos.length == 1 ? proxy == argumentos[0] : null;
+            case "hashCode" -> argumentos == null ? System.identityHashCode(proxy) : null;
+            default -> null;
+        };
+    }
+
+    private static Object invocar(Object destino, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(destino, argumentos);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.sistema_gestion_empleados.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+// Único aspecto sobre los servicios: la llamada más externa de cada hilo se mide y es la que VigilanciaSentencias
+// revisa, así la profundidad se lleva en un solo lugar
+@Aspect
+@Component
+public class MetricasServicioAspect {
+    private final MeterRegistry meterRegistry;
+    private final VigilanciaSentencias vigilanciaSentencias;
+
+    public MetricasServicioAspect(MeterRegistry meterRegistry, VigilanciaSentencias vigilanciaSentencias) {
+        this.meterRegistry = meterRegistry;
+        this.vigilanciaSentencias = vigilanciaSentencias;
+    }
+
+    @Around("within(com.example.sistema_gestion_empleados.services..*)")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        ContadoresHibernate.Contadores contadores = ContadoresHibernate.actuales();
+        // Solo se mide la llamada más externa: la carga de las llamadas anidadas ya queda incluida en ella
+        if (contadores.profundidad > 0) {
+            return joinPoint.proceed();
+        }
+        long sentencias = ContadoresHibernate.sentencias();
+        long entidadesCargadas = contadores.entidadesCargadas;
+        long coleccionesInicializadas = contadores.coleccionesInicializadas;
+        String clase = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String metodo = joinPoint.getSignature().getName();
+        Tags tags = Tags.of("clase", clase, "metodo", metodo);
+        String resultado = "exito";
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        contadores.profundidad++;
+        try {
+            return vigilanciaSentencias.vigilar(clase + "." + metodo, joinPoint);
+        } catch (Throwable ex) {
+            resultado = "error";
+            throw ex;
+        } finally {
+            contadores.profundidad--;
+            muestra.stop(meterRegistry.timer("servicio.llamadas", tags.and("resultado", resultado)));
+            registrar("servicio.sql.sentencias", tags, ContadoresHibernate.sentencias() - sentencias);
+            registrar("servicio.hibernate.entidades.cargadas", tags,
+                    contadores.entidadesCargadas - entidadesCargadas);
+            registrar("servicio.hibernate.colecciones.inicializadas", tags,
+                    contadores.coleccionesInicializadas - coleccionesInicializadas);
+        }
+    }
+
+    private void registrar(String nombre, Tags tags, long cantidad) {
+        DistributionSummary.builder(nombre).tags(tags).register(meterRegistry).record(cantidad);
+    }
+}
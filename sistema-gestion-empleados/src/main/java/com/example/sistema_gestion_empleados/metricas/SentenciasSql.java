@@ -0,0 +1,82 @@
+package com.example.sistema_gestion_empleados.metricas;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Única fuente del conteo de sentencias SQL, alimentada por DataSourceInstrumentado. Cada hilo lleva el total de
+// sentencias que ejecutó, que ContadoresHibernate expone a las métricas por servicio, y las de la unidad de trabajo
+// en curso para la vigilancia: la solicitud HTTP o, fuera de una, la llamada de servicio más externa. Las de la
+// unidad se acumulan por texto SQL: las ejecuciones de una misma sentencia preparada solo difieren en los parámetros
+public final class SentenciasSql {
+    private static final ThreadLocal<Hilo> ACTUAL = ThreadLocal.withInitial(Hilo::new);
+
+    private SentenciasSql() {
+    }
+
+    public static void registrar(String sql, long nanos) {
+        Hilo hilo = ACTUAL.get();
+        hilo.ejecutadas++;
+        if (hilo.registro != null) {
+            hilo.registro.registrar(sql, nanos);
+        }
+    }
+
+    // Total del hilo: las métricas restan el valor al empezar la llamada del valor al terminarla
+    static long ejecutadas() {
+        return ACTUAL.get().ejecutadas;
+    }
+
+    // Nulo si ya hay una unidad en curso, que es la que sigue acumulando
+    static Registro iniciar(String unidad) {
+        Hilo hilo = ACTUAL.get();
+        if (hilo.registro != null) {
+            return null;
+        }
+        hilo.registro = new Registro(unidad);
+        return hilo.registro;
+    }
+
+    static void terminar() {
+        ACTUAL.get().registro = null;
+    }
+
+    static Registro actual() {
+        return ACTUAL.get().registro;
+    }
+
+    private static final class Hilo {
+        long ejecutadas;
+        Registro registro;
+    }
+
+    static final class Registro {
+        String unidad;
+        // Llamada de servicio más externa en curso, para atribuir cada sentencia dentro de una solicitud
+        String servicio;
+        int sentencias;
+        long nanos;
+        final Map<String, Repeticiones> porSql = new HashMap<>();
+
+        Registro(String unidad) {
+            this.unidad = unidad;
+        }
+
+        void registrar(String sql, long duracion) {
+            sentencias++;
+            nanos += duracion;
+            Repeticiones repeticiones = porSql.computeIfAbsent(sql, texto -> new Repeticiones(servicio));
+            repeticiones.veces++;
+            repeticiones.nanos += duracion;
+        }
+    }
+
+    static final class Repeticiones {
+        final String servicio;
+        int veces;
+        long nanos;
+
+        Repeticiones(String servicio) {
+            this.servicio = servicio;
+        }
+    }
+}
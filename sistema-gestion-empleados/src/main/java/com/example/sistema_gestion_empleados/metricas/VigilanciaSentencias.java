@@ -0,0 +1,97 @@
+package com.example.sistema_gestion_empleados.metricas;
+
+import com.example.sistema_gestion_empleados.config.VigilanciaSentenciasProperties;
+import com.example.sistema_gestion_empleados.exceptions.SentenciasSqlExcedidasException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Revisa las sentencias de cada unidad de trabajo al terminar: el mismo SELECT preparado repetido muchas veces
+// es un N+1 (típicamente una asociación lazy recorrida en un bucle) y pasar el presupuesto de la unidad también
+// se informa. En producción se registra un warning; los tests corren en modo FALLAR y la unidad lanza una excepción.
+// Las unidades las abren VigilanciaSentenciasFilter y MetricasServicioAspect
+@Component
+public class VigilanciaSentencias {
+    private static final Logger log = LoggerFactory.getLogger(VigilanciaSentencias.class);
+
+    private final VigilanciaSentenciasProperties propiedades;
+    private final MeterRegistry meterRegistry;
+
+    public VigilanciaSentencias(VigilanciaSentenciasProperties propiedades, MeterRegistry meterRegistry) {
+        this.propiedades = propiedades;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isHabilitada() {
+        return propiedades.habilitada();
+    }
+
+    // Para la llamada de servicio más externa del hilo. Fuera de una solicitud HTTP es la unidad; dentro, solo se
+    // anota el servicio que emite cada sentencia
+    Object vigilar(String metodo, ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!propiedades.habilitada()) {
+            return joinPoint.proceed();
+        }
+        SentenciasSql.Registro registro = SentenciasSql.iniciar(metodo);
+        if (registro == null) {
+            SentenciasSql.Registro actual = SentenciasSql.actual();
+            actual.servicio = metodo;
+            try {
+                return joinPoint.proceed();
+            } finally {
+                actual.servicio = null;
+            }
+        }
+        registro.servicio = metodo;
+        Object resultado;
+        try {
+            resultado = joinPoint.proceed();
+        } finally {
+            SentenciasSql.terminar();
+        }
+        revisar(registro);
+        return resultado;
+    }
+
+    void revisar(SentenciasSql.Registro registro) {
+        List<String> problemas = new ArrayList<>();
+        int presupuesto = propiedades.presupuesto(registro.unidad);
+        if (registro.sentencias > presupuesto) {
+            problemas.add(registro.sentencias + " sentencias SQL, presupuesto " + presupuesto);
+            meterRegistry.counter("sql.vigilancia.problemas", "unidad", registro.unidad, "tipo", "presupuesto")
+                    .increment();
+        }
+        for (Map.Entry<String, SentenciasSql.Repeticiones> entrada : registro.porSql.entrySet()) {
+            SentenciasSql.Repeticiones repeticiones = entrada.getValue();
+            if (repeticiones.veces >= propiedades.repeticionesNMasUno() && esSelect(entrada.getKey())) {
+                problemas.add("posible N+1 en " + repeticiones.servicio + ": " + repeticiones.veces + " ejecuciones ("
+                        + TimeUnit.NANOSECONDS.toMillis(repeticiones.nanos) + " ms) de " + entrada.getKey());
+                meterRegistry.counter("sql.vigilancia.problemas", "unidad", registro.unidad, "tipo", "n+1")
+                        .increment();
+            }
+        }
+        if (problemas.isEmpty()) {
+            return;
+        }
+        String mensaje = registro.unidad + " (" + TimeUnit.NANOSECONDS.toMillis(registro.nanos) + " ms en SQL): "
+                + String.join("; ", problemas);
+        if (propiedades.modo() == VigilanciaSentenciasProperties.Modo.FALLAR) {
+            throw new SentenciasSqlExcedidasException(mensaje);
+        }
+        log.warn(mensaje);
+    }
+
+    // Los pedidos de valores de secuencia se repiten por diseño, uno cada allocationSize inserciones
+    private static boolean esSelect(String sql) {
+        String texto = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return texto.startsWith("select") && !texto.contains("next value for") && !texto.contains("nextval(");
+    }
+}
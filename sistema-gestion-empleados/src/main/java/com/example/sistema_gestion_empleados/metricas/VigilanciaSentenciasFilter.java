@@ -0,0 +1,45 @@
+package com.example.sistema_gestion_empleados.metricas;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Cada solicitud HTTP es una unidad de trabajo para la vigilancia de sentencias; el presupuesto se busca por el
+// patrón de la ruta, que se conoce recién después de despachar la solicitud. Se declara en MetricasConfig y no como
+// componente, así los tests @WebMvcTest, con los servicios simulados, no lo cargan
+public class VigilanciaSentenciasFilter extends OncePerRequestFilter {
+    private final VigilanciaSentencias vigilanciaSentencias;
+
+    public VigilanciaSentenciasFilter(VigilanciaSentencias vigilanciaSentencias) {
+        this.vigilanciaSentencias = vigilanciaSentencias;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !vigilanciaSentencias.isHabilitada();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SentenciasSql.Registro registro = SentenciasSql.iniciar(request.getMethod() + " " + request.getRequestURI());
+        if (registro == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SentenciasSql.terminar();
+        }
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String patron) {
+            registro.unidad = request.getMethod() + " " + patron;
+        }
+        vigilanciaSentencias.revisar(registro);
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.sistema_gestion_empleados.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -14,9 +19,12 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "departamentos")
 public class Departamento {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "departamentos_seq")
+    @SequenceGenerator(name = "departamentos_seq", sequenceName = "departamentos_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100, unique = true)
@@ -25,6 +33,10 @@ public class Departamento {
     @Column(length = 500)
     private String descripcion;
 
+    // Lado inverso: no se serializa para que un departamento en caché no dependa de una sesión abierta
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @OneToMany(mappedBy = "departamento", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Empleado> empleados = new ArrayList<>();
 
@@ -0,0 +1,36 @@
+package com.example.sistema_gestion_empleados.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+// Acumulados de salario por departamento, mantenidos en la misma transacción que las escrituras de empleados.
+// Sin clave foránea: son datos derivados que se pueden reconstruir a partir de la tabla de empleados
+@Entity
+@Table(name = "departamento_salario_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DepartamentoSalarioStats {
+    @Id
+    @Column(name = "departamento_id")
+    private Long departamentoId;
+
+    @Column(nullable = false)
+    private long cantidad;
+
+    @Column(nullable = false, precision = 38, scale = 2)
+    private BigDecimal suma;
+
+    @Column(name = "suma_cuadrados", nullable = false, precision = 38, scale = 4)
+    private BigDecimal sumaCuadrados;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal minimo;
+
+    @Column(precision = 10, scale = 2)
+    private BigDecimal maximo;
+}
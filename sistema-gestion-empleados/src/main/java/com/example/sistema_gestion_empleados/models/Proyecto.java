@@ -1,9 +1,14 @@
 package com.example.sistema_gestion_empleados.models;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.util.HashSet;
@@ -15,9 +20,12 @@ import java.util.Set;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "proyectos")
 public class Proyecto {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "proyectos_seq")
+    @SequenceGenerator(name = "proyectos_seq", sequenceName = "proyectos_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -34,6 +42,11 @@ public class Proyecto {
     @Temporal(TemporalType.DATE)
     private LocalDate fechaFin;
 
+    // Fuera de equals/hashCode/toString: calcularlos inicializaría la colección perezosa, incluso mientras
+    // Hibernate carga los proyectos de un empleado
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToMany(mappedBy = "proyectos")
     private Set<Empleado> empleados = new HashSet<>();
 
@@ -0,0 +1,63 @@
+package com.example.sistema_gestion_empleados.repositories;
+
+import com.example.sistema_gestion_empleados.dto.AcumuladoSalario;
+import com.example.sistema_gestion_empleados.dto.DepartamentoVista;
+import com.example.sistema_gestion_empleados.dto.EstadisticasSalarioDepartamento;
+import com.example.sistema_gestion_empleados.dto.ReferenciaDepartamento;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+@Repository
+@Profile("reactivo")
+public class DepartamentoReactivoRepository {
+    private final DatabaseClient databaseClient;
+
+    public DepartamentoReactivoRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<DepartamentoVista> findVistaById(long id) {
+        return databaseClient.sql("SELECT id, nombre, descripcion FROM departamentos WHERE id = :id")
+                .bind("id", id)
+                .map(DepartamentoReactivoRepository::vista)
+                .one();
+    }
+
+    public Flux<DepartamentoVista> findVistasDespuesDe(long despuesDeId, int limite) {
+        return databaseClient.sql("SELECT id, nombre, descripcion FROM departamentos WHERE id > :despuesDeId "
+                        + "ORDER BY id LIMIT :limite")
+                .bind("despuesDeId", despuesDeId)
+                .bind("limite", limite)
+                .map(DepartamentoReactivoRepository::vista)
+                .all();
+    }
+
+    // Departamentos sin fila de acumulados aparecen con cantidad cero, igual que en EstadisticasSalarioService
+    public Flux<EstadisticasSalarioDepartamento> findEstadisticasSalario() {
+        return databaseClient.sql("SELECT d.id, d.nombre, s.cantidad, s.suma, s.suma_cuadrados, s.minimo, s.maximo "
+                        + "FROM departamentos d LEFT JOIN departamento_salario_stats s ON s.departamento_id = d.id "
+                        + "ORDER BY d.id")
+                .map(fila -> {
+                    Long id = fila.get("id", Long.class);
+                    Long cantidad = fila.get("cantidad", Long.class);
+                    AcumuladoSalario acumulado = cantidad == null ? AcumuladoSalario.vacio(id)
+                            : new AcumuladoSalario(id, cantidad, fila.get("suma", BigDecimal.class),
+                            fila.get("suma_cuadrados", BigDecimal.class), fila.get("minimo", BigDecimal.class),
+                            fila.get("maximo", BigDecimal.class));
+                    return EstadisticasSalarioDepartamento.desde(
+                            new ReferenciaDepartamento(id, fila.get("nombre", String.class)), acumulado);
+                })
+                .all();
+    }
+
+    private static DepartamentoVista vista(Readable fila) {
+        return new DepartamentoVista(fila.get("id", Long.class), fila.get("nombre", String.class),
+                fila.get("descripcion", String.class));
+    }
+}
@@ -1,10 +1,32 @@
 package com.example.sistema_gestion_empleados.repositories;
 
+import com.example.sistema_gestion_empleados.dto.DepartamentoVista;
+import com.example.sistema_gestion_empleados.dto.ReferenciaDepartamento;
 import com.example.sistema_gestion_empleados.models.Departamento;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface DepartamentoRepository extends JpaRepository<Departamento, Long> {
+    @Query("SELECT new com.example.sistema_gestion_empleados.dto.DepartamentoVista(d.id, d.nombre, d.descripcion) "
+            + "FROM Departamento d WHERE d.id > :despuesDeId ORDER BY d.id")
+    List<DepartamentoVista> findVistasDespuesDe(@Param("despuesDeId") Long despuesDeId, Limit limite);
+
+    @Query("SELECT d.id FROM Departamento d WHERE d.nombre = :nombre")
+    Optional<Long> findIdByNombre(@Param("nombre") String nombre);
+
+    @Query("SELECT new com.example.sistema_gestion_empleados.dto.ReferenciaDepartamento(d.id, d.nombre) "
+            + "FROM Departamento d ORDER BY d.id")
+    List<ReferenciaDepartamento> findReferencias();
 
+    @Modifying
+    @Query("DELETE FROM Departamento d WHERE d.id = :id")
+    int deleteEnBloquePorId(@Param("id") Long id);
 }
\ No newline at end of file
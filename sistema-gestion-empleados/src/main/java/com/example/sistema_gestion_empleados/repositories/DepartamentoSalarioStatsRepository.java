@@ -0,0 +1,97 @@
+package com.example.sistema_gestion_empleados.repositories;
+
+import com.example.sistema_gestion_empleados.dto.AcumuladoSalario;
+import com.example.sistema_gestion_empleados.models.DepartamentoSalarioStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DepartamentoSalarioStatsRepository extends JpaRepository<DepartamentoSalarioStats, Long> {
+    String SELECT_ACUMULADO = "SELECT new com.example.sistema_gestion_empleados.dto.AcumuladoSalario("
+            + "s.departamentoId, s.cantidad, s.suma, s.sumaCuadrados, s.minimo, s.maximo) "
+            + "FROM DepartamentoSalarioStats s ";
+
+    // Actualización atómica en la base: dos altas concurrentes en el mismo departamento no se pisan
+    @Modifying
+    @Query("UPDATE DepartamentoSalarioStats s SET s.cantidad = s.cantidad + :cantidad, "
+            + "s.suma = s.suma + :suma, s.sumaCuadrados = s.sumaCuadrados + :sumaCuadrados, "
+            + "s.minimo = CASE WHEN s.minimo IS NULL OR :minimo < s.minimo THEN :minimo ELSE s.minimo END, "
+            + "s.maximo = CASE WHEN s.maximo IS NULL OR :maximo > s.maximo THEN :maximo ELSE s.maximo END "
+            + "WHERE s.departamentoId = :departamentoId")
+    int sumar(@Param("departamentoId") Long departamentoId,
+              @Param("cantidad") long cantidad,
+              @Param("suma") BigDecimal suma,
+              @Param("sumaCuadrados") BigDecimal sumaCuadrados,
+              @Param("minimo") BigDecimal minimo,
+              @Param("maximo") BigDecimal maximo);
+
+    // Filas vacías para los departamentos que no tienen una, como los que todavía no tienen empleados
+    @Modifying
+    @Query("INSERT INTO DepartamentoSalarioStats (departamentoId, cantidad, suma, sumaCuadrados) "
+            + "SELECT d.id, 0, 0, 0 FROM Departamento d WHERE NOT EXISTS "
+            + "(SELECT 1 FROM DepartamentoSalarioStats s WHERE s.departamentoId = d.id)")
+    int insertarVacias();
+
+    @Modifying
+    @Query("INSERT INTO DepartamentoSalarioStats (departamentoId, cantidad, suma, sumaCuadrados) "
+            + "SELECT d.id, 0, 0, 0 FROM Departamento d WHERE d.id IN :departamentoIds AND NOT EXISTS "
+            + "(SELECT 1 FROM DepartamentoSalarioStats s WHERE s.departamentoId = d.id)")
+    int insertarVaciasDe(@Param("departamentoIds") Collection<Long> departamentoIds);
+
+    @Modifying
+    @Query("UPDATE DepartamentoSalarioStats s SET s.cantidad = s.cantidad - 1, "
+            + "s.suma = s.suma - :salario, s.sumaCuadrados = s.sumaCuadrados - :salario * :salario "
+            + "WHERE s.departamentoId = :departamentoId")
+    int restar(@Param("departamentoId") Long departamentoId, @Param("salario") BigDecimal salario);
+
+    // El mínimo y el máximo solo se recalculan cuando el salario retirado era el extremo. Se ejecuta antes de
+    // modificar o borrar al empleado, por eso lo excluye en lugar de esperar a que se envíe su cambio
+    @Modifying
+    @Query("UPDATE DepartamentoSalarioStats s SET s.minimo = (SELECT MIN(e.salario) FROM Empleado e "
+            + "WHERE e.departamento.id = s.departamentoId AND e.id <> :empleadoId) "
+            + "WHERE s.departamentoId = :departamentoId AND s.minimo = :salario")
+    int recalcularMinimo(@Param("departamentoId") Long departamentoId,
+                          @Param("empleadoId") Long empleadoId,
+                          @Param("salario") BigDecimal salario);
+
+    @Modifying
+    @Query("UPDATE DepartamentoSalarioStats s SET s.maximo = (SELECT MAX(e.salario) FROM Empleado e "
+            + "WHERE e.departamento.id = s.departamentoId AND e.id <> :empleadoId) "
+            + "WHERE s.departamentoId = :departamentoId AND s.maximo = :salario")
+    int recalcularMaximo(@Param("departamentoId") Long departamentoId,
+                          @Param("empleadoId") Long empleadoId,
+                          @Param("salario") BigDecimal salario);
+
+    @Query(SELECT_ACUMULADO + "WHERE s.departamentoId = :departamentoId")
+    Optional<AcumuladoSalario> findAcumulado(@Param("departamentoId") Long departamentoId);
+
+    @Query(SELECT_ACUMULADO)
+    List<AcumuladoSalario> findAcumulados();
+
+    @Query("SELECT new com.example.sistema_gestion_empleados.dto.AcumuladoSalario(e.departamento.id, COUNT(e), "
+            + "SUM(e.salario), SUM(e.salario * e.salario), MIN(e.salario), MAX(e.salario)) "
+            + "FROM Empleado e WHERE e.departamento IS NOT NULL GROUP BY e.departamento.id")
+    List<AcumuladoSalario> calcularAcumulados();
+
+    @Modifying
+    @Query("INSERT INTO DepartamentoSalarioStats (departamentoId, cantidad, suma, sumaCuadrados, minimo, maximo) "
+            + "SELECT e.departamento.id, COUNT(e), SUM(e.salario), SUM(e.salario * e.salario), "
+            + "MIN(e.salario), MAX(e.salario) "
+            + "FROM Empleado e WHERE e.departamento IS NOT NULL GROUP BY e.departamento.id")
+    int insertarDesdeEmpleados();
+
+    @Modifying
+    @Query("INSERT INTO DepartamentoSalarioStats (departamentoId, cantidad, suma, sumaCuadrados, minimo, maximo) "
+            + "SELECT e.departamento.id, COUNT(e), SUM(e.salario), SUM(e.salario * e.salario), "
+            + "MIN(e.salario), MAX(e.salario) "
+            + "FROM Empleado e WHERE e.departamento.id IN :departamentoIds GROUP BY e.departamento.id")
+    int insertarDesdeEmpleadosDe(@Param("departamentoIds") Collection<Long> departamentoIds);
+}
@@ -0,0 +1,132 @@
+package com.example.sistema_gestion_empleados.repositories;
+
+import com.example.sistema_gestion_empleados.dto.AsignacionProyecto;
+import com.example.sistema_gestion_empleados.dto.EmpleadoExportado;
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+
+// Mismas consultas que EmpleadoRepository sobre R2DBC, para el perfil reactivo
+@Repository
+@Profile("reactivo")
+public class EmpleadoReactivoRepository {
+    private static final String SELECT_VISTA = "SELECT e.id, e.nombre, e.apellido, e.email, e.fecha_contratacion, "
+            + "e.salario, d.id AS departamento_id, d.nombre AS departamento_nombre "
+            + "FROM empleados e LEFT JOIN departamentos d ON d.id = e.departamento_id ";
+    // Filas por viaje en los drivers que lo soportan; el resto lo regula la demanda del suscriptor
+    private static final int TAMANIO_FETCH = 500;
+
+    private final DatabaseClient databaseClient;
+
+    public EmpleadoReactivoRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<EmpleadoVista> findVistaById(long id) {
+        return databaseClient.sql(SELECT_VISTA + "WHERE e.id = :id")
+                .bind("id", id)
+                .map(EmpleadoReactivoRepository::vista)
+                .one();
+    }
+
+    public Flux<EmpleadoVista> findVistasDespuesDe(long despuesDeId, int limite) {
+        return databaseClient.sql(SELECT_VISTA + "WHERE e.id > :despuesDeId ORDER BY e.id LIMIT :limite")
+                .bind("despuesDeId", despuesDeId)
+                .bind("limite", limite)
+                .map(EmpleadoReactivoRepository::vista)
+                .all();
+    }
+
+    public Flux<EmpleadoVista> findVistasPorDepartamentoDespuesDe(String nombreDepartamento, long despuesDeId, int limite) {
+        return databaseClient.sql(SELECT_VISTA + "WHERE d.nombre = :nombre AND e.id > :despuesDeId ORDER BY e.id LIMIT :limite")
+                .bind("nombre", nombreDepartamento)
+                .bind("despuesDeId", despuesDeId)
+                .bind("limite", limite)
+                .map(EmpleadoReactivoRepository::vista)
+                .all();
+    }
+
+    public Flux<EmpleadoVista> findVistasPorSalarioDespuesDe(BigDecimal salarioMin, BigDecimal salarioMax,
+                                                             long despuesDeId, int limite) {
+        return databaseClient.sql(SELECT_VISTA + "WHERE e.salario BETWEEN :salarioMin AND :salarioMax "
+                        + "AND e.id > :despuesDeId ORDER BY e.id LIMIT :limite")
+                .bind("salarioMin", salarioMin)
+                .bind("salarioMax", salarioMax)
+                .bind("despuesDeId", despuesDeId)
+                .bind("limite", limite)
+                .map(EmpleadoReactivoRepository::vista)
+                .all();
+    }
+
+    public Flux<EmpleadoVista> findVistasPorTextoDespuesDe(String patron, long despuesDeId, int limite) {
+        return databaseClient.sql(SELECT_VISTA + "WHERE (LOWER(e.nombre) LIKE :patron ESCAPE '!' "
+                        + "OR LOWER(e.apellido) LIKE :patron ESCAPE '!' OR LOWER(e.email) LIKE :patron ESCAPE '!') "
+                        + "AND e.id > :despuesDeId ORDER BY e.id LIMIT :limite")
+                .bind("patron", patron)
+                .bind("despuesDeId", despuesDeId)
+                .bind("limite", limite)
+                .map(EmpleadoReactivoRepository::vista)
+                .all();
+    }
+
+    public Flux<EmpleadoVista> findVistasMayorSalario(int limite) {
+        return databaseClient.sql(SELECT_VISTA + "ORDER BY e.salario DESC, e.id DESC LIMIT :limite")
+                .bind("limite", limite)
+                .map(EmpleadoReactivoRepository::vista)
+                .all();
+    }
+
+    public Mono<Long> countBySalarioBetween(BigDecimal salarioMin, BigDecimal salarioMax) {
+        return databaseClient.sql("SELECT COUNT(*) FROM empleados WHERE salario BETWEEN :salarioMin AND :salarioMax")
+                .bind("salarioMin", salarioMin)
+                .bind("salarioMax", salarioMax)
+                .map(fila -> fila.get(0, Long.class))
+                .one();
+    }
+
+    public Flux<AsignacionProyecto> findAsignacionesProyectos(Collection<Long> empleadoIds) {
+        return databaseClient.sql("SELECT ep.empleado_id, p.id, p.nombre FROM empleado_proyecto ep "
+                        + "JOIN proyectos p ON p.id = ep.proyecto_id WHERE ep.empleado_id IN (:empleadoIds) "
+                        + "ORDER BY ep.empleado_id, p.id")
+                .bind("empleadoIds", empleadoIds)
+                .map(fila -> new AsignacionProyecto(fila.get("empleado_id", Long.class), fila.get("id", Long.class),
+                        fila.get("nombre", String.class)))
+                .all();
+    }
+
+    // Toda la tabla por orden de id; las filas se piden a medida que el cliente las consume
+    public Flux<EmpleadoExportado> streamExportados() {
+        return databaseClient.sql(SELECT_VISTA + "ORDER BY e.id")
+                .filter(sentencia -> sentencia.fetchSize(TAMANIO_FETCH))
+                .map(fila -> new EmpleadoExportado(
+                        fila.get("id", Long.class),
+                        fila.get("nombre", String.class),
+                        fila.get("apellido", String.class),
+                        fila.get("email", String.class),
+                        fila.get("fecha_contratacion", LocalDate.class),
+                        fila.get("salario", BigDecimal.class),
+                        fila.get("departamento_id", Long.class),
+                        fila.get("departamento_nombre", String.class)))
+                .all();
+    }
+
+    private static EmpleadoVista vista(Readable fila) {
+        return new EmpleadoVista(
+                fila.get("id", Long.class),
+                fila.get("nombre", String.class),
+                fila.get("apellido", String.class),
+                fila.get("email", String.class),
+                fila.get("fecha_contratacion", LocalDate.class),
+                fila.get("salario", BigDecimal.class),
+                fila.get("departamento_id", Long.class),
+                fila.get("departamento_nombre", String.class));
+    }
+}
@@ -1,27 +1,238 @@
 package com.example.sistema_gestion_empleados.repositories;
 
+import com.example.sistema_gestion_empleados.dto.AsignacionFechas;
+import com.example.sistema_gestion_empleados.dto.AsignacionProyecto;
+import com.example.sistema_gestion_empleados.dto.ContratacionesMes;
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.dto.MembresiaProyecto;
+import com.example.sistema_gestion_empleados.dto.ResumenEmpleado;
+import com.example.sistema_gestion_empleados.dto.SalarioEmpleado;
+import com.example.sistema_gestion_empleados.dto.TextoEmpleado;
 import com.example.sistema_gestion_empleados.models.Departamento;
 import com.example.sistema_gestion_empleados.models.Empleado;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface EmpleadoRepository extends JpaRepository<Empleado, Long> {
+    String SELECT_VISTA = "SELECT new com.example.sistema_gestion_empleados.dto.EmpleadoVista("
+            + "e.id, e.nombre, e.apellido, e.email, e.fechaContratacion, e.salario, d.id, d.nombre) "
+            + "FROM Empleado e LEFT JOIN e.departamento d ";
+    String SELECT_RESUMEN = "SELECT new com.example.sistema_gestion_empleados.dto.ResumenEmpleado("
+            + "e.id, e.email, e.salario, d.id, e.fechaContratacion) FROM Empleado e LEFT JOIN e.departamento d ";
+    String SELECT_TEXTO = "SELECT new com.example.sistema_gestion_empleados.dto.TextoEmpleado("
+            + "e.id, e.nombre, e.apellido, e.email) FROM Empleado e ";
+
     Optional<Empleado> findByEmail(String email);
     List<Empleado> findByDepartamento(Departamento departamento);
     List<Empleado> findBySalarioBetween(BigDecimal salarioMin, BigDecimal salarioMax);
+    long countBySalarioBetween(BigDecimal salarioMin, BigDecimal salarioMax);
     List<Empleado> findByFechaContratacionAfter(LocalDate fecha);
 
     @Query("SELECT e FROM Empleado e WHERE e.departamento.nombre = :nombreDepartamento")
     List<Empleado> findByNombreDepartamento(@Param("nombreDepartamento") String nombreDepartamento);
 
+    // Bloquea la fila hasta el final de la transacción: dos escrituras concurrentes sobre el mismo empleado no
+    // restan dos veces el mismo salario anterior de los acumulados
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Empleado e WHERE e.id = :id")
+    Optional<Empleado> findParaEscrituraById(@Param("id") Long id);
+
+    @Query("SELECT e.email FROM Empleado e WHERE e.email IN :emails")
+    Set<String> findEmailsExistentes(@Param("emails") Collection<String> emails);
+
+    // Valores anteriores de un PATCH, con la fila bloqueada hasta el final de la transacción: dos PATCH
+    // concurrentes del mismo empleado no parten del mismo estado. Sin join, porque en PostgreSQL FOR UPDATE no
+    // se admite sobre el lado opcional de un LEFT JOIN; el id del departamento es la clave foránea
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.example.sistema_gestion_empleados.dto.ResumenEmpleado("
+            + "e.id, e.email, e.salario, e.departamento.id, e.fechaContratacion) FROM Empleado e WHERE e.id = :id")
+    Optional<ResumenEmpleado> findResumenParaEscrituraById(@Param("id") Long id);
+
+    @Query(SELECT_TEXTO + "WHERE e.id = :id")
+    Optional<TextoEmpleado> findTextoById(@Param("id") Long id);
+
+    @Query(SELECT_RESUMEN + "WHERE e.id IN :ids")
+    List<ResumenEmpleado> findResumenesPorIds(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_RESUMEN + "WHERE d.id = :departamentoId")
+    List<ResumenEmpleado> findResumenesPorDepartamento(@Param("departamentoId") Long departamentoId);
+
+    // Cada criterio nulo se ignora; el servicio exige al menos uno
+    @Query(SELECT_RESUMEN + "WHERE (:departamentoId IS NULL OR d.id = :departamentoId) "
+            + "AND (:salarioMin IS NULL OR e.salario >= :salarioMin) "
+            + "AND (:salarioMax IS NULL OR e.salario <= :salarioMax) "
+            + "AND (:contratadoDesde IS NULL OR e.fechaContratacion >= :contratadoDesde) "
+            + "AND (:contratadoHasta IS NULL OR e.fechaContratacion <= :contratadoHasta)")
+    List<ResumenEmpleado> findResumenesPorFiltro(@Param("departamentoId") Long departamentoId,
+                                                 @Param("salarioMin") BigDecimal salarioMin,
+                                                 @Param("salarioMax") BigDecimal salarioMax,
+                                                 @Param("contratadoDesde") LocalDate contratadoDesde,
+                                                 @Param("contratadoHasta") LocalDate contratadoHasta);
+
+    // Borrados por conjunto: no cargan entidades ni disparan cascadas, por eso la tabla intermedia va primero.
+    // Las sentencias nativas declaran la tabla que modifican; sin eso Hibernate vacía toda la caché de segundo nivel
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "empleado_proyecto"))
+    @Query(value = "DELETE FROM empleado_proyecto WHERE empleado_id IN (:ids)", nativeQuery = true)
+    int deleteAsignacionesProyectosPorIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "empleado_proyecto"))
+    @Query(value = "DELETE FROM empleado_proyecto WHERE empleado_id IN "
+            + "(SELECT id FROM empleados WHERE departamento_id = :departamentoId)", nativeQuery = true)
+    int deleteAsignacionesProyectosPorDepartamento(@Param("departamentoId") Long departamentoId);
+
+    @Modifying
+    @Query("DELETE FROM Empleado e WHERE e.id IN :ids")
+    int deleteEnBloquePorIds(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Empleado e WHERE e.departamento.id = :departamentoId")
+    int deleteEnBloquePorDepartamento(@Param("departamentoId") Long departamentoId);
+
+    List<Empleado> findByDepartamentoId(Long departamentoId);
+
+    @Query(SELECT_VISTA + "WHERE e.id > :despuesDeId ORDER BY e.id")
+    List<EmpleadoVista> findVistasDespuesDe(@Param("despuesDeId") Long despuesDeId, Limit limite);
+
+    // Sirve GET /api/empleados/departamento/{nombre}: en la caché de consultas, que se invalida con cualquier
+    // escritura sobre empleados o departamentos
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "empleados-por-departamento")
+    })
+    @Query(SELECT_VISTA + "WHERE d.id = :departamentoId AND e.id > :despuesDeId ORDER BY e.id")
+    List<EmpleadoVista> findVistasPorDepartamentoDespuesDe(@Param("departamentoId") Long departamentoId,
+                                                           @Param("despuesDeId") Long despuesDeId,
+                                                           Limit limite);
+
+    @Query(SELECT_VISTA + "WHERE e.salario BETWEEN :salarioMin AND :salarioMax AND e.id > :despuesDeId ORDER BY e.id")
+    List<EmpleadoVista> findVistasPorSalarioDespuesDe(@Param("salarioMin") BigDecimal salarioMin,
+                                                      @Param("salarioMax") BigDecimal salarioMax,
+                                                      @Param("despuesDeId") Long despuesDeId,
+                                                      Limit limite);
+
+    // Lectura por clave primaria de los ids que resolvió el índice de salarios; el filtro de salario descarta
+    // filas que cambiaron desde que se consultó el índice. El servicio las ordena como las devolvió el índice
+    @Query(SELECT_VISTA + "WHERE e.id IN :ids AND e.salario BETWEEN :salarioMin AND :salarioMax")
+    List<EmpleadoVista> findVistasPorIdsYSalario(@Param("ids") Collection<Long> ids,
+                                                 @Param("salarioMin") BigDecimal salarioMin,
+                                                 @Param("salarioMax") BigDecimal salarioMax);
+
+    @Query(SELECT_VISTA + "WHERE e.id IN :ids")
+    List<EmpleadoVista> findVistasPorIds(@Param("ids") Collection<Long> ids);
+
+    // Búsqueda sin índice: el patrón con comodín inicial obliga a recorrer la tabla
+    @Query(SELECT_VISTA + "WHERE (LOWER(e.nombre) LIKE :patron ESCAPE '!' OR LOWER(e.apellido) LIKE :patron ESCAPE '!' "
+            + "OR LOWER(e.email) LIKE :patron ESCAPE '!') AND e.id > :despuesDeId ORDER BY e.id")
+    List<EmpleadoVista> findVistasPorTextoDespuesDe(@Param("patron") String patron,
+                                                    @Param("despuesDeId") Long despuesDeId,
+                                                    Limit limite);
+
+    // Patrón de findVistasPorTextoDespuesDe: los comodines que escriba el usuario se escapan con '!'
+    static String patronContiene(String texto) {
+        return "%" + texto.trim().toLowerCase(Locale.ROOT)
+                .replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+    }
+
+    // Consultas por conjunto de proyectos sin índice de membresías: una subconsulta correlacionada por empleado.
+    // cantidad es el número de ids distintos, así solo pasan los que tienen todos
+    @Query(SELECT_VISTA + "WHERE e.id > :despuesDeId AND (SELECT COUNT(p) FROM Empleado e2 JOIN e2.proyectos p "
+            + "WHERE e2.id = e.id AND p.id IN :proyectoIds) = :cantidad ORDER BY e.id")
+    List<EmpleadoVista> findVistasEnTodosLosProyectosDespuesDe(@Param("proyectoIds") Collection<Long> proyectoIds,
+                                                               @Param("cantidad") long cantidad,
+                                                               @Param("despuesDeId") Long despuesDeId,
+                                                               Limit limite);
+
+    @Query(SELECT_VISTA + "WHERE e.id > :despuesDeId AND EXISTS (SELECT 1 FROM Empleado e2 JOIN e2.proyectos p "
+            + "WHERE e2.id = e.id AND p.id IN :proyectoIds) ORDER BY e.id")
+    List<EmpleadoVista> findVistasEnAlgunProyectoDespuesDe(@Param("proyectoIds") Collection<Long> proyectoIds,
+                                                           @Param("despuesDeId") Long despuesDeId,
+                                                           Limit limite);
+
+    @Query(SELECT_VISTA + "WHERE e.id > :despuesDeId AND NOT EXISTS (SELECT 1 FROM Empleado e2 JOIN e2.proyectos p "
+            + "WHERE e2.id = e.id AND p.id IN :proyectoIds) ORDER BY e.id")
+    List<EmpleadoVista> findVistasEnNingunProyectoDespuesDe(@Param("proyectoIds") Collection<Long> proyectoIds,
+                                                            @Param("despuesDeId") Long despuesDeId,
+                                                            Limit limite);
+
+    @Query(SELECT_VISTA + "WHERE e.id > :despuesDeId AND e.proyectos IS EMPTY ORDER BY e.id")
+    List<EmpleadoVista> findVistasSinProyectosDespuesDe(@Param("despuesDeId") Long despuesDeId, Limit limite);
+
+    @Query(SELECT_VISTA + "ORDER BY e.salario DESC, e.id DESC")
+    List<EmpleadoVista> findVistasMayorSalario(Limit limite);
+
+    // Los proyectos de una página ya leída: al repetir la página se repite la misma lista de ids. Se invalida con
+    // las escrituras sobre empleados, proyectos y la tabla intermedia
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "proyectos-por-empleado")
+    })
+    @Query("SELECT new com.example.sistema_gestion_empleados.dto.AsignacionProyecto(e.id, p.id, p.nombre) "
+            + "FROM Empleado e JOIN e.proyectos p WHERE e.id IN :empleadoIds ORDER BY e.id, p.id")
+    List<AsignacionProyecto> findAsignacionesProyectos(@Param("empleadoIds") Collection<Long> empleadoIds);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT e FROM Empleado e LEFT JOIN FETCH e.departamento ORDER BY e.id")
+    Stream<Empleado> streamAllConDepartamento();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.sistema_gestion_empleados.dto.SalarioEmpleado(e.id, e.salario) "
+            + "FROM Empleado e ORDER BY e.salario, e.id")
+    Stream<SalarioEmpleado> streamSalarios();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e.email FROM Empleado e")
+    Stream<String> streamEmails();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_TEXTO)
+    Stream<TextoEmpleado> streamTextos();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT e.id FROM Empleado e")
+    Stream<Long> streamIds();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.sistema_gestion_empleados.dto.MembresiaProyecto(e.id, p.id) "
+            + "FROM Empleado e JOIN e.proyectos p")
+    Stream<MembresiaProyecto> streamMembresiasProyectos();
+
+    // Agrupadas por empleado: el barrido de conflictos corta los lotes entre un empleado y el siguiente
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new com.example.sistema_gestion_empleados.dto.AsignacionFechas(e.id, p.id, p.fechaInicio, p.fechaFin) "
+            + "FROM Empleado e JOIN e.proyectos p ORDER BY e.id")
+    Stream<AsignacionFechas> streamAsignacionesConFechas();
+
+    // Contrataciones por departamento y mes: carga el índice de contrataciones o lo reemplaza si está deshabilitado
+    @Query("SELECT new com.example.sistema_gestion_empleados.dto.ContratacionesMes(d.id, "
+            + "YEAR(e.fechaContratacion), MONTH(e.fechaContratacion), COUNT(e)) "
+            + "FROM Empleado e LEFT JOIN e.departamento d "
+            + "GROUP BY d.id, YEAR(e.fechaContratacion), MONTH(e.fechaContratacion)")
+    List<ContratacionesMes> findContratacionesPorMes();
+
     @Query("SELECT AVG(e.salario) FROM Empleado e WHERE e.departamento.id = :departamentoId")
     Optional<BigDecimal> findAverageSalarioByDepartamento(@Param("departamentoId") Long departamentoId);
 }
@@ -0,0 +1,53 @@
+package com.example.sistema_gestion_empleados.repositories;
+
+import com.example.sistema_gestion_empleados.dto.ProyectoVista;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+@Repository
+@Profile("reactivo")
+public class ProyectoReactivoRepository {
+    private static final String SELECT_VISTA = "SELECT id, nombre, descripcion, fecha_inicio, fecha_fin FROM proyectos ";
+
+    private final DatabaseClient databaseClient;
+
+    public ProyectoReactivoRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<ProyectoVista> findVistaById(long id) {
+        return databaseClient.sql(SELECT_VISTA + "WHERE id = :id")
+                .bind("id", id)
+                .map(ProyectoReactivoRepository::vista)
+                .one();
+    }
+
+    public Flux<ProyectoVista> findVistasDespuesDe(long despuesDeId, int limite) {
+        return databaseClient.sql(SELECT_VISTA + "WHERE id > :despuesDeId ORDER BY id LIMIT :limite")
+                .bind("despuesDeId", despuesDeId)
+                .bind("limite", limite)
+                .map(ProyectoReactivoRepository::vista)
+                .all();
+    }
+
+    public Flux<ProyectoVista> findVistasActivasDespuesDe(LocalDate fechaFin, long despuesDeId, int limite) {
+        return databaseClient.sql(SELECT_VISTA + "WHERE fecha_fin > :fechaFin AND id > :despuesDeId ORDER BY id LIMIT :limite")
+                .bind("fechaFin", fechaFin)
+                .bind("despuesDeId", despuesDeId)
+                .bind("limite", limite)
+                .map(ProyectoReactivoRepository::vista)
+                .all();
+    }
+
+    private static ProyectoVista vista(Readable fila) {
+        return new ProyectoVista(fila.get("id", Long.class), fila.get("nombre", String.class),
+                fila.get("descripcion", String.class), fila.get("fecha_inicio", LocalDate.class),
+                fila.get("fecha_fin", LocalDate.class));
+    }
+}
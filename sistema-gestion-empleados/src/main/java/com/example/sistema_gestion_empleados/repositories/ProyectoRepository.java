@@ -1,14 +1,76 @@
 package com.example.sistema_gestion_empleados.repositories;
 
+import com.example.sistema_gestion_empleados.dto.DotacionProyecto;
+import com.example.sistema_gestion_empleados.dto.ProyectoVista;
+import com.example.sistema_gestion_empleados.dto.VigenciaProyecto;
 import com.example.sistema_gestion_empleados.models.Proyecto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProyectoRepository extends JpaRepository<Proyecto, Long> {
+    String SELECT_VISTA = "SELECT new com.example.sistema_gestion_empleados.dto.ProyectoVista("
+            + "p.id, p.nombre, p.descripcion, p.fechaInicio, p.fechaFin) FROM Proyecto p ";
+    String SELECT_VIGENCIA = "SELECT new com.example.sistema_gestion_empleados.dto.VigenciaProyecto("
+            + "p.id, p.fechaInicio, p.fechaFin) FROM Proyecto p ";
+    // Vigentes en algún día de [desde, hasta]: sin fechas el proyecto vale desde siempre o para siempre, y uno que
+    // termina antes de empezar no está vigente nunca, igual que en el índice de vigencias
+    String WHERE_VIGENTE = "WHERE (p.fechaInicio IS NULL OR p.fechaInicio <= :hasta) "
+            + "AND (p.fechaFin IS NULL OR p.fechaFin >= :desde) "
+            + "AND (p.fechaInicio IS NULL OR p.fechaFin IS NULL OR p.fechaInicio <= p.fechaFin) ";
+
     List<Proyecto> findByFechaFinAfter(LocalDate fechaFin);
 
+    @Query(SELECT_VISTA + "WHERE p.id > :despuesDeId ORDER BY p.id")
+    List<ProyectoVista> findVistasDespuesDe(@Param("despuesDeId") Long despuesDeId, Limit limite);
+
+    // Sirve GET /api/proyectos/activos: en la caché de consultas, que se invalida con cualquier escritura sobre
+    // proyectos
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "proyectos-activos")
+    })
+    @Query(SELECT_VISTA + "WHERE p.fechaFin > :fechaFin AND p.id > :despuesDeId ORDER BY p.id")
+    List<ProyectoVista> findVistasActivasDespuesDe(@Param("fechaFin") LocalDate fechaFin,
+                                                   @Param("despuesDeId") Long despuesDeId,
+                                                   Limit limite);
+
+    @Query("SELECT p.id FROM Proyecto p")
+    List<Long> findIds();
+
+    // Sin índice de membresías la dotación se cuenta sobre la tabla intermedia
+    @Query("SELECT new com.example.sistema_gestion_empleados.dto.DotacionProyecto(p.id, COUNT(e)) "
+            + "FROM Proyecto p LEFT JOIN p.empleados e GROUP BY p.id ORDER BY p.id")
+    List<DotacionProyecto> findDotaciones();
+
+    @Query(SELECT_VISTA + WHERE_VIGENTE + "AND p.id > :despuesDeId ORDER BY p.id")
+    List<ProyectoVista> findVistasVigentesDespuesDe(@Param("desde") LocalDate desde,
+                                                    @Param("hasta") LocalDate hasta,
+                                                    @Param("despuesDeId") Long despuesDeId,
+                                                    Limit limite);
+
+    @Query(SELECT_VISTA + "WHERE p.id IN :ids ORDER BY p.id")
+    List<ProyectoVista> findVistasPorIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COUNT(p) FROM Proyecto p " + WHERE_VIGENTE)
+    long countVigentes(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+
+    @Query(SELECT_VIGENCIA + "WHERE p.id = :id")
+    Optional<VigenciaProyecto> findVigenciaById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_VIGENCIA)
+    Stream<VigenciaProyecto> streamVigencias();
 }
\ No newline at end of file
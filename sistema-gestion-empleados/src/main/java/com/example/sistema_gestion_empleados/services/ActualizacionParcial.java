@@ -0,0 +1,64 @@
+package com.example.sistema_gestion_empleados.services;
+
+import com.example.sistema_gestion_empleados.exceptions.ActualizacionInvalidaException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// UPDATE dinámico con solo los campos recibidos en un PATCH. Los nombres se validan contra una lista fija,
+// así nunca llega texto del cliente a la consulta, y las asociaciones no enviadas quedan intactas
+final class ActualizacionParcial {
+    private final String entidad;
+    private final Map<String, Campo> campos = new LinkedHashMap<>();
+
+    ActualizacionParcial(String entidad) {
+        this.entidad = entidad;
+    }
+
+    ActualizacionParcial campo(String nombre, Class<?> tipo, boolean obligatorio) {
+        campos.put(nombre, new Campo(tipo, obligatorio));
+        return this;
+    }
+
+    // Valores ya convertidos al tipo de cada atributo; admite nulos en los campos opcionales
+    Map<String, Object> convertir(Map<String, Object> cambios, ObjectMapper objectMapper) {
+        Map<String, Object> valores = new LinkedHashMap<>();
+        cambios.forEach((nombre, valor) -> {
+            Campo campo = campos.get(nombre);
+            if (campo == null) {
+                throw new ActualizacionInvalidaException("Campo no actualizable: " + nombre);
+            }
+            if (valor == null) {
+                if (campo.obligatorio()) {
+                    throw new ActualizacionInvalidaException("El campo " + nombre + " no puede ser nulo");
+                }
+                valores.put(nombre, null);
+                return;
+            }
+            try {
+                valores.put(nombre, objectMapper.convertValue(valor, campo.tipo()));
+            } catch (IllegalArgumentException ex) {
+                throw new ActualizacionInvalidaException("Valor inválido para el campo " + nombre);
+            }
+        });
+        return valores;
+    }
+
+    // Devuelve las filas afectadas: cero significa que el id no existe
+    int ejecutar(EntityManager entityManager, Long id, Map<String, Object> valores) {
+        String asignaciones = valores.keySet().stream()
+                .map(nombre -> "x." + nombre + " = :" + nombre)
+                .collect(Collectors.joining(", "));
+        Query consulta = entityManager.createQuery(
+                "UPDATE " + entidad + " x SET " + asignaciones + " WHERE x.id = :id");
+        valores.forEach(consulta::setParameter);
+        return consulta.setParameter("id", id).executeUpdate();
+    }
+
+    private record Campo(Class<?> tipo, boolean obligatorio) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.sistema_gestion_empleados.services;
+
+import com.example.sistema_gestion_empleados.dto.ConflictoAsignacion;
+
+import java.util.List;
+
+public interface ConflictoAsignacionService {
+    List<ConflictoAsignacion> detectarConflictos(Integer maximoSimultaneos);
+}
@@ -0,0 +1,215 @@
+package com.example.sistema_gestion_empleados.services;
+
+import com.example.sistema_gestion_empleados.dto.AsignacionFechas;
+import com.example.sistema_gestion_empleados.dto.ConflictoAsignacion;
+import com.example.sistema_gestion_empleados.exceptions.ConsultaInvalidaException;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Stream;
+
+// Una sola lectura de empleado_proyecto con las fechas de cada proyecto, ordenada por empleado. El hilo de la
+// petición arma lotes de empleados completos en arreglos primitivos y los reparte en un pool fork-join, donde
+// cada empleado se resuelve con un barrido de sus inicios y fines ordenados en lugar de comparar todos los pares.
+// Se acotan los lotes en vuelo para no leer la tabla entera a memoria si el pool se atrasa
+@Service
+@Transactional(readOnly = true)
+public class ConflictoAsignacionServiceImpl implements ConflictoAsignacionService, DisposableBean {
+    // Sin fecha de inicio el proyecto vale desde siempre y sin fecha de fin, para siempre; los centinelas dejan
+    // margen para codificar los eventos sin desbordar
+    private static final long SIN_INICIO = Long.MIN_VALUE / 4;
+    private static final long SIN_FIN = Long.MAX_VALUE / 4;
+
+    private final EmpleadoRepository empleadoRepository;
+    private final int maximoPorDefecto;
+    private final int asignacionesPorLote;
+    private final int lotesEnVuelo;
+    private final ForkJoinPool pool;
+
+    public ConflictoAsignacionServiceImpl(EmpleadoRepository empleadoRepository,
+                                          @Value("${conflictos.maximo-simultaneos:2}") int maximoPorDefecto,
+                                          @Value("${conflictos.paralelismo:0}") int paralelismo,
+                                          @Value("${conflictos.asignaciones-por-lote:8192}") int asignacionesPorLote) {
+        this.empleadoRepository = empleadoRepository;
+        this.maximoPorDefecto = maximoPorDefecto;
+        this.asignacionesPorLote = asignacionesPorLote;
+        int hilos = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+        this.lotesEnVuelo = 2 * hilos;
+        this.pool = new ForkJoinPool(hilos);
+    }
+
+    // Empleados con más de maximoSimultaneos proyectos superpuestos en algún día, ordenados por id
+    @Override
+    public List<ConflictoAsignacion> detectarConflictos(Integer maximoSimultaneos) {
+        int maximo = maximoSimultaneos == null ? maximoPorDefecto : maximoSimultaneos;
+        if (maximo < 1) {
+            throw new ConsultaInvalidaException("El máximo de proyectos simultáneos debe ser al menos 1");
+        }
+        List<ConflictoAsignacion> conflictos = new ArrayList<>();
+        ArrayDeque<ForkJoinTask<List<ConflictoAsignacion>>> enVuelo = new ArrayDeque<>();
+        try (Stream<AsignacionFechas> asignaciones = empleadoRepository.streamAsignacionesConFechas()) {
+            Lote lote = new Lote(asignacionesPorLote);
+            Iterator<AsignacionFechas> filas = asignaciones.iterator();
+            while (filas.hasNext()) {
+                AsignacionFechas fila = filas.next();
+                // Solo se corta entre empleados: cada lote tiene todas las asignaciones de los suyos
+                if (lote.cantidad >= asignacionesPorLote && !lote.esDelUltimo(fila.empleadoId())) {
+                    enVuelo.add(pool.submit(lote.detectar(maximo)));
+                    lote = new Lote(asignacionesPorLote);
+                    // Se espera en orden de envío, así el resultado sale ordenado por empleado
+                    if (enVuelo.size() >= lotesEnVuelo) {
+                        conflictos.addAll(enVuelo.poll().join());
+                    }
+                }
+                lote.agregar(fila);
+            }
+            if (lote.cantidad > 0) {
+                enVuelo.add(pool.submit(lote.detectar(maximo)));
+            }
+            while (!enVuelo.isEmpty()) {
+                conflictos.addAll(enVuelo.poll().join());
+            }
+        } finally {
+            enVuelo.forEach(tarea -> tarea.cancel(true));
+        }
+        return conflictos;
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private static long aDia(LocalDate fecha, long siNula) {
+        return fecha == null ? siNula : fecha.toEpochDay();
+    }
+
+    private static LocalDate aFecha(long dia) {
+        return dia <= SIN_INICIO || dia >= SIN_FIN ? null : LocalDate.ofEpochDay(dia);
+    }
+
+    // Asignaciones paralelas por posición; comienzos marca dónde empieza cada empleado
+    private static final class Lote {
+        private long[] empleados = new long[64];
+        private int[] comienzos = new int[65];
+        private int cantidadEmpleados;
+        private long[] proyectos;
+        private long[] inicios;
+        private long[] fines;
+        private int cantidad;
+
+        Lote(int capacidad) {
+            proyectos = new long[capacidad];
+            inicios = new long[capacidad];
+            fines = new long[capacidad];
+        }
+
+        boolean esDelUltimo(long empleadoId) {
+            return cantidadEmpleados > 0 && empleados[cantidadEmpleados - 1] == empleadoId;
+        }
+
+        void agregar(AsignacionFechas fila) {
+            if (!esDelUltimo(fila.empleadoId())) {
+                if (cantidadEmpleados == empleados.length) {
+                    empleados = Arrays.copyOf(empleados, cantidadEmpleados * 2);
+                    comienzos = Arrays.copyOf(comienzos, cantidadEmpleados * 2 + 1);
+                }
+                empleados[cantidadEmpleados] = fila.empleadoId();
+                comienzos[cantidadEmpleados++] = cantidad;
+            }
+            // Un empleado con más asignaciones que el lote lo agranda
+            if (cantidad == proyectos.length) {
+                proyectos = Arrays.copyOf(proyectos, cantidad * 2);
+                inicios = Arrays.copyOf(inicios, cantidad * 2);
+                fines = Arrays.copyOf(fines, cantidad * 2);
+            }
+            proyectos[cantidad] = fila.proyectoId();
+            inicios[cantidad] = aDia(fila.fechaInicio(), SIN_INICIO);
+            fines[cantidad++] = aDia(fila.fechaFin(), SIN_FIN);
+        }
+
+        Callable<List<ConflictoAsignacion>> detectar(int maximo) {
+            comienzos[cantidadEmpleados] = cantidad;
+            return () -> {
+                List<ConflictoAsignacion> conflictos = new ArrayList<>();
+                long[] eventos = new long[0];
+                for (int k = 0; k < cantidadEmpleados; k++) {
+                    int desde = comienzos[k];
+                    int hasta = comienzos[k + 1];
+                    if (hasta - desde <= maximo) {
+                        continue;
+                    }
+                    if (eventos.length < 2 * (hasta - desde)) {
+                        eventos = new long[2 * (hasta - desde)];
+                    }
+                    ConflictoAsignacion conflicto = barrer(empleados[k], desde, hasta, maximo, eventos);
+                    if (conflicto != null) {
+                        conflictos.add(conflicto);
+                    }
+                }
+                return conflictos;
+            };
+        }
+
+        // Cada evento es día * 2 + tipo: el fin se registra el día siguiente con tipo 0, así queda antes que un
+        // inicio de ese mismo día y dos proyectos que solo se tocan en el borde no se superponen
+        private ConflictoAsignacion barrer(long empleadoId, int desde, int hasta, int maximo, long[] eventos) {
+            int n = 0;
+            for (int i = desde; i < hasta; i++) {
+                // Un proyecto que termina antes de empezar no ocupa ningún día
+                if (inicios[i] <= fines[i]) {
+                    eventos[n++] = inicios[i] * 2 + 1;
+                    eventos[n++] = (fines[i] + 1) * 2;
+                }
+            }
+            if (n / 2 <= maximo) {
+                return null;
+            }
+            Arrays.sort(eventos, 0, n);
+            int activos = 0;
+            int pico = 0;
+            long picoDesde = 0;
+            long picoHasta = 0;
+            boolean abierto = false;
+            for (int e = 0; e < n; e++) {
+                long dia = eventos[e] >> 1;
+                if ((eventos[e] & 1) == 1) {
+                    if (++activos > pico) {
+                        pico = activos;
+                        picoDesde = dia;
+                        abierto = true;
+                    }
+                } else {
+                    activos--;
+                    if (abierto) {
+                        picoHasta = dia - 1;
+                        abierto = false;
+                    }
+                }
+            }
+            if (pico <= maximo) {
+                return null;
+            }
+            List<Long> proyectoIds = new ArrayList<>(pico);
+            for (int i = desde; i < hasta; i++) {
+                if (inicios[i] <= picoDesde && fines[i] >= picoDesde) {
+                    proyectoIds.add(proyectos[i]);
+                }
+            }
+            proyectoIds.sort(null);
+            return new ConflictoAsignacion(empleadoId, pico, aFecha(picoDesde), aFecha(picoHasta), proyectoIds);
+        }
+    }
+}
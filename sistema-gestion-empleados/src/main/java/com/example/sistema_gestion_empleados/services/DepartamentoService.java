@@ -1,14 +1,21 @@
 package com.example.sistema_gestion_empleados.services;
 
+import com.example.sistema_gestion_empleados.dto.DepartamentoVista;
+import com.example.sistema_gestion_empleados.dto.Pagina;
 import com.example.sistema_gestion_empleados.exceptions.DepartamentoNoEncontradoException;
 import com.example.sistema_gestion_empleados.models.Departamento;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public interface DepartamentoService {
     Departamento guardar(Departamento departamento);
     Departamento buscarPorId(Long id);
     List<Departamento> obtenerTodos();
+    Pagina<DepartamentoVista> obtenerPagina(String cursor, int limite);
+    Optional<Long> buscarIdPorNombre(String nombre);
     Departamento actualizar(Long id, Departamento departamento) throws DepartamentoNoEncontradoException;
+    void actualizarParcial(Long id, Map<String, Object> cambios);
     void eliminar(Long id);
 }
@@ -1,34 +1,110 @@
 package com.example.sistema_gestion_empleados.services;
 
+import com.example.sistema_gestion_empleados.dto.Cursor;
+import com.example.sistema_gestion_empleados.dto.DepartamentoVista;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.dto.ResumenEmpleado;
 import com.example.sistema_gestion_empleados.exceptions.DepartamentoNoEncontradoException;
+import com.example.sistema_gestion_empleados.indices.SincronizacionFiltroEmails;
+import com.example.sistema_gestion_empleados.indices.SincronizacionIndiceContrataciones;
+import com.example.sistema_gestion_empleados.indices.SincronizacionIndiceSalarios;
+import com.example.sistema_gestion_empleados.indices.SincronizacionIndiceMembresias;
+import com.example.sistema_gestion_empleados.indices.SincronizacionIndiceTrigramas;
 import com.example.sistema_gestion_empleados.models.Departamento;
 import com.example.sistema_gestion_empleados.repositories.DepartamentoRepository;
-import jakarta.transaction.Transactional;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Service
 @Transactional
 public class DepartamentoServiceImpl implements DepartamentoService {
+    private static final ActualizacionParcial CAMPOS_ACTUALIZABLES = new ActualizacionParcial("Departamento")
+            .campo("nombre", String.class, true)
+            .campo("descripcion", String.class, false);
+
     private final DepartamentoRepository departamentoRepository;
-    public DepartamentoServiceImpl(DepartamentoRepository departamentoRepository) {
+    private final EmpleadoRepository empleadoRepository;
+    private final EstadisticasSalarioService estadisticasSalarioService;
+    private final SincronizacionIndiceSalarios sincronizacionIndiceSalarios;
+    private final SincronizacionFiltroEmails sincronizacionFiltroEmails;
+    private final SincronizacionIndiceTrigramas sincronizacionIndiceTrigramas;
+    private final SincronizacionIndiceMembresias sincronizacionIndiceMembresias;
+    private final SincronizacionIndiceContrataciones sincronizacionIndiceContrataciones;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    public DepartamentoServiceImpl(DepartamentoRepository departamentoRepository,
+                                   EmpleadoRepository empleadoRepository,
+                                   EstadisticasSalarioService estadisticasSalarioService,
+                                   SincronizacionIndiceSalarios sincronizacionIndiceSalarios,
+                                   SincronizacionFiltroEmails sincronizacionFiltroEmails,
+                                   SincronizacionIndiceTrigramas sincronizacionIndiceTrigramas,
+                                   SincronizacionIndiceMembresias sincronizacionIndiceMembresias,
+                                   SincronizacionIndiceContrataciones sincronizacionIndiceContrataciones,
+                                   EntityManager entityManager,
+                                   ObjectMapper objectMapper) {
         this.departamentoRepository = departamentoRepository;
+        this.empleadoRepository = empleadoRepository;
+        this.estadisticasSalarioService = estadisticasSalarioService;
+        this.sincronizacionIndiceSalarios = sincronizacionIndiceSalarios;
+        this.sincronizacionFiltroEmails = sincronizacionFiltroEmails;
+        this.sincronizacionIndiceTrigramas = sincronizacionIndiceTrigramas;
+        this.sincronizacionIndiceMembresias = sincronizacionIndiceMembresias;
+        this.sincronizacionIndiceContrataciones = sincronizacionIndiceContrataciones;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
     }
     @Override
+    @CacheEvict(cacheNames = {"departamentosTodos", "departamentosPaginas", "departamentoIdPorNombre"},
+            allEntries = true)
     public Departamento guardar(Departamento departamento) {
-        return departamentoRepository.save(departamento);
+        boolean nuevo = departamento.getId() == null;
+        Departamento guardado = departamentoRepository.save(departamento);
+        if (nuevo) {
+            estadisticasSalarioService.registrarDepartamento(guardado.getId());
+        }
+        return guardado;
     }
     @Override
+    @LecturaAgrupada
+    @Transactional(readOnly = true)
     public Departamento buscarPorId(Long id) {
         return departamentoRepository.findById(id)
                 .orElseThrow(() -> new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + id));
     }
     @Override
+    @Cacheable(cacheNames = "departamentosTodos", key = "'todos'")
+    @Transactional(readOnly = true)
     public List<Departamento> obtenerTodos() {
         return departamentoRepository.findAll();
     }
     @Override
+    @Cacheable(cacheNames = "departamentosPaginas", key = "#cursor + ':' + #limite")
+    @Transactional(readOnly = true)
+    public Pagina<DepartamentoVista> obtenerPagina(String cursor, int limite) {
+        int tamanio = Cursor.normalizarLimite(limite);
+        List<DepartamentoVista> filas = departamentoRepository.findVistasDespuesDe(
+                Cursor.decodificar(cursor), Limit.of(tamanio + 1));
+        return Pagina.desde(filas, tamanio, DepartamentoVista::id);
+    }
+    @Override
+    @Cacheable(cacheNames = "departamentoIdPorNombre", key = "#nombre")
+    @Transactional(readOnly = true)
+    public Optional<Long> buscarIdPorNombre(String nombre) {
+        return departamentoRepository.findIdByNombre(nombre);
+    }
+    @Override
+    @CacheEvict(cacheNames = {"departamentosTodos", "departamentosPaginas", "departamentoIdPorNombre"},
+            allEntries = true)
     public Departamento actualizar(Long id, Departamento departamento) {
         if (!departamentoRepository.existsById(id)) {
             throw new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + id);
@@ -37,11 +113,35 @@ public class DepartamentoServiceImpl implements DepartamentoService {
         return departamentoRepository.save(departamento);
     }
 
+    // Las filas afectadas reemplazan a existsById; el UPDATE masivo ya invalida la región de Hibernate de la entidad
     @Override
+    @CacheEvict(cacheNames = {"departamentosTodos", "departamentosPaginas", "departamentoIdPorNombre"},
+            allEntries = true)
+    public void actualizarParcial(Long id, Map<String, Object> cambios) {
+        Map<String, Object> valores = CAMPOS_ACTUALIZABLES.convertir(cambios, objectMapper);
+        if (valores.isEmpty() ? !departamentoRepository.existsById(id)
+                : CAMPOS_ACTUALIZABLES.ejecutar(entityManager, id, valores) == 0) {
+            throw new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + id);
+        }
+    }
+
+    @Override
+    @CacheEvict(cacheNames = {"departamentosTodos", "departamentosPaginas", "departamentoIdPorNombre"},
+            allEntries = true)
     public void eliminar(Long id) {
-        if (!departamentoRepository.existsById(id)) {
+        // Sentencias por conjunto en orden fijo (tabla intermedia, empleados, departamento) en lugar de la
+        // cascada, que carga y borra cada empleado por separado. Las filas del departamento son el chequeo de existencia
+        List<ResumenEmpleado> empleados = empleadoRepository.findResumenesPorDepartamento(id);
+        empleadoRepository.deleteAsignacionesProyectosPorDepartamento(id);
+        empleadoRepository.deleteEnBloquePorDepartamento(id);
+        if (departamentoRepository.deleteEnBloquePorId(id) == 0) {
             throw new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + id);
         }
-        departamentoRepository.deleteById(id);
+        estadisticasSalarioService.eliminarDepartamento(id);
+        sincronizacionIndiceSalarios.registrarBajas(empleados);
+        sincronizacionFiltroEmails.registrarBajas(empleados);
+        sincronizacionIndiceTrigramas.registrarBajas(empleados);
+        sincronizacionIndiceMembresias.registrarBajas(empleados);
+        sincronizacionIndiceContrataciones.registrarBajas(empleados);
     }
 }
@@ -1,17 +1,45 @@
 package com.example.sistema_gestion_empleados.services;
 
+import com.example.sistema_gestion_empleados.dto.EmpleadoExportado;
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.dto.FiltroEmpleados;
+import com.example.sistema_gestion_empleados.dto.Granularidad;
+import com.example.sistema_gestion_empleados.dto.HistogramaContrataciones;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.dto.ResultadoEliminacion;
+import com.example.sistema_gestion_empleados.dto.ResultadoImportacion;
 import com.example.sistema_gestion_empleados.models.Empleado;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public interface EmpleadoService {
     Empleado guardar(Empleado empleado);
+    ResultadoImportacion importar(List<Empleado> empleados);
     Empleado buscarPorId(Long id);
+    EmpleadoVista buscarVistaPorId(Long id);
     List<Empleado> buscarPorDepartamento(String nombreDepartamento);
     List<Empleado> buscarPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax);
     BigDecimal obtenerSalarioPromedioPorDepartamento(Long departamentoId);
     List<Empleado> obtenerTodos();
+    Pagina<EmpleadoVista> obtenerPagina(String cursor, int limite);
+    Pagina<EmpleadoVista> buscarPorDepartamento(String nombreDepartamento, String cursor, int limite);
+    Pagina<EmpleadoVista> buscarPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax, String cursor, int limite);
+    long contarPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax);
+    List<EmpleadoVista> buscarMayoresSalarios(int cantidad);
+    Pagina<EmpleadoVista> buscarPorTexto(String consulta, String cursor, int limite);
+    Pagina<EmpleadoVista> buscarEnTodosLosProyectos(List<Long> proyectoIds, String cursor, int limite);
+    Pagina<EmpleadoVista> buscarEnAlgunProyecto(List<Long> proyectoIds, String cursor, int limite);
+    Pagina<EmpleadoVista> buscarEnNingunProyecto(List<Long> proyectoIds, String cursor, int limite);
+    HistogramaContrataciones obtenerContrataciones(LocalDate desde, LocalDate hasta, Granularidad granularidad);
+    void exportarTodos(Consumer<EmpleadoExportado> consumidor);
     Empleado actualizar(Long id, Empleado empleado);
+    void actualizarParcial(Long id, Map<String, Object> cambios);
     void eliminar(Long id);
+    ResultadoEliminacion eliminarPorIds(Collection<Long> ids);
+    ResultadoEliminacion eliminarPorFiltro(FiltroEmpleados filtro);
 }
\ No newline at end of file
@@ -1,77 +1,715 @@
 package com.example.sistema_gestion_empleados.services;
 
+import com.example.sistema_gestion_empleados.dto.AsignacionProyecto;
+import com.example.sistema_gestion_empleados.dto.Cursor;
+import com.example.sistema_gestion_empleados.dto.EmpleadoExportado;
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.dto.ErrorImportacion;
+import com.example.sistema_gestion_empleados.dto.FiltroEmpleados;
+import com.example.sistema_gestion_empleados.dto.Granularidad;
+import com.example.sistema_gestion_empleados.dto.HistogramaContrataciones;
+import com.example.sistema_gestion_empleados.dto.LoteImportacion;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.dto.ReferenciaProyecto;
+import com.example.sistema_gestion_empleados.dto.ResumenEmpleado;
+import com.example.sistema_gestion_empleados.dto.ResultadoEliminacion;
+import com.example.sistema_gestion_empleados.dto.ResultadoImportacion;
+import com.example.sistema_gestion_empleados.dto.SerieContrataciones;
+import com.example.sistema_gestion_empleados.exceptions.ActualizacionInvalidaException;
+import com.example.sistema_gestion_empleados.exceptions.ConsultaInvalidaException;
+import com.example.sistema_gestion_empleados.exceptions.EliminacionInvalidaException;
 import com.example.sistema_gestion_empleados.exceptions.EmailDuplicadoException;
 import com.example.sistema_gestion_empleados.exceptions.EmpleadoNoEncontradoException;
+import com.example.sistema_gestion_empleados.indices.FiltroBloomEmails;
+import com.example.sistema_gestion_empleados.indices.IndiceContrataciones;
+import com.example.sistema_gestion_empleados.indices.IndiceMembresias;
+import com.example.sistema_gestion_empleados.indices.IndiceSalarios;
+import com.example.sistema_gestion_empleados.indices.IndiceTrigramas;
+import com.example.sistema_gestion_empleados.indices.SincronizacionFiltroEmails;
+import com.example.sistema_gestion_empleados.indices.SincronizacionIndiceContrataciones;
+import com.example.sistema_gestion_empleados.indices.SincronizacionIndiceMembresias;
+import com.example.sistema_gestion_empleados.indices.SincronizacionIndiceSalarios;
+import com.example.sistema_gestion_empleados.indices.SincronizacionIndiceTrigramas;
+import com.example.sistema_gestion_empleados.models.Departamento;
 import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.models.Proyecto;
 import com.example.sistema_gestion_empleados.repositories.DepartamentoRepository;
 import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
-import jakarta.transaction.Transactional;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+// Los métodos de lectura son readOnly: Hibernate no guarda instantáneas para el dirty checking ni hace flush,
+// y con una réplica configurada la conexión sale de su pool
 @Service
 @Transactional
 public class EmpleadoServiceImpl implements EmpleadoService {
+    private static final Logger log = LoggerFactory.getLogger(EmpleadoServiceImpl.class);
+
+    // Coincide con el fetch size de streamAllConDepartamento
+    private static final int LOTE_EXPORTACION = 500;
+    // Múltiplo de hibernate.jdbc.batch_size para que cada lote se envíe en sentencias completas
+    private static final int LOTE_IMPORTACION = 500;
+    // Cantidad de ids por sentencia IN en los borrados masivos
+    private static final int LOTE_ELIMINACION = 1000;
+    // Cien años por mes
+    private static final int MAXIMO_PERIODOS = 1200;
+    private static final ActualizacionParcial CAMPOS_ACTUALIZABLES = new ActualizacionParcial("Empleado")
+            .campo("nombre", String.class, true)
+            .campo("apellido", String.class, true)
+            .campo("email", String.class, true)
+            .campo("fechaContratacion", LocalDate.class, true)
+            .campo("salario", BigDecimal.class, true)
+            .campo("departamento", Departamento.class, false);
+
     private final EmpleadoRepository empleadoRepository;
     private final DepartamentoRepository departamentoRepository;
+    private final DepartamentoService departamentoService;
+    private final EstadisticasSalarioService estadisticasSalarioService;
+    private final IndiceSalarios indiceSalarios;
+    private final FiltroBloomEmails filtroEmails;
+    private final IndiceTrigramas indiceTrigramas;
+    private final IndiceMembresias indiceMembresias;
+    private final IndiceContrataciones indiceContrataciones;
+    private final SincronizacionIndiceSalarios sincronizacionIndiceSalarios;
+    private final SincronizacionFiltroEmails sincronizacionFiltroEmails;
+    private final SincronizacionIndiceTrigramas sincronizacionIndiceTrigramas;
+    private final SincronizacionIndiceMembresias sincronizacionIndiceMembresias;
+    private final SincronizacionIndiceContrataciones sincronizacionIndiceContrataciones;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
 
     public EmpleadoServiceImpl(EmpleadoRepository empleadoRepository,
-                               DepartamentoRepository departamentoRepository) {
+                               DepartamentoRepository departamentoRepository,
+                               DepartamentoService departamentoService,
+                               EstadisticasSalarioService estadisticasSalarioService,
+                               IndiceSalarios indiceSalarios,
+                               FiltroBloomEmails filtroEmails,
+                               IndiceTrigramas indiceTrigramas,
+                               IndiceMembresias indiceMembresias,
+                               IndiceContrataciones indiceContrataciones,
+                               SincronizacionIndiceSalarios sincronizacionIndiceSalarios,
+                               SincronizacionFiltroEmails sincronizacionFiltroEmails,
+                               SincronizacionIndiceTrigramas sincronizacionIndiceTrigramas,
+                               SincronizacionIndiceMembresias sincronizacionIndiceMembresias,
+                               SincronizacionIndiceContrataciones sincronizacionIndiceContrataciones,
+                               EntityManager entityManager,
+                               ObjectMapper objectMapper,
+                               PlatformTransactionManager transactionManager) {
         this.empleadoRepository = empleadoRepository;
         this.departamentoRepository = departamentoRepository;
+        this.departamentoService = departamentoService;
+        this.estadisticasSalarioService = estadisticasSalarioService;
+        this.indiceSalarios = indiceSalarios;
+        this.filtroEmails = filtroEmails;
+        this.indiceTrigramas = indiceTrigramas;
+        this.indiceMembresias = indiceMembresias;
+        this.indiceContrataciones = indiceContrataciones;
+        this.sincronizacionIndiceSalarios = sincronizacionIndiceSalarios;
+        this.sincronizacionFiltroEmails = sincronizacionFiltroEmails;
+        this.sincronizacionIndiceTrigramas = sincronizacionIndiceTrigramas;
+        this.sincronizacionIndiceMembresias = sincronizacionIndiceMembresias;
+        this.sincronizacionIndiceContrataciones = sincronizacionIndiceContrataciones;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
     public Empleado guardar(Empleado empleado) {
-        if (empleadoRepository.findByEmail(empleado.getEmail()).isPresent()) {
-            throw new EmailDuplicadoException("El email ya está registrado: " + empleado.getEmail());
+        // Sin consulta previa por email: la restricción única decide, también entre altas concurrentes
+        Empleado guardado;
+        try {
+            guardado = empleadoRepository.saveAndFlush(empleado);
+        } catch (DataIntegrityViolationException ex) {
+            if (esEmailDuplicado(ex)) {
+                throw new EmailDuplicadoException("El email ya está registrado: " + empleado.getEmail());
+            }
+            throw ex;
         }
-        return empleadoRepository.save(empleado);
+        estadisticasSalarioService.registrarAlta(departamentoId(guardado), guardado.getSalario());
+        return guardado;
+    }
+
+    // El email es la única restricción única de empleados además de la clave primaria, que sale de la secuencia
+    private static boolean esEmailDuplicado(DataIntegrityViolationException ex) {
+        return ex.getCause() instanceof ConstraintViolationException violacion
+                && violacion.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE;
+    }
+
+    // Cada lote va en su propia transacción: un lote fallido no revierte los anteriores
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResultadoImportacion importar(List<Empleado> empleados) {
+        List<LoteImportacion> lotes = new ArrayList<>();
+        Set<String> emailsImportados = new HashSet<>();
+        for (int inicio = 0; inicio < empleados.size(); inicio += LOTE_IMPORTACION) {
+            List<Empleado> lote = empleados.subList(inicio, Math.min(inicio + LOTE_IMPORTACION, empleados.size()));
+            lotes.add(importarLote(lotes.size() + 1, inicio, lote, emailsImportados));
+        }
+        return ResultadoImportacion.desde(empleados.size(), lotes);
+    }
+
+    private LoteImportacion importarLote(int numero, int desplazamiento, List<Empleado> lote,
+                                         Set<String> emailsImportados) {
+        List<ErrorImportacion> errores = new ArrayList<>();
+        Set<String> emailsDelLote = new HashSet<>();
+        try {
+            Integer insertados = transactionTemplate.execute(estado -> {
+                // Solo se consultan los emails que el filtro no descarta; si no queda ninguno no hay consulta
+                List<String> candidatos = lote.stream()
+                        .map(Empleado::getEmail)
+                        .filter(Objects::nonNull)
+                        .filter(filtroEmails::puedeExistir)
+                        .toList();
+                Set<String> existentes = candidatos.isEmpty() ? Set.of()
+                        : empleadoRepository.findEmailsExistentes(candidatos);
+                List<Empleado> validos = new ArrayList<>();
+                for (int i = 0; i < lote.size(); i++) {
+                    Empleado empleado = lote.get(i);
+                    String motivo = validarParaImportacion(empleado, existentes, emailsImportados, emailsDelLote);
+                    if (motivo != null) {
+                        errores.add(new ErrorImportacion(desplazamiento + i, empleado.getEmail(), motivo));
+                        continue;
+                    }
+                    empleado.setId(null);
+                    if (empleado.getDepartamento() != null && empleado.getDepartamento().getId() != null) {
+                        empleado.setDepartamento(entityManager.getReference(Departamento.class,
+                                empleado.getDepartamento().getId()));
+                    }
+                    validos.add(empleado);
+                }
+                empleadoRepository.saveAll(validos);
+                estadisticasSalarioService.registrarAltas(validos);
+                entityManager.flush();
+                entityManager.clear();
+                return validos.size();
+            });
+            emailsImportados.addAll(emailsDelLote);
+            return LoteImportacion.exitoso(numero, lote.size(), insertados, errores);
+        } catch (DataAccessException | PersistenceException ex) {
+            // El flush del EntityManager compartido no pasa por la traducción de excepciones de los repositorios.
+            // El detalle de la base queda en el log; al cliente solo se le informa que el lote se revirtió
+            log.error("Lote {} de la importación rechazado por la base de datos", numero, ex);
+            return LoteImportacion.fallido(numero, lote.size(), errores, "Lote rechazado por la base de datos");
+        }
+    }
+
+    private String validarParaImportacion(Empleado empleado, Set<String> existentes,
+                                          Set<String> emailsImportados, Set<String> emailsDelLote) {
+        if (empleado.getNombre() == null || empleado.getApellido() == null || empleado.getEmail() == null
+                || empleado.getFechaContratacion() == null || empleado.getSalario() == null) {
+            return "Faltan campos obligatorios";
+        }
+        if (existentes.contains(empleado.getEmail())) {
+            return "El email ya está registrado: " + empleado.getEmail();
+        }
+        if (emailsImportados.contains(empleado.getEmail()) || !emailsDelLote.add(empleado.getEmail())) {
+            return "El email está repetido en la importación: " + empleado.getEmail();
+        }
+        return null;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Empleado buscarPorId(Long id) {
         return empleadoRepository.findById(id)
                 .orElseThrow(() -> new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id));
     }
 
+    // La vista no queda ligada a ninguna sesión, así las llamadas concurrentes pueden compartirla
     @Override
+    @LecturaAgrupada
+    @Transactional(readOnly = true)
+    public EmpleadoVista buscarVistaPorId(Long id) {
+        List<EmpleadoVista> vistas = empleadoRepository.findVistasPorIds(List.of(id));
+        if (vistas.isEmpty()) {
+            throw new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id);
+        }
+        return conProyectos(new Pagina<>(vistas, null)).contenido().get(0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<Empleado> buscarPorDepartamento(String nombreDepartamento) {
-        return empleadoRepository.findByNombreDepartamento(nombreDepartamento);
+        // El nombre se resuelve con la caché de departamentos y la consulta filtra por departamento_id sin join
+        return departamentoService.buscarIdPorNombre(nombreDepartamento)
+                .map(empleadoRepository::findByDepartamentoId)
+                .orElseGet(List::of);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Empleado> buscarPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax) {
         return empleadoRepository.findBySalarioBetween(salarioMin, salarioMax);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public long contarPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax) {
+        if (indiceSalarios.isDisponible()) {
+            return indiceSalarios.contar(IndiceSalarios.minimoEnCentavos(salarioMin),
+                    IndiceSalarios.maximoEnCentavos(salarioMax));
+        }
+        return empleadoRepository.countBySalarioBetween(salarioMin, salarioMax);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EmpleadoVista> buscarMayoresSalarios(int cantidad) {
+        int tamanio = Cursor.normalizarLimite(cantidad);
+        List<EmpleadoVista> vistas;
+        if (indiceSalarios.isDisponible()) {
+            vistas = vistasEnOrden(lista(indiceSalarios.mayores(tamanio)));
+        } else {
+            vistas = empleadoRepository.findVistasMayorSalario(Limit.of(tamanio));
+        }
+        return conProyectos(new Pagina<>(vistas, null)).contenido();
+    }
+
+    // Lectura de los acumulados por departamento en lugar de un AVG sobre todos sus empleados
+    @Override
+    @Transactional(readOnly = true)
     public BigDecimal obtenerSalarioPromedioPorDepartamento(Long departamentoId) {
-        return empleadoRepository.findAverageSalarioByDepartamento(departamentoId)
-                .orElse(BigDecimal.ZERO);
+        return estadisticasSalarioService.obtenerSalarioPromedio(departamentoId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Empleado> obtenerTodos() {
         return empleadoRepository.findAll();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Pagina<EmpleadoVista> obtenerPagina(String cursor, int limite) {
+        int tamanio = Cursor.normalizarLimite(limite);
+        List<EmpleadoVista> filas = empleadoRepository.findVistasDespuesDe(
+                Cursor.decodificar(cursor), Limit.of(tamanio + 1));
+        return conProyectos(Pagina.desde(filas, tamanio, EmpleadoVista::id));
+    }
+
+    @Override
+    @LecturaAgrupada
+    @Transactional(readOnly = true)
+    public Pagina<EmpleadoVista> buscarPorDepartamento(String nombreDepartamento, String cursor, int limite) {
+        int tamanio = Cursor.normalizarLimite(limite);
+        long despuesDeId = Cursor.decodificar(cursor);
+        List<EmpleadoVista> filas = departamentoService.buscarIdPorNombre(nombreDepartamento)
+                .map(departamentoId -> empleadoRepository.findVistasPorDepartamentoDespuesDe(
+                        departamentoId, despuesDeId, Limit.of(tamanio + 1)))
+                .orElseGet(List::of);
+        return conProyectos(Pagina.desde(filas, tamanio, EmpleadoVista::id));
+    }
+
+    // Con el índice de salarios la página sale en orden de (salario, id) y el cursor lleva el último par, así el
+    // índice recorre solo las entradas de la página; por JPQL sigue el orden por id. Como en la búsqueda por
+    // texto, cada modo rechaza el cursor del otro
+    @Override
+    @Transactional(readOnly = true)
+    public Pagina<EmpleadoVista> buscarPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax, String cursor, int limite) {
+        int tamanio = Cursor.normalizarLimite(limite);
+        if (indiceSalarios.isDisponible()) {
+            Cursor.ClaveYId desde = Cursor.decodificarClave(cursor);
+            IndiceSalarios.Tramo tramo = indiceSalarios.enRango(IndiceSalarios.minimoEnCentavos(salarioMin),
+                    IndiceSalarios.maximoEnCentavos(salarioMax), desde.clave(), desde.id(), tamanio + 1);
+            List<Long> ids = lista(Arrays.copyOf(tramo.ids(), Math.min(tramo.tamanio(), tamanio)));
+            List<EmpleadoVista> vistas = ids.isEmpty() ? List.of()
+                    : enOrden(ids, empleadoRepository.findVistasPorIdsYSalario(ids, salarioMin, salarioMax));
+            String siguiente = tramo.tamanio() > tamanio
+                    ? Cursor.codificarClave(tramo.centavos()[tamanio - 1], tramo.ids()[tamanio - 1]) : null;
+            return conProyectos(new Pagina<>(vistas, siguiente));
+        }
+        List<EmpleadoVista> filas = empleadoRepository.findVistasPorSalarioDespuesDe(
+                salarioMin, salarioMax, Cursor.decodificar(cursor), Limit.of(tamanio + 1));
+        return conProyectos(Pagina.desde(filas, tamanio, EmpleadoVista::id));
+    }
+
+    // Con el índice de trigramas el cursor lleva la posición en el ranking en lugar del último id. Cada modo
+    // rechaza el cursor del otro: si el índice se habilita o termina de cargarse a mitad de una paginación, el
+    // cliente recibe 400 y vuelve a empezar en lugar de saltear o repetir resultados
+    @Override
+    @Transactional(readOnly = true)
+    public Pagina<EmpleadoVista> buscarPorTexto(String consulta, String cursor, int limite) {
+        int tamanio = Cursor.normalizarLimite(limite);
+        if (consulta == null || consulta.isBlank()) {
+            return new Pagina<>(List.of(), null);
+        }
+        if (indiceTrigramas.isDisponible()) {
+            int desde = Cursor.decodificarPosicion(cursor);
+            long[] ids = indiceTrigramas.buscar(consulta, desde, tamanio + 1);
+            List<EmpleadoVista> vistas = vistasEnOrden(lista(Arrays.copyOf(ids, Math.min(ids.length, tamanio))));
+            return conProyectos(new Pagina<>(vistas,
+                    ids.length > tamanio ? Cursor.codificarPosicion((long) desde + tamanio) : null));
+        }
+        List<EmpleadoVista> filas = empleadoRepository.findVistasPorTextoDespuesDe(
+                EmpleadoRepository.patronContiene(consulta), Cursor.decodificar(cursor), Limit.of(tamanio + 1));
+        return conProyectos(Pagina.desde(filas, tamanio, EmpleadoVista::id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Pagina<EmpleadoVista> buscarEnTodosLosProyectos(List<Long> proyectoIds, String cursor, int limite) {
+        List<Long> distintos = proyectosConsultados(proyectoIds);
+        int tamanio = Cursor.normalizarLimite(limite);
+        long despuesDeId = Cursor.decodificar(cursor);
+        if (indiceMembresias.isDisponible()) {
+            return porMembresia(indiceMembresias.idsEnTodos(arreglo(distintos), despuesDeId, tamanio + 1), tamanio);
+        }
+        List<EmpleadoVista> filas = empleadoRepository.findVistasEnTodosLosProyectosDespuesDe(
+                distintos, distintos.size(), despuesDeId, Limit.of(tamanio + 1));
+        return conProyectos(Pagina.desde(filas, tamanio, EmpleadoVista::id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Pagina<EmpleadoVista> buscarEnAlgunProyecto(List<Long> proyectoIds, String cursor, int limite) {
+        List<Long> distintos = proyectosConsultados(proyectoIds);
+        int tamanio = Cursor.normalizarLimite(limite);
+        long despuesDeId = Cursor.decodificar(cursor);
+        if (indiceMembresias.isDisponible()) {
+            return porMembresia(indiceMembresias.idsEnAlguno(arreglo(distintos), despuesDeId, tamanio + 1), tamanio);
+        }
+        List<EmpleadoVista> filas = empleadoRepository.findVistasEnAlgunProyectoDespuesDe(
+                distintos, despuesDeId, Limit.of(tamanio + 1));
+        return conProyectos(Pagina.desde(filas, tamanio, EmpleadoVista::id));
+    }
+
+    // Sin proyectos indicados devuelve los empleados que no tienen ninguna asignación
+    @Override
+    @Transactional(readOnly = true)
+    public Pagina<EmpleadoVista> buscarEnNingunProyecto(List<Long> proyectoIds, String cursor, int limite) {
+        List<Long> distintos = proyectoIds == null ? List.of() : proyectoIds.stream().distinct().toList();
+        int tamanio = Cursor.normalizarLimite(limite);
+        long despuesDeId = Cursor.decodificar(cursor);
+        if (indiceMembresias.isDisponible()) {
+            return porMembresia(indiceMembresias.idsEnNinguno(arreglo(distintos), despuesDeId, tamanio + 1), tamanio);
+        }
+        List<EmpleadoVista> filas = distintos.isEmpty()
+                ? empleadoRepository.findVistasSinProyectosDespuesDe(despuesDeId, Limit.of(tamanio + 1))
+                : empleadoRepository.findVistasEnNingunProyectoDespuesDe(distintos, despuesDeId, Limit.of(tamanio + 1));
+        return conProyectos(Pagina.desde(filas, tamanio, EmpleadoVista::id));
+    }
+
+    // Sin índice se arma uno temporal con el conteo por departamento y mes de la base
+    @Override
+    @Transactional(readOnly = true)
+    public HistogramaContrataciones obtenerContrataciones(LocalDate desde, LocalDate hasta, Granularidad granularidad) {
+        if (desde == null || hasta == null || desde.isAfter(hasta)) {
+            throw new ConsultaInvalidaException("Indique un rango de fechas con desde anterior o igual a hasta");
+        }
+        int paso = granularidad.getMeses();
+        int primerMes = IndiceContrataciones.aMes(desde);
+        primerMes -= Math.floorMod(primerMes, paso);
+        int periodos = (IndiceContrataciones.aMes(hasta) - primerMes) / paso + 1;
+        if (periodos > MAXIMO_PERIODOS) {
+            throw new ConsultaInvalidaException("El rango no puede abarcar más de " + MAXIMO_PERIODOS + " períodos");
+        }
+        IndiceContrataciones indice = indiceContrataciones;
+        if (!indice.isDisponible()) {
+            indice = new IndiceContrataciones(true);
+            indice.reemplazar(empleadoRepository.findContratacionesPorMes().iterator());
+        }
+
+        List<LocalDate> inicios = new ArrayList<>(periodos);
+        for (int periodo = 0; periodo < periodos; periodo++) {
+            inicios.add(IndiceContrataciones.aFecha(primerMes + periodo * paso));
+        }
+        long totalAnteriores = 0;
+        long[] totalContrataciones = new long[periodos];
+        List<SerieContrataciones> departamentos = new ArrayList<>();
+        for (IndiceContrataciones.Conteo conteo : indice.contar(primerMes, periodos, paso)) {
+            totalAnteriores += conteo.anteriores();
+            for (int periodo = 0; periodo < periodos; periodo++) {
+                totalContrataciones[periodo] += conteo.contrataciones()[periodo];
+            }
+            departamentos.add(serie(conteo.departamentoId(), conteo.anteriores(), conteo.contrataciones()));
+        }
+        return new HistogramaContrataciones(granularidad, inicios,
+                serie(null, totalAnteriores, totalContrataciones), departamentos);
+    }
+
+    private static SerieContrataciones serie(Long departamentoId, long anteriores, long[] contrataciones) {
+        long[] plantilla = new long[contrataciones.length];
+        long acumulado = anteriores;
+        for (int periodo = 0; periodo < contrataciones.length; periodo++) {
+            acumulado += contrataciones[periodo];
+            plantilla[periodo] = acumulado;
+        }
+        return new SerieContrataciones(departamentoId, contrataciones, plantilla);
+    }
+
+    private static List<Long> proyectosConsultados(List<Long> proyectoIds) {
+        if (proyectoIds == null || proyectoIds.isEmpty()) {
+            throw new ConsultaInvalidaException("Indique al menos un id de proyecto");
+        }
+        return proyectoIds.stream().distinct().toList();
+    }
+
+    private static long[] arreglo(List<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    // El índice resuelve el conjunto y un id de más indica si hay otra página; las filas se leen por clave
+    // primaria y el cursor sigue siendo el último id, igual que sin índice
+    private Pagina<EmpleadoVista> porMembresia(long[] ids, int tamanio) {
+        List<EmpleadoVista> vistas = vistasEnOrden(lista(Arrays.copyOf(ids, Math.min(ids.length, tamanio))));
+        String siguiente = ids.length > tamanio ? Cursor.codificar(ids[tamanio - 1]) : null;
+        return conProyectos(new Pagina<>(vistas, siguiente));
+    }
+
+    private static List<Long> lista(long[] ids) {
+        return Arrays.stream(ids).boxed().toList();
+    }
+
+    // Lectura por clave primaria de los ids que resolvió un índice, en el orden del índice. Los que se borraron
+    // desde la consulta al índice no aparecen
+    private List<EmpleadoVista> vistasEnOrden(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return enOrden(ids, empleadoRepository.findVistasPorIds(ids));
+    }
+
+    // Las vistas en el orden de ids; los ids sin vista se descartan
+    private static List<EmpleadoVista> enOrden(List<Long> ids, List<EmpleadoVista> vistas) {
+        Map<Long, EmpleadoVista> porId = vistas.stream()
+                .collect(Collectors.toMap(EmpleadoVista::id, Function.identity()));
+        return ids.stream().map(porId::get).filter(Objects::nonNull).toList();
+    }
+
+    // Una sola consulta para los proyectos de toda la página, en lugar de una por empleado
+    private Pagina<EmpleadoVista> conProyectos(Pagina<EmpleadoVista> pagina) {
+        if (pagina.contenido().isEmpty()) {
+            return pagina;
+        }
+        Map<Long, List<ReferenciaProyecto>> proyectosPorEmpleado = empleadoRepository
+                .findAsignacionesProyectos(pagina.contenido().stream().map(EmpleadoVista::id).toList())
+                .stream()
+                .collect(Collectors.groupingBy(AsignacionProyecto::empleadoId, Collectors.mapping(
+                        a -> new ReferenciaProyecto(a.proyectoId(), a.proyectoNombre()), Collectors.toList())));
+        return pagina.conContenido(pagina.contenido().stream()
+                .map(vista -> vista.conProyectos(proyectosPorEmpleado.getOrDefault(vista.id(), List.of())))
+                .toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportarTodos(Consumer<EmpleadoExportado> consumidor) {
+        try (Stream<Empleado> empleados = empleadoRepository.streamAllConDepartamento()) {
+            Iterator<Empleado> iterador = empleados.iterator();
+            int leidos = 0;
+            while (iterador.hasNext()) {
+                consumidor.accept(EmpleadoExportado.desde(iterador.next()));
+                // Se vacía el contexto de persistencia para que el heap no crezca con el total exportado
+                if (++leidos % LOTE_EXPORTACION == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
     @Override
     public Empleado actualizar(Long id, Empleado empleado) {
-        if (!empleadoRepository.existsById(id)) {
-            throw new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id);
+        Empleado actual = buscarParaEscritura(id);
+        // Los acumulados se ajustan antes del merge, que copia el nuevo estado sobre la instancia administrada
+        if (!Objects.equals(departamentoId(actual), departamentoId(empleado))
+                || !Objects.equals(actual.getSalario(), empleado.getSalario())) {
+            estadisticasSalarioService.registrarBaja(departamentoId(actual), id, actual.getSalario());
+            estadisticasSalarioService.registrarAlta(departamentoId(empleado), empleado.getSalario());
         }
         empleado.setId(id);
         return empleadoRepository.save(empleado);
     }
 
+    // Un solo UPDATE con los campos recibidos. Si cambian salario, departamento, email o fecha de contratación,
+    // antes se leen los valores anteriores con SELECT ... FOR UPDATE: el UPDATE masivo no dispara los eventos que
+    // mantienen estadísticas, índices y filtro, y el bloqueo evita que dos PATCH concurrentes partan del mismo
+    // estado anterior
     @Override
-    public void eliminar(Long id) {
-        if (!empleadoRepository.existsById(id)) {
+    public void actualizarParcial(Long id, Map<String, Object> cambios) {
+        Map<String, Object> sinProyectos = new HashMap<>(cambios);
+        boolean conProyectos = sinProyectos.containsKey("proyectos");
+        List<Long> proyectoIds = conProyectos ? proyectoIds(sinProyectos.remove("proyectos")) : List.of();
+        Map<String, Object> valores = CAMPOS_ACTUALIZABLES.convertir(sinProyectos, objectMapper);
+        valores.computeIfPresent("departamento", (campo, departamento) -> {
+            Long departamentoId = ((Departamento) departamento).getId();
+            if (departamentoId == null) {
+                throw new ActualizacionInvalidaException("El departamento debe indicar su id");
+            }
+            return entityManager.getReference(Departamento.class, departamentoId);
+        });
+
+        ResumenEmpleado anterior = null;
+        if (valores.containsKey("salario") || valores.containsKey("departamento") || valores.containsKey("email")
+                || valores.containsKey("fechaContratacion")) {
+            anterior = empleadoRepository.findResumenParaEscrituraById(id)
+                    .orElseThrow(() -> new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id));
+        }
+        if (valores.isEmpty() ? !empleadoRepository.existsById(id) : actualizarCampos(id, valores) == 0) {
             throw new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id);
         }
-        empleadoRepository.deleteById(id);
+        if (conProyectos) {
+            reemplazarProyectos(id, proyectoIds);
+            sincronizacionIndiceMembresias.registrarAsignaciones(id, proyectoIds);
+        }
+        if (anterior != null) {
+            BigDecimal salario = valores.containsKey("salario") ? (BigDecimal) valores.get("salario") : anterior.salario();
+            Long departamentoId = valores.containsKey("departamento")
+                    ? departamentoId((Departamento) valores.get("departamento")) : anterior.departamentoId();
+            if (!Objects.equals(anterior.departamentoId(), departamentoId) || anterior.salario().compareTo(salario) != 0) {
+                estadisticasSalarioService.registrarBaja(anterior.departamentoId(), id, anterior.salario());
+                estadisticasSalarioService.registrarAlta(departamentoId, salario);
+                sincronizacionIndiceSalarios.registrarCambio(id, anterior.salario(), salario);
+            }
+            if (valores.containsKey("email")) {
+                sincronizacionFiltroEmails.registrarCambio(anterior.email(), (String) valores.get("email"));
+            }
+            sincronizacionIndiceContrataciones.registrarCambio(anterior.departamentoId(), anterior.fechaContratacion(),
+                    departamentoId, valores.containsKey("fechaContratacion")
+                            ? (LocalDate) valores.get("fechaContratacion") : anterior.fechaContratacion());
+        }
+        // El índice de búsqueda necesita los tres campos de texto: se leen después del UPDATE
+        if (indiceTrigramas.isHabilitado() && (valores.containsKey("nombre") || valores.containsKey("apellido")
+                || valores.containsKey("email"))) {
+            empleadoRepository.findTextoById(id).ifPresent(sincronizacionIndiceTrigramas::registrarTexto);
+        }
+    }
+
+    private int actualizarCampos(Long id, Map<String, Object> valores) {
+        try {
+            return CAMPOS_ACTUALIZABLES.ejecutar(entityManager, id, valores);
+        } catch (DataIntegrityViolationException ex) {
+            if (esEmailDuplicado(ex)) {
+                throw new EmailDuplicadoException("El email ya está registrado: " + valores.get("email"));
+            }
+            throw ex;
+        }
+    }
+
+    private List<Long> proyectoIds(Object proyectos) {
+        if (proyectos == null) {
+            return List.of();
+        }
+        try {
+            return objectMapper.convertValue(proyectos, new TypeReference<List<Proyecto>>() { }).stream()
+                    .map(Proyecto::getId)
+                    .filter(Objects::nonNull)
+                    .distinct()
+                    .toList();
+        } catch (IllegalArgumentException ex) {
+            throw new ActualizacionInvalidaException("Valor inválido para el campo proyectos");
+        }
+    }
+
+    // Reemplaza las filas de la tabla intermedia; los ids de proyectos inexistentes se ignoran
+    private void reemplazarProyectos(Long id, List<Long> proyectoIds) {
+        entityManager.createNativeQuery("DELETE FROM empleado_proyecto WHERE empleado_id = :id")
+                .setHint(HibernateHints.HINT_NATIVE_SPACES, "empleado_proyecto")
+                .setParameter("id", id)
+                .executeUpdate();
+        if (!proyectoIds.isEmpty()) {
+            entityManager.createNativeQuery("INSERT INTO empleado_proyecto (empleado_id, proyecto_id) "
+                            + "SELECT :id, p.id FROM proyectos p WHERE p.id IN (:proyectoIds)")
+                    .setHint(HibernateHints.HINT_NATIVE_SPACES, "empleado_proyecto")
+                    .setParameter("id", id)
+                    .setParameter("proyectoIds", proyectoIds)
+                    .executeUpdate();
+        }
+    }
+
+    @Override
+    public void eliminar(Long id) {
+        Empleado actual = buscarParaEscritura(id);
+        estadisticasSalarioService.registrarBaja(departamentoId(actual), id, actual.getSalario());
+        empleadoRepository.delete(actual);
+    }
+
+    private Empleado buscarParaEscritura(Long id) {
+        return empleadoRepository.findParaEscrituraById(id)
+                .orElseThrow(() -> new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id));
+    }
+
+    @Override
+    public ResultadoEliminacion eliminarPorIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            throw new EliminacionInvalidaException("Indique al menos un id para la eliminación masiva");
+        }
+        List<Long> distintos = ids.stream().distinct().toList();
+        List<ResumenEmpleado> empleados = new ArrayList<>();
+        for (int inicio = 0; inicio < distintos.size(); inicio += LOTE_ELIMINACION) {
+            empleados.addAll(empleadoRepository.findResumenesPorIds(
+                    distintos.subList(inicio, Math.min(inicio + LOTE_ELIMINACION, distintos.size()))));
+        }
+        return eliminarEnBloque(empleados);
+    }
+
+    @Override
+    public ResultadoEliminacion eliminarPorFiltro(FiltroEmpleados filtro) {
+        if (filtro.vacio()) {
+            throw new EliminacionInvalidaException("Indique al menos un criterio para la eliminación masiva");
+        }
+        return eliminarEnBloque(empleadoRepository.findResumenesPorFiltro(filtro.departamentoId(),
+                filtro.salarioMin(), filtro.salarioMax(), filtro.contratadoDesde(), filtro.contratadoHasta()));
+    }
+
+    // Se borran exactamente las filas leídas, así estadísticas, índice y filtro descuentan lo mismo que la base
+    private ResultadoEliminacion eliminarEnBloque(List<ResumenEmpleado> empleados) {
+        List<Long> ids = empleados.stream().map(ResumenEmpleado::id).toList();
+        ResultadoEliminacion resultado = new ResultadoEliminacion(0, 0);
+        for (int inicio = 0; inicio < ids.size(); inicio += LOTE_ELIMINACION) {
+            List<Long> lote = ids.subList(inicio, Math.min(inicio + LOTE_ELIMINACION, ids.size()));
+            int asignaciones = empleadoRepository.deleteAsignacionesProyectosPorIds(lote);
+            resultado = resultado.sumar(new ResultadoEliminacion(empleadoRepository.deleteEnBloquePorIds(lote), asignaciones));
+        }
+        estadisticasSalarioService.recalcularDepartamentos(empleados.stream()
+                .map(ResumenEmpleado::departamentoId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        sincronizacionIndiceSalarios.registrarBajas(empleados);
+        sincronizacionFiltroEmails.registrarBajas(empleados);
+        sincronizacionIndiceTrigramas.registrarBajas(empleados);
+        sincronizacionIndiceMembresias.registrarBajas(empleados);
+        sincronizacionIndiceContrataciones.registrarBajas(empleados);
+        return resultado;
+    }
+
+    private static Long departamentoId(Empleado empleado) {
+        return departamentoId(empleado.getDepartamento());
+    }
+
+    private static Long departamentoId(Departamento departamento) {
+        return departamento != null ? departamento.getId() : null;
     }
 }
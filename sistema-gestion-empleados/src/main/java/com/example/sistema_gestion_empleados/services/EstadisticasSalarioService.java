@@ -0,0 +1,22 @@
+package com.example.sistema_gestion_empleados.services;
+
+import com.example.sistema_gestion_empleados.dto.EstadisticasSalarioDepartamento;
+import com.example.sistema_gestion_empleados.dto.VerificacionEstadisticas;
+import com.example.sistema_gestion_empleados.models.Empleado;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+public interface EstadisticasSalarioService {
+    void registrarDepartamento(Long departamentoId);
+    void registrarAlta(Long departamentoId, BigDecimal salario);
+    void registrarAltas(Collection<Empleado> empleados);
+    void registrarBaja(Long departamentoId, Long empleadoId, BigDecimal salario);
+    void eliminarDepartamento(Long departamentoId);
+    void recalcularDepartamentos(Collection<Long> departamentoIds);
+    BigDecimal obtenerSalarioPromedio(Long departamentoId);
+    List<EstadisticasSalarioDepartamento> obtenerTodas();
+    VerificacionEstadisticas verificar();
+    VerificacionEstadisticas reconstruir();
+}
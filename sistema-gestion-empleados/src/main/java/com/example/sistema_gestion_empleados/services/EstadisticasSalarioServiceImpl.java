@@ -0,0 +1,183 @@
+package com.example.sistema_gestion_empleados.services;
+
+import com.example.sistema_gestion_empleados.dto.AcumuladoSalario;
+import com.example.sistema_gestion_empleados.dto.EstadisticasSalarioDepartamento;
+import com.example.sistema_gestion_empleados.dto.VerificacionEstadisticas;
+import com.example.sistema_gestion_empleados.models.DepartamentoSalarioStats;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoRepository;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoSalarioStatsRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Se une a la transacción del servicio que escribe los empleados: si la escritura se revierte, los acumulados también
+@Service
+@Transactional
+public class EstadisticasSalarioServiceImpl implements EstadisticasSalarioService, SmartInitializingSingleton {
+    private final DepartamentoSalarioStatsRepository statsRepository;
+    private final DepartamentoRepository departamentoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public EstadisticasSalarioServiceImpl(DepartamentoSalarioStatsRepository statsRepository,
+                                          DepartamentoRepository departamentoRepository,
+                                          PlatformTransactionManager transactionManager) {
+        this.statsRepository = statsRepository;
+        this.departamentoRepository = departamentoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Con ddl-auto: update la tabla se crea vacía sobre una base que ya tiene empleados: se llena al arrancar,
+    // antes de atender solicitudes, y cada departamento queda con su fila. Si otra instancia la llenó al mismo
+    // tiempo, su carga es igual de válida
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void afterSingletonsInstantiated() {
+        try {
+            transactionTemplate.executeWithoutResult(estado -> inicializar());
+        } catch (DataIntegrityViolationException ex) {
+            // Otra instancia insertó las mismas filas primero
+        }
+    }
+
+    void inicializar() {
+        if (statsRepository.count() == 0) {
+            statsRepository.insertarDesdeEmpleados();
+        }
+        statsRepository.insertarVacias();
+    }
+
+    // En la transacción que crea el departamento: las altas de empleados solo actualizan su fila y nunca compiten
+    // por insertarla
+    @Override
+    public void registrarDepartamento(Long departamentoId) {
+        statsRepository.save(new DepartamentoSalarioStats(departamentoId, 0L, BigDecimal.ZERO, BigDecimal.ZERO,
+                null, null));
+    }
+
+    @Override
+    public void registrarAlta(Long departamentoId, BigDecimal salario) {
+        if (departamentoId == null || salario == null) {
+            return;
+        }
+        sumar(new AcumuladoSalario(departamentoId, 1L, salario, salario.multiply(salario), salario, salario));
+    }
+
+    // Una sola actualización por departamento para todo el lote importado
+    @Override
+    public void registrarAltas(Collection<Empleado> empleados) {
+        Map<Long, AcumuladoSalario> porDepartamento = new HashMap<>();
+        for (Empleado empleado : empleados) {
+            if (empleado.getDepartamento() == null || empleado.getDepartamento().getId() == null
+                    || empleado.getSalario() == null) {
+                continue;
+            }
+            BigDecimal salario = empleado.getSalario();
+            porDepartamento.merge(empleado.getDepartamento().getId(),
+                    new AcumuladoSalario(empleado.getDepartamento().getId(), 1L, salario,
+                            salario.multiply(salario), salario, salario),
+                    (a, b) -> new AcumuladoSalario(a.departamentoId(), a.cantidad() + b.cantidad(),
+                            a.suma().add(b.suma()), a.sumaCuadrados().add(b.sumaCuadrados()),
+                            a.minimo().min(b.minimo()), a.maximo().max(b.maximo())));
+        }
+        porDepartamento.values().forEach(this::sumar);
+    }
+
+    // La fila se crea con el departamento o al arrancar; solo falta si el departamento se insertó sin pasar por el
+    // servicio, y entonces se crea en esta misma transacción
+    private void sumar(AcumuladoSalario acumulado) {
+        if (sumarEnFila(acumulado) == 0) {
+            statsRepository.insertarVaciasDe(List.of(acumulado.departamentoId()));
+            sumarEnFila(acumulado);
+        }
+    }
+
+    private int sumarEnFila(AcumuladoSalario acumulado) {
+        return statsRepository.sumar(acumulado.departamentoId(), acumulado.cantidad(), acumulado.suma(),
+                acumulado.sumaCuadrados(), acumulado.minimo(), acumulado.maximo());
+    }
+
+    @Override
+    public void registrarBaja(Long departamentoId, Long empleadoId, BigDecimal salario) {
+        if (departamentoId == null || salario == null) {
+            return;
+        }
+        statsRepository.restar(departamentoId, salario);
+        statsRepository.recalcularMinimo(departamentoId, empleadoId, salario);
+        statsRepository.recalcularMaximo(departamentoId, empleadoId, salario);
+    }
+
+    @Override
+    public void eliminarDepartamento(Long departamentoId) {
+        statsRepository.deleteById(departamentoId);
+    }
+
+    // Tras un borrado masivo: dos sentencias por conjunto en lugar de una baja por empleado
+    @Override
+    public void recalcularDepartamentos(Collection<Long> departamentoIds) {
+        if (departamentoIds.isEmpty()) {
+            return;
+        }
+        statsRepository.deleteAllByIdInBatch(departamentoIds);
+        statsRepository.insertarDesdeEmpleadosDe(departamentoIds);
+        statsRepository.insertarVaciasDe(departamentoIds);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal obtenerSalarioPromedio(Long departamentoId) {
+        return statsRepository.findAcumulado(departamentoId)
+                .map(AcumuladoSalario::promedio)
+                .orElse(BigDecimal.ZERO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EstadisticasSalarioDepartamento> obtenerTodas() {
+        Map<Long, AcumuladoSalario> acumulados = statsRepository.findAcumulados().stream()
+                .collect(Collectors.toMap(AcumuladoSalario::departamentoId, Function.identity()));
+        return departamentoRepository.findReferencias().stream()
+                .map(departamento -> EstadisticasSalarioDepartamento.desde(departamento,
+                        acumulados.getOrDefault(departamento.id(), AcumuladoSalario.vacio(departamento.id()))))
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VerificacionEstadisticas verificar() {
+        Map<Long, AcumuladoSalario> guardados = statsRepository.findAcumulados().stream()
+                .collect(Collectors.toMap(AcumuladoSalario::departamentoId, Function.identity()));
+        Map<Long, AcumuladoSalario> calculados = statsRepository.calcularAcumulados().stream()
+                .collect(Collectors.toMap(AcumuladoSalario::departamentoId, Function.identity()));
+        TreeSet<Long> departamentos = new TreeSet<>(guardados.keySet());
+        departamentos.addAll(calculados.keySet());
+        List<Long> inconsistentes = departamentos.stream()
+                .filter(id -> !guardados.getOrDefault(id, AcumuladoSalario.vacio(id))
+                        .coincideCon(calculados.getOrDefault(id, AcumuladoSalario.vacio(id))))
+                .toList();
+        return new VerificacionEstadisticas(departamentos.size(), inconsistentes, false);
+    }
+
+    @Override
+    public VerificacionEstadisticas reconstruir() {
+        VerificacionEstadisticas verificacion = verificar();
+        statsRepository.deleteAllInBatch();
+        statsRepository.insertarDesdeEmpleados();
+        statsRepository.insertarVacias();
+        return new VerificacionEstadisticas(verificacion.departamentosRevisados(),
+                verificacion.departamentosInconsistentes(), true);
+    }
+}
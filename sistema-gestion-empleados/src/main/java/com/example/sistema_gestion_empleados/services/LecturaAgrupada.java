@@ -0,0 +1,13 @@
+package com.example.sistema_gestion_empleados.services;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Las llamadas concurrentes al método con los mismos argumentos comparten una sola lectura. Solo para
+// resultados que se pueden compartir entre hilos: vistas inmutables o entidades que ya vienen de la caché
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LecturaAgrupada {
+}
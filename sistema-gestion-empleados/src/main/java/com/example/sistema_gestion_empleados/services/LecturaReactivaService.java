@@ -0,0 +1,30 @@
+package com.example.sistema_gestion_empleados.services;
+
+import com.example.sistema_gestion_empleados.dto.DepartamentoVista;
+import com.example.sistema_gestion_empleados.dto.EmpleadoExportado;
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.dto.EstadisticasSalarioDepartamento;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.dto.ProyectoVista;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+// Lecturas del perfil reactivo: mismas respuestas que los servicios JPA, sin bloquear hilos
+public interface LecturaReactivaService {
+    Mono<EmpleadoVista> buscarEmpleadoPorId(Long id);
+    Mono<Pagina<EmpleadoVista>> obtenerPaginaEmpleados(String cursor, int limite);
+    Mono<Pagina<EmpleadoVista>> buscarEmpleadosPorTexto(String consulta, String cursor, int limite);
+    Mono<Pagina<EmpleadoVista>> buscarEmpleadosPorDepartamento(String nombreDepartamento, String cursor, int limite);
+    Mono<Pagina<EmpleadoVista>> buscarEmpleadosPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax, String cursor, int limite);
+    Mono<Long> contarEmpleadosPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax);
+    Flux<EmpleadoVista> buscarMayoresSalarios(int cantidad);
+    Flux<EmpleadoExportado> exportarEmpleados();
+    Mono<DepartamentoVista> buscarDepartamentoPorId(Long id);
+    Mono<Pagina<DepartamentoVista>> obtenerPaginaDepartamentos(String cursor, int limite);
+    Flux<EstadisticasSalarioDepartamento> obtenerEstadisticasSalario();
+    Mono<ProyectoVista> buscarProyectoPorId(Long id);
+    Mono<Pagina<ProyectoVista>> obtenerPaginaProyectos(String cursor, int limite);
+    Mono<Pagina<ProyectoVista>> buscarProyectosActivos(String cursor, int limite);
+}
@@ -0,0 +1,169 @@
+package com.example.sistema_gestion_empleados.services;
+
+import com.example.sistema_gestion_empleados.dto.AsignacionProyecto;
+import com.example.sistema_gestion_empleados.dto.Cursor;
+import com.example.sistema_gestion_empleados.dto.DepartamentoVista;
+import com.example.sistema_gestion_empleados.dto.EmpleadoExportado;
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.dto.EstadisticasSalarioDepartamento;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.dto.ProyectoVista;
+import com.example.sistema_gestion_empleados.dto.ReferenciaProyecto;
+import com.example.sistema_gestion_empleados.exceptions.DepartamentoNoEncontradoException;
+import com.example.sistema_gestion_empleados.exceptions.EmpleadoNoEncontradoException;
+import com.example.sistema_gestion_empleados.exceptions.ProyectoNoEncontradoException;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoReactivoRepository;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoReactivoRepository;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import com.example.sistema_gestion_empleados.repositories.ProyectoReactivoRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Los índices en memoria no se consultan: en este perfil las escrituras llegan por otro despliegue y no los
+// mantendrían al día. Cada página pide limite + 1 filas, igual que las consultas JPA
+@Service
+@Profile("reactivo")
+public class LecturaReactivaServiceImpl implements LecturaReactivaService {
+    private final EmpleadoReactivoRepository empleadoRepository;
+    private final DepartamentoReactivoRepository departamentoRepository;
+    private final ProyectoReactivoRepository proyectoRepository;
+
+    public LecturaReactivaServiceImpl(EmpleadoReactivoRepository empleadoRepository,
+                                      DepartamentoReactivoRepository departamentoRepository,
+                                      ProyectoReactivoRepository proyectoRepository) {
+        this.empleadoRepository = empleadoRepository;
+        this.departamentoRepository = departamentoRepository;
+        this.proyectoRepository = proyectoRepository;
+    }
+
+    @Override
+    public Mono<EmpleadoVista> buscarEmpleadoPorId(Long id) {
+        return empleadoRepository.findVistaById(id)
+                .switchIfEmpty(Mono.error(() -> new EmpleadoNoEncontradoException("Empleado no encontrado con ID: " + id)))
+                .flatMap(vista -> conProyectos(new Pagina<>(List.of(vista), null)))
+                .map(pagina -> pagina.contenido().get(0));
+    }
+
+    @Override
+    public Mono<Pagina<EmpleadoVista>> obtenerPaginaEmpleados(String cursor, int limite) {
+        return paginaEmpleados(cursor, limite, empleadoRepository::findVistasDespuesDe);
+    }
+
+    @Override
+    public Mono<Pagina<EmpleadoVista>> buscarEmpleadosPorTexto(String consulta, String cursor, int limite) {
+        if (consulta == null || consulta.isBlank()) {
+            return Mono.fromSupplier(() -> {
+                Cursor.normalizarLimite(limite);
+                return new Pagina<>(List.of(), null);
+            });
+        }
+        String patron = EmpleadoRepository.patronContiene(consulta);
+        return paginaEmpleados(cursor, limite, (despuesDeId, tamanio) ->
+                empleadoRepository.findVistasPorTextoDespuesDe(patron, despuesDeId, tamanio));
+    }
+
+    @Override
+    public Mono<Pagina<EmpleadoVista>> buscarEmpleadosPorDepartamento(String nombreDepartamento, String cursor, int limite) {
+        return paginaEmpleados(cursor, limite, (despuesDeId, tamanio) ->
+                empleadoRepository.findVistasPorDepartamentoDespuesDe(nombreDepartamento, despuesDeId, tamanio));
+    }
+
+    @Override
+    public Mono<Pagina<EmpleadoVista>> buscarEmpleadosPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax,
+                                                                       String cursor, int limite) {
+        return paginaEmpleados(cursor, limite, (despuesDeId, tamanio) ->
+                empleadoRepository.findVistasPorSalarioDespuesDe(salarioMin, salarioMax, despuesDeId, tamanio));
+    }
+
+    @Override
+    public Mono<Long> contarEmpleadosPorRangoSalario(BigDecimal salarioMin, BigDecimal salarioMax) {
+        return empleadoRepository.countBySalarioBetween(salarioMin, salarioMax);
+    }
+
+    @Override
+    public Flux<EmpleadoVista> buscarMayoresSalarios(int cantidad) {
+        return Mono.fromSupplier(() -> Cursor.normalizarLimite(cantidad))
+                .flatMap(tamanio -> empleadoRepository.findVistasMayorSalario(tamanio).collectList())
+                .flatMap(vistas -> conProyectos(new Pagina<>(vistas, null)))
+                .flatMapIterable(Pagina::contenido);
+    }
+
+    @Override
+    public Flux<EmpleadoExportado> exportarEmpleados() {
+        return empleadoRepository.streamExportados();
+    }
+
+    @Override
+    public Mono<DepartamentoVista> buscarDepartamentoPorId(Long id) {
+        return departamentoRepository.findVistaById(id)
+                .switchIfEmpty(Mono.error(() -> new DepartamentoNoEncontradoException("Departamento no encontrado con ID: " + id)));
+    }
+
+    @Override
+    public Mono<Pagina<DepartamentoVista>> obtenerPaginaDepartamentos(String cursor, int limite) {
+        return pagina(cursor, limite, departamentoRepository::findVistasDespuesDe, DepartamentoVista::id);
+    }
+
+    @Override
+    public Flux<EstadisticasSalarioDepartamento> obtenerEstadisticasSalario() {
+        return departamentoRepository.findEstadisticasSalario();
+    }
+
+    @Override
+    public Mono<ProyectoVista> buscarProyectoPorId(Long id) {
+        return proyectoRepository.findVistaById(id)
+                .switchIfEmpty(Mono.error(() -> new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + id)));
+    }
+
+    @Override
+    public Mono<Pagina<ProyectoVista>> obtenerPaginaProyectos(String cursor, int limite) {
+        return pagina(cursor, limite, proyectoRepository::findVistasDespuesDe, ProyectoVista::id);
+    }
+
+    @Override
+    public Mono<Pagina<ProyectoVista>> buscarProyectosActivos(String cursor, int limite) {
+        LocalDate hoy = LocalDate.now();
+        return pagina(cursor, limite, (despuesDeId, tamanio) ->
+                proyectoRepository.findVistasActivasDespuesDe(hoy, despuesDeId, tamanio), ProyectoVista::id);
+    }
+
+    private Mono<Pagina<EmpleadoVista>> paginaEmpleados(String cursor, int limite, Consulta<EmpleadoVista> consulta) {
+        return pagina(cursor, limite, consulta, EmpleadoVista::id).flatMap(this::conProyectos);
+    }
+
+    // Cursor y límite se validan al suscribirse, así el error viaja por el Mono como el resto
+    private static <T> Mono<Pagina<T>> pagina(String cursor, int limite, Consulta<T> consulta, Function<T, Long> id) {
+        return Mono.defer(() -> {
+            int tamanio = Cursor.normalizarLimite(limite);
+            return consulta.despuesDe(Cursor.decodificar(cursor), tamanio + 1)
+                    .collectList()
+                    .map(filas -> Pagina.desde(filas, tamanio, id));
+        });
+    }
+
+    // Una sola consulta para los proyectos de toda la página, en lugar de una por empleado
+    private Mono<Pagina<EmpleadoVista>> conProyectos(Pagina<EmpleadoVista> pagina) {
+        if (pagina.contenido().isEmpty()) {
+            return Mono.just(pagina);
+        }
+        return empleadoRepository.findAsignacionesProyectos(pagina.contenido().stream().map(EmpleadoVista::id).toList())
+                .collect(Collectors.groupingBy(AsignacionProyecto::empleadoId, Collectors.mapping(
+                        a -> new ReferenciaProyecto(a.proyectoId(), a.proyectoNombre()), Collectors.toList())))
+                .map(proyectosPorEmpleado -> pagina.conContenido(pagina.contenido().stream()
+                        .map(vista -> vista.conProyectos(proyectosPorEmpleado.getOrDefault(vista.id(), List.of())))
+                        .toList()));
+    }
+
+    @FunctionalInterface
+    private interface Consulta<T> {
+        Flux<T> despuesDe(long despuesDeId, int limite);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.sistema_gestion_empleados.services;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Agrupa las lecturas concurrentes con la misma clave: la primera consulta la base y las que llegan mientras
+// tanto esperan su resultado, o su excepción, en lugar de repetir la consulta. Cada clave tiene su propio
+// future, así lecturas distintas nunca se esperan entre sí. Terminada la lectura la clave se libera: no es
+// una caché, la siguiente llamada vuelve a consultar
+public class LecturasAgrupadas {
+    private final ConcurrentHashMap<Object, CompletableFuture<Object>> enCurso = new ConcurrentHashMap<>();
+    private final LongAdder agrupadas = new LongAdder();
+
+    @FunctionalInterface
+    public interface Lectura {
+        Object leer() throws Throwable;
+    }
+
+    public Object leer(Object clave, Lectura lectura) throws Throwable {
+        CompletableFuture<Object> propia = new CompletableFuture<>();
+        CompletableFuture<Object> existente = enCurso.putIfAbsent(clave, propia);
+        if (existente != null) {
+            agrupadas.increment();
+            try {
+                return existente.join();
+            } catch (CompletionException ex) {
+                throw ex.getCause();
+            }
+        }
+        try {
+            Object resultado = lectura.leer();
+            propia.complete(resultado);
+            return resultado;
+        } catch (Throwable ex) {
+            propia.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            enCurso.remove(clave, propia);
+        }
+    }
+
+    // Llamadas que recibieron el resultado de otra en lugar de consultar
+    public long agrupadas() {
+        return agrupadas.sum();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.sistema_gestion_empleados.services;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+// Va por fuera de la transacción y de la caché: las llamadas que esperan no toman una conexión del pool y,
+// cuando vence una entrada de la caché, solo la primera llamada llega a la base
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LecturasAgrupadasAspect {
+    private final LecturasAgrupadas lecturasAgrupadas = new LecturasAgrupadas();
+
+    public LecturasAgrupadasAspect(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("servicio.lecturas.agrupadas", lecturasAgrupadas, LecturasAgrupadas::agrupadas)
+                .register(meterRegistry);
+    }
+
+    // Dentro de una transacción se lee directamente: tiene que ver sus propias escrituras aún sin confirmar
+    @Around("@annotation(com.example.sistema_gestion_empleados.services.LecturaAgrupada)")
+    public Object agrupar(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        Clave clave = new Clave(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                Arrays.asList(joinPoint.getArgs()));
+        return lecturasAgrupadas.leer(clave, joinPoint::proceed);
+    }
+
+    public long agrupadas() {
+        return lecturasAgrupadas.agrupadas();
+    }
+
+    // Arrays.asList admite argumentos nulos, como el cursor de la primera página
+    private record Clave(Method metodo, List<Object> argumentos) {
+    }
+}
@@ -1,15 +1,27 @@
 package com.example.sistema_gestion_empleados.services;
 
+import com.example.sistema_gestion_empleados.dto.DotacionProyecto;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.dto.ProyectoVista;
+import com.example.sistema_gestion_empleados.dto.VigenciaMensual;
 import com.example.sistema_gestion_empleados.exceptions.ProyectoNoEncontradoException;
 import com.example.sistema_gestion_empleados.models.Proyecto;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 public interface ProyectoService {
     Proyecto guardar(Proyecto proyecto);
     Proyecto buscarPorId(Long id);
     List<Proyecto> obtenerTodos();
+    Pagina<ProyectoVista> obtenerPagina(String cursor, int limite);
     Proyecto actualizar(Long id, Proyecto proyecto) throws ProyectoNoEncontradoException;
     List<Proyecto> buscarPorProyectosActivos();
+    Pagina<ProyectoVista> buscarPorProyectosActivos(String cursor, int limite);
+    void actualizarParcial(Long id, Map<String, Object> cambios);
     void eliminar(Long id);
+    List<DotacionProyecto> obtenerDotaciones();
+    Pagina<ProyectoVista> buscarVigentes(LocalDate desde, LocalDate hasta, String cursor, int limite);
+    List<VigenciaMensual> contarVigentesPorMes(int anio);
 }
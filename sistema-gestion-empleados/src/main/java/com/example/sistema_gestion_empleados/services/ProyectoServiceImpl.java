@@ -1,40 +1,94 @@
 package com.example.sistema_gestion_empleados.services;
 
+import com.example.sistema_gestion_empleados.dto.Cursor;
+import com.example.sistema_gestion_empleados.dto.DotacionProyecto;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.dto.ProyectoVista;
+import com.example.sistema_gestion_empleados.dto.VigenciaMensual;
+import com.example.sistema_gestion_empleados.exceptions.ConsultaInvalidaException;
 import com.example.sistema_gestion_empleados.exceptions.ProyectoNoEncontradoException;
+import com.example.sistema_gestion_empleados.indices.IndiceMembresias;
+import com.example.sistema_gestion_empleados.indices.IndiceVigencias;
+import com.example.sistema_gestion_empleados.indices.SincronizacionIndiceVigencias;
 import com.example.sistema_gestion_empleados.models.Proyecto;
 import com.example.sistema_gestion_empleados.repositories.ProyectoRepository;
-import jakarta.transaction.Transactional;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
 public class ProyectoServiceImpl implements ProyectoService {
+    private static final ActualizacionParcial CAMPOS_ACTUALIZABLES = new ActualizacionParcial("Proyecto")
+            .campo("nombre", String.class, true)
+            .campo("descripcion", String.class, false)
+            .campo("fechaInicio", LocalDate.class, false)
+            .campo("fechaFin", LocalDate.class, false);
+
     private ProyectoRepository proyectoRepository;
+    private final IndiceMembresias indiceMembresias;
+    private final IndiceVigencias indiceVigencias;
+    private final SincronizacionIndiceVigencias sincronizacionIndiceVigencias;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
-    public ProyectoServiceImpl(ProyectoRepository proyectoRepository) {
+    public ProyectoServiceImpl(ProyectoRepository proyectoRepository,
+                               IndiceMembresias indiceMembresias,
+                               IndiceVigencias indiceVigencias,
+                               SincronizacionIndiceVigencias sincronizacionIndiceVigencias,
+                               EntityManager entityManager,
+                               ObjectMapper objectMapper) {
         this.proyectoRepository = proyectoRepository;
+        this.indiceMembresias = indiceMembresias;
+        this.indiceVigencias = indiceVigencias;
+        this.sincronizacionIndiceVigencias = sincronizacionIndiceVigencias;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
     }
 
     @Override
+    @CacheEvict(cacheNames = {"proyectosTodos", "proyectosPaginas"}, allEntries = true)
     public Proyecto guardar(Proyecto proyecto) {
         return proyectoRepository.save(proyecto);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Proyecto buscarPorId(Long id) {
         return proyectoRepository.findById(id)
                 .orElseThrow(() -> new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + id));
     }
 
     @Override
+    @Cacheable(cacheNames = "proyectosTodos", key = "'todos'")
+    @Transactional(readOnly = true)
     public List<Proyecto> obtenerTodos() {
         return proyectoRepository.findAll();
     }
 
     @Override
+    @Cacheable(cacheNames = "proyectosPaginas", key = "#cursor + ':' + #limite")
+    @Transactional(readOnly = true)
+    public Pagina<ProyectoVista> obtenerPagina(String cursor, int limite) {
+        int tamanio = Cursor.normalizarLimite(limite);
+        List<ProyectoVista> filas = proyectoRepository.findVistasDespuesDe(
+                Cursor.decodificar(cursor), Limit.of(tamanio + 1));
+        return Pagina.desde(filas, tamanio, ProyectoVista::id);
+    }
+
+    @Override
+    @CacheEvict(cacheNames = {"proyectosTodos", "proyectosPaginas"}, allEntries = true)
     public Proyecto actualizar(Long id, Proyecto proyecto) {
         if (!proyectoRepository.existsById(id)) {
             throw new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + id);
@@ -43,7 +97,23 @@ public class ProyectoServiceImpl implements ProyectoService {
         return proyectoRepository.save(proyecto);
     }
 
+    // Las filas afectadas reemplazan a existsById; el UPDATE masivo ya invalida la región de Hibernate de la entidad
+    @Override
+    @CacheEvict(cacheNames = {"proyectosTodos", "proyectosPaginas"}, allEntries = true)
+    public void actualizarParcial(Long id, Map<String, Object> cambios) {
+        Map<String, Object> valores = CAMPOS_ACTUALIZABLES.convertir(cambios, objectMapper);
+        if (valores.isEmpty() ? !proyectoRepository.existsById(id)
+                : CAMPOS_ACTUALIZABLES.ejecutar(entityManager, id, valores) == 0) {
+            throw new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + id);
+        }
+        // El índice de vigencias necesita las dos fechas: se leen después del UPDATE
+        if (indiceVigencias.isHabilitado() && (valores.containsKey("fechaInicio") || valores.containsKey("fechaFin"))) {
+            proyectoRepository.findVigenciaById(id).ifPresent(sincronizacionIndiceVigencias::registrarVigencia);
+        }
+    }
+
     @Override
+    @CacheEvict(cacheNames = {"proyectosTodos", "proyectosPaginas"}, allEntries = true)
     public void eliminar(Long id) {
         if (!proyectoRepository.existsById(id)) {
             throw new ProyectoNoEncontradoException("Proyecto no encontrado con ID: " + id);
@@ -52,7 +122,65 @@ public class ProyectoServiceImpl implements ProyectoService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Proyecto> buscarPorProyectosActivos(){
         return proyectoRepository.findByFechaFinAfter(LocalDate.now());
     }
-}
+
+    @Override
+    @Transactional(readOnly = true)
+    public Pagina<ProyectoVista> buscarPorProyectosActivos(String cursor, int limite) {
+        int tamanio = Cursor.normalizarLimite(limite);
+        List<ProyectoVista> filas = proyectoRepository.findVistasActivasDespuesDe(
+                LocalDate.now(), Cursor.decodificar(cursor), Limit.of(tamanio + 1));
+        return Pagina.desde(filas, tamanio, ProyectoVista::id);
+    }
+
+    // Con el índice de membresías es la cardinalidad de cada mapa, sin leer la tabla intermedia
+    @Override
+    @Transactional(readOnly = true)
+    public List<DotacionProyecto> obtenerDotaciones() {
+        if (indiceMembresias.isDisponible()) {
+            return indiceMembresias.dotaciones();
+        }
+        return proyectoRepository.findDotaciones();
+    }
+
+    // Vigentes en algún día de [desde, hasta]; para una sola fecha desde y hasta coinciden
+    @Override
+    @Transactional(readOnly = true)
+    public Pagina<ProyectoVista> buscarVigentes(LocalDate desde, LocalDate hasta, String cursor, int limite) {
+        if (desde.isAfter(hasta)) {
+            throw new ConsultaInvalidaException("La fecha desde no puede ser posterior a hasta");
+        }
+        int tamanio = Cursor.normalizarLimite(limite);
+        List<ProyectoVista> filas;
+        if (indiceVigencias.isDisponible()) {
+            long[] ids = indiceVigencias.idsVigentes(desde, hasta, Cursor.decodificar(cursor), tamanio + 1);
+            filas = ids.length == 0 ? List.of()
+                    : proyectoRepository.findVistasPorIds(Arrays.stream(ids).boxed().toList());
+        } else {
+            filas = proyectoRepository.findVistasVigentesDespuesDe(desde, hasta, Cursor.decodificar(cursor),
+                    Limit.of(tamanio + 1));
+        }
+        return Pagina.desde(filas, tamanio, ProyectoVista::id);
+    }
+
+    // Sin índice son doce COUNT sobre la tabla, uno por mes
+    @Override
+    @Transactional(readOnly = true)
+    public List<VigenciaMensual> contarVigentesPorMes(int anio) {
+        if (anio < 1 || anio > 9999) {
+            throw new ConsultaInvalidaException("Año inválido: " + anio);
+        }
+        int[] cantidades = indiceVigencias.isDisponible() ? indiceVigencias.contarPorMes(anio) : null;
+        List<VigenciaMensual> meses = new ArrayList<>(12);
+        for (int mes = 1; mes <= 12; mes++) {
+            YearMonth actual = YearMonth.of(anio, mes);
+            long proyectos = cantidades != null ? cantidades[mes - 1]
+                    : proyectoRepository.countVigentes(actual.atDay(1), actual.atEndOfMonth());
+            meses.add(new VigenciaMensual(actual, proyectos));
+        }
+        return meses;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.example.sistema_gestion_empleados;
+
+import com.example.sistema_gestion_empleados.models.Departamento;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.models.Proyecto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+// Empleado válido con valores por defecto para los tests de integración: cada test fija solo los campos que verifica
+public final class EmpleadoDePrueba {
+    private final Empleado empleado = new Empleado();
+
+    private EmpleadoDePrueba(String email) {
+        empleado.setNombre("Nombre");
+        empleado.setApellido("Apellido");
+        empleado.setEmail(email);
+        empleado.setFechaContratacion(LocalDate.now());
+        empleado.setSalario(new BigDecimal("50000"));
+    }
+
+    // El email es el único campo único de la tabla, así que es el único que cada test tiene que elegir
+    public static EmpleadoDePrueba conEmail(String email) {
+        return new EmpleadoDePrueba(email);
+    }
+
+    public EmpleadoDePrueba nombre(String nombre) {
+        empleado.setNombre(nombre);
+        return this;
+    }
+
+    public EmpleadoDePrueba apellido(String apellido) {
+        empleado.setApellido(apellido);
+        return this;
+    }
+
+    public EmpleadoDePrueba contratado(LocalDate fecha) {
+        empleado.setFechaContratacion(fecha);
+        return this;
+    }
+
+    public EmpleadoDePrueba salario(String salario) {
+        empleado.setSalario(new BigDecimal(salario));
+        return this;
+    }
+
+    public EmpleadoDePrueba departamento(Departamento departamento) {
+        empleado.setDepartamento(departamento);
+        return this;
+    }
+
+    public EmpleadoDePrueba proyectos(Proyecto... proyectos) {
+        empleado.getProyectos().addAll(List.of(proyectos));
+        return this;
+    }
+
+    public Empleado crear() {
+        return empleado;
+    }
+}
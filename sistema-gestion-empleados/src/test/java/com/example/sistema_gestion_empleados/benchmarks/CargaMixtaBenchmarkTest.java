@@ -0,0 +1,454 @@
+package com.example.sistema_gestion_empleados.benchmarks;
+
+import com.example.sistema_gestion_empleados.SistemaGestionEmpleadosApplication;
+import com.example.sistema_gestion_empleados.dto.Cursor;
+import com.example.sistema_gestion_empleados.models.Departamento;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.models.Proyecto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Carga mixta de lecturas y escrituras contra todos los endpoints sobre datos sintéticos deterministas, para comparar
+// capacidad entre versiones. Por operación informa solicitudes/s, percentiles de latencia y sentencias SQL por
+// solicitud (medidas en una pasada secuencial previa, donde cada sentencia se atribuye sin ambigüedad).
+// Se ejecuta con: mvn test -Dtest=CargaMixtaBenchmarkTest -Dbenchmarks=true
+//   [-Dbenchmarks.departamentos=50] [-Dbenchmarks.empleados=50000] [-Dbenchmarks.proyectos=500]
+//   [-Dbenchmarks.proyectosPorEmpleado=1.5] [-Dbenchmarks.semilla=42] [-Dbenchmarks.concurrencia=64]
+//   [-Dbenchmarks.solicitudes=20000] [-Dbenchmarks.salida=target/carga-mixta.csv]
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class CargaMixtaBenchmarkTest {
+
+    private static final GeneradorDatosSinteticos.Dimensiones DIMENSIONES = new GeneradorDatosSinteticos.Dimensiones(
+            Integer.getInteger("benchmarks.departamentos", 50),
+            Integer.getInteger("benchmarks.empleados", 50_000),
+            Integer.getInteger("benchmarks.proyectos", 500),
+            Double.parseDouble(System.getProperty("benchmarks.proyectosPorEmpleado", "1.5")));
+    private static final long SEMILLA = Long.getLong("benchmarks.semilla", 42);
+    private static final int CONCURRENCIA = Integer.getInteger("benchmarks.concurrencia", 64);
+    private static final int SOLICITUDES = Integer.getInteger("benchmarks.solicitudes", 20_000);
+    private static final int CALIBRACION = 20;
+    private static final Path SALIDA = Path.of(System.getProperty("benchmarks.salida", "target/carga-mixta.csv"));
+    // Fecha fija: con la misma semilla los datos no cambian de un día a otro
+    private static final LocalDate HOY = LocalDate.of(2025, 1, 1);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger secuencia = new AtomicInteger();
+    private final ConcurrentLinkedQueue<Long> empleadosCreados = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Long> departamentosCreados = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Long> proyectosCreados = new ConcurrentLinkedQueue<>();
+
+    private String base;
+    private GeneradorDatosSinteticos.Datos datos;
+
+    @Test
+    void medirCargaMixta() throws Exception {
+        try (ConfigurableApplicationContext contexto = iniciar()) {
+            base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+            long inicioCarga = System.nanoTime();
+            datos = new GeneradorDatosSinteticos(SEMILLA, HOY).poblar(contexto, DIMENSIONES);
+            System.out.printf("Datos: %s, %d asignaciones a proyectos, cargados en %.1f s%n", DIMENSIONES,
+                    datos.asignaciones(), (System.nanoTime() - inicioCarga) / 1e9);
+
+            Statistics estadisticas = contexto.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class)
+                    .getStatistics();
+            List<Operacion> operaciones = operaciones();
+            try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient cliente = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(clientes)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .build();
+
+                Map<Operacion, Double> sentencias = calibrar(cliente, operaciones, estadisticas);
+                ejecutar(cliente, operaciones, SOLICITUDES / 10);
+                long sentenciasPrevias = estadisticas.getPrepareStatementCount();
+                Resultado resultado = ejecutar(cliente, operaciones, SOLICITUDES);
+                double sentenciasPorSolicitud = (double) (estadisticas.getPrepareStatementCount() - sentenciasPrevias)
+                        / SOLICITUDES;
+
+                informar(resultado, sentencias, sentenciasPorSolicitud);
+                assertEquals(0, resultado.errores(), "solicitudes con estado inesperado");
+            }
+        }
+    }
+
+    // Pesos relativos de cada operación: predominan las lecturas por id y las páginas. No se incluyen la
+    // eliminación en bloque por filtro ni la reconstrucción de estadísticas, que alterarían los datos del resto de la corrida
+    private List<Operacion> operaciones() {
+        List<Operacion> operaciones = new ArrayList<>();
+        operaciones.add(new Operacion("GET empleados", 8, 200,
+                aleatorio -> get("/api/empleados?limite=50" + cursor(aleatorio)), null));
+        operaciones.add(new Operacion("GET empleados/{id}", 20, 200,
+                aleatorio -> get("/api/empleados/" + empleadoId(aleatorio)), null));
+        operaciones.add(new Operacion("GET empleados/search", 5, 200,
+                aleatorio -> get("/api/empleados/search?limite=50&q=" + codificar(
+                        datos.empleados().get(aleatorio.nextInt(datos.empleados().size())).getApellido())), null));
+        operaciones.add(new Operacion("GET empleados/departamento", 8, 200,
+                aleatorio -> get("/api/empleados/departamento/" + codificar(
+                        GeneradorDatosSinteticos.nombreDepartamento(aleatorio.nextInt(DIMENSIONES.departamentos())))
+                        + "?limite=50"), null));
+        operaciones.add(new Operacion("GET empleados/salario", 6, 200,
+                aleatorio -> get("/api/empleados/salario?" + rangoSalario(aleatorio) + "&limite=50"), null));
+        operaciones.add(new Operacion("GET empleados/salario/cantidad", 3, 200,
+                aleatorio -> get("/api/empleados/salario/cantidad?" + rangoSalario(aleatorio)), null));
+        operaciones.add(new Operacion("GET empleados/salario/mayores", 2, 200,
+                aleatorio -> get("/api/empleados/salario/mayores?cantidad=10"), null));
+        operaciones.add(new Operacion("GET empleados/export", 1, 200,
+                aleatorio -> get("/api/empleados/export?formato=" + (aleatorio.nextBoolean() ? "NDJSON" : "CSV")), null));
+        operaciones.add(new Operacion("GET departamentos", 3, 200,
+                aleatorio -> get("/api/departamentos?limite=50"), null));
+        operaciones.add(new Operacion("GET departamentos/{id}", 5, 200,
+                aleatorio -> get("/api/departamentos/" + departamentoId(aleatorio)), null));
+        operaciones.add(new Operacion("GET departamentos/estadisticas", 2, 200,
+                aleatorio -> get("/api/departamentos/estadisticas-salario"), null));
+        operaciones.add(new Operacion("GET departamentos/estadisticas/verif", 1, 200,
+                aleatorio -> get("/api/departamentos/estadisticas-salario/verificacion"), null));
+        operaciones.add(new Operacion("GET proyectos", 3, 200,
+                aleatorio -> get("/api/proyectos?limite=50"), null));
+        operaciones.add(new Operacion("GET proyectos/{id}", 5, 200,
+                aleatorio -> get("/api/proyectos/" + proyectoId(aleatorio)), null));
+        operaciones.add(new Operacion("GET proyectos/activos", 3, 200,
+                aleatorio -> get("/api/proyectos/activos?limite=50"), null));
+
+        operaciones.add(new Operacion("POST empleados", 4, 201,
+                aleatorio -> enviar("POST", "/api/empleados", empleadoNuevo(aleatorio)),
+                cuerpo -> empleadosCreados.add(id(cuerpo))));
+        operaciones.add(new Operacion("POST empleados/bulk", 1, 200,
+                aleatorio -> enviar("POST", "/api/empleados/bulk",
+                        IntStream.range(0, 10).mapToObj(i -> empleadoNuevo(aleatorio)).toList()),
+                null));
+        operaciones.add(new Operacion("PUT empleados/{id}", 2, 200, this::actualizarEmpleado, null));
+        operaciones.add(new Operacion("PATCH empleados/{id}", 4, 204,
+                aleatorio -> enviar("PATCH", "/api/empleados/" + empleadoId(aleatorio),
+                        Map.of("salario", 30_000 + aleatorio.nextInt(100_000))), null));
+        operaciones.add(new Operacion("DELETE empleados/{id}", 2, 204,
+                aleatorio -> eliminar("/api/empleados/", empleadosCreados), null));
+        operaciones.add(new Operacion("POST departamentos", 2, 201,
+                aleatorio -> enviar("POST", "/api/departamentos", Map.of("nombre", "Carga " + secuencia.incrementAndGet(),
+                        "descripcion", "Creado por la carga mixta")),
+                cuerpo -> departamentosCreados.add(id(cuerpo))));
+        operaciones.add(new Operacion("PUT departamentos/{id}", 1, 200, this::actualizarDepartamento, null));
+        operaciones.add(new Operacion("PATCH departamentos/{id}", 1, 204,
+                aleatorio -> enviar("PATCH", "/api/departamentos/" + departamentoId(aleatorio),
+                        Map.of("descripcion", "Descripción " + aleatorio.nextInt(1000))), null));
+        operaciones.add(new Operacion("DELETE departamentos/{id}", 1, 204,
+                aleatorio -> eliminar("/api/departamentos/", departamentosCreados), null));
+        operaciones.add(new Operacion("POST proyectos", 2, 201,
+                aleatorio -> enviar("POST", "/api/proyectos", proyectoNuevo(aleatorio)),
+                cuerpo -> proyectosCreados.add(id(cuerpo))));
+        operaciones.add(new Operacion("PUT proyectos/{id}", 1, 200, this::actualizarProyecto, null));
+        operaciones.add(new Operacion("PATCH proyectos/{id}", 1, 204,
+                aleatorio -> enviar("PATCH", "/api/proyectos/" + proyectoId(aleatorio),
+                        Map.of("descripcion", "Descripción " + aleatorio.nextInt(1000))), null));
+        operaciones.add(new Operacion("DELETE proyectos/{id}", 1, 204,
+                aleatorio -> eliminar("/api/proyectos/", proyectosCreados), null));
+        return operaciones;
+    }
+
+    // Cada operación en secuencia, en el orden de la lista: las altas preceden a las bajas que las consumen
+    private Map<Operacion, Double> calibrar(HttpClient cliente, List<Operacion> operaciones, Statistics estadisticas)
+            throws Exception {
+        SplittableRandom aleatorio = new SplittableRandom(SEMILLA);
+        Map<Operacion, Double> sentencias = new LinkedHashMap<>();
+        for (Operacion operacion : operaciones) {
+            long previas = estadisticas.getPrepareStatementCount();
+            int enviadas = 0;
+            for (int i = 0; i < CALIBRACION; i++) {
+                HttpRequest solicitud = operacion.solicitud().apply(aleatorio);
+                if (solicitud != null) {
+                    enviar(cliente, operacion, solicitud);
+                    enviadas++;
+                }
+            }
+            sentencias.put(operacion, enviadas == 0 ? Double.NaN
+                    : (double) (estadisticas.getPrepareStatementCount() - previas) / enviadas);
+        }
+        return sentencias;
+    }
+
+    // Cada cliente virtual elige operaciones según su peso hasta agotar el total; si la elegida no tiene
+    // sobre qué actuar (una baja sin altas pendientes) elige otra
+    private Resultado ejecutar(HttpClient cliente, List<Operacion> operaciones, int total) throws Exception {
+        int pesoTotal = operaciones.stream().mapToInt(Operacion::peso).sum();
+        Map<Operacion, Medicion> mediciones = new LinkedHashMap<>();
+        operaciones.forEach(operacion -> mediciones.put(operacion, new Medicion(total)));
+        AtomicInteger siguiente = new AtomicInteger();
+        AtomicLong errores = new AtomicLong();
+        long inicio = System.nanoTime();
+        try (ExecutorService trabajadores = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCIA; c++) {
+                SplittableRandom aleatorio = new SplittableRandom(SEMILLA + c);
+                trabajadores.submit(() -> {
+                    while (siguiente.getAndIncrement() < total) {
+                        Operacion operacion;
+                        HttpRequest solicitud;
+                        do {
+                            operacion = elegir(operaciones, pesoTotal, aleatorio);
+                            solicitud = operacion.solicitud().apply(aleatorio);
+                        } while (solicitud == null);
+                        long antes = System.nanoTime();
+                        boolean exito;
+                        try {
+                            exito = enviar(cliente, operacion, solicitud);
+                        } catch (Exception ex) {
+                            exito = false;
+                        }
+                        mediciones.get(operacion).registrar(System.nanoTime() - antes, exito);
+                        if (!exito) {
+                            errores.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        return new Resultado(mediciones, (System.nanoTime() - inicio) / 1e9, errores.get());
+    }
+
+    private boolean enviar(HttpClient cliente, Operacion operacion, HttpRequest solicitud)
+            throws IOException, InterruptedException {
+        if (operacion.respuesta() == null) {
+            return cliente.send(solicitud, HttpResponse.BodyHandlers.discarding()).statusCode() == operacion.estado();
+        }
+        HttpResponse<String> respuesta = cliente.send(solicitud, HttpResponse.BodyHandlers.ofString());
+        if (respuesta.statusCode() != operacion.estado()) {
+            return false;
+        }
+        operacion.respuesta().accept(respuesta.body());
+        return true;
+    }
+
+    private void informar(Resultado resultado, Map<Operacion, Double> sentencias, double sentenciasPorSolicitud)
+            throws IOException {
+        System.out.printf("%n%d solicitudes con %d clientes en %.1f s: %.0f solicitudes/s, %.2f sentencias SQL/solicitud%n",
+                SOLICITUDES, CONCURRENCIA, resultado.segundos(), SOLICITUDES / resultado.segundos(),
+                sentenciasPorSolicitud);
+        System.out.printf("%-38s %11s %8s %9s %9s %9s %10s%n", "operación", "solicitudes", "errores",
+                "p50 ms", "p95 ms", "p99 ms", "sentencias");
+        Files.createDirectories(SALIDA.toAbsolutePath().getParent());
+        try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(SALIDA, StandardCharsets.UTF_8))) {
+            csv.println("operacion,solicitudes,errores,p50_ms,p95_ms,p99_ms,sentencias_por_solicitud");
+            for (Map.Entry<Operacion, Medicion> entrada : resultado.mediciones().entrySet()) {
+                Operacion operacion = entrada.getKey();
+                long[] latencias = entrada.getValue().ordenadas();
+                double p50 = percentil(latencias, 0.50);
+                double p95 = percentil(latencias, 0.95);
+                double p99 = percentil(latencias, 0.99);
+                System.out.printf("%-38s %11d %8d %9.2f %9.2f %9.2f %10.1f%n", operacion.nombre(), latencias.length,
+                        entrada.getValue().errores(), p50, p95, p99, sentencias.get(operacion));
+                csv.printf(Locale.ROOT, "%s,%d,%d,%.3f,%.3f,%.3f,%.2f%n", operacion.nombre(),
+                        latencias.length, entrada.getValue().errores(), p50, p95, p99, sentencias.get(operacion));
+            }
+            csv.printf(Locale.ROOT, "total,%d,%d,,,,%.2f%n", SOLICITUDES, resultado.errores(),
+                    sentenciasPorSolicitud);
+        }
+        System.out.println("Resultados en " + SALIDA.toAbsolutePath());
+    }
+
+    private static Operacion elegir(List<Operacion> operaciones, int pesoTotal, SplittableRandom aleatorio) {
+        int sorteo = aleatorio.nextInt(pesoTotal);
+        for (Operacion operacion : operaciones) {
+            sorteo -= operacion.peso();
+            if (sorteo < 0) {
+                return operacion;
+            }
+        }
+        throw new IllegalStateException("Pesos inconsistentes");
+    }
+
+    private HttpRequest actualizarEmpleado(SplittableRandom aleatorio) {
+        int indice = aleatorio.nextInt(datos.empleados().size());
+        Empleado empleado = datos.empleados().get(indice);
+        Map<String, Object> cuerpo = new HashMap<>();
+        cuerpo.put("nombre", empleado.getNombre());
+        cuerpo.put("apellido", empleado.getApellido());
+        cuerpo.put("email", GeneradorDatosSinteticos.email(indice));
+        cuerpo.put("fechaContratacion", empleado.getFechaContratacion().toString());
+        cuerpo.put("salario", 30_000 + aleatorio.nextInt(100_000));
+        cuerpo.put("departamento", Map.of("id", departamentoId(aleatorio)));
+        cuerpo.put("proyectos", empleado.getProyectos().stream().map(proyecto -> Map.of("id", proyecto.getId())).toList());
+        return enviar("PUT", "/api/empleados/" + empleado.getId(), cuerpo);
+    }
+
+    // Las actualizaciones completas conservan el nombre: las búsquedas por nombre de departamento siguen encontrándolo
+    private HttpRequest actualizarDepartamento(SplittableRandom aleatorio) {
+        int indice = aleatorio.nextInt(datos.departamentos().size());
+        return enviar("PUT", "/api/departamentos/" + datos.departamentos().get(indice).getId(),
+                Map.of("nombre", GeneradorDatosSinteticos.nombreDepartamento(indice),
+                        "descripcion", "Descripción " + aleatorio.nextInt(1000)));
+    }
+
+    private HttpRequest actualizarProyecto(SplittableRandom aleatorio) {
+        Proyecto proyecto = datos.proyectos().get(aleatorio.nextInt(datos.proyectos().size()));
+        return enviar("PUT", "/api/proyectos/" + proyecto.getId(),
+                Map.of("nombre", proyecto.getNombre(),
+                        "descripcion", "Descripción " + aleatorio.nextInt(1000),
+                        "fechaInicio", proyecto.getFechaInicio().toString(),
+                        "fechaFin", proyecto.getFechaFin().toString()));
+    }
+
+    private HttpRequest eliminar(String ruta, ConcurrentLinkedQueue<Long> creados) {
+        Long id = creados.poll();
+        return id == null ? null : HttpRequest.newBuilder(URI.create(base + ruta + id)).DELETE().build();
+    }
+
+    private Map<String, Object> empleadoNuevo(SplittableRandom aleatorio) {
+        return Map.of("nombre", "Carga",
+                "apellido", "Mixta",
+                "email", "carga" + secuencia.incrementAndGet() + "@empresa.com",
+                "fechaContratacion", HOY.minusDays(aleatorio.nextInt(3650)).toString(),
+                "salario", 30_000 + aleatorio.nextInt(100_000),
+                "departamento", Map.of("id", departamentoId(aleatorio)),
+                "proyectos", List.of(Map.of("id", proyectoId(aleatorio))));
+    }
+
+    private Map<String, Object> proyectoNuevo(SplittableRandom aleatorio) {
+        LocalDate inicio = HOY.minusDays(aleatorio.nextInt(1000));
+        return Map.of("nombre", "Carga " + secuencia.incrementAndGet(),
+                "descripcion", "Creado por la carga mixta",
+                "fechaInicio", inicio.toString(),
+                "fechaFin", inicio.plusDays(90 + aleatorio.nextInt(800)).toString());
+    }
+
+    private long empleadoId(SplittableRandom aleatorio) {
+        return datos.empleados().get(aleatorio.nextInt(datos.empleados().size())).getId();
+    }
+
+    private long departamentoId(SplittableRandom aleatorio) {
+        List<Departamento> departamentos = datos.departamentos();
+        return departamentos.get(aleatorio.nextInt(departamentos.size())).getId();
+    }
+
+    private long proyectoId(SplittableRandom aleatorio) {
+        return datos.proyectos().get(aleatorio.nextInt(datos.proyectos().size())).getId();
+    }
+
+    // Páginas profundas además de la primera: el cursor arranca en un empleado al azar
+    private String cursor(SplittableRandom aleatorio) {
+        return aleatorio.nextInt(4) == 0 ? "" : "&cursor=" + Cursor.codificar(empleadoId(aleatorio));
+    }
+
+    private static String rangoSalario(SplittableRandom aleatorio) {
+        int minimo = 30_000 + aleatorio.nextInt(60_000);
+        return "min=" + minimo + "&max=" + (minimo + 1_000 + aleatorio.nextInt(20_000));
+    }
+
+    private HttpRequest get(String ruta) {
+        return HttpRequest.newBuilder(URI.create(base + ruta)).GET().build();
+    }
+
+    private HttpRequest enviar(String metodo, String ruta, Object cuerpo) {
+        try {
+            return HttpRequest.newBuilder(URI.create(base + ruta))
+                    .header("Content-Type", "application/json")
+                    .method(metodo, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(cuerpo)))
+                    .build();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private long id(String cuerpo) {
+        try {
+            return objectMapper.readTree(cuerpo).get("id").asLong();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static String codificar(String texto) {
+        return URLEncoder.encode(texto, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private static double percentil(long[] ordenadas, double percentil) {
+        if (ordenadas.length == 0) {
+            return Double.NaN;
+        }
+        int indice = (int) Math.ceil(percentil * ordenadas.length) - 1;
+        return ordenadas[Math.max(indice, 0)] / 1e6;
+    }
+
+    private static ConfigurableApplicationContext iniciar() {
+        return new SpringApplicationBuilder(SistemaGestionEmpleadosApplication.class)
+                .run("--spring.profiles.active=test",
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:carga-mixta;DB_CLOSE_DELAY=-1",
+                        "--spring.docker.compose.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+    }
+
+    // La solicitud es null cuando la operación no tiene sobre qué actuar en ese momento
+    private record Operacion(String nombre, int peso, int estado, Function<SplittableRandom, HttpRequest> solicitud,
+                             Consumer<String> respuesta) {
+    }
+
+    private static final class Medicion {
+        private final long[] latencias;
+        private int cantidad;
+        private int errores;
+
+        Medicion(int capacidad) {
+            latencias = new long[capacidad];
+        }
+
+        synchronized void registrar(long nanos, boolean exito) {
+            latencias[cantidad++] = nanos;
+            if (!exito) {
+                errores++;
+            }
+        }
+
+        synchronized int errores() {
+            return errores;
+        }
+
+        synchronized long[] ordenadas() {
+            long[] copia = Arrays.copyOf(latencias, cantidad);
+            Arrays.sort(copia);
+            return copia;
+        }
+    }
+
+    private record Resultado(Map<Operacion, Medicion> mediciones, double segundos, long errores) {
+    }
+}
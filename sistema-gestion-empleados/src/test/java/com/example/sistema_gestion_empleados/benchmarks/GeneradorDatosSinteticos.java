@@ -0,0 +1,182 @@
+package com.example.sistema_gestion_empleados.benchmarks;
+
+import com.example.sistema_gestion_empleados.models.Departamento;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.models.Proyecto;
+import com.example.sistema_gestion_empleados.services.DepartamentoService;
+import com.example.sistema_gestion_empleados.services.EmpleadoService;
+import com.example.sistema_gestion_empleados.services.ProyectoService;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// Datos sintéticos deterministas: la misma semilla y la misma fecha de referencia producen siempre los mismos datos.
+// Los tamaños de departamento y la participación en proyectos siguen una distribución de Zipf (pocos muy grandes,
+// muchos chicos) y la cantidad de proyectos por empleado una de Poisson alrededor de la media pedida
+final class GeneradorDatosSinteticos {
+    private static final String[] NOMBRES = {"Ana", "Luis", "María", "Jorge", "Lucía", "Carlos", "Sofía", "Diego",
+            "Valentina", "Martín", "Camila", "Pablo", "Julieta", "Andrés", "Florencia", "Tomás", "Paula", "Javier",
+            "Carolina", "Federico"};
+    private static final String[] APELLIDOS = {"García", "Rodríguez", "González", "Fernández", "López", "Martínez",
+            "Sánchez", "Pérez", "Gómez", "Díaz", "Romero", "Sosa", "Álvarez", "Torres", "Ruiz", "Ramírez", "Flores",
+            "Acosta", "Benítez", "Medina"};
+    private static final int MAXIMO_PROYECTOS_POR_EMPLEADO = 8;
+    private static final int LOTE_CARGA = 10_000;
+
+    record Dimensiones(int departamentos, int empleados, int proyectos, double proyectosPorEmpleado) {
+    }
+
+    record Datos(List<Departamento> departamentos, List<Proyecto> proyectos, List<Empleado> empleados) {
+        long asignaciones() {
+            return empleados.stream().mapToLong(empleado -> empleado.getProyectos().size()).sum();
+        }
+    }
+
+    private final long semilla;
+    private final LocalDate hoy;
+
+    GeneradorDatosSinteticos(long semilla, LocalDate hoy) {
+        this.semilla = semilla;
+        this.hoy = hoy;
+    }
+
+    // Sin guardar nada: permite comparar dos generaciones con la misma semilla
+    Datos generar(Dimensiones dimensiones) {
+        List<Departamento> departamentos = departamentos(dimensiones.departamentos());
+        List<Proyecto> proyectos = proyectos(dimensiones.proyectos());
+        return new Datos(departamentos, proyectos,
+                empleados(dimensiones.empleados(), departamentos, proyectos, dimensiones.proyectosPorEmpleado()));
+    }
+
+    // Los empleados se generan después de guardar departamentos y proyectos para referenciar las instancias con id
+    Datos poblar(ConfigurableApplicationContext contexto, Dimensiones dimensiones) {
+        DepartamentoService departamentoService = contexto.getBean(DepartamentoService.class);
+        ProyectoService proyectoService = contexto.getBean(ProyectoService.class);
+        EmpleadoService empleadoService = contexto.getBean(EmpleadoService.class);
+
+        List<Departamento> departamentos = departamentos(dimensiones.departamentos()).stream()
+                .map(departamentoService::guardar)
+                .toList();
+        List<Proyecto> proyectos = proyectos(dimensiones.proyectos()).stream()
+                .map(proyectoService::guardar)
+                .toList();
+        List<Empleado> empleados = empleados(dimensiones.empleados(), departamentos, proyectos,
+                dimensiones.proyectosPorEmpleado());
+        for (int inicio = 0; inicio < empleados.size(); inicio += LOTE_CARGA) {
+            empleadoService.importar(empleados.subList(inicio, Math.min(inicio + LOTE_CARGA, empleados.size())));
+        }
+        return new Datos(departamentos, proyectos, empleados);
+    }
+
+    static String nombreDepartamento(int indice) {
+        return "Departamento " + indice;
+    }
+
+    static String email(int indice) {
+        return "sintetico" + indice + "@empresa.com";
+    }
+
+    private List<Departamento> departamentos(int cantidad) {
+        List<Departamento> departamentos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Departamento departamento = new Departamento();
+            departamento.setNombre(nombreDepartamento(i));
+            departamento.setDescripcion("Departamento sintético " + i);
+            departamentos.add(departamento);
+        }
+        return departamentos;
+    }
+
+    // Proyectos de entre 3 meses y 2 años y medio que empezaron en los últimos 3 años: parte terminados, parte activos
+    private List<Proyecto> proyectos(int cantidad) {
+        SplittableRandom aleatorio = new SplittableRandom(semilla ^ 0x50524F59L);
+        List<Proyecto> proyectos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            LocalDate inicio = hoy.minusDays(aleatorio.nextInt(3 * 365));
+            Proyecto proyecto = new Proyecto();
+            proyecto.setNombre("Proyecto " + i);
+            proyecto.setDescripcion("Proyecto sintético " + i);
+            proyecto.setFechaInicio(inicio);
+            proyecto.setFechaFin(inicio.plusDays(90 + aleatorio.nextInt(820)));
+            proyectos.add(proyecto);
+        }
+        return proyectos;
+    }
+
+    private List<Empleado> empleados(int cantidad, List<Departamento> departamentos, List<Proyecto> proyectos,
+                                     double proyectosPorEmpleado) {
+        SplittableRandom aleatorio = new SplittableRandom(semilla ^ 0x454D504CL);
+        double[] pesosDepartamentos = zipf(departamentos.size());
+        double[] pesosProyectos = zipf(proyectos.size());
+        List<Empleado> empleados = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            int departamento = elegir(pesosDepartamentos, aleatorio);
+            Empleado empleado = new Empleado();
+            empleado.setNombre(NOMBRES[aleatorio.nextInt(NOMBRES.length)]);
+            empleado.setApellido(APELLIDOS[aleatorio.nextInt(APELLIDOS.length)]);
+            empleado.setEmail(email(i));
+            empleado.setFechaContratacion(hoy.minusDays(aleatorio.nextInt(10 * 365)));
+            empleado.setSalario(salario(departamento, aleatorio));
+            empleado.setDepartamento(departamentos.get(departamento));
+
+            int asignados = Math.min(poisson(proyectosPorEmpleado, aleatorio),
+                    Math.min(MAXIMO_PROYECTOS_POR_EMPLEADO, proyectos.size()));
+            Set<Proyecto> asignaciones = new HashSet<>();
+            while (asignaciones.size() < asignados) {
+                asignaciones.add(proyectos.get(elegir(pesosProyectos, aleatorio)));
+            }
+            empleado.setProyectos(asignaciones);
+            empleados.add(empleado);
+        }
+        return empleados;
+    }
+
+    // Cada departamento tiene su propia media salarial; la dispersión dentro del departamento es normal
+    private static BigDecimal salario(int departamento, SplittableRandom aleatorio) {
+        double media = 40_000 + (departamento % 10) * 6_000;
+        double salario = Math.max(20_000, media + normal(aleatorio) * 12_000);
+        return BigDecimal.valueOf(salario).setScale(-2, RoundingMode.HALF_UP).setScale(2, RoundingMode.UNNECESSARY);
+    }
+
+    // Pesos acumulados proporcionales a 1 / (k + 1)
+    private static double[] zipf(int cantidad) {
+        double[] acumulados = new double[cantidad];
+        double total = 0;
+        for (int k = 0; k < cantidad; k++) {
+            total += 1.0 / (k + 1);
+            acumulados[k] = total;
+        }
+        for (int k = 0; k < cantidad; k++) {
+            acumulados[k] /= total;
+        }
+        return acumulados;
+    }
+
+    private static int elegir(double[] acumulados, SplittableRandom aleatorio) {
+        int indice = Arrays.binarySearch(acumulados, aleatorio.nextDouble());
+        return Math.min(indice >= 0 ? indice : -indice - 1, acumulados.length - 1);
+    }
+
+    private static int poisson(double media, SplittableRandom aleatorio) {
+        double limite = Math.exp(-media);
+        double producto = aleatorio.nextDouble();
+        int k = 0;
+        while (producto > limite) {
+            producto *= aleatorio.nextDouble();
+            k++;
+        }
+        return k;
+    }
+
+    private static double normal(SplittableRandom aleatorio) {
+        return Math.sqrt(-2 * Math.log(1 - aleatorio.nextDouble())) * Math.cos(2 * Math.PI * aleatorio.nextDouble());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.sistema_gestion_empleados.benchmarks;
+
+import com.example.sistema_gestion_empleados.models.Empleado;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeneradorDatosSinteticosTest {
+
+    private static final LocalDate HOY = LocalDate.of(2025, 1, 1);
+    private static final GeneradorDatosSinteticos.Dimensiones DIMENSIONES =
+            new GeneradorDatosSinteticos.Dimensiones(10, 5_000, 50, 1.5);
+
+    @Test
+    void laMismaSemillaGeneraLosMismosDatos() {
+        List<String> primera = describir(new GeneradorDatosSinteticos(42, HOY).generar(DIMENSIONES));
+        List<String> segunda = describir(new GeneradorDatosSinteticos(42, HOY).generar(DIMENSIONES));
+        List<String> otraSemilla = describir(new GeneradorDatosSinteticos(7, HOY).generar(DIMENSIONES));
+
+        assertEquals(primera, segunda);
+        assertNotEquals(primera, otraSemilla);
+    }
+
+    @Test
+    void respetaLaDensidadDeAsignacionesYConcentraLosDepartamentos() {
+        GeneradorDatosSinteticos.Datos datos = new GeneradorDatosSinteticos(42, HOY).generar(DIMENSIONES);
+
+        assertEquals(DIMENSIONES.empleados(), datos.empleados().size());
+        assertEquals(1.5, (double) datos.asignaciones() / DIMENSIONES.empleados(), 0.1);
+        assertEquals(DIMENSIONES.empleados(), datos.empleados().stream().map(Empleado::getEmail).distinct().count());
+
+        Map<Object, Long> porDepartamento = datos.empleados().stream()
+                .collect(Collectors.groupingBy(Empleado::getDepartamento, IdentityHashMap::new, Collectors.counting()));
+        Collection<Long> tamanios = porDepartamento.values();
+        assertTrue(tamanios.stream().mapToLong(Long::longValue).max().orElseThrow()
+                > 3 * tamanios.stream().mapToLong(Long::longValue).min().orElseThrow());
+    }
+
+    // Las entidades aún no tienen id: departamentos y proyectos se identifican por su posición en la lista
+    private static List<String> describir(GeneradorDatosSinteticos.Datos datos) {
+        Map<Object, Integer> departamentos = indices(datos.departamentos());
+        Map<Object, Integer> proyectos = indices(datos.proyectos());
+        return datos.empleados().stream()
+                .map(empleado -> String.join("|", empleado.getNombre(), empleado.getApellido(), empleado.getEmail(),
+                        empleado.getFechaContratacion().toString(), empleado.getSalario().toPlainString(),
+                        String.valueOf(departamentos.get(empleado.getDepartamento())),
+                        empleado.getProyectos().stream().map(proyectos::get).sorted().toList().toString()))
+                .toList();
+    }
+
+    private static Map<Object, Integer> indices(List<?> entidades) {
+        Map<Object, Integer> indices = new IdentityHashMap<>();
+        for (int i = 0; i < entidades.size(); i++) {
+            indices.put(entidades.get(i), i);
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.sistema_gestion_empleados.benchmarks;
+
+import com.example.sistema_gestion_empleados.dto.ResultadoImportacion;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import com.example.sistema_gestion_empleados.services.EmpleadoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Se ejecuta con: mvn test -Dtest=ImportacionEmpleadosBenchmarkTest -Dbenchmarks=true [-Dbenchmarks.filas=20000]
+@SpringBootTest
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ImportacionEmpleadosBenchmarkTest {
+
+    private static final int FILAS = Integer.getInteger("benchmarks.filas", 5000);
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @AfterEach
+    void limpiar() {
+        empleadoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void compararGuardarUnoAUnoContraImportacion() {
+
+        // Calentamiento de JIT y pool de conexiones
+        empleadoService.importar(generar("calentamiento", 1000));
+        empleadoRepository.deleteAllInBatch();
+
+        List<Empleado> unoAUno = generar("guardar", FILAS);
+        long inicio = System.nanoTime();
+        unoAUno.forEach(empleadoService::guardar);
+        double segundosGuardar = (System.nanoTime() - inicio) / 1e9;
+
+        List<Empleado> enLotes = generar("importar", FILAS);
+        inicio = System.nanoTime();
+        ResultadoImportacion resultado = empleadoService.importar(enLotes);
+        double segundosImportar = (System.nanoTime() - inicio) / 1e9;
+
+        assertEquals(FILAS, resultado.insertados());
+        System.out.printf("guardar uno a uno: %d filas en %.2f s (%.0f filas/s)%n",
+                FILAS, segundosGuardar, FILAS / segundosGuardar);
+        System.out.printf("importar en lotes: %d filas en %.2f s (%.0f filas/s)%n",
+                FILAS, segundosImportar, FILAS / segundosImportar);
+    }
+
+    private static List<Empleado> generar(String prefijo, int cantidad) {
+        List<Empleado> empleados = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Empleado empleado = new Empleado();
+            empleado.setNombre("Nombre" + i);
+            empleado.setApellido("Apellido" + i);
+            empleado.setEmail(prefijo + i + "@empresa.com");
+            empleado.setFechaContratacion(LocalDate.of(2020, 1, 1).plusDays(i % 1500));
+            empleado.setSalario(BigDecimal.valueOf(30000 + (i % 500) * 100L));
+            empleados.add(empleado);
+        }
+        return empleados;
+    }
+}
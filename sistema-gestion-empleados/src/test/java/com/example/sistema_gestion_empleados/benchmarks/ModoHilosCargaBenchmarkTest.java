@@ -0,0 +1,134 @@
+package com.example.sistema_gestion_empleados.benchmarks;
+
+import com.example.sistema_gestion_empleados.SistemaGestionEmpleadosApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Compara el rendimiento HTTP con hilos de plataforma y con el perfil virtual bajo la misma carga concurrente.
+// Se ejecuta con: mvn test -Dtest=ModoHilosCargaBenchmarkTest -Dbenchmarks=true
+//   [-Dbenchmarks.concurrencia=400] [-Dbenchmarks.solicitudes=20000] [-Dbenchmarks.pool=20]
+//   [-Dbenchmarks.perfil=mysql] para medir contra una base real en lugar de la H2 en memoria
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class ModoHilosCargaBenchmarkTest {
+
+    private static final int CONCURRENCIA = Integer.getInteger("benchmarks.concurrencia", 400);
+    private static final int SOLICITUDES = Integer.getInteger("benchmarks.solicitudes", 20_000);
+    private static final int POOL = Integer.getInteger("benchmarks.pool", 20);
+    private static final String PERFIL = System.getProperty("benchmarks.perfil", "test");
+    // Sin proyectos: las rutas medidas no los leen y la carga se mantiene dentro del presupuesto de sentencias
+    private static final GeneradorDatosSinteticos.Dimensiones DIMENSIONES = new GeneradorDatosSinteticos.Dimensiones(
+            20, 20_000, 0, 0);
+    private static final long SEMILLA = 42;
+
+    @Test
+    void compararHilosDePlataformaContraVirtuales() throws Exception {
+        Resultado plataforma = medir("plataforma", PERFIL);
+        Resultado virtuales = medir("virtual", PERFIL + ",virtual");
+
+        System.out.printf("%-10s %12s %10s %10s %8s%n", "modo", "solicitudes/s", "p50 ms", "p99 ms", "errores");
+        for (Resultado resultado : List.of(plataforma, virtuales)) {
+            System.out.printf("%-10s %12.0f %10.2f %10.2f %8d%n", resultado.modo(), resultado.porSegundo(),
+                    resultado.p50Ms(), resultado.p99Ms(), resultado.errores());
+        }
+        assertEquals(0, plataforma.errores());
+        assertEquals(0, virtuales.errores());
+    }
+
+    private Resultado medir(String modo, String perfiles) throws Exception {
+        try (ConfigurableApplicationContext contexto = iniciar(modo, perfiles)) {
+            new GeneradorDatosSinteticos(SEMILLA, LocalDate.now()).poblar(contexto, DIMENSIONES);
+            String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+            try (ExecutorService clientes = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient cliente = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .executor(clientes)
+                        .connectTimeout(Duration.ofSeconds(5))
+                        .build();
+                ejecutar(modo, cliente, base, SOLICITUDES / 10);
+                return ejecutar(modo, cliente, base, SOLICITUDES);
+            }
+        }
+    }
+
+    // Cada cliente virtual envía solicitudes hasta agotar el total; los clientes no son el cuello de botella
+    private Resultado ejecutar(String modo, HttpClient cliente, String base, int total) throws Exception {
+        long[] latencias = new long[total];
+        AtomicInteger siguiente = new AtomicInteger();
+        AtomicInteger errores = new AtomicInteger();
+        long inicio = System.nanoTime();
+        try (ExecutorService trabajadores = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCIA; c++) {
+                trabajadores.submit(() -> {
+                    for (int i = siguiente.getAndIncrement(); i < total; i = siguiente.getAndIncrement()) {
+                        HttpRequest solicitud = HttpRequest.newBuilder(URI.create(base + ruta(i))).GET().build();
+                        long antes = System.nanoTime();
+                        try {
+                            HttpResponse<Void> respuesta = cliente.send(solicitud, HttpResponse.BodyHandlers.discarding());
+                            if (respuesta.statusCode() != 200) {
+                                errores.incrementAndGet();
+                            }
+                        } catch (Exception ex) {
+                            errores.incrementAndGet();
+                        }
+                        latencias[i] = System.nanoTime() - antes;
+                    }
+                    return null;
+                });
+            }
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        Arrays.sort(latencias);
+        return new Resultado(modo, total / segundos, percentil(latencias, 0.50), percentil(latencias, 0.99),
+                errores.get());
+    }
+
+    // Mezcla de lecturas bloqueantes: página completa, filtro por departamento y rango de salario
+    private static String ruta(int i) {
+        return switch (i % 3) {
+            case 0 -> "/api/empleados?limite=100";
+            case 1 -> "/api/empleados/departamento/Departamento%20" + (i % DIMENSIONES.departamentos()) + "?limite=100";
+            default -> "/api/empleados/salario?min=40000&max=" + (45_000 + (i % 50) * 1000) + "&limite=100";
+        };
+    }
+
+    private static double percentil(long[] ordenadas, double percentil) {
+        int indice = (int) Math.ceil(percentil * ordenadas.length) - 1;
+        return ordenadas[Math.max(indice, 0)] / 1e6;
+    }
+
+    private static ConfigurableApplicationContext iniciar(String modo, String perfiles) {
+        // Mismo tamaño de pool en ambos modos para que solo cambie el modelo de hilos; el esquema se recrea en cada corrida
+        List<String> argumentos = new ArrayList<>(List.of("--spring.profiles.active=" + perfiles,
+                "--server.port=0",
+                "--spring.datasource.hikari.maximum-pool-size=" + POOL,
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN"));
+        if (PERFIL.equals("test")) {
+            argumentos.add("--spring.datasource.url=jdbc:h2:mem:carga-" + modo + ";DB_CLOSE_DELAY=-1");
+            argumentos.add("--spring.docker.compose.enabled=false");
+        }
+        return new SpringApplicationBuilder(SistemaGestionEmpleadosApplication.class)
+                .run(argumentos.toArray(String[]::new));
+    }
+
+    private record Resultado(String modo, double porSegundo, double p50Ms, double p99Ms, int errores) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.sistema_gestion_empleados.config;
+
+import com.example.sistema_gestion_empleados.models.Departamento;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoRepository;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoSalarioStatsRepository;
+import com.example.sistema_gestion_empleados.services.DepartamentoService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sin transacción de test: la alineación corre en sus propias transacciones, como al arrancar
+@SpringBootTest
+@ActiveProfiles("test")
+class AlineacionSecuenciasIntegrationTest {
+    // Muy por encima de cualquier id que la secuencia haya entregado en el contexto de tests
+    private static final long ID_EXISTENTE = 5_000_000L;
+
+    @Autowired
+    private AlineacionSecuencias alineacionSecuencias;
+
+    @Autowired
+    private DepartamentoService departamentoService;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private DepartamentoSalarioStatsRepository departamentoSalarioStatsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void limpiar() {
+        departamentoSalarioStatsRepository.deleteAllInBatch();
+        departamentoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void adelantaLaSecuenciaQueQuedoPorDebajoDeLosIdsExistentes() {
+
+        // Una fila insertada por IDENTITY antes del cambio a secuencias
+        TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+        transaccion.executeWithoutResult(estado -> entityManager.createNativeQuery(
+                        "INSERT INTO departamentos (id, nombre, descripcion) VALUES (:id, 'Heredado', 'Anterior')")
+                .setParameter("id", ID_EXISTENTE)
+                .executeUpdate());
+
+        alineacionSecuencias.alinear();
+        long siguiente = transaccion.execute(estado -> ((Number) entityManager
+                .createNativeQuery("SELECT NEXT VALUE FOR departamentos_seq").getSingleResult()).longValue());
+        // El próximo bloque de 50 ids empieza por encima del existente
+        assertTrue(siguiente - 50 > ID_EXISTENTE);
+
+        // Ya alineada, una segunda pasada no la mueve
+        alineacionSecuencias.alinear();
+        long despues = transaccion.execute(estado -> ((Number) entityManager
+                .createNativeQuery("SELECT NEXT VALUE FOR departamentos_seq").getSingleResult()).longValue());
+        assertEquals(siguiente + 100, despues);
+
+        Departamento nuevo = new Departamento();
+        nuevo.setNombre("Nuevo");
+        nuevo.setDescripcion("Después de alinear");
+        assertNotEquals(ID_EXISTENTE, departamentoService.guardar(nuevo).getId());
+        assertEquals(2, departamentoRepository.count());
+
+    }
+}
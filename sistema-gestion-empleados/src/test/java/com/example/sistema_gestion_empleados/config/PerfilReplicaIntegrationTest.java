@@ -0,0 +1,62 @@
+package com.example.sistema_gestion_empleados.config;
+
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoSalarioStatsRepository;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import com.example.sistema_gestion_empleados.services.EmpleadoService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// El perfil replica tal como se despliega, combinado con el de una base: la réplica apunta a esa misma base
+@SpringBootTest
+@ActiveProfiles({"test", "h2", "replica"})
+class PerfilReplicaIntegrationTest {
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private DepartamentoSalarioStatsRepository departamentoSalarioStatsRepository;
+
+    @Autowired
+    private HikariDataSource primaria;
+
+    @Autowired
+    private HikariDataSource replica;
+
+    @AfterEach
+    void limpiar() {
+        departamentoSalarioStatsRepository.deleteAllInBatch();
+        empleadoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void lasLecturasEnLaReplicaVenLoEscritoEnLaPrimaria() {
+
+        assertEquals(primaria.getJdbcUrl(), replica.getJdbcUrl());
+
+        Empleado empleado = new Empleado();
+        empleado.setNombre("Réplica");
+        empleado.setApellido("Perfil");
+        empleado.setEmail("perfil.replica@empresa.com");
+        empleado.setFechaContratacion(LocalDate.now());
+        empleado.setSalario(new BigDecimal("50000"));
+        Long id = empleadoService.guardar(empleado).getId();
+
+        assertEquals("perfil.replica@empresa.com", empleadoService.buscarPorId(id).getEmail());
+        assertEquals(1, empleadoService.obtenerPagina(null, 10).contenido().size());
+
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.sistema_gestion_empleados.controllers;
 
+import com.example.sistema_gestion_empleados.dto.DepartamentoVista;
+import com.example.sistema_gestion_empleados.dto.EstadisticasSalarioDepartamento;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.dto.VerificacionEstadisticas;
 import com.example.sistema_gestion_empleados.exceptions.DepartamentoNoEncontradoException;
 import com.example.sistema_gestion_empleados.models.Departamento;
 import com.example.sistema_gestion_empleados.services.DepartamentoService;
+import com.example.sistema_gestion_empleados.services.EstadisticasSalarioService;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -14,6 +19,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -34,6 +40,9 @@ public class DepartamentoControllerTest {
     @MockBean
     private DepartamentoService departamentoService;
 
+    @MockBean
+    private EstadisticasSalarioService estadisticasSalarioService;
+
     private Departamento departamentoTest;
 
     @BeforeEach
@@ -45,10 +54,31 @@ public class DepartamentoControllerTest {
     }
     @Test
     void obtenerTodos() throws Exception {
-        given(departamentoService.obtenerTodos()).willReturn(List.of(departamentoTest));
+        given(departamentoService.obtenerPagina(null, 50)).willReturn(new Pagina<>(List.of(DepartamentoVista.desde(departamentoTest)), null));
         mockMvc.perform(get("/api/departamentos"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$[0].nombre").value("IT"));
+                .andExpect(jsonPath("$.contenido[0].nombre").value("IT"));
+    }
+
+    @Test
+    void obtenerEstadisticasSalario() throws Exception {
+        given(estadisticasSalarioService.obtenerTodas()).willReturn(List.of(new EstadisticasSalarioDepartamento(
+                1L, "IT", 2, new BigDecimal("45000.00"), new BigDecimal("40000.00"),
+                new BigDecimal("50000.00"), new BigDecimal("5000.00"))));
+        mockMvc.perform(get("/api/departamentos/estadisticas-salario"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].departamentoNombre").value("IT"))
+                .andExpect(jsonPath("$[0].promedio").value(45000.00))
+                .andExpect(jsonPath("$[0].desviacionEstandar").value(5000.00));
+    }
+
+    @Test
+    void reconstruirEstadisticasSalario() throws Exception {
+        given(estadisticasSalarioService.reconstruir()).willReturn(new VerificacionEstadisticas(3, List.of(2L), true));
+        mockMvc.perform(post("/api/departamentos/estadisticas-salario/reconstruccion"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.departamentosInconsistentes[0]").value(2))
+                .andExpect(jsonPath("$.reconstruido").value(true));
     }
 
     @Test
@@ -2,9 +2,25 @@ package com.example.sistema_gestion_empleados.controllers;
 
 
 
+import com.example.sistema_gestion_empleados.dto.ConflictoAsignacion;
+import com.example.sistema_gestion_empleados.dto.EmpleadoExportado;
+import com.example.sistema_gestion_empleados.dto.ErrorImportacion;
+import com.example.sistema_gestion_empleados.dto.LoteImportacion;
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.dto.FiltroEmpleados;
+import com.example.sistema_gestion_empleados.dto.Granularidad;
+import com.example.sistema_gestion_empleados.dto.HistogramaContrataciones;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.dto.ResultadoEliminacion;
+import com.example.sistema_gestion_empleados.dto.ResultadoImportacion;
+import com.example.sistema_gestion_empleados.dto.SerieContrataciones;
+import com.example.sistema_gestion_empleados.exceptions.ConsultaInvalidaException;
+import com.example.sistema_gestion_empleados.exceptions.EliminacionInvalidaException;
 import com.example.sistema_gestion_empleados.exceptions.EmpleadoNoEncontradoException;
+import com.example.sistema_gestion_empleados.exceptions.PaginacionInvalidaException;
 import com.example.sistema_gestion_empleados.models.Departamento;
 import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.services.ConflictoAsignacionService;
 import com.example.sistema_gestion_empleados.services.EmpleadoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +29,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.http.MediaType;
 
 
@@ -20,11 +38,14 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -39,6 +60,9 @@ public class EmpleadoControllerTest {
     @MockBean
     private EmpleadoService empleadoService;
 
+    @MockBean
+    private ConflictoAsignacionService conflictoAsignacionService;
+
     private Empleado empleadoTest;
     private Departamento departamentoTest;
 
@@ -64,19 +88,98 @@ public class EmpleadoControllerTest {
 
     @Test
     void obtenerTodos() throws Exception {
-        given(empleadoService.obtenerTodos()).willReturn(List.of(empleadoTest));
+        given(empleadoService.obtenerPagina(null, 50)).willReturn(new Pagina<>(List.of(EmpleadoVista.desde(empleadoTest)), null));
 
         mockMvc.perform(get("/api/empleados"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.size()", is(1)))
-                .andExpect(jsonPath("$[0].nombre").value("Maria"))
-                .andExpect(jsonPath("$[0].departamento.nombre").value("IT"));
+                .andExpect(jsonPath("$.contenido.size()", is(1)))
+                .andExpect(jsonPath("$.contenido[0].nombre").value("Maria"))
+                .andExpect(jsonPath("$.contenido[0].departamento.nombre").value("IT"))
+                .andExpect(jsonPath("$.siguienteCursor").doesNotExist());
+    }
+
+    @Test
+    void obtenerTodosConCursor() throws Exception {
+        given(empleadoService.obtenerPagina("aWQ6MQ", 1)).willReturn(new Pagina<>(List.of(EmpleadoVista.desde(empleadoTest)), "aWQ6Mg"));
+
+        mockMvc.perform(get("/api/empleados")
+                        .param("cursor", "aWQ6MQ")
+                        .param("limite", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contenido[0].nombre").value("Maria"))
+                .andExpect(jsonPath("$.siguienteCursor").value("aWQ6Mg"));
+    }
+
+    @Test
+    void obtenerTodosConCursorInvalido() throws Exception {
+        given(empleadoService.obtenerPagina("basura", 50))
+                .willThrow(new PaginacionInvalidaException("Cursor inválido: basura"));
+
+        mockMvc.perform(get("/api/empleados").param("cursor", "basura"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.message").value("Cursor inválido: basura"));
+    }
+
+    @Test
+    void obtenerTodosConPoolAgotado() throws Exception {
+        given(empleadoService.obtenerPagina(null, 50))
+                .willThrow(new CannotCreateTransactionException("Connection is not available, request timed out"));
+
+        mockMvc.perform(get("/api/empleados"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value(503))
+                .andExpect(jsonPath("$.error").value("Servicio no disponible"));
+    }
+
+    @Test
+    void exportarCsv() throws Exception {
+        willAnswer(invocacion -> {
+            Consumer<EmpleadoExportado> consumidor = invocacion.getArgument(0);
+            consumidor.accept(EmpleadoExportado.desde(empleadoTest));
+            return null;
+        }).given(empleadoService).exportarTodos(any());
+
+        MvcResult resultado = mockMvc.perform(get("/api/empleados/export").param("formato", "CSV"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string(
+                        "id,nombre,apellido,email,fechaContratacion,salario,departamentoId,departamentoNombre\n"
+                                + "1,Maria,Gimenez,mariagimenez@empresa.com," + LocalDate.now() + ",40000,1,IT\n"));
+    }
+
+    @Test
+    void exportarNdjson() throws Exception {
+        willAnswer(invocacion -> {
+            Consumer<EmpleadoExportado> consumidor = invocacion.getArgument(0);
+            consumidor.accept(EmpleadoExportado.desde(empleadoTest));
+            consumidor.accept(EmpleadoExportado.desde(empleadoTest));
+            return null;
+        }).given(empleadoService).exportarTodos(any());
+
+        MvcResult resultado = mockMvc.perform(get("/api/empleados/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String cuerpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lineas = cuerpo.split("\n");
+        assertEquals(2, lineas.length);
+        assertEquals("Maria",
+                objectMapper.readTree(lineas[0]).get("nombre").asText());
     }
 
     @Test
     void obtenerTodosPorId() throws Exception {
-        given(empleadoService.buscarPorId(1L)).willReturn(empleadoTest);
+        given(empleadoService.buscarVistaPorId(1L)).willReturn(EmpleadoVista.desde(empleadoTest));
 
         mockMvc.perform(get("/api/empleados/1"))
                 .andExpect(status().isOk())
@@ -85,25 +188,52 @@ public class EmpleadoControllerTest {
 
     @Test
     void buscarPorRangoSalario() throws Exception {
-        given(empleadoService.buscarPorRangoSalario(new BigDecimal(20000), new BigDecimal(60000))).willReturn(List.of(empleadoTest));
+        given(empleadoService.buscarPorRangoSalario(new BigDecimal(20000), new BigDecimal(60000), null, 50))
+                .willReturn(new Pagina<>(List.of(EmpleadoVista.desde(empleadoTest)), null));
 
         mockMvc.perform(get("/api/empleados/salario")
                         .param("min", "20000")
                         .param("max", "60000"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].nombre").value("Maria"))
-                .andExpect(jsonPath("$[0].salario").value(40000));
+                .andExpect(jsonPath("$.contenido[0].nombre").value("Maria"))
+                .andExpect(jsonPath("$.contenido[0].salario").value(40000));
+    }
+
+    @Test
+    void contarYObtenerMayoresSalarios() throws Exception {
+        given(empleadoService.contarPorRangoSalario(new BigDecimal(20000), new BigDecimal(60000))).willReturn(7L);
+        given(empleadoService.buscarMayoresSalarios(3)).willReturn(List.of(EmpleadoVista.desde(empleadoTest)));
+
+        mockMvc.perform(get("/api/empleados/salario/cantidad")
+                        .param("min", "20000")
+                        .param("max", "60000"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("7"));
+        mockMvc.perform(get("/api/empleados/salario/mayores").param("cantidad", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].email").value("mariagimenez@empresa.com"));
     }
 
     @Test
     void obtenerPorDepartamento() throws Exception {
-        given(empleadoService.buscarPorDepartamento("IT")).willReturn(List.of(empleadoTest));
+        given(empleadoService.buscarPorDepartamento("IT", null, 50)).willReturn(new Pagina<>(List.of(EmpleadoVista.desde(empleadoTest)), null));
 
         mockMvc.perform(get("/api/empleados/departamento/IT"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].nombre").value("Maria"));
+                .andExpect(jsonPath("$.contenido[0].nombre").value("Maria"));
+    }
+
+    @Test
+    void buscarPorTexto() throws Exception {
+        given(empleadoService.buscarPorTexto("mari", null, 10))
+                .willReturn(new Pagina<>(List.of(EmpleadoVista.desde(empleadoTest)), "c2lndWllbnRl"));
+
+        mockMvc.perform(get("/api/empleados/search").param("q", "mari").param("limite", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contenido[0].nombre").value("Maria"))
+                .andExpect(jsonPath("$.siguienteCursor").value("c2lndWllbnRl"));
     }
 
     @Test
@@ -118,6 +248,22 @@ public class EmpleadoControllerTest {
                 .andExpect(jsonPath("$.nombre", is("Maria")));
     }
 
+    @Test
+    void importarEmpleados() throws Exception {
+        LoteImportacion lote = LoteImportacion.exitoso(1, 2, 1,
+                List.of(new ErrorImportacion(1, "mariagimenez@empresa.com", "El email está repetido en la importación: mariagimenez@empresa.com")));
+        given(empleadoService.importar(anyList())).willReturn(ResultadoImportacion.desde(2, List.of(lote)));
+
+        mockMvc.perform(post("/api/empleados/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(empleadoTest, empleadoTest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recibidos", is(2)))
+                .andExpect(jsonPath("$.insertados", is(1)))
+                .andExpect(jsonPath("$.rechazados", is(1)))
+                .andExpect(jsonPath("$.lotes[0].errores[0].indice", is(1)));
+    }
+
     @Test
     void actualizarEmpleado() throws Exception {
         Empleado empleadoActualizado = new Empleado( 1L, "Maria", "Gimenez", "mariagimenez@empresa.com", LocalDate.now(), new BigDecimal(60000), departamentoTest, Collections.emptySet() );
@@ -171,5 +317,63 @@ public class EmpleadoControllerTest {
                 .andExpect(jsonPath("$.path").value("/api/empleados/77"));
     }
 
-    
+    @Test
+    void eliminarEnBloque() throws Exception {
+        given(empleadoService.eliminarPorIds(List.of(1L, 2L, 3L))).willReturn(new ResultadoEliminacion(3, 1));
+        given(empleadoService.eliminarPorFiltro(new FiltroEmpleados(1L, null, new BigDecimal("30000"), null,
+                LocalDate.of(2020, 1, 1)))).willReturn(new ResultadoEliminacion(5, 0));
+        willThrow(new EliminacionInvalidaException("Indique al menos un criterio para la eliminación masiva"))
+                .given(empleadoService).eliminarPorFiltro(new FiltroEmpleados(null, null, null, null, null));
+
+        mockMvc.perform(delete("/api/empleados").param("ids", "1,2,3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.empleados").value(3))
+                .andExpect(jsonPath("$.asignacionesProyectos").value(1));
+        mockMvc.perform(delete("/api/empleados")
+                        .param("departamentoId", "1")
+                        .param("salarioMax", "30000")
+                        .param("contratadoHasta", "2020-01-01"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.empleados").value(5));
+        mockMvc.perform(delete("/api/empleados"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Indique al menos un criterio para la eliminación masiva"));
+    }
+
+    @Test
+    void obtenerConflictosAsignacion() throws Exception {
+        given(conflictoAsignacionService.detectarConflictos(null)).willReturn(List.of(new ConflictoAsignacion(1L, 3,
+                LocalDate.of(2026, 3, 1), null, List.of(10L, 11L, 12L))));
+        willThrow(new ConsultaInvalidaException("El máximo de proyectos simultáneos debe ser al menos 1"))
+                .given(conflictoAsignacionService).detectarConflictos(0);
+
+        mockMvc.perform(get("/api/empleados/conflictos-asignacion"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].empleadoId").value(1))
+                .andExpect(jsonPath("$[0].proyectosSimultaneos").value(3))
+                .andExpect(jsonPath("$[0].desde").value("2026-03-01"))
+                .andExpect(jsonPath("$[0].proyectoIds.length()").value(3));
+        mockMvc.perform(get("/api/empleados/conflictos-asignacion").param("maximo", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("El máximo de proyectos simultáneos debe ser al menos 1"));
+    }
+
+    @Test
+    void obtenerContrataciones() throws Exception {
+        given(empleadoService.obtenerContrataciones(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), Granularidad.TRIMESTRE))
+                .willReturn(new HistogramaContrataciones(Granularidad.TRIMESTRE,
+                        List.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 4, 1)),
+                        new SerieContrataciones(null, new long[]{2, 1}, new long[]{5, 6}),
+                        List.of(new SerieContrataciones(1L, new long[]{2, 1}, new long[]{5, 6}))));
+
+        mockMvc.perform(get("/api/empleados/contrataciones")
+                        .param("desde", "2024-01-01")
+                        .param("hasta", "2024-12-31")
+                        .param("granularidad", "TRIMESTRE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.periodos[1]").value("2024-04-01"))
+                .andExpect(jsonPath("$.total.plantilla[1]").value(6))
+                .andExpect(jsonPath("$.departamentos[0].departamentoId").value(1))
+                .andExpect(jsonPath("$.departamentos[0].contrataciones[0]").value(2));
+    }
 }
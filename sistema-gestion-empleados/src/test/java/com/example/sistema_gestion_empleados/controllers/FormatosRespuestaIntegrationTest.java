@@ -0,0 +1,120 @@
+package com.example.sistema_gestion_empleados.controllers;
+
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoSalarioStatsRepository;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import com.example.sistema_gestion_empleados.services.EmpleadoService;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Contra el servidor real: la compresión la aplica el contenedor, no la ve MockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.datasource.url=jdbc:h2:mem:formatos;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class FormatosRespuestaIntegrationTest {
+
+    private static final int EMPLEADOS = 100;
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private DepartamentoSalarioStatsRepository departamentoSalarioStatsRepository;
+
+    private final HttpClient cliente = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void poblar() {
+        List<Empleado> empleados = new ArrayList<>();
+        for (int i = 0; i < EMPLEADOS; i++) {
+            Empleado empleado = new Empleado();
+            empleado.setNombre("Nombre" + i);
+            empleado.setApellido("Apellido" + i);
+            empleado.setEmail("formato" + i + "@empresa.com");
+            empleado.setFechaContratacion(LocalDate.of(2020, 1, 1).plusDays(i));
+            empleado.setSalario(BigDecimal.valueOf(30_000 + i * 100L));
+            empleados.add(empleado);
+        }
+        empleadoService.importar(empleados);
+    }
+
+    @AfterEach
+    void limpiar() {
+        departamentoSalarioStatsRepository.deleteAllInBatch();
+        empleadoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void negociaCborYSmileConLosMismosDatosQueJson() throws Exception {
+        Pagina<EmpleadoVista> json = leer("application/json", Jackson2ObjectMapperBuilder.json().build());
+        Pagina<EmpleadoVista> cbor = leer("application/cbor",
+                Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build());
+        Pagina<EmpleadoVista> smile = leer("application/x-jackson-smile",
+                Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+
+        assertEquals(EMPLEADOS, json.contenido().size());
+        assertEquals(json, cbor);
+        assertEquals(json, smile);
+    }
+
+    @Test
+    void comprimeLasRespuestasSoloSiElClienteAceptaGzip() throws Exception {
+        HttpResponse<byte[]> comprimida = obtener("/api/empleados?limite=" + EMPLEADOS, "application/json", true);
+        assertEquals(200, comprimida.statusCode());
+        assertEquals("gzip", comprimida.headers().firstValue("Content-Encoding").orElse(null));
+
+        HttpResponse<byte[]> plana = obtener("/api/empleados?limite=" + EMPLEADOS, "application/json", false);
+        assertTrue(plana.headers().firstValue("Content-Encoding").isEmpty());
+        assertTrue(comprimida.body().length < plana.body().length / 3);
+        assertArrayEquals(plana.body(), new GZIPInputStream(new ByteArrayInputStream(comprimida.body())).readAllBytes());
+    }
+
+    private Pagina<EmpleadoVista> leer(String tipo, ObjectMapper objectMapper) throws IOException, InterruptedException {
+        HttpResponse<byte[]> respuesta = obtener("/api/empleados?limite=" + EMPLEADOS, tipo, false);
+        assertEquals(200, respuesta.statusCode());
+        assertEquals(tipo, respuesta.headers().firstValue("Content-Type").orElse(null));
+        JavaType tipoPagina = objectMapper.getTypeFactory().constructParametricType(Pagina.class, EmpleadoVista.class);
+        return objectMapper.readValue(respuesta.body(), tipoPagina);
+    }
+
+    private HttpResponse<byte[]> obtener(String ruta, String tipo, boolean gzip) throws IOException, InterruptedException {
+        HttpRequest.Builder solicitud = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + ruta))
+                .header("Accept", tipo);
+        if (gzip) {
+            solicitud.header("Accept-Encoding", "gzip");
+        }
+        return cliente.send(solicitud.GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.sistema_gestion_empleados.controllers;
+
+import com.example.sistema_gestion_empleados.indices.FiltroBloomEmails;
+import com.example.sistema_gestion_empleados.indices.IndiceContrataciones;
+import com.example.sistema_gestion_empleados.indices.IndiceMembresias;
+import com.example.sistema_gestion_empleados.indices.IndiceSalarios;
+import com.example.sistema_gestion_empleados.indices.IndiceTrigramas;
+import com.example.sistema_gestion_empleados.indices.IndiceVigencias;
+import com.example.sistema_gestion_empleados.models.Departamento;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.models.Proyecto;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoRepository;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoSalarioStatsRepository;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import com.example.sistema_gestion_empleados.repositories.ProyectoRepository;
+import com.example.sistema_gestion_empleados.services.EmpleadoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.LocalDate;
+
+import static com.example.sistema_gestion_empleados.EmpleadoDePrueba.conEmail;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Los datos se escriben con JPA y se leen por R2DBC sobre la misma base H2 en memoria
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.main.web-application-type=reactive",
+        "spring.datasource.url=jdbc:h2:mem:reactiva;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactiva;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa"
+})
+@ActiveProfiles({"test", "reactivo"})
+class LecturaReactivaIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveWebServerApplicationContext contexto;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private DepartamentoSalarioStatsRepository departamentoSalarioStatsRepository;
+
+    @Autowired
+    private IndiceSalarios indiceSalarios;
+
+    @Autowired
+    private FiltroBloomEmails filtroBloomEmails;
+
+    @Autowired
+    private IndiceTrigramas indiceTrigramas;
+
+    @Autowired
+    private IndiceMembresias indiceMembresias;
+
+    @Autowired
+    private IndiceVigencias indiceVigencias;
+
+    @Autowired
+    private IndiceContrataciones indiceContrataciones;
+
+    private Departamento departamento;
+    private Proyecto proyecto;
+    private Empleado ana;
+    private Empleado luis;
+
+    @BeforeEach
+    void preparar() {
+        departamento = new Departamento();
+        departamento.setNombre("IT");
+        departamento.setDescripcion("Tecnología");
+        departamento = departamentoRepository.save(departamento);
+
+        proyecto = new Proyecto();
+        proyecto.setNombre("Migración");
+        proyecto.setDescripcion("Migración a la nube");
+        proyecto.setFechaInicio(LocalDate.now().minusMonths(1));
+        proyecto.setFechaFin(LocalDate.now().plusMonths(6));
+        proyecto = proyectoRepository.save(proyecto);
+
+        ana = empleadoService.guardar(conEmail("ana@empresa.com").nombre("Ana").apellido("Reactiva").salario("60000")
+                .departamento(departamento).proyectos(proyecto).crear());
+        luis = empleadoService.guardar(conEmail("luis@empresa.com").nombre("Luis").apellido("Reactiva").salario("40000")
+                .departamento(departamento).crear());
+    }
+
+    @AfterEach
+    void limpiar() {
+        departamentoSalarioStatsRepository.deleteAllInBatch();
+        empleadoRepository.deleteAll();
+        proyectoRepository.deleteAllInBatch();
+        departamentoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void atiendeLasLecturasConNetty() {
+        assertInstanceOf(NettyWebServer.class, contexto.getWebServer());
+    }
+
+    // El perfil reactivo apaga los índices aunque el perfil base los habilite
+    @Test
+    void noCargaLosIndicesEnMemoria() {
+        assertFalse(indiceSalarios.isHabilitado());
+        assertFalse(filtroBloomEmails.isHabilitado());
+        assertFalse(indiceTrigramas.isHabilitado());
+        assertFalse(indiceMembresias.isHabilitado());
+        assertFalse(indiceVigencias.isHabilitado());
+        assertFalse(indiceContrataciones.isHabilitado());
+    }
+
+    @Test
+    void paginaEmpleadosConSusProyectos() {
+        webTestClient.get().uri("/api/empleados?limite=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.contenido.length()").isEqualTo(1)
+                .jsonPath("$.contenido[0].email").isEqualTo("ana@empresa.com")
+                .jsonPath("$.contenido[0].departamento.nombre").isEqualTo("IT")
+                .jsonPath("$.contenido[0].proyectos[0].nombre").isEqualTo("Migración")
+                .jsonPath("$.siguienteCursor").isNotEmpty();
+    }
+
+    @Test
+    void buscaEmpleadosPorTextoDepartamentoYSalario() {
+        webTestClient.get().uri("/api/empleados/{id}", luis.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.nombre").isEqualTo("Luis");
+
+        webTestClient.get().uri("/api/empleados/search?q=AN")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.contenido[*].nombre").isEqualTo("Ana");
+
+        webTestClient.get().uri("/api/empleados/departamento/IT")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.contenido.length()").isEqualTo(2);
+
+        webTestClient.get().uri("/api/empleados/salario?min=50000&max=70000")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.contenido[*].nombre").isEqualTo("Ana");
+
+        webTestClient.get().uri("/api/empleados/salario/cantidad?min=0&max=100000")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Long.class).isEqualTo(2L);
+
+        webTestClient.get().uri("/api/empleados/salario/mayores?cantidad=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$[*].nombre").isEqualTo("Ana");
+    }
+
+    @Test
+    void exportaEmpleadosComoNdjsonYCsv() {
+        String ndjson = webTestClient.get().uri("/api/empleados/export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType("application/x-ndjson")
+                .expectBody(String.class).returnResult().getResponseBody();
+        assertNotNull(ndjson);
+        assertEquals(2, ndjson.lines().count());
+        assertTrue(ndjson.contains("\"email\":\"ana@empresa.com\""));
+
+        String csv = webTestClient.get().uri("/api/empleados/export?formato=CSV")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.parseMediaType("text/csv"))
+                .expectBody(String.class).returnResult().getResponseBody();
+        assertNotNull(csv);
+        assertTrue(csv.startsWith("id,nombre,apellido,email"));
+        assertEquals(3, csv.lines().count());
+    }
+
+    @Test
+    void leeDepartamentosYProyectos() {
+        webTestClient.get().uri("/api/departamentos/{id}", departamento.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.nombre").isEqualTo("IT");
+
+        webTestClient.get().uri("/api/departamentos/estadisticas-salario")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].cantidad").isEqualTo(2)
+                .jsonPath("$[0].promedio").isEqualTo(50000.0);
+
+        webTestClient.get().uri("/api/proyectos/activos")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.contenido[0].nombre").isEqualTo("Migración");
+    }
+
+    @Test
+    void respondeErroresConElMismoCuerpoQueLaApiServlet() {
+        webTestClient.get().uri("/api/empleados/{id}", luis.getId() + 1000)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Recurso no encontrado")
+                .jsonPath("$.path").isEqualTo("/api/empleados/" + (luis.getId() + 1000));
+
+        webTestClient.get().uri("/api/proyectos?limite=0")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().jsonPath("$.error").isEqualTo("Solicitud inválida");
+    }
+}
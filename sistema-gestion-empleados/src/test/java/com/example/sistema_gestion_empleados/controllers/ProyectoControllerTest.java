@@ -1,7 +1,14 @@
 package com.example.sistema_gestion_empleados.controllers;
 
+import com.example.sistema_gestion_empleados.dto.DotacionProyecto;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.dto.ProyectoVista;
+import com.example.sistema_gestion_empleados.dto.VigenciaMensual;
+import com.example.sistema_gestion_empleados.exceptions.ActualizacionInvalidaException;
+import com.example.sistema_gestion_empleados.exceptions.ConsultaInvalidaException;
 import com.example.sistema_gestion_empleados.exceptions.ProyectoNoEncontradoException;
 import com.example.sistema_gestion_empleados.models.Proyecto;
+import com.example.sistema_gestion_empleados.services.EmpleadoService;
 import com.example.sistema_gestion_empleados.services.ProyectoService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
@@ -14,16 +21,20 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willThrow;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -34,6 +45,7 @@ class ProyectoControllerTest {
     @Autowired private ObjectMapper objectMapper;
 
     @MockBean private ProyectoService proyectoService;
+    @MockBean private EmpleadoService empleadoService;
 
     private Proyecto proyectoTest;
 
@@ -51,13 +63,13 @@ class ProyectoControllerTest {
 
     @Test
     void obtenerTodos() throws Exception {
-        given(proyectoService.obtenerTodos()).willReturn(List.of(proyectoTest));
+        given(proyectoService.obtenerPagina(null, 50)).willReturn(new Pagina<>(List.of(ProyectoVista.desde(proyectoTest)), null));
 
         mockMvc.perform(get("/api/proyectos"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].nombre").value("Proyecto Demo"));
+                .andExpect(jsonPath("$.contenido", hasSize(1)))
+                .andExpect(jsonPath("$.contenido[0].nombre").value("Proyecto Demo"));
     }
 
     @Test
@@ -113,6 +125,29 @@ class ProyectoControllerTest {
                 .andExpect(jsonPath("$.path").value("/api/proyectos/10"));
     }
 
+    @Test
+    void actualizarParcialProyecto() throws Exception {
+        mockMvc.perform(patch("/api/proyectos/{id}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"descripcion\": \"Proyecto demo p3\"}"))
+                .andExpect(status().isNoContent());
+
+        verify(proyectoService).actualizarParcial(1L, Map.of("descripcion", "Proyecto demo p3"));
+    }
+
+    @Test
+    void actualizarParcialProyectoConCampoInvalido() throws Exception {
+        willThrow(new ActualizacionInvalidaException("Campo no actualizable: id"))
+                .given(proyectoService).actualizarParcial(anyLong(), any());
+
+        mockMvc.perform(patch("/api/proyectos/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": 2}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Solicitud inválida"))
+                .andExpect(jsonPath("$.message").value("Campo no actualizable: id"));
+    }
+
     @Test
     void eliminarProyecto() throws Exception {
         doNothing().when(proyectoService).eliminar(1L);
@@ -123,11 +158,62 @@ class ProyectoControllerTest {
 
     @Test
     void obtenerProyectosActivos() throws Exception {
-        given(proyectoService.buscarPorProyectosActivos()).willReturn(List.of(proyectoTest));
+        given(proyectoService.buscarPorProyectosActivos(null, 50)).willReturn(new Pagina<>(List.of(ProyectoVista.desde(proyectoTest)), null));
 
         mockMvc.perform(get("/api/proyectos/activos"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.size()", is(1)))
-                .andExpect(jsonPath("$[0].nombre", is(proyectoTest.getNombre())));
+                .andExpect(jsonPath("$.contenido.size()", is(1)))
+                .andExpect(jsonPath("$.contenido[0].nombre", is(proyectoTest.getNombre())));
+    }
+
+    @Test
+    void obtenerEmpleadosEnTodosLosProyectos() throws Exception {
+        given(empleadoService.buscarEnTodosLosProyectos(List.of(1L, 2L), null, 50)).willReturn(new Pagina<>(List.of(), null));
+
+        mockMvc.perform(get("/api/proyectos/empleados/todos").param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contenido", hasSize(0)));
+    }
+
+    @Test
+    void obtenerEmpleadosSinProyectosIndicados() throws Exception {
+        willThrow(new ConsultaInvalidaException("Indique al menos un id de proyecto"))
+                .given(empleadoService).buscarEnAlgunProyecto(any(), any(), anyInt());
+
+        mockMvc.perform(get("/api/proyectos/empleados/alguno").param("ids", ""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Indique al menos un id de proyecto"));
+    }
+
+    @Test
+    void obtenerDotaciones() throws Exception {
+        given(proyectoService.obtenerDotaciones()).willReturn(List.of(new DotacionProyecto(1L, 3)));
+
+        mockMvc.perform(get("/api/proyectos/dotacion"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].proyectoId", is(1)))
+                .andExpect(jsonPath("$[0].empleados", is(3)));
+    }
+
+    @Test
+    void obtenerProyectosVigentesEnRango() throws Exception {
+        LocalDate desde = LocalDate.of(2026, 1, 1);
+        LocalDate hasta = LocalDate.of(2026, 3, 31);
+        given(proyectoService.buscarVigentes(desde, hasta, null, 50))
+                .willReturn(new Pagina<>(List.of(ProyectoVista.desde(proyectoTest)), null));
+
+        mockMvc.perform(get("/api/proyectos/vigentes/rango").param("desde", "2026-01-01").param("hasta", "2026-03-31"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.contenido[0].nombre", is(proyectoTest.getNombre())));
+    }
+
+    @Test
+    void contarProyectosVigentesPorMes() throws Exception {
+        given(proyectoService.contarVigentesPorMes(2026)).willReturn(List.of(new VigenciaMensual(YearMonth.of(2026, 1), 4)));
+
+        mockMvc.perform(get("/api/proyectos/vigentes/mensual").param("anio", "2026"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].mes", is("2026-01")))
+                .andExpect(jsonPath("$[0].proyectos", is(4)));
     }
 }
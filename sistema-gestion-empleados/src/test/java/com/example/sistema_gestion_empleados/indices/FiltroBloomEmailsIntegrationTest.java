@@ -0,0 +1,112 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import com.example.sistema_gestion_empleados.exceptions.EmailDuplicadoException;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoSalarioStatsRepository;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import com.example.sistema_gestion_empleados.services.EmpleadoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.example.sistema_gestion_empleados.EmpleadoDePrueba.conEmail;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sin transacción de test: el filtro solo ve los cambios confirmados
+@SpringBootTest
+@ActiveProfiles("test")
+class FiltroBloomEmailsIntegrationTest {
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private DepartamentoSalarioStatsRepository departamentoSalarioStatsRepository;
+
+    @Autowired
+    private FiltroBloomEmails filtroEmails;
+
+    @Autowired
+    private SincronizacionFiltroEmails sincronizacionFiltroEmails;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void limpiar() {
+        departamentoSalarioStatsRepository.deleteAllInBatch();
+        empleadoRepository.deleteAllInBatch();
+        sincronizacionFiltroEmails.cargar();
+    }
+
+    @Test
+    void seMantieneConLasEscriturasConfirmadas() {
+
+        assertTrue(filtroEmails.isDisponible());
+        assertFalse(filtroEmails.puedeExistir("filtro1@empresa.com"));
+
+        Empleado guardado = empleadoService.guardar(conEmail("filtro1@empresa.com").crear());
+        assertTrue(filtroEmails.puedeExistir("filtro1@empresa.com"));
+        assertTrue(filtroEmails.puedeExistir("FILTRO1@empresa.com"));
+
+        empleadoService.actualizar(guardado.getId(), conEmail("filtro2@empresa.com").crear());
+        assertFalse(filtroEmails.puedeExistir("filtro1@empresa.com"));
+        assertTrue(filtroEmails.puedeExistir("filtro2@empresa.com"));
+
+        empleadoService.eliminar(guardado.getId());
+        assertFalse(filtroEmails.puedeExistir("filtro2@empresa.com"));
+
+        // Una transacción revertida no deja rastro en el filtro
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            empleadoService.guardar(conEmail("filtro3@empresa.com").crear());
+            estado.setRollbackOnly();
+        });
+        assertFalse(filtroEmails.puedeExistir("filtro3@empresa.com"));
+
+    }
+
+    @Test
+    void altasConcurrentesConElMismoEmailDejanUnaSola() throws Exception {
+
+        int hilos = 4;
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Empleado>> resultados = new ArrayList<>();
+        try (ExecutorService ejecutor = Executors.newFixedThreadPool(hilos)) {
+            for (int i = 0; i < hilos; i++) {
+                resultados.add(ejecutor.submit(() -> {
+                    largada.await();
+                    return empleadoService.guardar(conEmail("concurrente@empresa.com").crear());
+                }));
+            }
+            largada.countDown();
+        }
+
+        int exitosas = 0;
+        for (Future<Empleado> resultado : resultados) {
+            try {
+                resultado.get();
+                exitosas++;
+            } catch (ExecutionException ex) {
+                assertInstanceOf(EmailDuplicadoException.class, ex.getCause());
+            }
+        }
+        assertEquals(1, exitosas);
+        assertEquals(1, empleadoRepository.count());
+
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import com.example.sistema_gestion_empleados.dto.Granularidad;
+import com.example.sistema_gestion_empleados.dto.HistogramaContrataciones;
+import com.example.sistema_gestion_empleados.dto.SerieContrataciones;
+import com.example.sistema_gestion_empleados.exceptions.ConsultaInvalidaException;
+import com.example.sistema_gestion_empleados.models.Departamento;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoRepository;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoSalarioStatsRepository;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import com.example.sistema_gestion_empleados.services.DepartamentoService;
+import com.example.sistema_gestion_empleados.services.EmpleadoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.sistema_gestion_empleados.EmpleadoDePrueba.conEmail;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sin transacción de test: el índice solo ve los cambios confirmados
+@SpringBootTest(properties = "indices.contrataciones.habilitado=true")
+@ActiveProfiles("test")
+class IndiceContratacionesIntegrationTest {
+    private static final LocalDate DESDE = LocalDate.of(2000, 1, 1);
+    private static final LocalDate HASTA = LocalDate.of(2030, 12, 31);
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private DepartamentoService departamentoService;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private DepartamentoSalarioStatsRepository departamentoSalarioStatsRepository;
+
+    @Autowired
+    private IndiceContrataciones indiceContrataciones;
+
+    @Autowired
+    private SincronizacionIndiceContrataciones sincronizacionIndiceContrataciones;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Otros tests borran filas en bloque sin pasar por el servicio
+    @BeforeEach
+    @AfterEach
+    void limpiar() {
+        departamentoSalarioStatsRepository.deleteAllInBatch();
+        empleadoRepository.deleteAllInBatch();
+        departamentoRepository.deleteAllInBatch();
+        sincronizacionIndiceContrataciones.cargar();
+    }
+
+    @Test
+    void agrupaPorPeriodoConPlantillaAcumulada() {
+
+        Departamento ventas = departamentoService.guardar(departamento("Ventas"));
+        Departamento soporte = departamentoService.guardar(departamento("Soporte"));
+        empleadoService.guardar(conEmail("a@contrataciones.com").contratado(LocalDate.of(2023, 11, 20))
+                .departamento(ventas).crear());
+        empleadoService.guardar(conEmail("b@contrataciones.com").contratado(LocalDate.of(2024, 1, 5))
+                .departamento(ventas).crear());
+        empleadoService.guardar(conEmail("c@contrataciones.com").contratado(LocalDate.of(2024, 3, 31))
+                .departamento(ventas).crear());
+        empleadoService.guardar(conEmail("d@contrataciones.com").contratado(LocalDate.of(2024, 4, 1))
+                .departamento(soporte).crear());
+        empleadoService.guardar(conEmail("e@contrataciones.com").contratado(LocalDate.of(2024, 2, 10)).crear());
+        empleadoService.guardar(conEmail("f@contrataciones.com").contratado(LocalDate.of(2025, 6, 1))
+                .departamento(soporte).crear());
+
+        HistogramaContrataciones mensual = empleadoService.obtenerContrataciones(
+                LocalDate.of(2024, 1, 15), LocalDate.of(2024, 4, 2), Granularidad.MES);
+        assertEquals(List.of(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1),
+                LocalDate.of(2024, 4, 1)), mensual.periodos());
+        assertArrayEquals(new long[]{1, 1, 1, 1}, mensual.total().contrataciones());
+        assertArrayEquals(new long[]{2, 3, 4, 5}, mensual.total().plantilla());
+        assertEquals(3, mensual.departamentos().size());
+        SerieContrataciones deVentas = mensual.departamentos().get(0);
+        assertEquals(ventas.getId(), deVentas.departamentoId());
+        assertArrayEquals(new long[]{1, 0, 1, 0}, deVentas.contrataciones());
+        assertArrayEquals(new long[]{2, 2, 3, 3}, deVentas.plantilla());
+        // Los empleados sin departamento van al final
+        assertNull(mensual.departamentos().get(2).departamentoId());
+        assertArrayEquals(new long[]{0, 1, 1, 1}, mensual.departamentos().get(2).plantilla());
+
+        // Los períodos se alinean al comienzo del trimestre y del año que contienen desde
+        HistogramaContrataciones trimestral = empleadoService.obtenerContrataciones(
+                LocalDate.of(2024, 2, 15), LocalDate.of(2024, 12, 31), Granularidad.TRIMESTRE);
+        assertEquals(LocalDate.of(2024, 1, 1), trimestral.periodos().get(0));
+        assertArrayEquals(new long[]{3, 1, 0, 0}, trimestral.total().contrataciones());
+        HistogramaContrataciones anual = empleadoService.obtenerContrataciones(
+                LocalDate.of(2023, 6, 1), LocalDate.of(2025, 1, 1), Granularidad.ANIO);
+        assertArrayEquals(new long[]{1, 4, 1}, anual.total().contrataciones());
+        assertArrayEquals(new long[]{1, 5, 6}, anual.total().plantilla());
+
+        assertThrows(ConsultaInvalidaException.class, () -> empleadoService.obtenerContrataciones(
+                LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1), Granularidad.MES));
+        assertThrows(ConsultaInvalidaException.class, () -> empleadoService.obtenerContrataciones(
+                LocalDate.of(1900, 1, 1), LocalDate.of(2024, 1, 1), Granularidad.MES));
+
+    }
+
+    @Test
+    void seMantieneConLasEscriturasConfirmadas() {
+
+        Departamento ventas = departamentoService.guardar(departamento("Ventas"));
+        Departamento soporte = departamentoService.guardar(departamento("Soporte"));
+        Empleado movido = empleadoService.guardar(conEmail("movido@contrataciones.com")
+                .contratado(LocalDate.of(2024, 1, 10)).departamento(ventas).crear());
+        Long parcial = empleadoService.guardar(conEmail("parcial@contrataciones.com")
+                .contratado(LocalDate.of(2024, 2, 10)).departamento(ventas).crear()).getId();
+        Long baja = empleadoService.guardar(conEmail("baja@contrataciones.com").contratado(LocalDate.of(2024, 3, 10))
+                .departamento(soporte).crear()).getId();
+        empleadoService.guardar(conEmail("cerrado@contrataciones.com").contratado(LocalDate.of(2019, 5, 1))
+                .departamento(soporte).crear());
+        empleadoService.guardar(conEmail("queda@contrataciones.com").contratado(LocalDate.of(2022, 8, 1))
+                .departamento(ventas).crear());
+        assertCoincideConLaBase();
+
+        movido.setDepartamento(soporte);
+        movido.setFechaContratacion(LocalDate.of(2023, 12, 1));
+        empleadoService.actualizar(movido.getId(), movido);
+        assertCoincideConLaBase();
+
+        // El PATCH es un UPDATE masivo: el servicio registra la fecha y el departamento anteriores
+        empleadoService.actualizarParcial(parcial, Map.of("fechaContratacion", "2026-07-01",
+                "departamento", Map.of("id", soporte.getId())));
+        assertCoincideConLaBase();
+
+        // Una transacción revertida no deja rastro en el índice
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            empleadoService.actualizarParcial(parcial, Map.of("fechaContratacion", "2001-01-01"));
+            estado.setRollbackOnly();
+        });
+        assertCoincideConLaBase();
+
+        empleadoService.eliminarPorIds(List.of(baja));
+        assertCoincideConLaBase();
+
+        departamentoService.eliminar(soporte.getId());
+        assertCoincideConLaBase();
+        assertEquals(List.of(ventas.getId()), empleadoService.obtenerContrataciones(DESDE, HASTA, Granularidad.ANIO)
+                .departamentos().stream().map(SerieContrataciones::departamentoId).toList());
+
+    }
+
+    // El histograma mantenido con los eventos es el mismo que se arma con el conteo agrupado de la base
+    private void assertCoincideConLaBase() {
+        assertTrue(indiceContrataciones.isDisponible());
+        IndiceContrataciones desdeLaBase = new IndiceContrataciones(true);
+        desdeLaBase.reemplazar(empleadoRepository.findContratacionesPorMes().iterator());
+        int primerMes = IndiceContrataciones.aMes(DESDE);
+        int periodos = IndiceContrataciones.aMes(HASTA) - primerMes + 1;
+        List<IndiceContrataciones.Conteo> esperados = desdeLaBase.contar(primerMes, periodos, 1);
+        List<IndiceContrataciones.Conteo> actuales = indiceContrataciones.contar(primerMes, periodos, 1);
+        assertEquals(esperados.size(), actuales.size());
+        for (int i = 0; i < esperados.size(); i++) {
+            assertEquals(esperados.get(i).departamentoId(), actuales.get(i).departamentoId());
+            assertEquals(esperados.get(i).anteriores(), actuales.get(i).anteriores());
+            assertArrayEquals(esperados.get(i).contrataciones(), actuales.get(i).contrataciones());
+        }
+    }
+
+    private static Departamento departamento(String nombre) {
+        Departamento departamento = new Departamento();
+        departamento.setNombre(nombre);
+        departamento.setDescripcion("Departamento " + nombre);
+        return departamento;
+    }
+}
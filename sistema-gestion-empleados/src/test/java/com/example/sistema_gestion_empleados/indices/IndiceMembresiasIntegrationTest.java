@@ -0,0 +1,235 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.dto.MembresiaProyecto;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.exceptions.ConsultaInvalidaException;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.models.Proyecto;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoSalarioStatsRepository;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import com.example.sistema_gestion_empleados.repositories.ProyectoRepository;
+import com.example.sistema_gestion_empleados.services.EmpleadoService;
+import com.example.sistema_gestion_empleados.services.ProyectoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+import static com.example.sistema_gestion_empleados.EmpleadoDePrueba.conEmail;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sin transacción de test: el índice solo ve los cambios confirmados
+@SpringBootTest(properties = "indices.membresias.habilitado=true")
+@ActiveProfiles("test")
+class IndiceMembresiasIntegrationTest {
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private ProyectoService proyectoService;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @Autowired
+    private DepartamentoSalarioStatsRepository departamentoSalarioStatsRepository;
+
+    @Autowired
+    private IndiceMembresias indiceMembresias;
+
+    @Autowired
+    private SincronizacionIndiceMembresias sincronizacionIndiceMembresias;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void limpiar() {
+        departamentoSalarioStatsRepository.deleteAllInBatch();
+        empleadoRepository.deleteAllInBatch();
+        proyectoRepository.deleteAllInBatch();
+        sincronizacionIndiceMembresias.cargar();
+    }
+
+    @Test
+    void resuelveLasConsultasPorConjuntoComoLaTablaIntermedia() {
+
+        Proyecto a = proyectoService.guardar(proyecto("Alfa"));
+        Proyecto b = proyectoService.guardar(proyecto("Beta"));
+        Proyecto c = proyectoService.guardar(proyecto("Gamma"));
+        Long ambos = empleadoService.guardar(conEmail("ambos@empresa.com").proyectos(a, b).crear()).getId();
+        Long soloA = empleadoService.guardar(conEmail("soloa@empresa.com").proyectos(a).crear()).getId();
+        Long soloC = empleadoService.guardar(conEmail("soloc@empresa.com").proyectos(c).crear()).getId();
+        Long ninguno = empleadoService.guardar(conEmail("ninguno@empresa.com").crear()).getId();
+
+        assertTrue(indiceMembresias.isDisponible());
+        assertEquals(4, indiceMembresias.cantidadEmpleados());
+        assertEquals(List.of(ambos), ids(empleadoService.buscarEnTodosLosProyectos(List.of(a.getId(), b.getId()), null, 10)));
+        assertEquals(List.of(ambos, soloA), ids(empleadoService.buscarEnTodosLosProyectos(List.of(a.getId(), a.getId()), null, 10)));
+        assertEquals(List.of(ambos, soloA, soloC),
+                ids(empleadoService.buscarEnAlgunProyecto(List.of(a.getId(), c.getId()), null, 10)));
+        assertEquals(List.of(soloC, ninguno), ids(empleadoService.buscarEnNingunProyecto(List.of(a.getId()), null, 10)));
+        assertEquals(List.of(ninguno), ids(empleadoService.buscarEnNingunProyecto(null, null, 10)));
+        assertTrue(ids(empleadoService.buscarEnTodosLosProyectos(List.of(a.getId(), -1L), null, 10)).isEmpty());
+        assertThrows(ConsultaInvalidaException.class, () -> empleadoService.buscarEnAlgunProyecto(List.of(), null, 10));
+
+        // Las consultas sobre la tabla intermedia, que se usan sin índice, dan lo mismo
+        assertEquals(proyectoRepository.findDotaciones(), proyectoService.obtenerDotaciones());
+        assertEquals(List.of(ambos), ids(empleadoRepository.findVistasEnTodosLosProyectosDespuesDe(
+                List.of(a.getId(), b.getId()), 2, 0L, Limit.of(10))));
+        assertEquals(List.of(ambos, soloA, soloC), ids(empleadoRepository.findVistasEnAlgunProyectoDespuesDe(
+                List.of(a.getId(), c.getId()), 0L, Limit.of(10))));
+        assertEquals(List.of(soloC, ninguno), ids(empleadoRepository.findVistasEnNingunProyectoDespuesDe(
+                List.of(a.getId()), 0L, Limit.of(10))));
+        assertEquals(List.of(ninguno), ids(empleadoRepository.findVistasSinProyectosDespuesDe(0L, Limit.of(10))));
+
+        Pagina<EmpleadoVista> primera = empleadoService.buscarEnAlgunProyecto(List.of(a.getId(), c.getId()), null, 2);
+        assertEquals(List.of(ambos, soloA), ids(primera));
+        Pagina<EmpleadoVista> segunda = empleadoService.buscarEnAlgunProyecto(
+                List.of(a.getId(), c.getId()), primera.siguienteCursor(), 2);
+        assertEquals(List.of(soloC), ids(segunda));
+        assertNull(segunda.siguienteCursor());
+
+    }
+
+    @Test
+    void seMantieneConLasEscriturasConfirmadas() {
+
+        Proyecto a = proyectoService.guardar(proyecto("Alfa"));
+        Proyecto b = proyectoService.guardar(proyecto("Beta"));
+        Empleado guardado = empleadoService.guardar(conEmail("tomas@empresa.com").proyectos(a).crear());
+        Long id = guardado.getId();
+        assertEquals(List.of(id), ids(empleadoService.buscarEnTodosLosProyectos(List.of(a.getId()), null, 10)));
+
+        // PUT: Hibernate reemplaza la colección
+        guardado.setProyectos(Set.of(b));
+        empleadoService.actualizar(id, guardado);
+        assertTrue(ids(empleadoService.buscarEnTodosLosProyectos(List.of(a.getId()), null, 10)).isEmpty());
+        assertEquals(List.of(id), ids(empleadoService.buscarEnTodosLosProyectos(List.of(b.getId()), null, 10)));
+
+        // PATCH: la tabla intermedia se reescribe por SQL nativo, sin eventos de colección
+        empleadoService.actualizarParcial(id, Map.of("proyectos", List.of(Map.of("id", a.getId()), Map.of("id", b.getId()))));
+        assertEquals(List.of(id), ids(empleadoService.buscarEnTodosLosProyectos(List.of(a.getId(), b.getId()), null, 10)));
+        empleadoService.actualizarParcial(id, Map.of("proyectos", List.of()));
+        assertEquals(List.of(id), ids(empleadoService.buscarEnNingunProyecto(null, null, 10)));
+
+        // Una transacción revertida no deja rastro en el índice
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            empleadoService.actualizarParcial(id, Map.of("proyectos", List.of(Map.of("id", a.getId()))));
+            estado.setRollbackOnly();
+        });
+        assertTrue(ids(empleadoService.buscarEnAlgunProyecto(List.of(a.getId()), null, 10)).isEmpty());
+
+        Long otro = empleadoService.guardar(conEmail("otro@empresa.com").proyectos(a).crear()).getId();
+        empleadoService.eliminarPorIds(List.of(otro));
+        empleadoService.eliminar(id);
+        assertEquals(0, indiceMembresias.cantidadEmpleados());
+        assertEquals(0, proyectoService.obtenerDotaciones().get(0).empleados());
+
+        proyectoService.eliminar(a.getId());
+        assertEquals(List.of(b.getId()), proyectoService.obtenerDotaciones().stream().map(d -> d.proyectoId()).toList());
+
+    }
+
+    // Ids repartidos en varios contenedores de 65536, con proyectos que pasan de arreglo a mapa de bits y vuelven;
+    // cada resultado se compara con el mismo cálculo sobre conjuntos ordenados
+    @Test
+    void coincideConConjuntosOrdenados() {
+
+        IndiceMembresias indice = new IndiceMembresias(true);
+        Random aleatorio = new Random(20);
+        int proyectos = 5;
+        long maximoId = 300_000;
+        List<TreeSet<Long>> esperados = new ArrayList<>();
+        List<MembresiaProyecto> membresias = new ArrayList<>();
+        for (long proyecto = 1; proyecto <= proyectos; proyecto++) {
+            // El primer proyecto es denso: supera los 4096 valores por contenedor
+            double densidad = proyecto == 1 ? 0.4 : 0.02 * proyecto;
+            TreeSet<Long> miembros = new TreeSet<>();
+            for (long id = 1; id <= maximoId; id++) {
+                if (aleatorio.nextDouble() < densidad) {
+                    miembros.add(id);
+                    membresias.add(new MembresiaProyecto(id, proyecto));
+                }
+            }
+            esperados.add(miembros);
+        }
+        indice.reemplazar(LongStream.rangeClosed(1, proyectos).boxed().iterator(),
+                LongStream.rangeClosed(1, maximoId).boxed().iterator(), membresias.iterator());
+
+        // Bajas que devuelven al proyecto denso por debajo del umbral en el primer contenedor
+        List<IndiceMembresias.Cambio> bajas = new ArrayList<>();
+        for (long id = 1; id < 60_000; id++) {
+            if (id % 3 != 0) {
+                bajas.add(IndiceMembresias.Cambio.bajaEmpleado(id));
+                for (TreeSet<Long> miembros : esperados) {
+                    miembros.remove(id);
+                }
+            }
+        }
+        indice.aplicar(bajas);
+        TreeSet<Long> todos = new TreeSet<>();
+        LongStream.rangeClosed(1, maximoId).filter(id -> id >= 60_000 || id % 3 == 0).forEach(todos::add);
+
+        TreeSet<Long> enTodos = new TreeSet<>(esperados.get(0));
+        enTodos.retainAll(esperados.get(2));
+        enTodos.retainAll(esperados.get(4));
+        assertArrayEquals(aArreglo(enTodos), indice.idsEnTodos(new long[]{1, 3, 5}, 0, Integer.MAX_VALUE));
+
+        TreeSet<Long> enAlguno = new TreeSet<>(esperados.get(0));
+        enAlguno.addAll(esperados.get(1));
+        assertArrayEquals(aArreglo(enAlguno), indice.idsEnAlguno(new long[]{1, 2}, 0, Integer.MAX_VALUE));
+        assertArrayEquals(Arrays.copyOf(aArreglo(enAlguno.tailSet(70_000L, false)), 100),
+                indice.idsEnAlguno(new long[]{1, 2}, 70_000, 100));
+
+        TreeSet<Long> enNinguno = new TreeSet<>(todos);
+        esperados.forEach(enNinguno::removeAll);
+        assertArrayEquals(aArreglo(enNinguno), indice.idsEnNinguno(new long[0], 0, Integer.MAX_VALUE));
+
+        for (int i = 0; i < proyectos; i++) {
+            assertEquals(esperados.get(i).size(), indice.dotaciones().get(i).empleados());
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> indice.aplicar(List.of(IndiceMembresias.Cambio.asignaciones(MapaBits.MAXIMO_ID + 1, new long[]{1}))));
+
+    }
+
+    private static long[] aArreglo(Set<Long> ids) {
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static List<Long> ids(Pagina<EmpleadoVista> pagina) {
+        return ids(pagina.contenido());
+    }
+
+    private static List<Long> ids(List<EmpleadoVista> vistas) {
+        return vistas.stream().map(EmpleadoVista::id).toList();
+    }
+
+    private static Proyecto proyecto(String nombre) {
+        Proyecto proyecto = new Proyecto();
+        proyecto.setNombre(nombre);
+        proyecto.setFechaInicio(LocalDate.now());
+        proyecto.setFechaFin(LocalDate.now().plusMonths(6));
+        return proyecto;
+    }
+}
@@ -0,0 +1,233 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import com.example.sistema_gestion_empleados.dto.Cursor;
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.exceptions.PaginacionInvalidaException;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoSalarioStatsRepository;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import com.example.sistema_gestion_empleados.services.EmpleadoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.example.sistema_gestion_empleados.EmpleadoDePrueba.conEmail;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sin transacción de test: el índice solo ve los cambios confirmados
+@SpringBootTest(properties = "indices.salarios.habilitado=true")
+@ActiveProfiles("test")
+class IndiceSalariosIntegrationTest {
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private DepartamentoSalarioStatsRepository departamentoSalarioStatsRepository;
+
+    @Autowired
+    private IndiceSalarios indiceSalarios;
+
+    @Autowired
+    private SincronizacionIndiceSalarios sincronizacionIndiceSalarios;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private int secuencia;
+
+    @AfterEach
+    void limpiar() {
+        departamentoSalarioStatsRepository.deleteAllInBatch();
+        empleadoRepository.deleteAllInBatch();
+        sincronizacionIndiceSalarios.cargar();
+    }
+
+    @Test
+    void respondeRangosConteosYMayoresSalarios() {
+
+        List<Empleado> guardados = new ArrayList<>();
+        for (String salario : List.of("30000.00", "45000.50", "45000.50", "60000.00", "90000.00")) {
+            guardados.add(empleadoService.guardar(conEmail(siguienteEmail()).salario(salario).crear()));
+        }
+
+        assertTrue(indiceSalarios.isDisponible());
+        assertEquals(5, indiceSalarios.tamanio());
+        assertEquals(3, empleadoService.contarPorRangoSalario(new BigDecimal("45000.50"), new BigDecimal("60000")));
+        assertEquals(0, empleadoService.contarPorRangoSalario(new BigDecimal("45000.51"), new BigDecimal("45000.49")));
+
+        Pagina<EmpleadoVista> primera = empleadoService.buscarPorRangoSalario(
+                new BigDecimal("40000"), new BigDecimal("100000"), null, 2);
+        assertEquals(List.of(guardados.get(1).getId(), guardados.get(2).getId()),
+                primera.contenido().stream().map(EmpleadoVista::id).toList());
+        Pagina<EmpleadoVista> segunda = empleadoService.buscarPorRangoSalario(
+                new BigDecimal("40000"), new BigDecimal("100000"), primera.siguienteCursor(), 2);
+        assertEquals(List.of(guardados.get(3).getId(), guardados.get(4).getId()),
+                segunda.contenido().stream().map(EmpleadoVista::id).toList());
+        assertNull(segunda.siguienteCursor());
+        // Un cursor por id de la consulta JPQL no es una posición en el índice
+        assertThrows(PaginacionInvalidaException.class, () -> empleadoService.buscarPorRangoSalario(
+                new BigDecimal("40000"), new BigDecimal("100000"), Cursor.codificar(guardados.get(2).getId()), 2));
+
+        assertEquals(List.of(guardados.get(4).getId(), guardados.get(3).getId()),
+                empleadoService.buscarMayoresSalarios(2).stream().map(EmpleadoVista::id).toList());
+
+    }
+
+    @Test
+    void seMantieneConLasEscriturasConfirmadas() {
+
+        Empleado bajo = empleadoService.guardar(conEmail(siguienteEmail()).salario("30000.00").crear());
+        Empleado alto = empleadoService.guardar(conEmail(siguienteEmail()).salario("90000.00").crear());
+
+        Empleado aumento = conEmail(siguienteEmail()).salario("120000.00").crear();
+        aumento.setEmail(bajo.getEmail());
+        empleadoService.actualizar(bajo.getId(), aumento);
+        assertEquals(List.of(bajo.getId()), empleadoService.buscarMayoresSalarios(1).stream()
+                .map(EmpleadoVista::id).toList());
+        assertEquals(0, empleadoService.contarPorRangoSalario(new BigDecimal("0"), new BigDecimal("50000")));
+
+        empleadoService.eliminar(alto.getId());
+        assertEquals(1, indiceSalarios.tamanio());
+
+        // Una transacción revertida no deja rastro en el índice
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            empleadoService.guardar(conEmail(siguienteEmail()).salario("10000.00").crear());
+            estado.setRollbackOnly();
+        });
+        assertEquals(1, indiceSalarios.tamanio());
+        assertEquals(0, empleadoService.contarPorRangoSalario(new BigDecimal("0"), new BigDecimal("50000")));
+
+    }
+
+    @Test
+    void seMantieneConLosBorradosMasivos() {
+
+        Empleado bajo = empleadoService.guardar(conEmail(siguienteEmail()).salario("30000.00").crear());
+        Empleado medio = empleadoService.guardar(conEmail(siguienteEmail()).salario("50000.00").crear());
+        empleadoService.guardar(conEmail(siguienteEmail()).salario("90000.00").crear());
+
+        empleadoService.eliminarPorIds(List.of(bajo.getId(), medio.getId()));
+
+        assertEquals(1, indiceSalarios.tamanio());
+        assertEquals(0, empleadoService.contarPorRangoSalario(new BigDecimal("0"), new BigDecimal("60000")));
+
+    }
+
+    // Cada PATCH lee el salario anterior con la fila bloqueada y el índice aplica los lotes en el orden de los
+    // turnos, aunque los afterCommit de los hilos se crucen
+    @Test
+    void losPatchConcurrentesDelSalarioDejanUnaSolaEntrada() throws Exception {
+
+        Long id = empleadoService.guardar(conEmail(siguienteEmail()).salario("30000.00").crear()).getId();
+        int hilos = 4;
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> resultados = new ArrayList<>();
+        try (ExecutorService ejecutor = Executors.newFixedThreadPool(hilos)) {
+            for (int i = 0; i < hilos; i++) {
+                String salario = (40000 + i * 1000) + ".00";
+                resultados.add(ejecutor.submit(() -> {
+                    largada.await();
+                    empleadoService.actualizarParcial(id, Map.of("salario", salario));
+                    return null;
+                }));
+            }
+            largada.countDown();
+        }
+        for (Future<?> resultado : resultados) {
+            resultado.get();
+        }
+
+        assertEquals(1, indiceSalarios.tamanio());
+        BigDecimal salario = empleadoRepository.findById(id).orElseThrow().getSalario();
+        assertEquals(1, empleadoService.contarPorRangoSalario(salario, salario));
+
+    }
+
+    // Más lotes que el umbral del delta contra un modelo de referencia, con un lote que llega fuera de orden
+    // mientras se consolida
+    @Test
+    void consolidaElDeltaSinPerderNiReordenarCambios() {
+
+        IndiceSalarios indice = new IndiceSalarios(true);
+        indice.reemplazar(new long[0], new long[0]);
+        Map<Long, Long> modelo = new HashMap<>();
+        Random azar = new Random(42);
+
+        // Dos transacciones sobre el empleado 1: la segunda confirma y se aplica antes que la primera
+        indice.aplicar(List.of(IndiceSalarios.Cambio.alta(1, 1_000)));
+        long primera = indice.abrirTurno();
+        long segunda = indice.abrirTurno();
+        indice.aplicar(List.of(IndiceSalarios.Cambio.baja(1, 2_000).enTurno(segunda),
+                IndiceSalarios.Cambio.alta(1, 3_000).enTurno(indice.siguienteTurno())));
+        indice.cerrarTurno(segunda);
+        modelo.put(1L, 3_000L);
+
+        for (int i = 0; i < IndiceSalarios.UMBRAL_MINIMO * 50; i++) {
+            long id = 2 + azar.nextInt(1_000);
+            List<IndiceSalarios.Cambio> cambios = new ArrayList<>();
+            Long anterior = modelo.get(id);
+            if (anterior != null) {
+                cambios.add(IndiceSalarios.Cambio.baja(id, anterior));
+            }
+            if (azar.nextInt(10) == 0) {
+                modelo.remove(id);
+            } else {
+                long nuevo = 100L * azar.nextInt(500);
+                modelo.put(id, nuevo);
+                cambios.add(IndiceSalarios.Cambio.alta(id, nuevo));
+            }
+            indice.aplicar(cambios);
+        }
+
+        // El turno abierto retuvo la consolidación del empleado 1: el lote atrasado no pisa el salario posterior
+        indice.aplicar(List.of(IndiceSalarios.Cambio.baja(1, 1_000).enTurno(primera),
+                IndiceSalarios.Cambio.alta(1, 2_000).enTurno(primera)));
+        indice.cerrarTurno(primera);
+
+        List<long[]> ordenados = modelo.entrySet().stream()
+                .map(entrada -> new long[]{entrada.getValue(), entrada.getKey()})
+                .sorted(Comparator.<long[]>comparingLong(par -> par[0]).thenComparingLong(par -> par[1]))
+                .toList();
+        assertEquals(modelo.size(), indice.tamanio());
+        for (long[] rango : new long[][]{{0, 10_000}, {2_500, 3_000}, {25_000, 49_900}, {0, Long.MAX_VALUE}}) {
+            assertEquals(ordenados.stream().filter(par -> par[0] >= rango[0] && par[0] <= rango[1]).count(),
+                    indice.contar(rango[0], rango[1]));
+        }
+        // Una página desde el par 100 y otra desde antes del mínimo de un rango, en orden de (centavos, id)
+        long[] cursor = ordenados.get(100);
+        List<long[]> siguientes = ordenados.subList(101, 151);
+        IndiceSalarios.Tramo tramo = indice.enRango(0, Long.MAX_VALUE, cursor[0], cursor[1], 50);
+        assertArrayEquals(siguientes.stream().mapToLong(par -> par[1]).toArray(), tramo.ids());
+        assertArrayEquals(siguientes.stream().mapToLong(par -> par[0]).toArray(), tramo.centavos());
+        assertArrayEquals(ordenados.stream().filter(par -> par[0] >= 2_500 && par[0] <= 30_000).limit(50)
+                .mapToLong(par -> par[1]).toArray(), indice.enRango(2_500, 30_000, 0, 0, 50).ids());
+        assertArrayEquals(ordenados.reversed().stream().limit(20).mapToLong(par -> par[1]).toArray(),
+                indice.mayores(20));
+
+    }
+
+    private String siguienteEmail() {
+        return "indice" + secuencia++ + "@empresa.com";
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import com.example.sistema_gestion_empleados.dto.Cursor;
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.dto.TextoEmpleado;
+import com.example.sistema_gestion_empleados.exceptions.PaginacionInvalidaException;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoSalarioStatsRepository;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import com.example.sistema_gestion_empleados.services.EmpleadoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.sistema_gestion_empleados.EmpleadoDePrueba.conEmail;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sin transacción de test: el índice solo ve los cambios confirmados
+@SpringBootTest(properties = "indices.busqueda.habilitado=true")
+@ActiveProfiles("test")
+class IndiceTrigramasIntegrationTest {
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private DepartamentoSalarioStatsRepository departamentoSalarioStatsRepository;
+
+    @Autowired
+    private IndiceTrigramas indiceTrigramas;
+
+    @Autowired
+    private SincronizacionIndiceTrigramas sincronizacionIndiceTrigramas;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void limpiar() {
+        departamentoSalarioStatsRepository.deleteAllInBatch();
+        empleadoRepository.deleteAllInBatch();
+        sincronizacionIndiceTrigramas.cargar();
+    }
+
+    @Test
+    void ordenaPorParecidoConPrefijosYErrores() {
+
+        Long mariano = empleadoService.guardar(conEmail("mperez@empresa.com").nombre("Mariano")
+                .apellido("Pérez Castillo").crear()).getId();
+        Long maria = empleadoService.guardar(conEmail("mgimenez@empresa.com").nombre("María")
+                .apellido("Giménez").crear()).getId();
+        empleadoService.guardar(conEmail("oruiz@empresa.com").nombre("Omar").apellido("Ruiz").crear());
+        empleadoService.guardar(conEmail("lfernandez@empresa.com").nombre("Lucía").apellido("Fernández").crear());
+
+        assertTrue(indiceTrigramas.isDisponible());
+        assertEquals(4, indiceTrigramas.tamanio());
+
+        // A igual puntaje va primero el documento más corto; "omar" contiene "mar" pero no empieza con él
+        assertEquals(List.of(maria, mariano), ids(empleadoService.buscarPorTexto("maria", null, 10)));
+        assertEquals(List.of(maria, mariano), ids(empleadoService.buscarPorTexto("mar", null, 10)));
+        // Sin tildes y con un error de tipeo
+        assertEquals(List.of(maria), ids(empleadoService.buscarPorTexto("gimenes", null, 10)));
+        // Por email; el otro email comparte la mitad de los trigramas ("emp", "ez ") y queda segundo
+        assertEquals(List.of(mariano, maria), ids(empleadoService.buscarPorTexto("mperez@emp", null, 10)));
+        assertTrue(empleadoService.buscarPorTexto("zzz", null, 10).contenido().isEmpty());
+
+        Pagina<EmpleadoVista> primera = empleadoService.buscarPorTexto("mar", null, 1);
+        assertEquals(List.of(maria), ids(primera));
+        Pagina<EmpleadoVista> segunda = empleadoService.buscarPorTexto("mar", primera.siguienteCursor(), 1);
+        assertEquals(List.of(mariano), ids(segunda));
+        assertNull(segunda.siguienteCursor());
+        // Un cursor de la búsqueda por LIKE no es una posición en el ranking
+        assertThrows(PaginacionInvalidaException.class,
+                () -> empleadoService.buscarPorTexto("mar", Cursor.codificar(maria), 1));
+
+    }
+
+    @Test
+    void seMantieneConLasEscriturasConfirmadas() {
+
+        Empleado guardado = empleadoService.guardar(conEmail("tacosta@empresa.com").nombre("Tomás")
+                .apellido("Acosta").crear());
+        Long id = guardado.getId();
+        assertEquals(List.of(id), ids(empleadoService.buscarPorTexto("acosta", null, 10)));
+
+        empleadoService.actualizar(id, conEmail("tbenitez@empresa.com").nombre("Tomás").apellido("Benítez").crear());
+        assertTrue(ids(empleadoService.buscarPorTexto("acosta", null, 10)).isEmpty());
+        assertEquals(List.of(id), ids(empleadoService.buscarPorTexto("benitez", null, 10)));
+
+        // El PATCH es un UPDATE masivo: el servicio reindexa sin eventos de Hibernate
+        empleadoService.actualizarParcial(id, Map.of("apellido", "Castro", "email", "tcastro@empresa.com"));
+        assertTrue(ids(empleadoService.buscarPorTexto("benitez", null, 10)).isEmpty());
+        assertEquals(List.of(id), ids(empleadoService.buscarPorTexto("castro", null, 10)));
+
+        // Una transacción revertida no deja rastro en el índice
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            empleadoService.guardar(conEmail("tdominguez@empresa.com").nombre("Tomás").apellido("Domínguez").crear());
+            estado.setRollbackOnly();
+        });
+        assertTrue(ids(empleadoService.buscarPorTexto("dominguez", null, 10)).isEmpty());
+
+        Long otro = empleadoService.guardar(conEmail("tomas.castro@empresa.com").nombre("Tomás")
+                .apellido("Castro").crear()).getId();
+        empleadoService.eliminar(id);
+        assertEquals(List.of(otro), ids(empleadoService.buscarPorTexto("castro", null, 10)));
+
+        empleadoService.eliminarPorIds(List.of(otro));
+        assertTrue(ids(empleadoService.buscarPorTexto("castro", null, 10)).isEmpty());
+        assertEquals(0, indiceTrigramas.tamanio());
+
+    }
+
+    // Más de 1024 bajas sobre 2000 documentos fuerzan la compactación; los vigentes conservan su orden
+    @Test
+    void compactaLosDocumentosBorrados() {
+
+        IndiceTrigramas indice = new IndiceTrigramas(true);
+        List<TextoEmpleado> textos = new ArrayList<>();
+        for (long id = 1; id <= 2000; id++) {
+            textos.add(new TextoEmpleado(id, "Nombre" + id, "Apellido", "empleado" + id + "@empresa.com"));
+        }
+        indice.reemplazar(textos.iterator());
+
+        List<IndiceTrigramas.Cambio> bajas = new ArrayList<>();
+        for (long id = 1; id <= 1500; id++) {
+            bajas.add(IndiceTrigramas.Cambio.baja(id));
+        }
+        indice.aplicar(bajas);
+        indice.aplicar(List.of(IndiceTrigramas.Cambio.alta(new TextoEmpleado(1999L, "Zoe", "Apellido", "zoe@empresa.com"))));
+
+        assertEquals(500, indice.tamanio());
+        for (long id = 1501; id <= 2000; id++) {
+            if (id != 1999) {
+                assertEquals(id, indice.buscar("nombre" + id + " ", 0, 1)[0]);
+            }
+        }
+        assertArrayEquals(new long[]{1999}, indice.buscar("zoe", 0, 10));
+        assertNotEquals(1999L, indice.buscar("nombre1999 ", 0, 1)[0]);
+        assertNotEquals(1200L, indice.buscar("nombre1200 ", 0, 1)[0]);
+
+    }
+
+    private static List<Long> ids(Pagina<EmpleadoVista> pagina) {
+        return pagina.contenido().stream().map(EmpleadoVista::id).toList();
+    }
+}
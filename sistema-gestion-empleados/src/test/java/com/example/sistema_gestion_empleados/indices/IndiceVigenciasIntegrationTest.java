@@ -0,0 +1,172 @@
+package com.example.sistema_gestion_empleados.indices;
+
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.dto.ProyectoVista;
+import com.example.sistema_gestion_empleados.dto.VigenciaMensual;
+import com.example.sistema_gestion_empleados.dto.VigenciaProyecto;
+import com.example.sistema_gestion_empleados.exceptions.ConsultaInvalidaException;
+import com.example.sistema_gestion_empleados.models.Proyecto;
+import com.example.sistema_gestion_empleados.repositories.ProyectoRepository;
+import com.example.sistema_gestion_empleados.services.ProyectoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sin transacción de test: el índice solo ve los cambios confirmados
+@SpringBootTest(properties = "indices.vigencias.habilitado=true")
+@ActiveProfiles("test")
+class IndiceVigenciasIntegrationTest {
+    private static final LocalDate ENERO = LocalDate.of(2026, 1, 1);
+
+    @Autowired
+    private ProyectoService proyectoService;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @Autowired
+    private IndiceVigencias indiceVigencias;
+
+    @Autowired
+    private SincronizacionIndiceVigencias sincronizacionIndiceVigencias;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void limpiar() {
+        proyectoRepository.deleteAllInBatch();
+        sincronizacionIndiceVigencias.cargar();
+    }
+
+    @Test
+    void consideraInicioYFinComoLaConsultaSobreLaTabla() {
+
+        Long enero = proyectoService.guardar(proyecto("Enero", ENERO, LocalDate.of(2026, 1, 31))).getId();
+        Long anual = proyectoService.guardar(proyecto("Anual", ENERO, LocalDate.of(2026, 12, 31))).getId();
+        Long futuro = proyectoService.guardar(proyecto("Futuro", LocalDate.of(2026, 6, 1), null)).getId();
+        Long sinInicio = proyectoService.guardar(proyecto("Sin inicio", null, LocalDate.of(2026, 3, 15))).getId();
+        proyectoService.guardar(proyecto("Invertido", LocalDate.of(2026, 5, 1), LocalDate.of(2026, 4, 1)));
+
+        assertTrue(indiceVigencias.isDisponible());
+        assertEquals(4, indiceVigencias.tamanio());
+        assertEquals(List.of(enero, anual, sinInicio), ids(proyectoService.buscarVigentes(ENERO.plusDays(30), ENERO.plusDays(30), null, 10)));
+        assertEquals(List.of(anual, sinInicio), ids(proyectoService.buscarVigentes(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 1), null, 10)));
+        assertEquals(List.of(anual, futuro), ids(proyectoService.buscarVigentes(LocalDate.of(2026, 4, 1), LocalDate.of(2026, 6, 1), null, 10)));
+        assertEquals(List.of(futuro), ids(proyectoService.buscarVigentes(LocalDate.of(2030, 1, 1), LocalDate.of(2030, 1, 1), null, 10)));
+        assertThrows(ConsultaInvalidaException.class,
+                () -> proyectoService.buscarVigentes(LocalDate.of(2026, 2, 1), ENERO, null, 10));
+
+        List<Long> porMes = proyectoService.contarVigentesPorMes(2026).stream().map(VigenciaMensual::proyectos).toList();
+        assertEquals(List.of(3L, 2L, 2L, 1L, 1L, 2L, 2L, 2L, 2L, 2L, 2L, 2L), porMes);
+
+        // La consulta sobre la tabla, que se usa sin índice, da lo mismo
+        for (int mes = 1; mes <= 12; mes++) {
+            LocalDate inicio = LocalDate.of(2026, mes, 1);
+            LocalDate fin = inicio.plusMonths(1).minusDays(1);
+            assertEquals(porMes.get(mes - 1), proyectoRepository.countVigentes(inicio, fin));
+            assertEquals(ids(proyectoService.buscarVigentes(inicio, fin, null, 10)),
+                    proyectoRepository.findVistasVigentesDespuesDe(inicio, fin, 0L, Limit.of(10)).stream()
+                            .map(ProyectoVista::id).toList());
+        }
+
+        Pagina<ProyectoVista> primera = proyectoService.buscarVigentes(ENERO, ENERO, null, 2);
+        assertEquals(List.of(enero, anual), ids(primera));
+        Pagina<ProyectoVista> segunda = proyectoService.buscarVigentes(ENERO, ENERO, primera.siguienteCursor(), 2);
+        assertEquals(List.of(sinInicio), ids(segunda));
+        assertNull(segunda.siguienteCursor());
+
+    }
+
+    @Test
+    void seMantieneConLasEscriturasConfirmadas() {
+
+        Proyecto guardado = proyectoService.guardar(proyecto("Migración", ENERO, LocalDate.of(2026, 1, 31)));
+        Long id = guardado.getId();
+        LocalDate marzo = LocalDate.of(2026, 3, 10);
+        assertTrue(ids(proyectoService.buscarVigentes(marzo, marzo, null, 10)).isEmpty());
+
+        guardado.setFechaFin(LocalDate.of(2026, 3, 31));
+        proyectoService.actualizar(id, guardado);
+        assertEquals(List.of(id), ids(proyectoService.buscarVigentes(marzo, marzo, null, 10)));
+
+        // El PATCH es un UPDATE masivo: el servicio relee las fechas sin eventos de Hibernate
+        proyectoService.actualizarParcial(id, Map.of("fechaInicio", "2026-03-15"));
+        assertTrue(ids(proyectoService.buscarVigentes(marzo, marzo, null, 10)).isEmpty());
+        assertEquals(List.of(id), ids(proyectoService.buscarVigentes(marzo, marzo.plusDays(5), null, 10)));
+
+        // Una transacción revertida no deja rastro en el índice
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            proyectoService.actualizarParcial(id, Map.of("fechaInicio", "2026-03-01"));
+            estado.setRollbackOnly();
+        });
+        assertTrue(ids(proyectoService.buscarVigentes(marzo, marzo, null, 10)).isEmpty());
+
+        proyectoService.eliminar(id);
+        assertEquals(0, indiceVigencias.tamanio());
+
+    }
+
+    // Intervalos al azar, con y sin fechas, contra el recorrido de todos
+    @Test
+    void coincideConElRecorridoCompleto() {
+
+        IndiceVigencias indice = new IndiceVigencias(true);
+        Random aleatorio = new Random(21);
+        List<VigenciaProyecto> vigencias = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            LocalDate inicio = aleatorio.nextInt(10) == 0 ? null : ENERO.plusDays(aleatorio.nextInt(730));
+            LocalDate fin = aleatorio.nextInt(10) == 0 ? null
+                    : (inicio == null ? ENERO : inicio).plusDays(aleatorio.nextInt(200) - 10);
+            vigencias.add(new VigenciaProyecto(id, inicio, fin));
+        }
+        indice.reemplazar(vigencias.subList(0, 400).iterator());
+        List<IndiceVigencias.Cambio> cambios = new ArrayList<>();
+        vigencias.subList(400, 500).forEach(vigencia -> cambios.add(IndiceVigencias.Cambio.alta(vigencia)));
+        for (long id = 1; id <= 50; id++) {
+            cambios.add(IndiceVigencias.Cambio.baja(id));
+        }
+        indice.aplicar(cambios);
+        List<VigenciaProyecto> vigentes = vigencias.subList(50, 500);
+
+        for (int consulta = 0; consulta < 200; consulta++) {
+            LocalDate desde = ENERO.plusDays(aleatorio.nextInt(800) - 30);
+            LocalDate hasta = desde.plusDays(aleatorio.nextInt(60));
+            long[] esperados = vigentes.stream()
+                    .filter(v -> (v.fechaInicio() == null || !v.fechaInicio().isAfter(hasta))
+                            && (v.fechaFin() == null || !v.fechaFin().isBefore(desde))
+                            && (v.fechaInicio() == null || v.fechaFin() == null || !v.fechaInicio().isAfter(v.fechaFin())))
+                    .mapToLong(VigenciaProyecto::id)
+                    .sorted()
+                    .toArray();
+            assertEquals(esperados.length, indice.contar(desde, hasta));
+            assertArrayEquals(esperados, indice.idsVigentes(desde, hasta, 0, Integer.MAX_VALUE));
+        }
+
+    }
+
+    private static List<Long> ids(Pagina<ProyectoVista> pagina) {
+        return pagina.contenido().stream().map(ProyectoVista::id).toList();
+    }
+
+    private static Proyecto proyecto(String nombre, LocalDate inicio, LocalDate fin) {
+        Proyecto proyecto = new Proyecto();
+        proyecto.setNombre(nombre);
+        proyecto.setFechaInicio(inicio);
+        proyecto.setFechaFin(fin);
+        return proyecto;
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.sistema_gestion_empleados.metricas;
+
+import com.example.sistema_gestion_empleados.models.Departamento;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoRepository;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import com.example.sistema_gestion_empleados.services.EmpleadoService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Transactional
+@ActiveProfiles("test")
+public class MetricasIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void registraCargaDeHibernatePorMetodoDeServicio() {
+        Departamento departamento = new Departamento();
+        departamento.setNombre("IT");
+        departamento.setDescripcion("Informatica");
+        departamentoRepository.save(departamento);
+        for (int i = 0; i < 3; i++) {
+            Empleado empleado = new Empleado();
+            empleado.setNombre("Empleado" + i);
+            empleado.setApellido("Metricas");
+            empleado.setEmail("metricas" + i + "@gmail.com");
+            empleado.setFechaContratacion(LocalDate.of(2024, 1, 1));
+            empleado.setSalario(new BigDecimal("1000.00"));
+            empleado.setDepartamento(departamento);
+            empleadoRepository.save(empleado);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        DistributionSummary sentencias = DistributionSummary.builder("servicio.sql.sentencias")
+                .tags("clase", "EmpleadoServiceImpl", "metodo", "obtenerTodos")
+                .register(meterRegistry);
+        DistributionSummary entidades = DistributionSummary.builder("servicio.hibernate.entidades.cargadas")
+                .tags("clase", "EmpleadoServiceImpl", "metodo", "obtenerTodos")
+                .register(meterRegistry);
+        long llamadasPrevias = sentencias.count();
+        double sentenciasPrevias = sentencias.totalAmount();
+        double entidadesPrevias = entidades.totalAmount();
+
+        empleadoService.obtenerTodos();
+
+        assertEquals(llamadasPrevias + 1, sentencias.count());
+        assertTrue(sentencias.totalAmount() - sentenciasPrevias >= 1);
+        assertTrue(entidades.totalAmount() - entidadesPrevias >= 3);
+        assertNotNull(meterRegistry.find("servicio.llamadas")
+                .tags("clase", "EmpleadoServiceImpl", "metodo", "obtenerTodos", "resultado", "exito")
+                .timer());
+    }
+
+    @Test
+    void exponeMetricasEnFormatoPrometheus() throws Exception {
+        mockMvc.perform(get("/api/departamentos")).andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{error=\"none\","
+                        + "exception=\"none\",method=\"GET\",outcome=\"SUCCESS\",status=\"200\","
+                        + "uri=\"/api/departamentos\",le=")))
+                .andExpect(content().string(containsString("servicio_llamadas_seconds_bucket")))
+                .andExpect(content().string(containsString("servicio_sql_sentencias_sum")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total")))
+                .andExpect(content().string(containsString("hibernate_second_level_cache_requests_total{"
+                        + "entityManagerFactory=\"entityManagerFactory\",region=\"departamentos\"")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")));
+    }
+
+    @Test
+    void exponeEstadisticasDeLasRegionesDeHibernate() throws Exception {
+        mockMvc.perform(get("/api/cache/regiones"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.nombre == 'departamentos')]").exists())
+                .andExpect(jsonPath("$[?(@.nombre == 'proyectos-activos')]").exists())
+                .andExpect(jsonPath("$[?(@.nombre == 'default-update-timestamps-region')]").exists());
+    }
+}
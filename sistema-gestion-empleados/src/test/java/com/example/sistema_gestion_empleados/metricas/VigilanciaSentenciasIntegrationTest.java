@@ -0,0 +1,99 @@
+package com.example.sistema_gestion_empleados.metricas;
+
+import com.example.sistema_gestion_empleados.exceptions.SentenciasSqlExcedidasException;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.models.Proyecto;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import com.example.sistema_gestion_empleados.repositories.ProyectoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// El perfil test corre en modo FALLAR; el conteo por salario tiene presupuesto cero para probar el límite
+@SpringBootTest(properties = "sql.vigilancia.presupuestos.[GET\\ /api/empleados/salario/cantidad]=0")
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+class VigilanciaSentenciasIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private VigilanciaSentencias vigilanciaSentencias;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        empleadoRepository.deleteAll();
+        proyectoRepository.deleteAll();
+    }
+
+    @Test
+    void detectaElRecorridoDeUnaAsociacionLazy() {
+
+        Proyecto proyecto = new Proyecto();
+        proyecto.setNombre("Vigilado");
+        proyectoRepository.save(proyecto);
+        for (int i = 0; i < 12; i++) {
+            Empleado empleado = new Empleado();
+            empleado.setNombre("Empleado" + i);
+            empleado.setApellido("Vigilado");
+            empleado.setEmail("vigilado" + i + "@empresa.com");
+            empleado.setFechaContratacion(LocalDate.of(2024, 1, 1));
+            empleado.setSalario(new BigDecimal("1000.00"));
+            empleado.setProyectos(Set.of(proyecto));
+            empleadoRepository.save(empleado);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // Una carga de la colección por empleado: el N+1 clásico
+        SentenciasSql.Registro registro = SentenciasSql.iniciar("prueba");
+        try {
+            List<Empleado> empleados = empleadoRepository.findAll();
+            empleados.forEach(empleado -> empleado.getProyectos().size());
+        } finally {
+            SentenciasSql.terminar();
+        }
+
+        assertEquals(13, registro.sentencias);
+        SentenciasSqlExcedidasException error = assertThrows(SentenciasSqlExcedidasException.class,
+                () -> vigilanciaSentencias.revisar(registro));
+        assertTrue(error.getMessage().contains("12 ejecuciones"));
+
+    }
+
+    @Test
+    void aplicaElPresupuestoDelPatronDeLaRuta() throws Exception {
+
+        mockMvc.perform(get("/api/empleados")).andExpect(status().isOk());
+        SentenciasSqlExcedidasException error = assertThrows(SentenciasSqlExcedidasException.class,
+                () -> mockMvc.perform(get("/api/empleados/salario/cantidad").param("min", "0").param("max", "10")));
+        assertTrue(error.getMessage().startsWith("GET /api/empleados/salario/cantidad "));
+
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.sistema_gestion_empleados.repositories;
 
+import com.example.sistema_gestion_empleados.config.RegionesHibernateConfig;
 import com.example.sistema_gestion_empleados.models.Departamento;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.util.Optional;
@@ -11,6 +13,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
+@Import(RegionesHibernateConfig.class)
 @ActiveProfiles("test")
 class DepartamentoRepositoryTest {
 
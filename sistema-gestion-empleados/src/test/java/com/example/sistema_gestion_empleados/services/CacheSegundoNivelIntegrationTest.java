@@ -0,0 +1,208 @@
+package com.example.sistema_gestion_empleados.services;
+
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.dto.ProyectoVista;
+import com.example.sistema_gestion_empleados.models.Departamento;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.models.Proyecto;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoRepository;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoSalarioStatsRepository;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import com.example.sistema_gestion_empleados.repositories.ProyectoRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.sistema_gestion_empleados.EmpleadoDePrueba.conEmail;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Sin transacción de test: la caché de segundo nivel solo se actualiza al confirmar
+@SpringBootTest
+@ActiveProfiles("test")
+class CacheSegundoNivelIntegrationTest {
+
+    @Autowired
+    private DepartamentoService departamentoService;
+
+    @Autowired
+    private ProyectoService proyectoService;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private DepartamentoSalarioStatsRepository departamentoSalarioStatsRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate lectura;
+    private Statistics estadisticas;
+
+    @BeforeEach
+    void preparar() {
+        lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void limpiar() {
+        departamentoSalarioStatsRepository.deleteAllInBatch();
+        empleadoRepository.deleteAllInBatch();
+        proyectoRepository.deleteAllInBatch();
+        departamentoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void departamentoSeLeeDeLaCacheYSeInvalidaConLasEscrituras() {
+
+        Departamento cache = departamentoService.guardar(departamento("Cache", "Original"));
+        Long id = cache.getId();
+        Long empleadoId = empleadoService.guardar(conEmail("cache@empresa.com").departamento(cache).crear()).getId();
+
+        estadisticas.clear();
+        assertEquals("Cache", lectura.execute(estado -> departamentoRepository.findById(id).orElseThrow().getNombre()));
+        assertEquals(0, estadisticas.getPrepareStatementCount());
+        assertEquals(1, estadisticas.getSecondLevelCacheHitCount());
+
+        // La asociación Empleado.departamento se resuelve desde la caché: solo se lee el empleado
+        estadisticas.clear();
+        assertEquals("Cache", lectura.execute(estado ->
+                empleadoRepository.findById(empleadoId).orElseThrow().getDepartamento().getNombre()));
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+
+        departamentoService.actualizar(id, departamento("Cache Actualizado", "Original"));
+        estadisticas.clear();
+        assertEquals("Cache Actualizado", lectura.execute(estado -> departamentoRepository.findById(id).orElseThrow().getNombre()));
+        assertEquals(0, estadisticas.getPrepareStatementCount());
+
+        // El UPDATE masivo del PATCH descarta la región y la siguiente lectura va a la base
+        departamentoService.actualizarParcial(id, Map.of("descripcion", "Parcial"));
+        estadisticas.clear();
+        assertEquals("Parcial", lectura.execute(estado -> departamentoRepository.findById(id).orElseThrow().getDescripcion()));
+        assertEquals(1, estadisticas.getPrepareStatementCount());
+
+        departamentoService.eliminar(id);
+        assertTrue(lectura.execute(estado -> departamentoRepository.findById(id)).isEmpty());
+
+    }
+
+    @Test
+    void proyectoSeInvalidaConLasEscrituras() {
+
+        Long id = proyectoService.guardar(proyecto("Migración", LocalDate.now().plusYears(1))).getId();
+
+        estadisticas.clear();
+        assertEquals("Migración", lectura.execute(estado -> proyectoRepository.findById(id).orElseThrow().getNombre()));
+        assertEquals(0, estadisticas.getPrepareStatementCount());
+
+        proyectoService.actualizar(id, proyecto("Migración Final", LocalDate.now().plusYears(1)));
+        assertEquals("Migración Final", lectura.execute(estado -> proyectoRepository.findById(id).orElseThrow().getNombre()));
+
+        proyectoService.eliminar(id);
+        assertTrue(lectura.execute(estado -> proyectoRepository.findById(id)).isEmpty());
+
+    }
+
+    @Test
+    void proyectosActivosSeSirvenDeLaCacheDeConsultas() {
+
+        Long id = proyectoService.guardar(proyecto("Activo", LocalDate.now().plusYears(1))).getId();
+        proyectoService.guardar(proyecto("Terminado", LocalDate.now().minusYears(1)));
+
+        assertEquals(List.of("Activo"), nombresActivos());
+        estadisticas.clear();
+        assertEquals(List.of("Activo"), nombresActivos());
+        assertEquals(1, estadisticas.getQueryCacheHitCount());
+        assertEquals(0, estadisticas.getPrepareStatementCount());
+
+        proyectoService.actualizar(id, proyecto("Renombrado", LocalDate.now().plusYears(1)));
+        estadisticas.clear();
+        assertEquals(List.of("Renombrado"), nombresActivos());
+        assertEquals(0, estadisticas.getQueryCacheHitCount());
+
+        proyectoService.eliminar(id);
+        assertTrue(nombresActivos().isEmpty());
+
+    }
+
+    @Test
+    void empleadosPorDepartamentoSeSirvenDeLaCacheDeConsultas() {
+
+        Departamento ventas = departamentoService.guardar(departamento("Ventas", "Comercial"));
+        Long primero = empleadoService.guardar(conEmail("ventas1@empresa.com").departamento(ventas).crear()).getId();
+        empleadoService.guardar(conEmail("ventas2@empresa.com").departamento(ventas).crear());
+
+        assertEquals(2, emailsDeVentas().size());
+        estadisticas.clear();
+        assertEquals(2, emailsDeVentas().size());
+        // La página y los proyectos de sus empleados
+        assertEquals(2, estadisticas.getQueryCacheHitCount());
+        assertEquals(0, estadisticas.getPrepareStatementCount());
+
+        Empleado cambio = conEmail("ventas.uno@empresa.com").departamento(ventas).crear();
+        empleadoService.actualizar(primero, cambio);
+        assertEquals(List.of("ventas.uno@empresa.com", "ventas2@empresa.com"), emailsDeVentas());
+
+        empleadoService.eliminar(primero);
+        assertEquals(List.of("ventas2@empresa.com"), emailsDeVentas());
+
+        departamentoService.actualizar(ventas.getId(), departamento("Comercial", "Comercial"));
+        assertTrue(emailsDeVentas().isEmpty());
+
+    }
+
+    // Las mismas lecturas que GET /api/proyectos/activos y GET /api/empleados/departamento/Ventas
+    private List<String> nombresActivos() {
+        return proyectoService.buscarPorProyectosActivos(null, 10).contenido().stream()
+                .map(ProyectoVista::nombre)
+                .toList();
+    }
+
+    private List<String> emailsDeVentas() {
+        return empleadoService.buscarPorDepartamento("Ventas", null, 10).contenido().stream()
+                .map(EmpleadoVista::email)
+                .sorted()
+                .toList();
+    }
+
+    private static Departamento departamento(String nombre, String descripcion) {
+        Departamento departamento = new Departamento();
+        departamento.setNombre(nombre);
+        departamento.setDescripcion(descripcion);
+        return departamento;
+    }
+
+    private static Proyecto proyecto(String nombre, LocalDate fechaFin) {
+        Proyecto proyecto = new Proyecto();
+        proyecto.setNombre(nombre);
+        proyecto.setFechaInicio(LocalDate.now().minusYears(2));
+        proyecto.setFechaFin(fechaFin);
+        return proyecto;
+    }
+}
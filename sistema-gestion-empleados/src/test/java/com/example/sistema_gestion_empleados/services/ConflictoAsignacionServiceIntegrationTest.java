@@ -0,0 +1,172 @@
+package com.example.sistema_gestion_empleados.services;
+
+import com.example.sistema_gestion_empleados.dto.ConflictoAsignacion;
+import com.example.sistema_gestion_empleados.exceptions.ConsultaInvalidaException;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.models.Proyecto;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import com.example.sistema_gestion_empleados.repositories.ProyectoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class ConflictoAsignacionServiceIntegrationTest {
+    private static final LocalDate ENERO = LocalDate.of(2026, 1, 1);
+
+    @Autowired
+    private ConflictoAsignacionService conflictoAsignacionService;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private int empleados;
+
+    @BeforeEach
+    void setUp() {
+        empleadoRepository.deleteAll();
+        proyectoRepository.deleteAll();
+    }
+
+    @Test
+    void detectaSuperposicionesConFechasAbiertasYBordes() {
+
+        Proyecto enero = proyecto(ENERO, LocalDate.of(2026, 1, 31));
+        Proyecto mitad = proyecto(LocalDate.of(2026, 1, 15), LocalDate.of(2026, 2, 15));
+        Proyecto sinFin = proyecto(LocalDate.of(2026, 1, 20), null);
+        Proyecto sinInicio = proyecto(null, LocalDate.of(2026, 1, 10));
+        Proyecto febrero = proyecto(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 2, 28));
+        Proyecto invertido = proyecto(LocalDate.of(2026, 5, 1), LocalDate.of(2026, 4, 1));
+
+        Long triple = empleado(enero, mitad, sinFin).getId();
+        Long doble = empleado(enero, febrero, sinInicio).getId();
+        // Los dos primeros solo se tocan en el borde y el invertido no ocupa ningún día
+        empleado(sinFin, sinInicio, invertido);
+        empleado();
+        entityManager.flush();
+
+        List<ConflictoAsignacion> porDefecto = conflictoAsignacionService.detectarConflictos(null);
+        assertEquals(List.of(new ConflictoAsignacion(triple, 3, LocalDate.of(2026, 1, 20), LocalDate.of(2026, 1, 31),
+                List.of(enero.getId(), mitad.getId(), sinFin.getId()))), porDefecto);
+
+        List<ConflictoAsignacion> estricto = conflictoAsignacionService.detectarConflictos(1);
+        assertEquals(2, estricto.size());
+        assertEquals(porDefecto.get(0), estricto.get(0));
+        assertEquals(new ConflictoAsignacion(doble, 2, ENERO, LocalDate.of(2026, 1, 10),
+                List.of(enero.getId(), sinInicio.getId())), estricto.get(1));
+
+        assertTrue(conflictoAsignacionService.detectarConflictos(3).isEmpty());
+        assertThrows(ConsultaInvalidaException.class, () -> conflictoAsignacionService.detectarConflictos(0));
+
+    }
+
+    // Lotes chicos para repartir los empleados en varias tareas, contra el pico calculado en cada inicio
+    @Test
+    void coincideConElConteoEnCadaInicio() {
+
+        Random aleatorio = new Random(22);
+        List<Proyecto> proyectos = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            LocalDate inicio = aleatorio.nextInt(8) == 0 ? null : ENERO.plusDays(aleatorio.nextInt(365));
+            LocalDate fin = aleatorio.nextInt(8) == 0 ? null
+                    : (inicio == null ? ENERO : inicio).plusDays(aleatorio.nextInt(120) - 5);
+            proyectos.add(proyecto(inicio, fin));
+        }
+        List<Empleado> asignados = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Set<Proyecto> elegidos = new HashSet<>();
+            for (int j = aleatorio.nextInt(9); j > 0; j--) {
+                elegidos.add(proyectos.get(aleatorio.nextInt(proyectos.size())));
+            }
+            asignados.add(empleado(elegidos.toArray(Proyecto[]::new)));
+        }
+        entityManager.flush();
+
+        ConflictoAsignacionService servicio = new ConflictoAsignacionServiceImpl(empleadoRepository, 2, 3, 16);
+        try {
+            for (int maximo = 1; maximo <= 4; maximo++) {
+                List<ConflictoAsignacion> esperados = new ArrayList<>();
+                for (Empleado empleado : asignados) {
+                    ConflictoAsignacion conflicto = picoPorInicios(empleado);
+                    if (conflicto != null && conflicto.proyectosSimultaneos() > maximo) {
+                        esperados.add(conflicto);
+                    }
+                }
+                assertEquals(esperados, servicio.detectarConflictos(maximo));
+            }
+        } finally {
+            ((ConflictoAsignacionServiceImpl) servicio).destroy();
+        }
+
+    }
+
+    // El pico empieza siempre en el inicio de algún proyecto y dura hasta el primer fin de los que lo forman
+    private static ConflictoAsignacion picoPorInicios(Empleado empleado) {
+        List<Proyecto> validos = empleado.getProyectos().stream()
+                .filter(p -> dia(p.getFechaInicio(), Long.MIN_VALUE) <= dia(p.getFechaFin(), Long.MAX_VALUE))
+                .toList();
+        ConflictoAsignacion mejor = null;
+        long mejorDia = 0;
+        for (Proyecto candidato : validos) {
+            long inicio = dia(candidato.getFechaInicio(), Long.MIN_VALUE);
+            List<Proyecto> cubren = validos.stream()
+                    .filter(p -> dia(p.getFechaInicio(), Long.MIN_VALUE) <= inicio
+                            && dia(p.getFechaFin(), Long.MAX_VALUE) >= inicio)
+                    .toList();
+            if (mejor == null || cubren.size() > mejor.proyectosSimultaneos()
+                    || (cubren.size() == mejor.proyectosSimultaneos() && inicio < mejorDia)) {
+                long fin = cubren.stream().mapToLong(p -> dia(p.getFechaFin(), Long.MAX_VALUE)).min().orElseThrow();
+                mejor = new ConflictoAsignacion(empleado.getId(), cubren.size(), candidato.getFechaInicio(),
+                        fin == Long.MAX_VALUE ? null : LocalDate.ofEpochDay(fin),
+                        cubren.stream().map(Proyecto::getId).sorted().toList());
+                mejorDia = inicio;
+            }
+        }
+        return mejor;
+    }
+
+    private static long dia(LocalDate fecha, long siNula) {
+        return fecha == null ? siNula : fecha.toEpochDay();
+    }
+
+    private Proyecto proyecto(LocalDate inicio, LocalDate fin) {
+        Proyecto proyecto = new Proyecto();
+        proyecto.setNombre("Proyecto " + inicio + " " + fin);
+        proyecto.setFechaInicio(inicio);
+        proyecto.setFechaFin(fin);
+        return proyectoRepository.save(proyecto);
+    }
+
+    private Empleado empleado(Proyecto... proyectos) {
+        Empleado empleado = new Empleado();
+        empleado.setNombre("Nombre" + empleados);
+        empleado.setApellido("Apellido" + empleados);
+        empleado.setEmail("conflicto" + empleados++ + "@empresa.com");
+        empleado.setFechaContratacion(ENERO);
+        empleado.setSalario(new BigDecimal("40000"));
+        empleado.setProyectos(new HashSet<>(List.of(proyectos)));
+        return empleadoRepository.save(empleado);
+    }
+}
@@ -5,15 +5,24 @@ import com.example.sistema_gestion_empleados.models.Departamento;
 import com.example.sistema_gestion_empleados.models.Empleado;
 import com.example.sistema_gestion_empleados.models.Proyecto;
 import com.example.sistema_gestion_empleados.repositories.DepartamentoRepository;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import com.example.sistema_gestion_empleados.repositories.ProyectoRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -28,6 +37,21 @@ public class DepartamentoServiceIntegrationTest {
     @Autowired
     private DepartamentoRepository departamentoRepository;
 
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @Autowired
+    private EstadisticasSalarioService estadisticasSalarioService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
     @BeforeEach
     void setUp() {
         departamentoRepository.deleteAll();
@@ -130,6 +154,87 @@ public class DepartamentoServiceIntegrationTest {
         assertFalse(departamentoRepository.existsById(departamentoGuardado.getId()));
     }
 
+    @Test
+    void eliminarDepartamentoBorraEmpleadosYAsignacionesPorConjunto() {
+
+        Departamento departamento = new Departamento();
+        departamento.setNombre("Logística");
+        departamento = departamentoRepository.save(departamento);
+        Proyecto proyecto = new Proyecto();
+        proyecto.setNombre("Depósito");
+        proyecto = proyectoRepository.save(proyecto);
+        for (int i = 0; i < 40; i++) {
+            Empleado empleado = new Empleado();
+            empleado.setNombre("Empleado");
+            empleado.setApellido("Logística " + i);
+            empleado.setEmail("logistica" + i + "@empresa.com");
+            empleado.setFechaContratacion(LocalDate.now());
+            empleado.setSalario(new BigDecimal("40000"));
+            empleado.setDepartamento(departamento);
+            empleado.setProyectos(i % 2 == 0 ? Set.of(proyecto) : Set.of());
+            empleadoRepository.save(empleado);
+        }
+        estadisticasSalarioService.reconstruir();
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics estadisticas = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        long sentenciasAntes = estadisticas.getPrepareStatementCount();
+        departamentoService.eliminar(departamento.getId());
+
+        // La cantidad de sentencias no depende de la cantidad de empleados
+        assertTrue(estadisticas.getPrepareStatementCount() - sentenciasAntes <= 6);
+        assertFalse(departamentoRepository.existsById(departamento.getId()));
+        assertEquals(0, empleadoRepository.count());
+        assertEquals(0L, ((Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM empleado_proyecto")
+                .getSingleResult()).longValue());
+        assertTrue(estadisticasSalarioService.obtenerTodas().isEmpty());
+        assertTrue(proyectoRepository.existsById(proyecto.getId()));
+    }
+
+    // Sin transacción de test: la caché solo se actualiza cuando la transacción del servicio confirma
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void cacheDeDepartamentosSeActualizaConLasEscrituras() {
+
+        Departamento departamento = new Departamento();
+        departamento.setNombre("Compras");
+        departamento.setDescripcion("Compras y proveedores");
+        Long id = departamentoService.guardar(departamento).getId();
+
+        try {
+            // Por id lee la región de Hibernate; por nombre, la caché de Spring
+            Statistics estadisticas = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+            Cache<?, ?> cache = (Cache<?, ?>) cacheManager.getCache("departamentoIdPorNombre").getNativeCache();
+            long aciertosRegion = estadisticas.getSecondLevelCacheHitCount();
+            long aciertosIniciales = cache.stats().hitCount();
+
+            departamentoService.buscarPorId(id);
+            departamentoService.buscarPorId(id);
+            assertEquals(aciertosRegion + 2, estadisticas.getSecondLevelCacheHitCount());
+            assertEquals(id, departamentoService.buscarIdPorNombre("Compras").orElseThrow());
+            assertEquals(id, departamentoService.buscarIdPorNombre("Compras").orElseThrow());
+            assertEquals(aciertosIniciales + 1, cache.stats().hitCount());
+
+            Departamento cambios = new Departamento();
+            cambios.setNombre("Compras Internacionales");
+            cambios.setDescripcion("Compras y proveedores del exterior");
+            departamentoService.actualizar(id, cambios);
+
+            assertEquals("Compras Internacionales", departamentoService.buscarPorId(id).getNombre());
+            assertTrue(departamentoService.buscarIdPorNombre("Compras").isEmpty());
+            assertTrue(departamentoService.obtenerTodos().stream()
+                    .anyMatch(d -> "Compras Internacionales".equals(d.getNombre())));
+
+            departamentoService.eliminar(id);
+
+            assertThrows(DepartamentoNoEncontradoException.class, () -> departamentoService.buscarPorId(id));
+            assertTrue(departamentoService.obtenerTodos().stream().noneMatch(d -> id.equals(d.getId())));
+        } finally {
+            departamentoRepository.deleteAllInBatch();
+        }
+    }
+
     @Test
     void eliminarDepartamentoNoExistente() {
 
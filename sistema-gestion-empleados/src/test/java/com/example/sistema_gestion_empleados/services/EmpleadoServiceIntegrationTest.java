@@ -1,11 +1,28 @@
 package com.example.sistema_gestion_empleados.services;
 
+import com.example.sistema_gestion_empleados.dto.Cursor;
+import com.example.sistema_gestion_empleados.dto.EmpleadoExportado;
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.dto.EstadisticasSalarioDepartamento;
+import com.example.sistema_gestion_empleados.dto.FiltroEmpleados;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.dto.ResultadoEliminacion;
+import com.example.sistema_gestion_empleados.dto.ResultadoImportacion;
+import com.example.sistema_gestion_empleados.exceptions.ActualizacionInvalidaException;
+import com.example.sistema_gestion_empleados.exceptions.EliminacionInvalidaException;
 import com.example.sistema_gestion_empleados.exceptions.EmailDuplicadoException;
 import com.example.sistema_gestion_empleados.exceptions.EmpleadoNoEncontradoException;
+import com.example.sistema_gestion_empleados.exceptions.PaginacionInvalidaException;
 import com.example.sistema_gestion_empleados.models.Departamento;
 import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.models.Proyecto;
 import com.example.sistema_gestion_empleados.repositories.DepartamentoRepository;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoSalarioStatsRepository;
 import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import com.example.sistema_gestion_empleados.repositories.ProyectoRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,7 +32,11 @@ import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -33,6 +54,18 @@ class EmpleadoServiceIntegrationTest {
     @Autowired
     private DepartamentoRepository departamentoRepository;
 
+    @Autowired
+    private ProyectoRepository proyectoRepository;
+
+    @Autowired
+    private DepartamentoSalarioStatsRepository departamentoSalarioStatsRepository;
+
+    @Autowired
+    private EstadisticasSalarioService estadisticasSalarioService;
+
+    @Autowired
+    private EntityManager entityManager;
+
     private Departamento departamentoTest;
 
     @BeforeEach
@@ -99,6 +132,227 @@ class EmpleadoServiceIntegrationTest {
 
     }
 
+    @Test
+    void obtenerPaginaRecorreTodosLosEmpleadosPorId() {
+
+        for (int i = 0; i < 5; i++) {
+            Empleado empleado = new Empleado();
+            empleado.setNombre("Empleado" + i);
+            empleado.setApellido("Pagina");
+            empleado.setEmail("empleado" + i + "@empresa.com");
+            empleado.setFechaContratacion(LocalDate.now());
+            empleado.setSalario(new BigDecimal("50000.00"));
+            empleado.setDepartamento(departamentoTest);
+            empleadoRepository.save(empleado);
+        }
+
+        Pagina<EmpleadoVista> primera = empleadoService.obtenerPagina(null, 2);
+        Pagina<EmpleadoVista> segunda = empleadoService.obtenerPagina(primera.siguienteCursor(), 2);
+        Pagina<EmpleadoVista> tercera = empleadoService.obtenerPagina(segunda.siguienteCursor(), 2);
+
+        assertEquals(2, primera.contenido().size());
+        assertEquals(2, segunda.contenido().size());
+        assertEquals(1, tercera.contenido().size());
+        assertNull(tercera.siguienteCursor());
+        assertTrue(primera.contenido().get(1).id() < segunda.contenido().get(0).id());
+        assertEquals("empleado4@empresa.com", tercera.contenido().get(0).email());
+
+    }
+
+    @Test
+    void obtenerPaginaIncluyeDepartamentoYProyectos() {
+
+        Proyecto proyecto = new Proyecto();
+        proyecto.setNombre("Migración");
+        proyecto.setFechaInicio(LocalDate.now());
+        proyecto.setFechaFin(LocalDate.now().plusMonths(3));
+        proyecto = proyectoRepository.save(proyecto);
+
+        Empleado conProyecto = new Empleado();
+        conProyecto.setNombre("Sofia");
+        conProyecto.setApellido("Ruiz");
+        conProyecto.setEmail("sofia.ruiz@empresa.com");
+        conProyecto.setFechaContratacion(LocalDate.now());
+        conProyecto.setSalario(new BigDecimal("61000.00"));
+        conProyecto.setDepartamento(departamentoTest);
+        conProyecto.setProyectos(Set.of(proyecto));
+        empleadoRepository.save(conProyecto);
+
+        Empleado sinDepartamento = new Empleado();
+        sinDepartamento.setNombre("Tomas");
+        sinDepartamento.setApellido("Diaz");
+        sinDepartamento.setEmail("tomas.diaz@empresa.com");
+        sinDepartamento.setFechaContratacion(LocalDate.now());
+        sinDepartamento.setSalario(new BigDecimal("48000.00"));
+        empleadoRepository.save(sinDepartamento);
+
+        List<EmpleadoVista> vistas = empleadoService.obtenerPagina(null, 10).contenido();
+
+        assertEquals(2, vistas.size());
+        assertEquals("RRHH", vistas.get(0).departamento().nombre());
+        assertEquals(List.of("Migración"), vistas.get(0).proyectos().stream().map(p -> p.nombre()).toList());
+        assertNull(vistas.get(1).departamento());
+        assertTrue(vistas.get(1).proyectos().isEmpty());
+
+    }
+
+    @Test
+    void buscarPorRangoSalarioPaginado() {
+
+        for (int i = 0; i < 3; i++) {
+            Empleado empleado = new Empleado();
+            empleado.setNombre("Empleado" + i);
+            empleado.setApellido("Salario");
+            empleado.setEmail("salario" + i + "@empresa.com");
+            empleado.setFechaContratacion(LocalDate.now());
+            empleado.setSalario(new BigDecimal(40000 + i * 10000));
+            empleado.setDepartamento(departamentoTest);
+            empleadoRepository.save(empleado);
+        }
+
+        Pagina<EmpleadoVista> primera = empleadoService.buscarPorRangoSalario(
+                new BigDecimal("45000"), new BigDecimal("70000"), null, 1);
+        Pagina<EmpleadoVista> segunda = empleadoService.buscarPorRangoSalario(
+                new BigDecimal("45000"), new BigDecimal("70000"), primera.siguienteCursor(), 1);
+
+        assertEquals("salario1@empresa.com", primera.contenido().get(0).email());
+        assertEquals("salario2@empresa.com", segunda.contenido().get(0).email());
+        assertNull(segunda.siguienteCursor());
+
+    }
+
+    @Test
+    void obtenerPaginaConLimiteInvalido() {
+
+        assertThrows(PaginacionInvalidaException.class, () -> empleadoService.obtenerPagina(null, 0));
+        assertThrows(PaginacionInvalidaException.class, () -> empleadoService.obtenerPagina("no-es-un-cursor", 10));
+
+    }
+
+    @Test
+    void exportarTodosRecorreLosEmpleadosConSuDepartamento() {
+
+        for (int i = 0; i < 3; i++) {
+            Empleado empleado = new Empleado();
+            empleado.setNombre("Empleado" + i);
+            empleado.setApellido("Export");
+            empleado.setEmail("export" + i + "@empresa.com");
+            empleado.setFechaContratacion(LocalDate.now());
+            empleado.setSalario(new BigDecimal("50000.00"));
+            empleado.setDepartamento(departamentoTest);
+            empleadoRepository.save(empleado);
+        }
+
+        List<EmpleadoExportado> exportados = new ArrayList<>();
+        empleadoService.exportarTodos(exportados::add);
+
+        assertEquals(3, exportados.size());
+        assertEquals("export0@empresa.com", exportados.get(0).email());
+        assertTrue(exportados.stream().allMatch(e -> "RRHH".equals(e.departamentoNombre())));
+
+    }
+
+    // Sin transacción de test: cada lote de la importación confirma su propia transacción
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void importarEmpleadosEnLotes() {
+
+        Empleado existente = new Empleado();
+        existente.setNombre("Juan");
+        existente.setApellido("Pérez");
+        existente.setEmail("juan.perez@empresa.com");
+        existente.setFechaContratacion(LocalDate.now());
+        existente.setSalario(new BigDecimal("50000.00"));
+        empleadoService.guardar(existente);
+
+        List<Empleado> empleados = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            Empleado empleado = new Empleado();
+            empleado.setNombre("Empleado" + i);
+            empleado.setApellido("Importado");
+            empleado.setEmail("importado" + i + "@empresa.com");
+            empleado.setFechaContratacion(LocalDate.now());
+            empleado.setSalario(new BigDecimal("50000.00"));
+            empleado.setDepartamento(departamentoTest);
+            empleados.add(empleado);
+        }
+        empleados.get(700).setEmail("importado3@empresa.com");
+        empleados.get(1100).setSalario(null);
+        empleados.get(1150).setEmail("juan.perez@empresa.com");
+
+        try {
+            ResultadoImportacion resultado = empleadoService.importar(empleados);
+
+            assertEquals(1200, resultado.recibidos());
+            assertEquals(1197, resultado.insertados());
+            assertEquals(3, resultado.rechazados());
+            assertEquals(3, resultado.lotes().size());
+            assertEquals(700, resultado.lotes().get(1).errores().get(0).indice());
+            assertEquals(1100, resultado.lotes().get(2).errores().get(0).indice());
+            assertEquals("El email ya está registrado: juan.perez@empresa.com",
+                    resultado.lotes().get(2).errores().get(1).motivo());
+            assertEquals(1198, empleadoRepository.count());
+            assertEquals(1197, empleadoRepository.findByNombreDepartamento("RRHH").size());
+            assertEquals(new BigDecimal("50000.00"),
+                    empleadoService.obtenerSalarioPromedioPorDepartamento(departamentoTest.getId()));
+        } finally {
+            departamentoSalarioStatsRepository.deleteAllInBatch();
+            empleadoRepository.deleteAllInBatch();
+            departamentoRepository.deleteAllInBatch();
+        }
+
+    }
+
+    // Un departamento inexistente hace fallar el flush del lote: el motivo no expone el mensaje de la base
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void importarInformaElLoteRechazadoSinElDetalleDeLaBase() {
+
+        Departamento inexistente = new Departamento();
+        inexistente.setId(departamentoTest.getId() + 1_000_000);
+        Empleado empleado = new Empleado();
+        empleado.setNombre("Sin");
+        empleado.setApellido("Departamento");
+        empleado.setEmail("sin.departamento@empresa.com");
+        empleado.setFechaContratacion(LocalDate.now());
+        empleado.setSalario(new BigDecimal("50000.00"));
+        empleado.setDepartamento(inexistente);
+
+        try {
+            ResultadoImportacion resultado = empleadoService.importar(List.of(empleado));
+
+            assertEquals(0, resultado.insertados());
+            assertEquals("Lote rechazado por la base de datos", resultado.lotes().get(0).errorLote());
+            assertEquals(0, empleadoRepository.count());
+        } finally {
+            departamentoSalarioStatsRepository.deleteAllInBatch();
+            empleadoRepository.deleteAllInBatch();
+            departamentoRepository.deleteAllInBatch();
+        }
+
+    }
+
+    @Test
+    void buscarPorDepartamento() {
+
+        Empleado empleado = new Empleado();
+        empleado.setNombre("Lucia");
+        empleado.setApellido("Suarez");
+        empleado.setEmail("lucia.suarez@empresa.com");
+        empleado.setFechaContratacion(LocalDate.now());
+        empleado.setSalario(new BigDecimal("52000.00"));
+        empleado.setDepartamento(departamentoTest);
+        empleadoRepository.save(empleado);
+
+        List<Empleado> resultado = empleadoService.buscarPorDepartamento("RRHH");
+
+        assertEquals(1, resultado.size());
+        assertEquals("lucia.suarez@empresa.com", resultado.get(0).getEmail());
+        assertTrue(empleadoService.buscarPorDepartamento("Inexistente").isEmpty());
+        assertEquals(1, empleadoService.buscarPorDepartamento("RRHH", null, 10).contenido().size());
+
+    }
+
     @Test
     void buscarPorId() {
 
@@ -213,4 +467,190 @@ class EmpleadoServiceIntegrationTest {
         assertThrows(RuntimeException.class, () -> empleadoService.eliminar(idNoExistente));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void estadisticasDeSalarioSeMantienenConLasEscrituras() {
+
+        Departamento it = new Departamento();
+        it.setNombre("IT");
+        it.setDescripcion("Informatica");
+        it = departamentoRepository.save(it);
+
+        List<Empleado> guardados = new ArrayList<>();
+        for (String salario : List.of("40000.00", "50000.00", "60000.00")) {
+            Empleado empleado = new Empleado();
+            empleado.setNombre("Empleado");
+            empleado.setApellido(salario);
+            empleado.setEmail("stats" + salario + "@empresa.com");
+            empleado.setFechaContratacion(LocalDate.now());
+            empleado.setSalario(new BigDecimal(salario));
+            empleado.setDepartamento(departamentoTest);
+            guardados.add(empleadoService.guardar(empleado));
+        }
+
+        EstadisticasSalarioDepartamento rrhh = estadisticasSalarioService.obtenerTodas().get(0);
+        assertEquals(3, rrhh.cantidad());
+        assertEquals(new BigDecimal("50000.00"), rrhh.promedio());
+        assertEquals(new BigDecimal("40000.00"), rrhh.minimo());
+        assertEquals(new BigDecimal("60000.00"), rrhh.maximo());
+        assertEquals(new BigDecimal("8164.97"), rrhh.desviacionEstandar());
+
+        Empleado cambio = new Empleado();
+        cambio.setNombre("Empleado");
+        cambio.setApellido("Trasladado");
+        cambio.setEmail("stats60000.00@empresa.com");
+        cambio.setFechaContratacion(LocalDate.now());
+        cambio.setSalario(new BigDecimal("70000.00"));
+        cambio.setDepartamento(it);
+        empleadoService.actualizar(guardados.get(2).getId(), cambio);
+        empleadoService.eliminar(guardados.get(0).getId());
+
+        assertEquals(new BigDecimal("50000.00"),
+                empleadoService.obtenerSalarioPromedioPorDepartamento(departamentoTest.getId()));
+        assertEquals(new BigDecimal("70000.00"), empleadoService.obtenerSalarioPromedioPorDepartamento(it.getId()));
+        rrhh = estadisticasSalarioService.obtenerTodas().get(0);
+        assertEquals(1, rrhh.cantidad());
+        assertEquals(new BigDecimal("50000.00"), rrhh.minimo());
+        assertEquals(new BigDecimal("50000.00"), rrhh.maximo());
+        assertEquals(new BigDecimal("0.00"), rrhh.desviacionEstandar());
+        assertTrue(estadisticasSalarioService.verificar().departamentosInconsistentes().isEmpty());
+
+    }
+
+    @Test
+    void actualizarParcialEjecutaUnSoloUpdateYConservaLasAsociaciones() {
+
+        Proyecto proyecto = new Proyecto();
+        proyecto.setNombre("Migración");
+        proyecto = proyectoRepository.save(proyecto);
+
+        Empleado empleado = new Empleado();
+        empleado.setNombre("Sofia");
+        empleado.setApellido("Ruiz");
+        empleado.setEmail("sofia.ruiz@empresa.com");
+        empleado.setFechaContratacion(LocalDate.now());
+        empleado.setSalario(new BigDecimal("61000.00"));
+        empleado.setDepartamento(departamentoTest);
+        empleado.setProyectos(Set.of(proyecto));
+        Long id = empleadoService.guardar(empleado).getId();
+        entityManager.flush();
+
+        Statistics estadisticas = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        long sentenciasAntes = estadisticas.getPrepareStatementCount();
+        empleadoService.actualizarParcial(id, Map.of("apellido", "Ruiz Díaz"));
+        assertEquals(1, estadisticas.getPrepareStatementCount() - sentenciasAntes);
+
+        empleadoService.actualizarParcial(id, Map.of("salario", "71000.00"));
+        entityManager.clear();
+
+        Empleado actualizado = empleadoRepository.findById(id).orElseThrow();
+        assertEquals("Sofia", actualizado.getNombre());
+        assertEquals("Ruiz Díaz", actualizado.getApellido());
+        assertEquals(departamentoTest.getId(), actualizado.getDepartamento().getId());
+        assertEquals(1, filasEmpleadoProyecto(id));
+        assertEquals(new BigDecimal("71000.00"),
+                empleadoService.obtenerSalarioPromedioPorDepartamento(departamentoTest.getId()));
+
+        empleadoService.actualizarParcial(id, Map.of("proyectos", List.of()));
+        assertEquals(0, filasEmpleadoProyecto(id));
+
+    }
+
+    @Test
+    void eliminarEnBloquePorIdsYPorFiltro() {
+
+        Proyecto proyecto = new Proyecto();
+        proyecto.setNombre("Migración");
+        proyecto = proyectoRepository.save(proyecto);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            Empleado empleado = new Empleado();
+            empleado.setNombre("Empleado");
+            empleado.setApellido("Bloque " + i);
+            empleado.setEmail("bloque" + i + "@empresa.com");
+            empleado.setFechaContratacion(LocalDate.of(2020 + i, 1, 1));
+            empleado.setSalario(new BigDecimal(40000 + i * 1000));
+            empleado.setDepartamento(departamentoTest);
+            empleado.setProyectos(i < 2 ? Set.of(proyecto) : Set.of());
+            ids.add(empleadoService.guardar(empleado).getId());
+        }
+
+        ResultadoEliminacion porIds = empleadoService.eliminarPorIds(List.of(ids.get(0), ids.get(1), ids.get(1), 999_999L));
+        assertEquals(new ResultadoEliminacion(2, 2), porIds);
+
+        ResultadoEliminacion porFiltro = empleadoService.eliminarPorFiltro(
+                new FiltroEmpleados(departamentoTest.getId(), new BigDecimal("43000"), null, null, LocalDate.of(2024, 12, 31)));
+        assertEquals(new ResultadoEliminacion(2, 0), porFiltro);
+
+        assertEquals(List.of(ids.get(2), ids.get(5)),
+                empleadoRepository.findAll().stream().map(Empleado::getId).sorted().toList());
+        assertEquals(new BigDecimal("43500.00"),
+                empleadoService.obtenerSalarioPromedioPorDepartamento(departamentoTest.getId()));
+        assertTrue(estadisticasSalarioService.verificar().departamentosInconsistentes().isEmpty());
+        assertThrows(EliminacionInvalidaException.class,
+                () -> empleadoService.eliminarPorFiltro(new FiltroEmpleados(null, null, null, null, null)));
+
+    }
+
+    @Test
+    void buscarPorTextoSinIndiceUsaLike() {
+
+        List<Long> ids = new ArrayList<>();
+        for (String[] datos : List.of(new String[]{"Mariana", "Lopez", "mlopez@empresa.com"},
+                new String[]{"Pedro", "Marin", "pmarin@empresa.com"},
+                new String[]{"Ana", "Suarez", "ana_100%@empresa.com"})) {
+            Empleado empleado = new Empleado();
+            empleado.setNombre(datos[0]);
+            empleado.setApellido(datos[1]);
+            empleado.setEmail(datos[2]);
+            empleado.setFechaContratacion(LocalDate.now());
+            empleado.setSalario(new BigDecimal("50000"));
+            ids.add(empleadoService.guardar(empleado).getId());
+        }
+
+        Pagina<EmpleadoVista> primera = empleadoService.buscarPorTexto("MAR", null, 1);
+        assertEquals(List.of(ids.get(0)), primera.contenido().stream().map(EmpleadoVista::id).toList());
+        Pagina<EmpleadoVista> segunda = empleadoService.buscarPorTexto("MAR", primera.siguienteCursor(), 1);
+        assertEquals(List.of(ids.get(1)), segunda.contenido().stream().map(EmpleadoVista::id).toList());
+        assertNull(segunda.siguienteCursor());
+        // Un cursor del índice de trigramas es una posición en el ranking, no un id
+        assertThrows(PaginacionInvalidaException.class,
+                () -> empleadoService.buscarPorTexto("MAR", Cursor.codificarPosicion(1), 1));
+
+        // Los comodines de LIKE en la consulta se buscan como texto
+        assertEquals(List.of(ids.get(2)), empleadoService.buscarPorTexto("_100%", null, 10).contenido().stream()
+                .map(EmpleadoVista::id).toList());
+        assertTrue(empleadoService.buscarPorTexto("  ", null, 10).contenido().isEmpty());
+
+    }
+
+    private long filasEmpleadoProyecto(Long empleadoId) {
+        return ((Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM empleado_proyecto WHERE empleado_id = :id")
+                .setParameter("id", empleadoId)
+                .getSingleResult()).longValue();
+    }
+
+    @Test
+    void actualizarParcialConErrores() {
+
+        Empleado empleado = new Empleado();
+        empleado.setNombre("Tomas");
+        empleado.setApellido("Diaz");
+        empleado.setEmail("tomas.diaz@empresa.com");
+        empleado.setFechaContratacion(LocalDate.now());
+        empleado.setSalario(new BigDecimal("48000.00"));
+        Long id = empleadoService.guardar(empleado).getId();
+
+        assertThrows(EmpleadoNoEncontradoException.class,
+                () -> empleadoService.actualizarParcial(id + 1000, Map.of("nombre", "Otro")));
+        assertThrows(ActualizacionInvalidaException.class,
+                () -> empleadoService.actualizarParcial(id, Map.of("id", 5)));
+        assertThrows(ActualizacionInvalidaException.class,
+                () -> empleadoService.actualizarParcial(id, Map.of("salario", "mucho")));
+        Map<String, Object> sinEmail = new HashMap<>();
+        sinEmail.put("email", null);
+        assertThrows(ActualizacionInvalidaException.class, () -> empleadoService.actualizarParcial(id, sinEmail));
+
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.sistema_gestion_empleados.services;
+
+import com.example.sistema_gestion_empleados.dto.EstadisticasSalarioDepartamento;
+import com.example.sistema_gestion_empleados.dto.VerificacionEstadisticas;
+import com.example.sistema_gestion_empleados.models.Departamento;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoRepository;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoSalarioStatsRepository;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.example.sistema_gestion_empleados.EmpleadoDePrueba.conEmail;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@ActiveProfiles("test")
+class EstadisticasSalarioServiceIntegrationTest {
+
+    @Autowired
+    private EstadisticasSalarioService estadisticasSalarioService;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private DepartamentoService departamentoService;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private DepartamentoSalarioStatsRepository departamentoSalarioStatsRepository;
+
+    private Departamento departamentoTest;
+
+    @BeforeEach
+    void setUp() {
+
+        departamentoSalarioStatsRepository.deleteAll();
+        empleadoRepository.deleteAll();
+        departamentoRepository.deleteAll();
+
+        departamentoTest = new Departamento();
+        departamentoTest.setNombre("RRHH");
+        departamentoTest.setDescripcion("Recursos Humanos");
+        departamentoTest = departamentoRepository.save(departamentoTest);
+
+    }
+
+    @Test
+    void obtenerTodasIncluyeDepartamentosSinEmpleados() {
+
+        Departamento vacio = new Departamento();
+        vacio.setNombre("Legales");
+        vacio.setDescripcion("Sin empleados");
+        departamentoRepository.save(vacio);
+        empleadoService.guardar(conEmail("ana@empresa.com").salario("30000.00").departamento(departamentoTest).crear());
+        empleadoService.guardar(conEmail("luis@empresa.com").salario("50000.00")
+                .departamento(departamentoTest).crear());
+
+        List<EstadisticasSalarioDepartamento> estadisticas = estadisticasSalarioService.obtenerTodas();
+
+        assertEquals(2, estadisticas.size());
+        assertEquals(new BigDecimal("40000.00"), estadisticas.get(0).promedio());
+        assertEquals(new BigDecimal("10000.00"), estadisticas.get(0).desviacionEstandar());
+        assertEquals("Legales", estadisticas.get(1).departamentoNombre());
+        assertEquals(0, estadisticas.get(1).cantidad());
+        assertNull(estadisticas.get(1).promedio());
+
+    }
+
+    @Test
+    void reconstruirCorrigeEscriturasQueNoPasaronPorElServicio() {
+
+        empleadoService.guardar(conEmail("ana@empresa.com").salario("30000.00").departamento(departamentoTest).crear());
+        // Escritura directa en el repositorio: los acumulados quedan desactualizados
+        empleadoRepository.save(conEmail("luis@empresa.com").salario("50000.00")
+                .departamento(departamentoTest).crear());
+
+        VerificacionEstadisticas verificacion = estadisticasSalarioService.verificar();
+        assertEquals(List.of(departamentoTest.getId()), verificacion.departamentosInconsistentes());
+        assertFalse(verificacion.reconstruido());
+        assertEquals(new BigDecimal("30000.00"),
+                estadisticasSalarioService.obtenerSalarioPromedio(departamentoTest.getId()));
+
+        VerificacionEstadisticas reconstruccion = estadisticasSalarioService.reconstruir();
+
+        assertTrue(reconstruccion.reconstruido());
+        assertEquals(List.of(departamentoTest.getId()), reconstruccion.departamentosInconsistentes());
+        assertEquals(new BigDecimal("40000.00"),
+                estadisticasSalarioService.obtenerSalarioPromedio(departamentoTest.getId()));
+        assertTrue(estadisticasSalarioService.verificar().departamentosInconsistentes().isEmpty());
+
+    }
+
+    // Sin transacción de test: la carga inicial corre en su propia transacción, como al arrancar
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void seLlenaAlArrancarSobreUnaBaseConEmpleados() {
+
+        try {
+            empleadoRepository.save(conEmail("ana@empresa.com").salario("30000.00")
+                    .departamento(departamentoTest).crear());
+            empleadoRepository.save(conEmail("luis@empresa.com").salario("50000.00")
+                    .departamento(departamentoTest).crear());
+            assertEquals(0, departamentoSalarioStatsRepository.count());
+
+            ((SmartInitializingSingleton) estadisticasSalarioService).afterSingletonsInstantiated();
+            assertEquals(new BigDecimal("40000.00"),
+                    estadisticasSalarioService.obtenerSalarioPromedio(departamentoTest.getId()));
+            assertTrue(estadisticasSalarioService.verificar().departamentosInconsistentes().isEmpty());
+
+            // Con la tabla ya llena no se vuelve a cargar
+            empleadoRepository.save(conEmail("eva@empresa.com").salario("70000.00")
+                    .departamento(departamentoTest).crear());
+            ((SmartInitializingSingleton) estadisticasSalarioService).afterSingletonsInstantiated();
+            assertEquals(new BigDecimal("40000.00"),
+                    estadisticasSalarioService.obtenerSalarioPromedio(departamentoTest.getId()));
+        } finally {
+            limpiarConfirmados();
+        }
+
+    }
+
+    // Las primeras altas de un departamento recién creado suman sobre la fila que creó el servicio, y las
+    // actualizaciones del mismo empleado no restan dos veces el mismo salario anterior
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void lasEscriturasConcurrentesNoDesajustanLosAcumulados() throws Exception {
+
+        int hilos = 4;
+        try {
+            Departamento nuevo = new Departamento();
+            nuevo.setNombre("Compras");
+            nuevo.setDescripcion("Creado por el servicio");
+            departamentoTest = departamentoService.guardar(nuevo);
+            assertTrue(departamentoSalarioStatsRepository.existsById(departamentoTest.getId()));
+
+            List<Long> ids = concurrentes(hilos, i -> empleadoService.guardar(
+                    conEmail("concurrente" + i + "@empresa.com").salario("40000.00")
+                            .departamento(departamentoTest).crear()).getId());
+            assertEquals(hilos, ids.size());
+            assertTrue(estadisticasSalarioService.verificar().departamentosInconsistentes().isEmpty());
+
+            Long id = ids.get(0);
+            concurrentes(hilos, i -> {
+                Empleado cambio = conEmail("concurrente0@empresa.com").salario((50000 + i * 1000) + ".00")
+                        .departamento(departamentoTest).crear();
+                return empleadoService.actualizar(id, cambio).getId();
+            });
+            assertTrue(estadisticasSalarioService.verificar().departamentosInconsistentes().isEmpty());
+        } finally {
+            limpiarConfirmados();
+        }
+
+    }
+
+    // El PATCH lee el salario anterior con la fila bloqueada: ninguno resta el salario que otro ya reemplazó
+    @Test
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void losPatchConcurrentesDelSalarioNoDesajustanLosAcumulados() throws Exception {
+
+        try {
+            Long id = empleadoService.guardar(conEmail("patch@empresa.com").salario("30000.00")
+                    .departamento(departamentoTest).crear()).getId();
+            concurrentes(4, i -> {
+                empleadoService.actualizarParcial(id, Map.of("salario", (40000 + i * 1000) + ".00"));
+                return id;
+            });
+            assertTrue(estadisticasSalarioService.verificar().departamentosInconsistentes().isEmpty());
+            assertEquals(empleadoRepository.findById(id).orElseThrow().getSalario(),
+                    estadisticasSalarioService.obtenerSalarioPromedio(departamentoTest.getId()));
+        } finally {
+            limpiarConfirmados();
+        }
+
+    }
+
+    private <T> List<T> concurrentes(int hilos, Tarea<T> tarea) throws Exception {
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<T>> resultados = new ArrayList<>();
+        try (ExecutorService ejecutor = Executors.newFixedThreadPool(hilos)) {
+            for (int i = 0; i < hilos; i++) {
+                int indice = i;
+                resultados.add(ejecutor.submit(() -> {
+                    largada.await();
+                    return tarea.ejecutar(indice);
+                }));
+            }
+            largada.countDown();
+        }
+        List<T> valores = new ArrayList<>();
+        for (Future<T> resultado : resultados) {
+            valores.add(resultado.get());
+        }
+        return valores;
+    }
+
+    private interface Tarea<T> {
+        T ejecutar(int indice) throws Exception;
+    }
+
+    private void limpiarConfirmados() {
+        departamentoSalarioStatsRepository.deleteAllInBatch();
+        empleadoRepository.deleteAllInBatch();
+        departamentoRepository.deleteAllInBatch();
+    }
+}
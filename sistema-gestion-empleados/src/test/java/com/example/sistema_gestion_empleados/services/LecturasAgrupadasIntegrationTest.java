@@ -0,0 +1,222 @@
+package com.example.sistema_gestion_empleados.services;
+
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.dto.Pagina;
+import com.example.sistema_gestion_empleados.exceptions.EmpleadoNoEncontradoException;
+import com.example.sistema_gestion_empleados.models.Departamento;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoRepository;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoSalarioStatsRepository;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.example.sistema_gestion_empleados.EmpleadoDePrueba.conEmail;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Sin transacción de test: dentro de una transacción las lecturas no se agrupan
+@SpringBootTest
+@ActiveProfiles("test")
+class LecturasAgrupadasIntegrationTest {
+    private static final int HILOS = 8;
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private DepartamentoService departamentoService;
+
+    @SpyBean
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private DepartamentoSalarioStatsRepository departamentoSalarioStatsRepository;
+
+    @Autowired
+    private LecturasAgrupadasAspect lecturasAgrupadasAspect;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void limpiar() {
+        departamentoSalarioStatsRepository.deleteAllInBatch();
+        empleadoRepository.deleteAllInBatch();
+        departamentoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void lasLlamadasConcurrentesCompartenUnaConsulta() throws Exception {
+
+        Departamento ventas = departamentoService.guardar(departamento("Ventas"));
+        Long id = empleadoService.guardar(conEmail("agrupado@agrupadas.com").nombre("agrupado")
+                .departamento(ventas).crear()).getId();
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        doAnswer(invocacion -> {
+            dentro.countDown();
+            liberar.await();
+            return real(invocacion);
+        }).when(empleadoRepository).findVistasPorIds(anyCollection());
+
+        List<EmpleadoVista> vistas = concurrentes(() -> empleadoService.buscarVistaPorId(id), dentro, liberar);
+        assertEquals("agrupado", vistas.get(0).nombre());
+        assertEquals(ventas.getId(), vistas.get(0).departamento().id());
+        // Todas reciben la misma instancia, leída con una sola consulta
+        vistas.forEach(vista -> assertSame(vistas.get(0), vista));
+        verify(empleadoRepository, times(1)).findVistasPorIds(anyCollection());
+
+        // Terminada la lectura la clave se libera y la siguiente llamada vuelve a consultar
+        empleadoService.buscarVistaPorId(id);
+        verify(empleadoRepository, times(2)).findVistasPorIds(anyCollection());
+
+    }
+
+    @Test
+    void agrupaPorArgumentosYComparteLasExcepciones() throws Exception {
+
+        Departamento ventas = departamentoService.guardar(departamento("Ventas"));
+        empleadoService.guardar(conEmail("a@agrupadas.com").nombre("a").departamento(ventas).crear());
+        empleadoService.guardar(conEmail("b@agrupadas.com").nombre("b").departamento(ventas).crear());
+        CountDownLatch dentro = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        doAnswer(invocacion -> {
+            dentro.countDown();
+            liberar.await();
+            return real(invocacion);
+        }).when(empleadoRepository).findVistasPorDepartamentoDespuesDe(anyLong(), anyLong(), any());
+
+        List<Pagina<EmpleadoVista>> paginas = concurrentes(
+                () -> empleadoService.buscarPorDepartamento("Ventas", null, 10), dentro, liberar);
+        assertEquals(2, paginas.get(0).contenido().size());
+        verify(empleadoRepository, times(1)).findVistasPorDepartamentoDespuesDe(anyLong(), anyLong(), any());
+
+        // Otro límite es otra clave: no espera a la lectura en curso
+        CountDownLatch otraDentro = new CountDownLatch(1);
+        CountDownLatch otraLiberar = new CountDownLatch(1);
+        doAnswer(invocacion -> {
+            if (invocacion.<Limit>getArgument(2).max() > 2) {
+                otraDentro.countDown();
+                otraLiberar.await();
+            }
+            return real(invocacion);
+        }).when(empleadoRepository).findVistasPorDepartamentoDespuesDe(anyLong(), anyLong(), any());
+        try (ExecutorService ejecutor = Executors.newSingleThreadExecutor()) {
+            Future<Pagina<EmpleadoVista>> enCurso = ejecutor.submit(
+                    () -> empleadoService.buscarPorDepartamento("Ventas", null, 10));
+            otraDentro.await();
+            assertEquals(1, empleadoService.buscarPorDepartamento("Ventas", null, 1).contenido().size());
+            otraLiberar.countDown();
+            assertEquals(2, enCurso.get().contenido().size());
+        }
+
+        // Un departamento inexistente: todas las llamadas reciben la excepción de la única lectura
+        long antes = lecturasAgrupadasAspect.agrupadas();
+        CountDownLatch faltaDentro = new CountDownLatch(1);
+        CountDownLatch faltaLiberar = new CountDownLatch(1);
+        doAnswer(invocacion -> {
+            faltaDentro.countDown();
+            faltaLiberar.await();
+            return real(invocacion);
+        }).when(empleadoRepository).findVistasPorIds(anyCollection());
+        List<Future<EmpleadoVista>> resultados = new ArrayList<>();
+        try (ExecutorService ejecutor = Executors.newFixedThreadPool(HILOS)) {
+            resultados.add(ejecutor.submit(() -> empleadoService.buscarVistaPorId(-1L)));
+            faltaDentro.await();
+            for (int i = 1; i < HILOS; i++) {
+                resultados.add(ejecutor.submit(() -> empleadoService.buscarVistaPorId(-1L)));
+            }
+            esperarAgrupadas(antes + HILOS - 1);
+            faltaLiberar.countDown();
+        }
+        for (Future<EmpleadoVista> resultado : resultados) {
+            ExecutionException ex = assertThrows(ExecutionException.class, resultado::get);
+            assertInstanceOf(EmpleadoNoEncontradoException.class, ex.getCause());
+        }
+
+    }
+
+    @Test
+    void dentroDeUnaTransaccionNoSeAgrupa() {
+
+        Departamento ventas = departamentoService.guardar(departamento("Ventas"));
+        long antes = lecturasAgrupadasAspect.agrupadas();
+        // La transacción ve su propia escritura aún sin confirmar
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            Long id = empleadoService.guardar(conEmail("pendiente@agrupadas.com").nombre("pendiente")
+                    .departamento(ventas).crear()).getId();
+            assertEquals("pendiente", empleadoService.buscarVistaPorId(id).nombre());
+            estado.setRollbackOnly();
+        });
+        assertEquals(antes, lecturasAgrupadasAspect.agrupadas());
+        assertEquals(ventas.getNombre(), departamentoService.buscarPorId(ventas.getId()).getNombre());
+
+    }
+
+    // La primera llamada queda detenida dentro de la consulta hasta que llegan todas las demás
+    private <T> List<T> concurrentes(Callable<T> llamada, CountDownLatch dentro, CountDownLatch liberar)
+            throws Exception {
+        long antes = lecturasAgrupadasAspect.agrupadas();
+        List<Future<T>> resultados = new ArrayList<>();
+        try (ExecutorService ejecutor = Executors.newFixedThreadPool(HILOS)) {
+            resultados.add(ejecutor.submit(llamada));
+            dentro.await();
+            for (int i = 1; i < HILOS; i++) {
+                resultados.add(ejecutor.submit(llamada));
+            }
+            esperarAgrupadas(antes + HILOS - 1);
+            liberar.countDown();
+        }
+        List<T> valores = new ArrayList<>();
+        for (Future<T> resultado : resultados) {
+            valores.add(resultado.get());
+        }
+        return valores;
+    }
+
+    // El repositorio es un proxy de interfaz: el espía delega en él con su respuesta por defecto
+    private Object real(InvocationOnMock invocacion) throws Throwable {
+        return mockingDetails(empleadoRepository).getMockCreationSettings().getDefaultAnswer().answer(invocacion);
+    }
+
+    private void esperarAgrupadas(long esperadas) throws InterruptedException {
+        long limite = System.nanoTime() + 10_000_000_000L;
+        while (lecturasAgrupadasAspect.agrupadas() < esperadas) {
+            assertTrue(System.nanoTime() < limite, "Las llamadas concurrentes no se agruparon");
+            Thread.sleep(5);
+        }
+    }
+
+    private static Departamento departamento(String nombre) {
+        Departamento departamento = new Departamento();
+        departamento.setNombre(nombre);
+        departamento.setDescripcion("Departamento " + nombre);
+        return departamento;
+    }
+}
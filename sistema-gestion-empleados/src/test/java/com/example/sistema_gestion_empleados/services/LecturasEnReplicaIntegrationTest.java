@@ -0,0 +1,102 @@
+package com.example.sistema_gestion_empleados.services;
+
+import com.example.sistema_gestion_empleados.dto.EmpleadoVista;
+import com.example.sistema_gestion_empleados.models.Empleado;
+import com.example.sistema_gestion_empleados.repositories.DepartamentoSalarioStatsRepository;
+import com.example.sistema_gestion_empleados.repositories.EmpleadoRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.example.sistema_gestion_empleados.EmpleadoDePrueba.conEmail;
+import static org.junit.jupiter.api.Assertions.*;
+
+// Primaria y réplica sobre la misma base H2 en memoria, cada una con su pool
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replicas;DB_CLOSE_DELAY=-1",
+        "replica.datasource.jdbc-url=jdbc:h2:mem:replicas;DB_CLOSE_DELAY=-1",
+        "replica.datasource.username=sa"
+})
+@ActiveProfiles("test")
+class LecturasEnReplicaIntegrationTest {
+
+    @Autowired
+    private EmpleadoService empleadoService;
+
+    @Autowired
+    private EmpleadoRepository empleadoRepository;
+
+    @Autowired
+    private DepartamentoSalarioStatsRepository departamentoSalarioStatsRepository;
+
+    @Autowired
+    private HikariDataSource primaria;
+
+    @Autowired
+    private HikariDataSource replica;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void limpiar() {
+        departamentoSalarioStatsRepository.deleteAllInBatch();
+        empleadoRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void lasTransaccionesReadOnlyUsanElPoolDeLaReplica() {
+
+        TransactionTemplate lectura = new TransactionTemplate(transactionManager);
+        lectura.setReadOnly(true);
+        lectura.executeWithoutResult(estado -> {
+            empleadoRepository.count();
+            assertEquals(1, replica.getHikariPoolMXBean().getActiveConnections());
+            assertEquals(0, primaria.getHikariPoolMXBean().getActiveConnections());
+        });
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> {
+            empleadoRepository.count();
+            assertEquals(0, replica.getHikariPoolMXBean().getActiveConnections());
+            assertEquals(1, primaria.getHikariPoolMXBean().getActiveConnections());
+        });
+
+    }
+
+    @Test
+    void losMetodosDeLecturaDelServicioVanALaReplica() {
+
+        long escriturasPrevias = usos("primaria");
+        long lecturasPrevias = usos("replica");
+        Empleado guardado = empleadoService.guardar(conEmail("replica@empresa.com").crear());
+        assertEquals(escriturasPrevias + 1, usos("primaria"));
+        assertEquals(lecturasPrevias, usos("replica"));
+
+        assertEquals(List.of(guardado.getId()), empleadoService.obtenerPagina(null, 10).contenido().stream()
+                .map(EmpleadoVista::id).toList());
+        assertEquals(guardado.getEmail(), empleadoService.buscarPorId(guardado.getId()).getEmail());
+        assertEquals(1, empleadoService.contarPorRangoSalario(new BigDecimal("0"), new BigDecimal("100000")));
+        assertEquals(escriturasPrevias + 1, usos("primaria"));
+        assertEquals(lecturasPrevias + 3, usos("replica"));
+
+    }
+
+    // Cada conexión devuelta al pool registra un uso
+    private long usos(String pool) {
+        Timer uso = meterRegistry.find("hikaricp.connections.usage").tag("pool", pool).timer();
+        return uso == null ? 0 : uso.count();
+    }
+}
@@ -1,8 +1,10 @@
 package com.example.sistema_gestion_empleados.services;
 
+import com.example.sistema_gestion_empleados.exceptions.ActualizacionInvalidaException;
 import com.example.sistema_gestion_empleados.exceptions.ProyectoNoEncontradoException;
 import com.example.sistema_gestion_empleados.models.Proyecto;
 import com.example.sistema_gestion_empleados.repositories.ProyectoRepository;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,7 +13,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,6 +30,9 @@ public class ProyectoServiceIntegrationTest {
     @Autowired
     private ProyectoRepository proyectoRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @BeforeEach
     void setUp() {
         proyectoRepository.deleteAll();
@@ -133,6 +140,36 @@ public class ProyectoServiceIntegrationTest {
 
     }
 
+    @Test
+    void actualizarParcialSoloModificaLosCamposRecibidos() {
+
+        Proyecto proyecto = new Proyecto();
+        proyecto.setNombre("Proyecto Demo");
+        proyecto.setDescripcion("Proycto de prueba p1.");
+        proyecto.setFechaInicio(LocalDate.now());
+        proyecto.setFechaFin(LocalDate.now().plusMonths(6));
+        Long id = proyectoRepository.save(proyecto).getId();
+
+        Map<String, Object> cambios = new HashMap<>();
+        cambios.put("fechaFin", LocalDate.now().plusYears(1).toString());
+        cambios.put("descripcion", null);
+        proyectoService.actualizarParcial(id, cambios);
+        entityManager.clear();
+
+        Proyecto actualizado = proyectoRepository.findById(id).orElseThrow();
+        assertEquals("Proyecto Demo", actualizado.getNombre());
+        assertNull(actualizado.getDescripcion());
+        assertEquals(LocalDate.now().plusYears(1), actualizado.getFechaFin());
+
+        assertThrows(ProyectoNoEncontradoException.class,
+                () -> proyectoService.actualizarParcial(999L, Map.of("nombre", "Otro")));
+        assertThrows(ActualizacionInvalidaException.class,
+                () -> proyectoService.actualizarParcial(id, Map.of("empleados", List.of())));
+        assertThrows(ActualizacionInvalidaException.class,
+                () -> proyectoService.actualizarParcial(id, Map.of("fechaFin", "mañana")));
+
+    }
+
     @Test
     void buscarProyectoActivo() {
 